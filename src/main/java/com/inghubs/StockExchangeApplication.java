@@ -2,10 +2,14 @@ package com.inghubs;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive variant in com.inghubs.reactive
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableRetry
+@EnableScheduling
 public class StockExchangeApplication {
 
 	public static void main(String[] args) {
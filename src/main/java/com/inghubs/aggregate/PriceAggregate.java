@@ -0,0 +1,38 @@
+package com.inghubs.aggregate;
+
+import java.util.TreeMap;
+
+/**
+ * Mutable price aggregates of one stock exchange. The sum and count are kept as running totals, and the prices are
+ * kept as a sorted multiset so the lowest and highest price survive the removal of the current extreme. Not thread
+ * safe.
+ */
+final class PriceAggregate {
+
+    private final TreeMap<Long, int[]> counts = new TreeMap<>();
+    private int count;
+    private long sum;
+
+    void add(long price) {
+        counts.computeIfAbsent(price, key -> new int[1])[0]++;
+        count++;
+        sum += price;
+    }
+
+    void remove(long price) {
+        int[] priceCount = counts.get(price);
+        if (--priceCount[0] == 0) {
+            counts.remove(price);
+        }
+        count--;
+        sum -= price;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    PriceSummary summary() {
+        return count == 0 ? PriceSummary.EMPTY : new PriceSummary(count, sum, counts.firstKey(), counts.lastKey());
+    }
+}
@@ -0,0 +1,14 @@
+package com.inghubs.aggregate;
+
+/**
+ * Immutable aggregates of the prices of the stocks listed on a stock exchange, in integer ticks.
+ *
+ * @param count the number of stocks
+ * @param sum the sum of their prices
+ * @param min the lowest price, 0 if there is no stock
+ * @param max the highest price, 0 if there is no stock
+ */
+public record PriceSummary(int count, long sum, long min, long max) {
+
+    public static final PriceSummary EMPTY = new PriceSummary(0, 0, 0, 0);
+}
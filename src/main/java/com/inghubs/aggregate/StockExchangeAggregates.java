@@ -0,0 +1,128 @@
+package com.inghubs.aggregate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory price aggregates of every stock exchange, maintained incrementally.
+ * <p>
+ * Holds the price of every stock and, for each stock, the names of the stock exchanges listing it. A price update
+ * moves the stock's price in the {@link PriceAggregate} of each of those stock exchanges, and a membership change
+ * adds or removes one price, so no change ever visits the other stocks of a stock exchange. After every change the
+ * touched stock exchanges publish an immutable {@link PriceSummary}, which readers get from a concurrent map
+ * without locking.
+ * <p>
+ * Every price comes with the version of the stock it was read at. The events of committed transactions can arrive
+ * out of commit order, so a price older than the known one is ignored instead of overwriting it. Prices are integer
+ * ticks. Changes are serialized on the instance.
+ */
+public class StockExchangeAggregates {
+
+    private final Map<Long, VersionedPrice> pricesByStockId = new HashMap<>();
+    private final Map<Long, Set<String>> namesByStockId = new HashMap<>();
+    private final Map<String, PriceAggregate> aggregates = new HashMap<>();
+    private final Map<String, PriceSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * @return the aggregates of the stock exchange, or null if it lists no stock
+     */
+    public PriceSummary get(String name) {
+        return summaries.get(name);
+    }
+
+    /**
+     * Sets the price of a stock and moves it in the aggregates of every stock exchange listing the stock. Does
+     * nothing if a price of a newer version is known.
+     *
+     * @param version the version of the stock the price was read at
+     */
+    public synchronized void putPrice(long stockId, long price, long version) {
+        VersionedPrice previous = pricesByStockId.get(stockId);
+        if (previous != null && previous.version() > version) {
+            return;
+        }
+        pricesByStockId.put(stockId, new VersionedPrice(price, version));
+        if (previous == null || previous.price() == price) {
+            return;
+        }
+        for (String name : namesByStockId.getOrDefault(stockId, Set.of())) {
+            PriceAggregate aggregate = aggregates.get(name);
+            aggregate.remove(previous.price());
+            aggregate.add(price);
+            summaries.put(name, aggregate.summary());
+        }
+    }
+
+    /**
+     * Adds a stock to the aggregates of a stock exchange. Does nothing if the stock is already counted there.
+     *
+     * @param price the price of the stock, which replaces the known price if it is of a newer version
+     * @param version the version of the stock the price was read at
+     */
+    public synchronized void addStock(String name, long stockId, long price, long version) {
+        if (namesByStockId.getOrDefault(stockId, Set.of()).contains(name)) {
+            return;
+        }
+        putPrice(stockId, price, version);
+        namesByStockId.computeIfAbsent(stockId, id -> new HashSet<>()).add(name);
+        PriceAggregate aggregate = aggregates.computeIfAbsent(name, key -> new PriceAggregate());
+        aggregate.add(pricesByStockId.get(stockId).price());
+        summaries.put(name, aggregate.summary());
+    }
+
+    /**
+     * Removes a stock from the aggregates of a stock exchange. Does nothing if the stock is not counted there.
+     */
+    public synchronized void removeStock(String name, long stockId) {
+        Set<String> names = namesByStockId.get(stockId);
+        if (names == null || !names.remove(name)) {
+            return;
+        }
+        if (names.isEmpty()) {
+            namesByStockId.remove(stockId);
+        }
+        removePrice(name, pricesByStockId.get(stockId).price());
+    }
+
+    /**
+     * Forgets a deleted stock and removes it from the aggregates of every stock exchange listing it.
+     */
+    public synchronized void deleteStock(long stockId) {
+        VersionedPrice price = pricesByStockId.remove(stockId);
+        Set<String> names = namesByStockId.remove(stockId);
+        if (names != null) {
+            names.forEach(name -> removePrice(name, price.price()));
+        }
+    }
+
+    /**
+     * @return the number of stock exchanges listing at least one stock
+     */
+    public int size() {
+        return summaries.size();
+    }
+
+    public synchronized void clear() {
+        pricesByStockId.clear();
+        namesByStockId.clear();
+        aggregates.clear();
+        summaries.clear();
+    }
+
+    private void removePrice(String name, long price) {
+        PriceAggregate aggregate = aggregates.get(name);
+        aggregate.remove(price);
+        if (aggregate.isEmpty()) {
+            aggregates.remove(name);
+            summaries.remove(name);
+        } else {
+            summaries.put(name, aggregate.summary());
+        }
+    }
+
+    private record VersionedPrice(long price, long version) {
+    }
+}
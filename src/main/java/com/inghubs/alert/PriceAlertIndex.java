@@ -0,0 +1,146 @@
+package com.inghubs.alert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory index of the active price alerts, evaluated on every price update.
+ * <p>
+ * The alerts of a stock sit on two {@link ThresholdSide}s: one for thresholds that trigger when the price rises to
+ * them, keyed by the negated threshold, and one for thresholds that trigger when the price falls to them. A price
+ * update binary searches each side and cuts off the alerts it reached, so it costs O(log n + k) for n alerts on the
+ * stock and k triggered alerts, however many alerts are far from the price. A move alert has a threshold on each
+ * side; when one triggers, the other is removed.
+ * <p>
+ * Prices are integer ticks. The alerts of a stock are only changed inside a {@link ConcurrentHashMap#compute} of
+ * their entry, so updates of one stock are serialized and updates of different stocks do not contend.
+ */
+public class PriceAlertIndex {
+
+    /**
+     * Threshold of the side an alert does not use.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private final Map<Long, StockAlerts> alertsByStock = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Adds an alert. Does nothing if the alert is already indexed.
+     *
+     * @param stockId the ID of the stock
+     * @param alertId the ID of the alert
+     * @param above the threshold the price must rise to, or {@link #NONE}
+     * @param below the threshold the price must fall to, or {@link #NONE}
+     */
+    public void add(long stockId, long alertId, long above, long below) {
+        alertsByStock.compute(stockId, (id, alerts) -> {
+            StockAlerts stockAlerts = alerts == null ? new StockAlerts() : alerts;
+            boolean added = above != NONE && stockAlerts.above.add(-above, alertId);
+            added |= below != NONE && stockAlerts.below.add(below, alertId);
+            if (added) {
+                size.incrementAndGet();
+                if (above != NONE && below != NONE) {
+                    stockAlerts.moves.put(alertId, new Move(above, below));
+                }
+            }
+            return stockAlerts.isEmpty() ? null : stockAlerts;
+        });
+    }
+
+    /**
+     * Removes an alert with the thresholds it was added with.
+     *
+     * @return false if the alert is not indexed
+     */
+    public boolean remove(long stockId, long alertId, long above, long below) {
+        boolean[] removed = new boolean[1];
+        alertsByStock.computeIfPresent(stockId, (id, stockAlerts) -> {
+            removed[0] = above != NONE && stockAlerts.above.remove(-above, alertId);
+            removed[0] |= below != NONE && stockAlerts.below.remove(below, alertId);
+            stockAlerts.moves.remove(alertId);
+            return stockAlerts.isEmpty() ? null : stockAlerts;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    /**
+     * Removes and reports every alert of the stock that the price reached.
+     *
+     * @param stockId the ID of the stock
+     * @param price the new price in ticks
+     * @param triggered receives the ID of every triggered alert
+     * @return the number of triggered alerts
+     */
+    public int evaluate(long stockId, long price, LongConsumer triggered) {
+        if (!alertsByStock.containsKey(stockId)) {
+            return 0;
+        }
+        int[] count = new int[1];
+        alertsByStock.computeIfPresent(stockId, (id, stockAlerts) -> {
+            count[0] += stockAlerts.above.removeReached(-price, alertId -> {
+                Move move = stockAlerts.moves.remove(alertId);
+                if (move != null) {
+                    stockAlerts.below.remove(move.below(), alertId);
+                }
+                triggered.accept(alertId);
+            });
+            count[0] += stockAlerts.below.removeReached(price, alertId -> {
+                Move move = stockAlerts.moves.remove(alertId);
+                if (move != null) {
+                    stockAlerts.above.remove(-move.above(), alertId);
+                }
+                triggered.accept(alertId);
+            });
+            return stockAlerts.isEmpty() ? null : stockAlerts;
+        });
+        size.addAndGet(-count[0]);
+        return count[0];
+    }
+
+    /**
+     * Removes every alert of a stock.
+     *
+     * @return the number of removed alerts
+     */
+    public int removeStock(long stockId) {
+        StockAlerts stockAlerts = alertsByStock.remove(stockId);
+        if (stockAlerts == null) {
+            return 0;
+        }
+        int count = stockAlerts.above.size() + stockAlerts.below.size() - stockAlerts.moves.size();
+        size.addAndGet(-count);
+        return count;
+    }
+
+    /**
+     * @return the number of indexed alerts
+     */
+    public long size() {
+        return size.get();
+    }
+
+    public void clear() {
+        alertsByStock.clear();
+        size.set(0);
+    }
+
+    private record Move(long above, long below) {
+    }
+
+    private static final class StockAlerts {
+        private final ThresholdSide above = new ThresholdSide();
+        private final ThresholdSide below = new ThresholdSide();
+        private final Map<Long, Move> moves = new HashMap<>();
+
+        private boolean isEmpty() {
+            return above.size() == 0 && below.size() == 0;
+        }
+    }
+}
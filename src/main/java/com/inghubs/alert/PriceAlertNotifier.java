@@ -0,0 +1,75 @@
+package com.inghubs.alert;
+
+import com.inghubs.dto.PriceAlertDTO;
+import com.inghubs.util.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes triggered price alerts to the server-sent event streams of their owners. An owner may hold several
+ * streams; alerts triggered while an owner has no stream are only recorded on the alert.
+ */
+@Slf4j
+@Component
+public class PriceAlertNotifier {
+
+    static final String EVENT_NAME = "alert";
+
+    private final Map<String, Set<SseEmitter>> emittersByOwner = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(String owner) {
+        SseEmitter emitter = new SseEmitter(AppConstants.PRICE_ALERT_STREAM_TIMEOUT_MILLIS);
+        emittersByOwner.compute(owner, (key, emitters) -> {
+            Set<SseEmitter> ownerEmitters = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            ownerEmitters.add(emitter);
+            return ownerEmitters;
+        });
+        Runnable unsubscribe = () -> emittersByOwner.computeIfPresent(owner, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * Sends every alert to the streams of its owner. A stream that fails is completed and dropped.
+     */
+    public void publish(Collection<PriceAlertDTO> alerts) {
+        for (PriceAlertDTO alert : alerts) {
+            Set<SseEmitter> emitters = emittersByOwner.get(alert.getOwner());
+            if (emitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name(EVENT_NAME)
+                            .id(String.valueOf(alert.getId()))
+                            .data(alert, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping the price alert stream of {}", alert.getOwner(), e);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of open streams of the owner
+     */
+    public int subscriberCount(String owner) {
+        Set<SseEmitter> emitters = emittersByOwner.get(owner);
+        return emitters == null ? 0 : emitters.size();
+    }
+}
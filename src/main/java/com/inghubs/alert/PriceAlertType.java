@@ -0,0 +1,11 @@
+package com.inghubs.alert;
+
+/**
+ * What a price alert waits for: the price rising to a threshold, falling to a threshold, or moving by a percentage
+ * in either direction from the price when the alert was created.
+ */
+public enum PriceAlertType {
+    ABOVE,
+    BELOW,
+    MOVE
+}
@@ -0,0 +1,110 @@
+package com.inghubs.alert;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * One side of the alerts of a stock: alert IDs in a sorted array keyed by a primitive {@code long} threshold key,
+ * ties broken by alert ID.
+ * <p>
+ * An alert triggers once the key of the price is at or below its own key, so the alerts closest to triggering are
+ * at the end of the array and triggering cuts off a tail of the array without moving the others.
+ */
+final class ThresholdSide {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] alertIds = new long[INITIAL_CAPACITY];
+    private int count;
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return false if the alert is already on this side with this key
+     */
+    boolean add(long key, long alertId) {
+        int index = search(key, alertId);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            alertIds = Arrays.copyOf(alertIds, count * 2);
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, count - insertAt);
+        System.arraycopy(alertIds, insertAt, alertIds, insertAt + 1, count - insertAt);
+        keys[insertAt] = key;
+        alertIds[insertAt] = alertId;
+        count++;
+        return true;
+    }
+
+    /**
+     * @return false if the alert is not on this side with this key
+     */
+    boolean remove(long key, long alertId) {
+        int index = search(key, alertId);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(alertIds, index + 1, alertIds, index, count - index - 1);
+        count--;
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Removes every alert whose key is at or above the key of the price, passing their IDs to the consumer.
+     *
+     * @return the number of removed alerts
+     */
+    int removeReached(long priceKey, LongConsumer consumer) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < priceKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int removed = count - low;
+        for (int i = count - 1; i >= low; i--) {
+            consumer.accept(alertIds[i]);
+        }
+        count = low;
+        shrinkIfSparse();
+        return removed;
+    }
+
+    private int search(long key, long alertId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = keys[mid] != key ? Long.compare(keys[mid], key) : Long.compare(alertIds[mid], alertId);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void shrinkIfSparse() {
+        if (keys.length > INITIAL_CAPACITY && count < keys.length / 4) {
+            int capacity = Math.max(INITIAL_CAPACITY, keys.length / 2);
+            keys = Arrays.copyOf(keys, capacity);
+            alertIds = Arrays.copyOf(alertIds, capacity);
+        }
+    }
+}
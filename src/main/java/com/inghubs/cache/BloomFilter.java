@@ -0,0 +1,103 @@
+package com.inghubs.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size Bloom filter of strings, safe for concurrent adds and lookups without locking.
+ * <p>
+ * The filter is sized for an expected number of strings and a target false-positive rate: it uses
+ * {@code m = -n ln p / (ln 2)^2} bits and {@code k = (m / n) ln 2} hash functions, derived from the two halves of
+ * one 64-bit FNV-1a hash of the string by double hashing. It never reports a string it was given as absent; a string
+ * it was not given is reported as present with about the target probability, which grows once more strings than
+ * expected are added. Strings cannot be removed.
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions the number of strings the filter is sized for
+     * @param falsePositiveRate the target probability of reporting an absent string as present, between 0 and 1
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and falsePositiveRate between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // bit indexes are derived from 32-bit hashes, so at most 2^31 bits are addressable
+        int wordCount = (int) Math.min((bits + 63) >>> 6, 1 << 25);
+        this.words = new long[Math.max(1, wordCount)];
+        this.bitCount = (long) words.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if (((long) WORDS.getAcquire(words, word) & mask) == 0) {
+                WORDS.getAndBitwiseOrRelease(words, word, mask);
+            }
+        }
+    }
+
+    /**
+     * @return false if the string was definitely never added, true if it probably was
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the share of bits set, which accounts for strings added beyond
+     * the expected number.
+     */
+    public double expectedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length; i++) {
+            set += Long.bitCount((long) WORDS.getAcquire(words, i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int combinedHash) {
+        // flip a negative hash instead of taking its absolute value, which is negative for Integer.MIN_VALUE
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
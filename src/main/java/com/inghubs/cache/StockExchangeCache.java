@@ -0,0 +1,164 @@
+package com.inghubs.cache;
+
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockExchangeDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of assembled stock exchanges by name, on two levels: the StockExchangeDTO, and its JSON form, serialized
+ * on first use.
+ * <p>
+ * An entry is removed when its stock exchange changes or when one of its stocks changes; stocks are mapped back to
+ * the cached exchanges listing them. To keep a load that raced with a change from caching what it read before the
+ * change, every stock exchange has a version, bumped when it or one of its mapped stocks changes, and every load in
+ * flight collects the stocks changed while it runs, since the stocks it is reading are not mapped yet. A loaded entry
+ * is only stored if the version of its name did not move and none of its stocks changed while it was loaded, so a
+ * change to an unrelated stock does not discard it.
+ */
+@Component
+public class StockExchangeCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> namesByStockId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final Set<Load> loads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the cached entry, or null
+     */
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Starts tracking a load of the stock exchange. Must be called before the stock exchange is read, and followed
+     * by {@link #endLoad}.
+     *
+     * @return the load to pass to {@link #put}
+     */
+    public Load startLoad(String name) {
+        Load load = new Load(name, versions.getOrDefault(name, 0L));
+        loads.add(load);
+        return load;
+    }
+
+    /**
+     * @return whether nothing invalidated the stock exchange of the load since it started, as far as known before
+     * its stocks are read
+     */
+    public boolean isCurrent(Load load) {
+        return !load.stale && versions.getOrDefault(load.name, 0L) == load.version;
+    }
+
+    /**
+     * Caches a loaded stock exchange, unless it or one of its stocks was invalidated since the load started. The
+     * load is marked stale if it was not cached.
+     *
+     * @return the entry for the loaded stock exchange, cached or not
+     */
+    public Entry put(Load load, StockExchangeDTO stockExchange) {
+        Entry entry = new Entry(stockExchange);
+        Set<Long> stockIds = new HashSet<>();
+        if (stockExchange.getStocks() != null) {
+            for (StockDTO stock : stockExchange.getStocks()) {
+                stockIds.add(stock.getId());
+                namesByStockId.computeIfAbsent(stock.getId(), id -> ConcurrentHashMap.newKeySet()).add(load.name);
+            }
+        }
+        entries.compute(load.name, (key, cached) -> {
+            if (load.changedStockIds.stream().anyMatch(stockIds::contains)) {
+                load.stale = true;
+            }
+            return isCurrent(load) ? entry : cached;
+        });
+        if (!isCurrent(load)) {
+            load.stale = true;
+        }
+        return entry;
+    }
+
+    public void endLoad(Load load) {
+        loads.remove(load);
+    }
+
+    public void invalidate(String name) {
+        versions.merge(name, 1L, Long::sum);
+        entries.remove(name);
+    }
+
+    /**
+     * Invalidates every cached stock exchange listing the stock, and every load in flight that read it.
+     */
+    public void invalidateStock(Long stockId) {
+        loads.forEach(load -> load.changedStockIds.add(stockId));
+        Set<String> names = namesByStockId.remove(stockId);
+        if (names != null) {
+            names.forEach(this::invalidate);
+        }
+    }
+
+    public void clear() {
+        loads.forEach(load -> load.stale = true);
+        entries.clear();
+        namesByStockId.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * A load of a stock exchange in flight.
+     */
+    public static final class Load {
+        private final String name;
+        private final long version;
+        private final Set<Long> changedStockIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean stale;
+
+        private Load(String name, long version) {
+            this.name = name;
+            this.version = version;
+        }
+
+        /**
+         * @return whether the loaded stock exchange was not cached because of a change during the load
+         */
+        public boolean isStale() {
+            return stale;
+        }
+    }
+
+    /**
+     * A cached stock exchange. The DTO is shared by every reader and must not be modified.
+     */
+    public static final class Entry {
+        private final StockExchangeDTO stockExchange;
+        private volatile byte[] json;
+
+        private Entry(StockExchangeDTO stockExchange) {
+            this.stockExchange = stockExchange;
+        }
+
+        public StockExchangeDTO getStockExchange() {
+            return stockExchange;
+        }
+
+        /**
+         * @return the JSON form of the stock exchange, serialized on the first call
+         */
+        public byte[] getJson(Function<StockExchangeDTO, byte[]> serializer) {
+            byte[] cached = json;
+            if (cached == null) {
+                cached = serializer.apply(stockExchange);
+                json = cached;
+            }
+            return cached;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.inghubs.cache;
+
+import com.inghubs.config.StockNameFilterProperties;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.LazyQueryConnections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link BloomFilter} of the names of the existing stocks, so that creating a stock with a name that is definitely
+ * new does not have to look the name up first.
+ * <p>
+ * The filter is loaded from the {@code stock} table once the application is ready, and a name is added before the
+ * stock is inserted. Until it is loaded, or when it is disabled, every name might exist. Names of deleted stocks
+ * cannot be removed and keep their bits set until the filter is rebuilt, which happens once names added beyond what
+ * it was sized for have grown its estimated false-positive rate to twice the target.
+ * <p>
+ * The filter only decides whether the lookup runs; the unique constraint on the name still rejects a duplicate that
+ * it misses, such as one inserted by another instance, and the retried create then finds it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockNameFilter {
+
+    private static final String SELECT_NAMES = "SELECT name FROM stock";
+    private static final String COUNT_NAMES = "SELECT COUNT(*) FROM stock";
+
+    private final DataSource dataSource;
+    private final StockNameFilterProperties stockNameFilterProperties;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuildingFilter;
+
+    /**
+     * @return false if no stock has the name, true if one might
+     */
+    public boolean mightContain(String name) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(name);
+    }
+
+    /**
+     * Records the name of a stock about to be inserted.
+     */
+    public void add(String name) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(name);
+        }
+        BloomFilter next = rebuildingFilter;
+        if (next != null) {
+            next.add(name);
+        }
+    }
+
+    /**
+     * Loads the filter from the names of the existing stocks, sized for the expected number of names or twice the
+     * current number, whichever is larger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!stockNameFilterProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Connection connection = LazyQueryConnections.getConnection(dataSource);
+        try {
+            BloomFilter next = new BloomFilter(Math.max(stockNameFilterProperties.getExpectedNames(), 2 * countNames(connection)),
+                    stockNameFilterProperties.getFalsePositiveRate());
+            rebuildingFilter = next;
+            long names = loadNames(connection, next);
+            filter = next;
+            log.info("Loaded {} stock names into a {} KB name filter in {} ms", names, next.bitCount() / 8_192,
+                    System.currentTimeMillis() - start);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load the stock name filter", e);
+        } finally {
+            rebuildingFilter = null;
+            LazyQueryConnections.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Rebuilds the filter once its estimated false-positive rate is twice the target.
+     */
+    @Scheduled(fixedDelayString = "${stock-name-filter.check-interval-ms:60000}",
+            initialDelayString = "${stock-name-filter.check-interval-ms:60000}")
+    public void rebuildIfSaturated() {
+        BloomFilter current = filter;
+        if (current != null && current.expectedFalsePositiveRate() > 2 * stockNameFilterProperties.getFalsePositiveRate()) {
+            rebuild();
+        }
+    }
+
+    private static long countNames(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_NAMES);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private static long loadNames(Connection connection, BloomFilter next) throws SQLException {
+        long names = 0;
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_NAMES)) {
+            statement.setFetchSize(AppConstants.JDBC_CURSOR_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    next.add(resultSet.getString(1));
+                    names++;
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,55 @@
+package com.inghubs.changes;
+
+import com.inghubs.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Tells up to which {@code stock_change_seq} value every change of a stock is committed or rolled back.
+ * <p>
+ * A transaction draws its change sequence values when it flushes, but may commit after a transaction that drew
+ * higher values, so the changes feed cannot move its token past a value that a running transaction may still commit.
+ * Every transaction that changes stocks registers before its first change: it draws a value from the sequence, which
+ * is lower than any value it draws afterwards, and keeps it registered until it completes. The watermark is the
+ * lowest registered value, or a value drawn now when none is registered. No running transaction holds a change below
+ * it, so a change below it that is not visible never will be.
+ * <p>
+ * A long transaction holds the watermark back until it completes; it never lets the feed skip its changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockChangeWatermark {
+
+    private final StockRepository stockRepository;
+    private final ConcurrentSkipListSet<Long> running = new ConcurrentSkipListSet<>();
+
+    /**
+     * Registers the current transaction until it completes. Must be called before its first change of a stock.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void register() {
+        long floor = stockRepository.nextChangeSeq();
+        running.add(floor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                running.remove(floor);
+            }
+        });
+    }
+
+    /**
+     * @return a change sequence value such that every change below it is committed or rolled back
+     */
+    public long current() {
+        // drawn before the registered values are read: a transaction registering later draws values above it
+        long next = stockRepository.nextChangeSeq();
+        Long oldest = running.ceiling(Long.MIN_VALUE);
+        return oldest == null ? next : Math.min(next, oldest);
+    }
+}
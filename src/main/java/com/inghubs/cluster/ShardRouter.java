@@ -0,0 +1,151 @@
+package com.inghubs.cluster;
+
+import com.inghubs.config.ClusterProperties;
+import com.inghubs.exception.StockNotLocalException;
+import com.inghubs.util.MessageUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps stocks to the nodes of the cluster.
+ * <p>
+ * Stock IDs are hashed onto a fixed number of shards, and the shards onto a consistent hash ring on which every node
+ * has {@code cluster.virtual-nodes} points. Each shard belongs to the node of the first point at or after its own
+ * hash, so adding or removing a node only moves the shards next to that node's points. A stock and its exchange
+ * memberships live on the node that owns its shard. New stocks are created on the node that owns the shard of their
+ * name, which keeps the unique name check on a single node, and get an ID from one of that node's shards (see
+ * {@link StockIdAllocator}).
+ * <p>
+ * When the cluster is disabled there is a single implicit node and every stock is local.
+ */
+@Component
+public class ShardRouter {
+
+    private final ClusterProperties clusterProperties;
+    private final MessageUtils messageUtils;
+    private final ClusterProperties.Node localNode;
+    private final ClusterProperties.Node[] shardOwners;
+
+    public ShardRouter(ClusterProperties clusterProperties, MessageUtils messageUtils) {
+        this.clusterProperties = clusterProperties;
+        this.messageUtils = messageUtils;
+        if (!clusterProperties.isEnabled()) {
+            this.localNode = null;
+            this.shardOwners = null;
+            return;
+        }
+        this.localNode = clusterProperties.getNodes().stream()
+                .filter(node -> node.getId().equals(clusterProperties.getNodeId()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("cluster.node-id " + clusterProperties.getNodeId()
+                        + " is not one of cluster.nodes"));
+        this.shardOwners = assignShards(clusterProperties);
+    }
+
+    public boolean isEnabled() {
+        return clusterProperties.isEnabled();
+    }
+
+    public ClusterProperties.Node getLocalNode() {
+        return localNode;
+    }
+
+    public List<ClusterProperties.Node> getNodes() {
+        return clusterProperties.getNodes();
+    }
+
+    public int shardOfStock(long stockId) {
+        return Math.floorMod(mix(stockId), clusterProperties.getShards());
+    }
+
+    public int shardOfStockName(String name) {
+        return Math.floorMod(hash(name), clusterProperties.getShards());
+    }
+
+    public ClusterProperties.Node ownerOfShard(int shard) {
+        return shardOwners[shard];
+    }
+
+    public boolean isLocalStock(long stockId) {
+        return !isEnabled() || ownerOfShard(shardOfStock(stockId)) == localNode;
+    }
+
+    /**
+     * @throws StockNotLocalException if the stock is owned by another node
+     */
+    public void requireLocalStock(Long stockId) {
+        if (isEnabled() && stockId != null) {
+            ClusterProperties.Node owner = ownerOfShard(shardOfStock(stockId));
+            if (owner != localNode) {
+                throw new StockNotLocalException(messageUtils.getMessage("cluster.stock.not.local",
+                        String.valueOf(stockId), owner.getId()), owner.getUrl());
+            }
+        }
+    }
+
+    /**
+     * @throws StockNotLocalException if a stock with this name is created on another node
+     */
+    public void requireLocalStockName(String name) {
+        if (isEnabled() && name != null) {
+            ClusterProperties.Node owner = ownerOfShard(shardOfStockName(name));
+            if (owner != localNode) {
+                throw new StockNotLocalException(messageUtils.getMessage("cluster.stock.name.not.local",
+                        name, owner.getId()), owner.getUrl());
+            }
+        }
+    }
+
+    private static ClusterProperties.Node[] assignShards(ClusterProperties clusterProperties) {
+        List<ClusterProperties.Node> nodes = clusterProperties.getNodes();
+        int virtualNodes = clusterProperties.getVirtualNodes();
+        long[] points = new long[nodes.size() * virtualNodes];
+        int[] pointOwners = new int[points.length];
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                points[n * virtualNodes + v] = hash(nodes.get(n).getId() + "#" + v);
+            }
+        }
+        Integer[] order = new Integer[points.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(points[a], points[b]));
+        long[] ring = new long[points.length];
+        for (int i = 0; i < order.length; i++) {
+            ring[i] = points[order[i]];
+            pointOwners[i] = order[i] / virtualNodes;
+        }
+        ClusterProperties.Node[] owners = new ClusterProperties.Node[clusterProperties.getShards()];
+        for (int shard = 0; shard < owners.length; shard++) {
+            int index = Arrays.binarySearch(ring, mix(shard));
+            if (index < 0) {
+                index = -index - 1;
+            }
+            owners[shard] = nodes.get(pointOwners[index == ring.length ? 0 : index]);
+        }
+        return owners;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with {@link #mix(long)} to spread similar strings apart.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer, which turns sequential values into well spread hashes.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
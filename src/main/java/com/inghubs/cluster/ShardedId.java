@@ -0,0 +1,17 @@
+package com.inghubs.cluster;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an ID generated by {@link StockIdGenerator}, i.e. taken from one of the local node's shards.
+ */
+@IdGeneratorType(StockIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedId {
+}
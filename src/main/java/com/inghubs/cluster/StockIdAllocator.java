@@ -0,0 +1,48 @@
+package com.inghubs.cluster;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Hands out IDs for new stocks from {@code stock_id_seq}. In a cluster, values whose shard is owned by another node
+ * are skipped, so every node creates stocks only in its own shards and IDs stay unique across the cluster without
+ * coordination. With N nodes a node draws N values per ID on average.
+ */
+@Component
+public class StockIdAllocator {
+
+    private static final String NEXT_VALUE_SQL = "SELECT NEXT VALUE FOR stock_id_seq";
+
+    private final DataSource dataSource;
+    private final ShardRouter shardRouter;
+
+    public StockIdAllocator(DataSource dataSource, ShardRouter shardRouter) {
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+    }
+
+    public long nextStockId() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_VALUE_SQL)) {
+            while (true) {
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    long id = rs.getLong(1);
+                    if (shardRouter.isLocalStock(id)) {
+                        return id;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not allocate a stock ID", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.inghubs.cluster;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator for {@link ShardedId} identifiers. It delegates to the {@link StockIdAllocator} bean, which
+ * {@code ClusterConfig} passes to Hibernate as the {@link #ALLOCATOR_SETTING} setting.
+ */
+public class StockIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String ALLOCATOR_SETTING = "inghubs.stock-id-allocator";
+
+    private final transient StockIdAllocator stockIdAllocator;
+
+    public StockIdGenerator(ShardedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object allocator = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(ALLOCATOR_SETTING);
+        if (!(allocator instanceof StockIdAllocator)) {
+            throw new IllegalStateException("Hibernate setting " + ALLOCATOR_SETTING + " is not set");
+        }
+        this.stockIdAllocator = (StockIdAllocator) allocator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return stockIdAllocator.nextStockId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,33 @@
+package com.inghubs.config;
+
+import com.inghubs.cluster.StockIdAllocator;
+import com.inghubs.cluster.StockIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Wires the stock ID allocator into Hibernate and provides the client used to call the other nodes of the cluster.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer stockIdAllocatorCustomizer(StockIdAllocator stockIdAllocator) {
+        return hibernateProperties -> hibernateProperties.put(StockIdGenerator.ALLOCATOR_SETTING, stockIdAllocator);
+    }
+
+    @Bean
+    public RestClient clusterRestClient(RestClient.Builder restClientBuilder, ClusterProperties clusterProperties) {
+        Duration timeout = Duration.ofMillis(clusterProperties.getRequestTimeoutMs());
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        return restClientBuilder.requestFactory(requestFactory).build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+    private boolean enabled = false;
+    private String nodeId = "node-1";
+    private int shards = 256;
+    private int virtualNodes = 64;
+    private long requestTimeoutMs = 2_000;
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String id;
+        private String url;
+    }
+}
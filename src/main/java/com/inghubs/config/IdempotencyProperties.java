@@ -0,0 +1,20 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private List<String> paths = List.of("/api/v1/stock", "/api/v1/stock-exchange/*");
+    private int maxKeys = 1_000_000;
+    private long maxBytes = 268_435_456;
+    private int segments = 64;
+    private long ttlSeconds = 3_600;
+    private int maxResponseBytes = 8_192;
+}
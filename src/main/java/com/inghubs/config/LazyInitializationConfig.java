@@ -0,0 +1,29 @@
+package com.inghubs.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the application's own beans eager when {@code spring.main.lazy-initialization} is on, as in the startup
+ * profile.
+ * <p>
+ * Components and repositories serve the first requests, and some start work when they are created, so deferring
+ * them would only move their cost onto the first requests. What stays lazy is the infrastructure declared by
+ * configuration classes and auto-configurations that the running application may never use, such as the OpenAPI
+ * model when springdoc is off.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter applicationBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (Repository.class.isAssignableFrom(beanType)
+                || beanType.getPackageName().startsWith("com.inghubs")
+                && AnnotatedElementUtils.hasAnnotation(beanType, Component.class));
+    }
+}
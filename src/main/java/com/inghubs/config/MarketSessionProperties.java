@@ -0,0 +1,14 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "market-session")
+public class MarketSessionProperties {
+    private long tickMs = 1_000;
+    private int wheelSize = 4_096;
+    private int batchSize = 1_000;
+}
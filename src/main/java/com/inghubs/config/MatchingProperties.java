@@ -0,0 +1,13 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "matching")
+public class MatchingProperties {
+    private int shards = 4;
+    private long priceUpdateIntervalMs = 200;
+}
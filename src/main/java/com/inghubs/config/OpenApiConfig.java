@@ -7,7 +7,10 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+// only springdoc reads the model, so it is built on the first request for the API docs
+@Lazy
 @Configuration
 public class OpenApiConfig {
 
@@ -0,0 +1,31 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    private long retentionMs = 86_400_000;
+    private long purgeIntervalMs = 60_000;
+    private int maxPollSize = 1_000;
+    private Relay relay = new Relay();
+    private Sink sink = new Sink();
+
+    @Data
+    public static class Relay {
+        private boolean enabled = true;
+        private String consumer = "relay";
+        private int batchSize = 500;
+        private long intervalMs = 1_000;
+        private long gapTimeoutMs = 600_000;
+    }
+
+    @Data
+    public static class Sink {
+        private String type = "log";
+        private String file = "./data/outbox/events.jsonl";
+    }
+}
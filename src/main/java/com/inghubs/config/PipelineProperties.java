@@ -0,0 +1,25 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pipeline")
+public class PipelineProperties {
+    private boolean enabled = false;
+    private int bufferSize = 1_024;
+    private int applyBatchSize = 256;
+    private long timeoutMs = 5_000;
+    private Journal journal = new Journal();
+
+    @Data
+    public static class Journal {
+        private boolean enabled = true;
+        private String file = "./data/journal/price-updates.bin";
+        private boolean fsync = true;
+        private long maxBytes = 64 * 1_024 * 1_024;
+        private int retainedFiles = 4;
+    }
+}
@@ -0,0 +1,18 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "price-history")
+public class PriceHistoryProperties {
+    private boolean enabled = false;
+    private String directory = "./data/history";
+    private int chunkTicks = 1_024;
+    private int segmentBytes = 64 * 1_024 * 1_024;
+    private long maxChunkAgeMs = 3_600_000;
+    private long sealIntervalMs = 60_000;
+    private long retentionMs = 30L * 24 * 3_600_000;
+}
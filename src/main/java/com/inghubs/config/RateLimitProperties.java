@@ -0,0 +1,24 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private double requestsPerSecond = 100;
+    private int burst = 200;
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 64;
+        private int minLimit = 4;
+        private int maxLimit = 512;
+        private long latencyThresholdMs = 500;
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,48 @@
+package com.inghubs.config;
+
+import com.inghubs.aspect.DataIntegrityRetryable;
+import com.inghubs.aspect.OptimisticLockingRetryable;
+import com.inghubs.cluster.StockIdGenerator;
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the native image, for what Spring AOT cannot infer from the beans and the controllers:
+ * <ul>
+ *     <li>the types serialized with the {@code ObjectMapper} directly, for the cached responses and the outbox</li>
+ *     <li>the message bundle, which is loaded by name</li>
+ *     <li>the stock ID generator, which Hibernate instantiates reflectively</li>
+ *     <li>the retry annotations, which Spring Retry reads from the service methods</li>
+ *     <li>the sequence field of the pipeline, which is accessed through a {@code VarHandle}</li>
+ * </ul>
+ * The hints are only read when the application is built with {@code -Pnative}.
+ */
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.ApplicationRuntimeHints.class)
+@RegisterReflectionForBinding({StockDTO.class, StockExchangeDTO.class, OutboxEventDTO.class,
+        StockChangedEvent.class, StockExchangeChangedEvent.class})
+public class RuntimeHintsConfig {
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("messages*.properties");
+            hints.reflection().registerType(StockIdGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(DataIntegrityRetryable.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(OptimisticLockingRetryable.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(TypeReference.of("com.inghubs.pipeline.SequenceValue"),
+                    builder -> builder.withField("value"));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.inghubs.config;
 
+import com.inghubs.idempotency.IdempotencyFilter;
+import com.inghubs.ratelimit.RateLimitFilter;
 import com.inghubs.util.MessageUtils;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @RequiredArgsConstructor
@@ -25,6 +28,8 @@ public class SecurityConfig {
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final UserProperties userProperties;
     private final MessageUtils messageUtils;
+    private final RateLimitProperties rateLimitProperties;
+    private final IdempotencyProperties idempotencyProperties;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -33,6 +38,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/swagger-resources/**", "/webjars/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/v1/stock-exchange/*/stocks/*/orders/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/v1/alerts/**").hasAnyRole("USER", "ADMIN")
                         .anyRequest().hasRole("ADMIN")
                 )
                 .httpBasic(httpBasic -> {
@@ -45,7 +52,9 @@ public class SecurityConfig {
                             String errorMessage = messageUtils.getMessage("error.access.denied");
                             response.getOutputStream().println("{ \"error\": \"" + errorMessage + "\" }");
                         })
-                ).httpBasic(Customizer.withDefaults());
+                ).httpBasic(Customizer.withDefaults())
+                .addFilterAfter(new RateLimitFilter(rateLimitProperties, messageUtils), AuthorizationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyProperties, messageUtils), RateLimitFilter.class);
         return http.build();
     }
 
@@ -68,7 +77,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(userProperties.getBcryptStrength());
     }
 
     @Bean
@@ -0,0 +1,40 @@
+package com.inghubs.config;
+
+import com.inghubs.service.SnapshotService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the default SQL initializer when snapshots are enabled: the schema scripts still run, but if a
+ * snapshot exists it is bulk-loaded instead of running the data scripts.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(DataSource dataSource,
+                                                                                      SqlInitializationProperties sqlInitializationProperties,
+                                                                                      SnapshotProperties snapshotProperties,
+                                                                                      SnapshotService snapshotService) {
+        DatabaseInitializationSettings settings = SqlDataSourceScriptDatabaseInitializer.getSettings(sqlInitializationProperties);
+        boolean restore = snapshotProperties.isRestoreOnStartup() && snapshotService.findLatestSnapshot().isPresent();
+        if (restore) {
+            settings.setDataLocations(List.of());
+        }
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, settings) {
+            @Override
+            public boolean initializeDatabase() {
+                boolean initialized = super.initializeDatabase();
+                return restore ? snapshotService.restoreLatestSnapshot() : initialized;
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProperties {
+    private boolean enabled = false;
+    private String directory = "./data/snapshots";
+    private long intervalMs = 60_000;
+    private boolean restoreOnStartup = true;
+    private int batchSize = 10_000;
+}
@@ -0,0 +1,15 @@
+package com.inghubs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock-name-filter")
+public class StockNameFilterProperties {
+    private boolean enabled = true;
+    private long expectedNames = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private long checkIntervalMs = 60_000;
+}
@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class UserProperties {
     private UserDetails admin;
     private UserDetails user;
+    private int bcryptStrength = 10;
 
     @Data
     public static class UserDetails {
@@ -0,0 +1,75 @@
+package com.inghubs.controller;
+
+import com.inghubs.dto.MarketSessionDTO;
+import com.inghubs.dto.MarketSessionUpdateDTO;
+import com.inghubs.service.MarketSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/stock-exchange/{name}/session")
+@RequiredArgsConstructor
+@Tag(name = "Market-Session-Controller", description = "API for the trading sessions of stock exchanges")
+public class MarketSessionController {
+
+    private final MarketSessionService marketSessionService;
+
+    @Operation(summary = "Retrieve the trading session of a StockExchange",
+            description = "With whether the market is open and the next time it opens or closes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trading session retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = MarketSessionDTO.class))}),
+            @ApiResponse(responseCode = "404", description = "StockExchange or trading session not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<MarketSessionDTO> getSession(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name) {
+        return new ResponseEntity<>(marketSessionService.getSession(name), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Set the trading session of a StockExchange",
+            description = "Orders are only accepted while the market is open. The market is opened or closed right away "
+                    + "if the session requires it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trading session set successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = MarketSessionDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid trading session", content = @Content),
+            @ApiResponse(responseCode = "404", description = "StockExchange not found", content = @Content)
+    })
+    @PutMapping
+    public ResponseEntity<MarketSessionDTO> setSession(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Valid @RequestBody MarketSessionUpdateDTO marketSessionUpdateDTO) {
+        return new ResponseEntity<>(marketSessionService.setSession(name, marketSessionUpdateDTO), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Remove the trading session of a StockExchange, which leaves its market always open")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Trading session removed successfully"),
+            @ApiResponse(responseCode = "404", description = "StockExchange or trading session not found", content = @Content)
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> deleteSession(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name) {
+        marketSessionService.deleteSession(name);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
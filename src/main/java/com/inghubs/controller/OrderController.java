@@ -0,0 +1,89 @@
+package com.inghubs.controller;
+
+import com.inghubs.cluster.ShardRouter;
+import com.inghubs.dto.OrderBookDTO;
+import com.inghubs.dto.OrderCreateDTO;
+import com.inghubs.dto.OrderResultDTO;
+import com.inghubs.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/stock-exchange/{name}/stocks/{stockId}")
+@RequiredArgsConstructor
+@Tag(name = "Order-Controller", description = "API for trading stocks listed on stock exchanges")
+public class OrderController {
+
+    private final OrderService orderService;
+    private final ShardRouter shardRouter;
+
+    @Operation(summary = "Submit a limit order for a listed stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Order matched and/or rested in the book",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OrderResultDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid order or StockExchange not live", content = @Content),
+            @ApiResponse(responseCode = "404", description = "StockExchange not found or Stock not listed on it", content = @Content)
+    })
+    @PostMapping("/orders")
+    public ResponseEntity<OrderResultDTO> submitOrder(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Parameter(description = "ID of the Stock", required = true) @PathVariable Long stockId,
+            @Valid @RequestBody OrderCreateDTO orderCreateDTO) {
+        shardRouter.requireLocalStock(stockId);
+        return new ResponseEntity<>(orderService.submitOrder(name, stockId, orderCreateDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Cancel a resting order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order cancelled",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OrderResultDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Listing not found or order not resting in its book", content = @Content)
+    })
+    @DeleteMapping("/orders/{orderId}")
+    public ResponseEntity<OrderResultDTO> cancelOrder(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Parameter(description = "ID of the Stock", required = true) @PathVariable Long stockId,
+            @Parameter(description = "ID of the order", required = true) @PathVariable Long orderId) {
+        shardRouter.requireLocalStock(stockId);
+        return new ResponseEntity<>(orderService.cancelOrder(name, stockId, orderId), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Retrieve the best levels of the order book of a listed stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order book retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OrderBookDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid depth", content = @Content),
+            @ApiResponse(responseCode = "404", description = "StockExchange not found or Stock not listed on it", content = @Content)
+    })
+    @GetMapping("/book")
+    public ResponseEntity<OrderBookDTO> getOrderBook(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Parameter(description = "ID of the Stock", required = true) @PathVariable Long stockId,
+            @Parameter(description = "Maximum number of price levels per side") @RequestParam(defaultValue = "10") int depth) {
+        shardRouter.requireLocalStock(stockId);
+        return new ResponseEntity<>(orderService.getOrderBook(name, stockId, depth), HttpStatus.OK);
+    }
+}
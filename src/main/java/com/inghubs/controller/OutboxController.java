@@ -0,0 +1,73 @@
+package com.inghubs.controller;
+
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.dto.OutboxOffsetDTO;
+import com.inghubs.service.OutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/outbox")
+@RequiredArgsConstructor
+@Tag(name = "Outbox-Controller", description = "Change-data feed of stock and stock exchange mutations")
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    @Operation(summary = "Retrieve outbox events after the given event ID, in order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Events retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = OutboxEventDTO.class)))}),
+            @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content)
+    })
+    @GetMapping("/events")
+    public ResponseEntity<List<OutboxEventDTO>> getEvents(
+            @Parameter(description = "Exclusive lower bound of event IDs") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of events to return") @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(outboxService.getEventsAfter(after, limit), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Retrieve the committed offset of a consumer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Offset retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OutboxOffsetDTO.class))})
+    })
+    @GetMapping("/offsets/{consumer}")
+    public ResponseEntity<OutboxOffsetDTO> getOffset(
+            @Parameter(description = "Name of the consumer", required = true) @PathVariable String consumer) {
+        return new ResponseEntity<>(outboxService.getOffset(consumer), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Commit the offset of a consumer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Offset committed successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OutboxOffsetDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid offset", content = @Content)
+    })
+    @PutMapping("/offsets/{consumer}")
+    public ResponseEntity<OutboxOffsetDTO> commitOffset(
+            @Parameter(description = "Name of the consumer", required = true) @PathVariable String consumer,
+            @Parameter(description = "ID of the last processed event", required = true) @RequestParam long lastEventId) {
+        return new ResponseEntity<>(outboxService.commitOffset(consumer, lastEventId), HttpStatus.OK);
+    }
+}
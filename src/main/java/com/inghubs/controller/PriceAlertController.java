@@ -0,0 +1,87 @@
+package com.inghubs.controller;
+
+import com.inghubs.cluster.ShardRouter;
+import com.inghubs.dto.PriceAlertCreateDTO;
+import com.inghubs.dto.PriceAlertDTO;
+import com.inghubs.service.PriceAlertService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Tag(name = "Price-Alert-Controller", description = "API for price alerts on stocks, owned by the authenticated user")
+public class PriceAlertController {
+
+    private final PriceAlertService priceAlertService;
+    private final ShardRouter shardRouter;
+
+    @Operation(summary = "Create a price alert on a stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Price alert created successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PriceAlertDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid alert or threshold already reached", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<PriceAlertDTO> createAlert(@Valid @RequestBody PriceAlertCreateDTO priceAlertCreateDTO,
+                                                     Principal principal) {
+        shardRouter.requireLocalStock(priceAlertCreateDTO.getStockId());
+        return new ResponseEntity<>(priceAlertService.createAlert(principal.getName(), priceAlertCreateDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Retrieve the active and triggered price alerts of the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price alerts retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PriceAlertDTO.class)))})
+    })
+    @GetMapping
+    public ResponseEntity<List<PriceAlertDTO>> getAlerts(Principal principal) {
+        return new ResponseEntity<>(priceAlertService.getAlerts(principal.getName()), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Delete a price alert of the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Price alert deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Price alert not found", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAlert(
+            @Parameter(description = "ID of the price alert", required = true) @PathVariable Long id,
+            Principal principal) {
+        priceAlertService.deleteAlert(principal.getName(), id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(summary = "Stream the price alerts of the authenticated user as they trigger",
+            description = "Server-sent events named \"alert\", each carrying a triggered PriceAlertDTO")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(Principal principal) {
+        return priceAlertService.subscribe(principal.getName());
+    }
+}
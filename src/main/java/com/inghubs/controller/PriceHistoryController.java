@@ -0,0 +1,73 @@
+package com.inghubs.controller;
+
+import com.inghubs.cluster.ShardRouter;
+import com.inghubs.dto.PriceBarDTO;
+import com.inghubs.dto.PriceTickDTO;
+import com.inghubs.service.PriceHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/stock/{id}/history")
+@RequiredArgsConstructor
+@Tag(name = "Price-History-Controller", description = "API for the compressed price history of stocks")
+public class PriceHistoryController {
+
+    private final PriceHistoryService priceHistoryService;
+    private final ShardRouter shardRouter;
+
+    @Operation(summary = "Retrieve the price updates of a stock in a time range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price updates retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PriceTickDTO.class)))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Price history disabled, or invalid range or limit", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<PriceTickDTO>> getPrices(
+            @Parameter(description = "ID of the stock", required = true) @PathVariable Long id,
+            @Parameter(description = "Start of the range, inclusive, as an ISO-8601 instant", required = true) @RequestParam Instant from,
+            @Parameter(description = "End of the range, exclusive, as an ISO-8601 instant", required = true) @RequestParam Instant to,
+            @Parameter(description = "Maximum number of price updates to return") @RequestParam(defaultValue = "1000") int limit) {
+        shardRouter.requireLocalStock(id);
+        return new ResponseEntity<>(priceHistoryService.getPrices(id, from, to, limit), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Retrieve the open, high, low and close prices of a stock over fixed intervals of a time range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bars retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PriceBarDTO.class)))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Price history disabled, or invalid range or interval", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @GetMapping("/bars")
+    public ResponseEntity<List<PriceBarDTO>> getBars(
+            @Parameter(description = "ID of the stock", required = true) @PathVariable Long id,
+            @Parameter(description = "Start of the range, inclusive, as an ISO-8601 instant", required = true) @RequestParam Instant from,
+            @Parameter(description = "End of the range, exclusive, as an ISO-8601 instant", required = true) @RequestParam Instant to,
+            @Parameter(description = "Length of an interval, in milliseconds", required = true) @RequestParam long intervalMs) {
+        shardRouter.requireLocalStock(id);
+        return new ResponseEntity<>(priceHistoryService.getBars(id, from, to, intervalMs), HttpStatus.OK);
+    }
+}
@@ -1,8 +1,12 @@
 package com.inghubs.controller;
 
+import com.inghubs.cluster.ShardRouter;
+import com.inghubs.dto.StockChangesDTO;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.pipeline.StockPriceUpdatePipeline;
+import com.inghubs.service.StockSearchService;
 import com.inghubs.service.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,33 +17,43 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/stock")
 @RequiredArgsConstructor
 @Tag(name = "Stock-Controller", description = "Operations related to stocks")
 public class StockController {
     private final StockService stockService;
+    private final StockSearchService stockSearchService;
+    private final ObjectProvider<StockPriceUpdatePipeline> stockPriceUpdatePipeline;
+    private final ShardRouter shardRouter;
 
     @Operation(summary = "Create a new stock")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Stock created successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = StockDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is created on another node", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
             @ApiResponse(responseCode = "409", description = "Stock already exists", content = @Content)
     })
     @PostMapping
     public ResponseEntity<StockDTO> createStock(@Valid @RequestBody StockCreateDTO stockCreateDTO) {
+        shardRouter.requireLocalStockName(stockCreateDTO.getName());
         return new ResponseEntity<>(stockService.createStock(stockCreateDTO), HttpStatus.CREATED);
     }
 
@@ -48,24 +62,77 @@ public class StockController {
             @ApiResponse(responseCode = "200", description = "Stock price updated successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = StockDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
             @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
     })
     @PutMapping
     public ResponseEntity<StockDTO> updateStockPrice(
             @Valid @RequestBody StockPriceUpdateDTO stockPriceUpdateDTO) {
-        return new ResponseEntity<>(stockService.updateStockPrice(stockPriceUpdateDTO), HttpStatus.OK);
+        shardRouter.requireLocalStock(stockPriceUpdateDTO.getId());
+        StockPriceUpdatePipeline pipeline = stockPriceUpdatePipeline.getIfAvailable();
+        StockDTO stock = pipeline != null
+                ? pipeline.updateStockPrice(stockPriceUpdateDTO)
+                : stockService.updateStockPrice(stockPriceUpdateDTO);
+        return new ResponseEntity<>(stock, HttpStatus.OK);
     }
 
     @Operation(summary = "Delete a stock by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Stock deleted successfully"),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
             @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStock(
             @Parameter(description = "ID of the stock to delete", required = true) @PathVariable Long id) {
+        shardRouter.requireLocalStock(id);
         stockService.deleteStock(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
+
+    @Operation(summary = "Delete stocks by ID, all or none",
+            description = "Removes the stocks from every stock exchange listing them and deletes them with a fixed number of statements")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Stocks deleted successfully"),
+            @ApiResponse(responseCode = "307", description = "A stock is owned by another node", content = @Content),
+            @ApiResponse(responseCode = "400", description = "No or too many IDs", content = @Content),
+            @ApiResponse(responseCode = "404", description = "A stock is not found", content = @Content)
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> deleteStocks(
+            @Parameter(description = "IDs of the stocks to delete", required = true) @RequestParam List<Long> ids) {
+        ids.forEach(shardRouter::requireLocalStock);
+        stockService.deleteStocks(ids);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(summary = "Retrieve the stocks changed or deleted since a change token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockChangesDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit", content = @Content)
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<StockChangesDTO> getStockChanges(
+            @Parameter(description = "Token returned by the previous call, omit for a full sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return") @RequestParam(defaultValue = "500") int limit) {
+        return new ResponseEntity<>(stockService.getStockChanges(since, limit), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Search stocks by name and description",
+            description = "Returns stocks whose name starts with the query, then stocks whose name or description contains it, then stocks with a similar name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching stocks retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid limit", content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<StockDTO>> searchStocks(
+            @Parameter(description = "Text to search for, case-insensitive", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum number of matches to return") @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(stockSearchService.searchStocks(q, limit), HttpStatus.OK);
+    }
+}
\ No newline at end of file
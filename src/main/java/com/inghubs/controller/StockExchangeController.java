@@ -1,7 +1,13 @@
 package com.inghubs.controller;
 
+import com.inghubs.cluster.ShardRouter;
 import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.dto.StockExchangeIndexDTO;
+import com.inghubs.service.ShardedStockExchangeService;
+import com.inghubs.service.StockExchangeIndexService;
 import com.inghubs.service.StockExchangeService;
+import com.inghubs.service.StockExchangeStreamService;
+import com.inghubs.util.AppConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,15 +16,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/stock-exchange")
@@ -27,19 +37,66 @@ import org.springframework.web.bind.annotation.RestController;
 public class StockExchangeController {
 
     private final StockExchangeService stockExchangeService;
+    private final StockExchangeStreamService stockExchangeStreamService;
+    private final StockExchangeIndexService stockExchangeIndexService;
+    private final ShardedStockExchangeService shardedStockExchangeService;
+    private final ShardRouter shardRouter;
 
-    @Operation(summary = "Retrieve a StockExchange by its name")
+    @Operation(summary = "Retrieve a StockExchange by its name",
+            description = "In a cluster, gathers the stocks of the StockExchange from every node")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "StockExchange retrieved successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = StockExchangeDTO.class))}),
-            @ApiResponse(responseCode = "404", description = "StockExchange not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "StockExchange not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "A node of the cluster is unavailable", content = @Content)
     })
     @GetMapping("/{name}")
-    public ResponseEntity<StockExchangeDTO> getStockExchange(
+    public ResponseEntity<?> getStockExchange(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Parameter(hidden = true) @RequestHeader(value = AppConstants.CLUSTER_LOCAL_HEADER, defaultValue = "false") boolean localOnly,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (shardRouter.isEnabled() && !localOnly) {
+            return new ResponseEntity<>(shardedStockExchangeService.getStockExchange(name, authorization), HttpStatus.OK);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stockExchangeService.getStockExchangeJson(name));
+    }
+
+    @Operation(summary = "Retrieve the price index of a StockExchange",
+            description = "The number of stocks of the StockExchange and the sum, lowest, highest and average of their prices. "
+                    + "The average is the price-weighted index value.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price index retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockExchangeIndexDTO.class))}),
+            @ApiResponse(responseCode = "404", description = "StockExchange not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "A node of the cluster is unavailable", content = @Content)
+    })
+    @GetMapping("/{name}/index")
+    public ResponseEntity<StockExchangeIndexDTO> getStockExchangeIndex(
+            @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
+            @Parameter(hidden = true) @RequestHeader(value = AppConstants.CLUSTER_LOCAL_HEADER, defaultValue = "false") boolean localOnly,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (shardRouter.isEnabled() && !localOnly) {
+            return new ResponseEntity<>(shardedStockExchangeService.getStockExchangeIndex(name, authorization), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(stockExchangeIndexService.getStockExchangeIndex(name), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Stream a StockExchange by its name",
+            description = "Writes the StockExchange and its stocks straight from the database to the response, for large exchanges")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "StockExchange streamed successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockExchangeDTO.class))}),
+            @ApiResponse(responseCode = "404", description = "StockExchange not found", content = @Content)
+    })
+    @GetMapping("/{name}/stream")
+    public ResponseEntity<StreamingResponseBody> streamStockExchange(
             @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name) {
-        StockExchangeDTO stockExchangeDTO = stockExchangeService.getStockExchange(name);
-        return new ResponseEntity<>(stockExchangeDTO, HttpStatus.OK);
+        StockExchangeDTO header = stockExchangeStreamService.getStockExchangeHeader(name);
+        StreamingResponseBody body = outputStream -> stockExchangeStreamService.writeStockExchange(header, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Add a Stock to a StockExchange")
@@ -47,6 +104,7 @@ public class StockExchangeController {
             @ApiResponse(responseCode = "200", description = "Stock added to StockExchange successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = StockExchangeDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
             @ApiResponse(responseCode = "404", description = "Stock or StockExchange not found", content = @Content),
             @ApiResponse(responseCode = "409", description = "Stock already exists in StockExchange", content = @Content)
@@ -55,6 +113,7 @@ public class StockExchangeController {
     public ResponseEntity<StockExchangeDTO> addStockToStockExchange(
             @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
             @Parameter(description = "ID of the Stock to add", required = true) @RequestParam Long stockId) {
+        shardRouter.requireLocalStock(stockId);
         StockExchangeDTO stockExchangeDTO = stockExchangeService.addStockToStockExchange(name, stockId);
         return new ResponseEntity<>(stockExchangeDTO, HttpStatus.OK);
     }
@@ -64,6 +123,7 @@ public class StockExchangeController {
             @ApiResponse(responseCode = "200", description = "Stock removed from StockExchange successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = StockExchangeDTO.class))}),
+            @ApiResponse(responseCode = "307", description = "Stock is owned by another node", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
             @ApiResponse(responseCode = "404", description = "Stock or StockExchange not found", content = @Content)
     })
@@ -71,6 +131,7 @@ public class StockExchangeController {
     public ResponseEntity<StockExchangeDTO> removeStockFromStockExchange(
             @Parameter(description = "Name of the StockExchange", required = true) @PathVariable String name,
             @Parameter(description = "ID of the Stock to remove", required = true) @RequestParam Long stockId) {
+        shardRouter.requireLocalStock(stockId);
         StockExchangeDTO stockExchangeDTO = stockExchangeService.removeStockFromStockExchange(name, stockId);
         return new ResponseEntity<>(stockExchangeDTO, HttpStatus.OK);
     }
@@ -0,0 +1,57 @@
+package com.inghubs.converter;
+
+import com.inghubs.dto.MarketSessionDTO;
+import com.inghubs.entity.MarketSession;
+import com.inghubs.session.MarketCalendar;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class MarketSessionConverter {
+
+    public MarketSessionDTO toDTO(String stockExchangeName, MarketSession marketSession, boolean marketOpen,
+                                  Instant nextTransition) {
+        return MarketSessionDTO.builder()
+                .stockExchangeName(stockExchangeName)
+                .timeZone(marketSession.getTimeZone())
+                .openTime(marketSession.getOpenTime())
+                .closeTime(marketSession.getCloseTime())
+                .tradingDays(fromTradingDays(marketSession.getTradingDays()))
+                .holidays(new TreeSet<>(marketSession.getHolidays()))
+                .marketOpen(marketOpen)
+                .nextTransition(nextTransition)
+                .build();
+    }
+
+    public MarketCalendar toCalendar(MarketSession marketSession) {
+        return new MarketCalendar(ZoneId.of(marketSession.getTimeZone()), marketSession.getOpenTime(),
+                marketSession.getCloseTime(), fromTradingDays(marketSession.getTradingDays()), marketSession.getHolidays());
+    }
+
+    /**
+     * @return the days as a bit mask, with bit {@code n - 1} set for the day of the week {@code n}
+     */
+    public int toTradingDays(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public Set<DayOfWeek> fromTradingDays(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & 1 << (day.getValue() - 1)) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+}
@@ -0,0 +1,82 @@
+package com.inghubs.converter;
+
+import com.inghubs.dto.OrderBookDTO;
+import com.inghubs.dto.OrderResultDTO;
+import com.inghubs.dto.PriceLevelDTO;
+import com.inghubs.dto.TradeDTO;
+import com.inghubs.matching.BookView;
+import com.inghubs.matching.MatchResult;
+import com.inghubs.matching.OrderStatus;
+import com.inghubs.matching.Trade;
+import com.inghubs.util.AppConstants;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Component
+public class OrderConverter {
+
+    public long toTicks(BigDecimal price) {
+        return price.movePointRight(AppConstants.PRICE_SCALE).longValueExact();
+    }
+
+    public BigDecimal fromTicks(long ticks) {
+        return BigDecimal.valueOf(ticks, AppConstants.PRICE_SCALE);
+    }
+
+    public OrderResultDTO toResultDTO(Long stockId, long quantity, MatchResult matchResult) {
+        OrderStatus status;
+        if (matchResult.remaining() == 0) {
+            status = OrderStatus.FILLED;
+        } else if (matchResult.remaining() < quantity) {
+            status = OrderStatus.PARTIALLY_FILLED;
+        } else {
+            status = OrderStatus.NEW;
+        }
+        return OrderResultDTO.builder()
+                .orderId(matchResult.orderId())
+                .stockId(stockId)
+                .status(status)
+                .filledQuantity(quantity - matchResult.remaining())
+                .remainingQuantity(matchResult.remaining())
+                .trades(matchResult.trades().stream().map(this::toTradeDTO).toList())
+                .build();
+    }
+
+    public OrderResultDTO toCancelledDTO(Long stockId, Long orderId, long cancelledQuantity) {
+        return OrderResultDTO.builder()
+                .orderId(orderId)
+                .stockId(stockId)
+                .status(OrderStatus.CANCELLED)
+                .remainingQuantity(cancelledQuantity)
+                .trades(List.of())
+                .build();
+    }
+
+    public OrderBookDTO toBookDTO(String name, Long stockId, BookView bookView) {
+        return OrderBookDTO.builder()
+                .stockExchangeName(name)
+                .stockId(stockId)
+                .lastTradePrice(bookView.lastTradePrice() == 0 ? null : fromTicks(bookView.lastTradePrice()))
+                .bids(bookView.bids().stream().map(this::toPriceLevelDTO).toList())
+                .asks(bookView.asks().stream().map(this::toPriceLevelDTO).toList())
+                .build();
+    }
+
+    private TradeDTO toTradeDTO(Trade trade) {
+        return TradeDTO.builder()
+                .makerOrderId(trade.makerOrderId())
+                .price(fromTicks(trade.price()))
+                .quantity(trade.quantity())
+                .build();
+    }
+
+    private PriceLevelDTO toPriceLevelDTO(BookView.Level level) {
+        return PriceLevelDTO.builder()
+                .price(fromTicks(level.price()))
+                .quantity(level.quantity())
+                .orderCount(level.orderCount())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.inghubs.converter;
+
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.entity.OutboxEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxEventConverter {
+
+    public OutboxEventDTO toDTO(OutboxEvent outboxEvent) {
+        return OutboxEventDTO.builder()
+                .id(outboxEvent.getId())
+                .aggregateType(outboxEvent.getAggregateType())
+                .aggregateId(outboxEvent.getAggregateId())
+                .eventType(outboxEvent.getEventType())
+                .payload(outboxEvent.getPayload())
+                .createdAt(outboxEvent.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.inghubs.converter;
+
+import com.inghubs.alert.PriceAlertIndex;
+import com.inghubs.dto.PriceAlertDTO;
+import com.inghubs.entity.PriceAlert;
+import com.inghubs.util.AppConstants;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class PriceAlertConverter {
+
+    public PriceAlertDTO toDTO(PriceAlert priceAlert) {
+        return PriceAlertDTO.builder()
+                .id(priceAlert.getId())
+                .stockId(priceAlert.getStockId())
+                .owner(priceAlert.getOwner())
+                .type(priceAlert.getType())
+                .abovePrice(priceAlert.getAbovePrice())
+                .belowPrice(priceAlert.getBelowPrice())
+                .percentage(priceAlert.getPercentage())
+                .referencePrice(priceAlert.getReferencePrice())
+                .createdAt(priceAlert.getCreatedAt())
+                .triggeredAt(priceAlert.getTriggeredAt())
+                .triggeredPrice(priceAlert.getTriggeredPrice())
+                .build();
+    }
+
+    /**
+     * @return the price in ticks, or {@link PriceAlertIndex#NONE} for no price
+     */
+    public long toTicks(BigDecimal price) {
+        return price == null ? PriceAlertIndex.NONE : price.movePointRight(AppConstants.PRICE_SCALE).longValueExact();
+    }
+}
@@ -0,0 +1,40 @@
+package com.inghubs.converter;
+
+import com.inghubs.dto.PriceBarDTO;
+import com.inghubs.dto.PriceTickDTO;
+import com.inghubs.history.PriceBar;
+import com.inghubs.util.AppConstants;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Component
+public class PriceHistoryConverter {
+
+    public PriceTickDTO toTickDTO(long timestampMillis, long priceTicks) {
+        return PriceTickDTO.builder()
+                .timestamp(Instant.ofEpochMilli(timestampMillis))
+                .price(toPrice(priceTicks))
+                .build();
+    }
+
+    public PriceBarDTO toBarDTO(PriceBar priceBar) {
+        return PriceBarDTO.builder()
+                .start(Instant.ofEpochMilli(priceBar.startMillis()))
+                .open(toPrice(priceBar.open()))
+                .high(toPrice(priceBar.high()))
+                .low(toPrice(priceBar.low()))
+                .close(toPrice(priceBar.close()))
+                .count(priceBar.count())
+                .build();
+    }
+
+    public long toTicks(BigDecimal price) {
+        return price.movePointRight(AppConstants.PRICE_SCALE).longValueExact();
+    }
+
+    private static BigDecimal toPrice(long priceTicks) {
+        return BigDecimal.valueOf(priceTicks, AppConstants.PRICE_SCALE);
+    }
+}
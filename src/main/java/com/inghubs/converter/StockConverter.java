@@ -15,6 +15,7 @@ public class StockConverter {
                 .description(stock.getDescription())
                 .currentPrice(stock.getCurrentPrice())
                 .lastUpdate(stock.getLastUpdate())
+                .version(stock.getVersion())
                 .build();
     }
 
@@ -19,6 +19,7 @@ public class StockExchangeConverter {
                 .name(stockExchange.getName())
                 .description(stockExchange.getDescription())
                 .liveInMarket(stockExchange.isLiveInMarket())
+                .marketOpen(stockExchange.isMarketOpen())
                 .stocks(stockExchange.getStocks().stream()
                         .map(stockConverter::toDTO)
                         .collect(Collectors.toSet()))
@@ -0,0 +1,42 @@
+package com.inghubs.converter;
+
+import com.inghubs.aggregate.PriceSummary;
+import com.inghubs.dto.StockExchangeIndexDTO;
+import com.inghubs.util.AppConstants;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Component
+public class StockExchangeIndexConverter {
+
+    public long toTicks(BigDecimal price) {
+        return price.movePointRight(AppConstants.PRICE_SCALE).longValueExact();
+    }
+
+    public BigDecimal fromTicks(long ticks) {
+        return BigDecimal.valueOf(ticks, AppConstants.PRICE_SCALE);
+    }
+
+    public StockExchangeIndexDTO toDTO(String name, PriceSummary priceSummary) {
+        boolean empty = priceSummary.count() == 0;
+        return build(name, priceSummary.count(), fromTicks(priceSummary.sum()),
+                empty ? null : fromTicks(priceSummary.min()), empty ? null : fromTicks(priceSummary.max()));
+    }
+
+    /**
+     * Builds the index of a stock exchange from its aggregates; the average is the price-weighted index value.
+     */
+    public StockExchangeIndexDTO build(String name, int stockCount, BigDecimal priceSum, BigDecimal minPrice, BigDecimal maxPrice) {
+        return StockExchangeIndexDTO.builder()
+                .name(name)
+                .stockCount(stockCount)
+                .priceSum(priceSum)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .averagePrice(stockCount == 0 ? null
+                        : priceSum.divide(BigDecimal.valueOf(stockCount), AppConstants.PRICE_SCALE, RoundingMode.HALF_EVEN))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.inghubs.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of the error responses.
+ *
+ * @param timestamp when the error was handled
+ * @param message the error message, or the list of validation messages
+ */
+public record ErrorResponseDTO<T>(LocalDateTime timestamp, T message) {
+
+    public static <T> ErrorResponseDTO<T> of(T message) {
+        return new ErrorResponseDTO<>(LocalDateTime.now(), message);
+    }
+}
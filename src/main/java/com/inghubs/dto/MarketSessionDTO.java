@@ -0,0 +1,27 @@
+package com.inghubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketSessionDTO {
+    private String stockExchangeName;
+    private String timeZone;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    private Set<DayOfWeek> tradingDays;
+    private Set<LocalDate> holidays;
+    private boolean marketOpen;
+    private Instant nextTransition;
+}
@@ -0,0 +1,35 @@
+package com.inghubs.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarketSessionUpdateDTO {
+
+    @NotBlank(message = "{market.session.time-zone.not-blank}")
+    private String timeZone;
+
+    @NotNull(message = "{market.session.open-time.not-null}")
+    private LocalTime openTime;
+
+    @NotNull(message = "{market.session.close-time.not-null}")
+    private LocalTime closeTime;
+
+    @NotEmpty(message = "{market.session.trading-days.not-empty}")
+    private Set<DayOfWeek> tradingDays;
+
+    private Set<LocalDate> holidays;
+}
@@ -0,0 +1,21 @@
+package com.inghubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBookDTO {
+    private String stockExchangeName;
+    private Long stockId;
+    private BigDecimal lastTradePrice;
+    private List<PriceLevelDTO> bids;
+    private List<PriceLevelDTO> asks;
+}
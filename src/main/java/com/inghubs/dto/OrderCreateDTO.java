@@ -0,0 +1,32 @@
+package com.inghubs.dto;
+
+import com.inghubs.matching.OrderSide;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCreateDTO {
+
+    @NotNull(message = "{order.side.not-null}")
+    private OrderSide side;
+
+    @NotNull(message = "{order.price.not-null}")
+    @DecimalMin(value = "0.0", inclusive = false, message = "{order.price.positive}")
+    @Digits(integer = 13, fraction = 2, message = "{order.price.digits}")
+    private BigDecimal price;
+
+    @NotNull(message = "{order.quantity.not-null}")
+    @Positive(message = "{order.quantity.positive}")
+    private Long quantity;
+}
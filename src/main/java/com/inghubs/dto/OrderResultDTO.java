@@ -0,0 +1,22 @@
+package com.inghubs.dto;
+
+import com.inghubs.matching.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderResultDTO {
+    private Long orderId;
+    private Long stockId;
+    private OrderStatus status;
+    private Long filledQuantity;
+    private Long remainingQuantity;
+    private List<TradeDTO> trades;
+}
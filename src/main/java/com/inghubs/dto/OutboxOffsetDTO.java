@@ -0,0 +1,15 @@
+package com.inghubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxOffsetDTO {
+    private String consumer;
+    private long lastEventId;
+}
@@ -0,0 +1,37 @@
+package com.inghubs.dto;
+
+import com.inghubs.alert.PriceAlertType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceAlertCreateDTO {
+
+    @NotNull(message = "{price.alert.stock-id.not-null}")
+    @Positive(message = "{price.alert.stock-id.positive}")
+    private Long stockId;
+
+    @NotNull(message = "{price.alert.type.not-null}")
+    private PriceAlertType type;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "{price.alert.price.positive}")
+    @Digits(integer = 13, fraction = 2, message = "{price.alert.price.digits}")
+    private BigDecimal price;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "{price.alert.percentage.range}")
+    @DecimalMax(value = "100.0", message = "{price.alert.percentage.range}")
+    @Digits(integer = 3, fraction = 2, message = "{price.alert.percentage.digits}")
+    private BigDecimal percentage;
+}
@@ -0,0 +1,31 @@
+package com.inghubs.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.inghubs.alert.PriceAlertType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertDTO {
+    private Long id;
+    private Long stockId;
+    private String owner;
+    private PriceAlertType type;
+    private BigDecimal abovePrice;
+    private BigDecimal belowPrice;
+    private BigDecimal percentage;
+    private BigDecimal referencePrice;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private Timestamp createdAt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private Timestamp triggeredAt;
+    private BigDecimal triggeredPrice;
+}
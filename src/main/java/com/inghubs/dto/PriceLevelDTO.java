@@ -0,0 +1,18 @@
+package com.inghubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceLevelDTO {
+    private BigDecimal price;
+    private Long quantity;
+    private Integer orderCount;
+}
@@ -0,0 +1,19 @@
+package com.inghubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockChangesDTO {
+    private List<StockDTO> changed;
+    private List<Long> deleted;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -1,6 +1,7 @@
 package com.inghubs.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +21,7 @@ public class StockDTO {
     private BigDecimal currentPrice;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private Timestamp lastUpdate;
+    // the optimistic lock version the stock was read or committed at, for ordering its change events
+    @JsonIgnore
+    private int version;
 }
\ No newline at end of file
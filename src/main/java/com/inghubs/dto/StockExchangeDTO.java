@@ -18,5 +18,7 @@ public class StockExchangeDTO {
     private String name;
     private String description;
     private boolean liveInMarket;
+    @Builder.Default
+    private boolean marketOpen = true;
     private Set<StockDTO> stocks;
 }
\ No newline at end of file
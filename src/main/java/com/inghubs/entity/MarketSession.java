@@ -0,0 +1,45 @@
+package com.inghubs.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The trading session of a stock exchange. The trading days are a bit mask, with bit {@code n - 1} set for the day
+ * of the week {@code n}, Monday being 1. A stock exchange without a session is always open.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class MarketSession {
+
+    @Id
+    private Long stockExchangeId;
+    private String timeZone;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    private int tradingDays;
+
+    @Builder.Default
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "market_holiday", joinColumns = @JoinColumn(name = "stock_exchange_id"))
+    @Column(name = "holiday")
+    private Set<LocalDate> holidays = new HashSet<>();
+}
@@ -0,0 +1,26 @@
+package com.inghubs.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxConsumerOffset {
+
+    @Id
+    private String consumer;
+    private long lastEventId;
+
+    @Version
+    private int version;
+}
@@ -0,0 +1,38 @@
+package com.inghubs.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    private String payload;
+    private Timestamp createdAt;
+
+    @PrePersist
+    public void updateTimestamp() {
+        this.createdAt = Timestamp.from(Instant.now());
+    }
+}
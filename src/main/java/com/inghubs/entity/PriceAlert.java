@@ -0,0 +1,52 @@
+package com.inghubs.entity;
+
+import com.inghubs.alert.PriceAlertType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * A user-defined price alert. It is active until the price of its stock reaches one of its thresholds, which sets
+ * {@code triggeredAt}; a move alert has both thresholds, derived from the reference price and the percentage.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long stockId;
+    private String owner;
+    @Enumerated(EnumType.STRING)
+    private PriceAlertType type;
+    private BigDecimal abovePrice;
+    private BigDecimal belowPrice;
+    private BigDecimal percentage;
+    private BigDecimal referencePrice;
+    private Timestamp createdAt;
+    private Timestamp triggeredAt;
+    private BigDecimal triggeredPrice;
+
+    @PrePersist
+    public void updateTimestamp() {
+        this.createdAt = Timestamp.from(Instant.now());
+    }
+}
@@ -1,5 +1,6 @@
 package com.inghubs.entity;
 
+import com.inghubs.cluster.ShardedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -21,9 +24,11 @@ import java.util.Set;
 @Builder
 @EqualsAndHashCode(of = "id")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stock")
 public class Stock {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId
     private Long id;
 
     @Column(unique = true)
@@ -32,6 +37,9 @@ public class Stock {
     private BigDecimal currentPrice;
     private Timestamp lastUpdate;
 
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy = "stocks")
     private Set<StockExchange> stockExchanges = new HashSet<>();
 
@@ -44,10 +52,4 @@ public class Stock {
     @Version
     private int version;
 
-    @PreRemove
-    public void removeFromStockExchange() {
-        stockExchanges
-                .forEach(se -> se.removeStock(this));
-    }
-
 }
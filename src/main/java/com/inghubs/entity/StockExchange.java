@@ -8,6 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -19,6 +21,8 @@ import java.util.Set;
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stock-exchange")
 public class StockExchange {
 
     @Id
@@ -28,8 +32,11 @@ public class StockExchange {
     private String name;
     private String description;
     private boolean liveInMarket;
+    @Builder.Default
+    private boolean marketOpen = true;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stock-exchange-stocks")
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "stock_exchange_stock",
             joinColumns = @JoinColumn(name = "stock_exchange_id", referencedColumnName = "id"),
@@ -51,6 +58,6 @@ public class StockExchange {
     }
 
     private void updateLiveInMarketStatus() {
-        this.liveInMarket = this.stocks.size() >= AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD;
+        this.liveInMarket = this.marketOpen && this.stocks.size() >= AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD;
     }
 }
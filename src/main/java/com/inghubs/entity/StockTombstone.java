@@ -0,0 +1,40 @@
+package com.inghubs.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Marks a deleted stock in the change sequence, so that incremental clients see deletions.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class StockTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_change_seq")
+    @SequenceGenerator(name = "stock_change_seq", sequenceName = "stock_change_seq", allocationSize = 1)
+    private Long changeSeq;
+    private Long stockId;
+    private Timestamp deletedAt;
+
+    @PrePersist
+    public void updateTimestamp() {
+        this.deletedAt = Timestamp.from(Instant.now());
+    }
+}
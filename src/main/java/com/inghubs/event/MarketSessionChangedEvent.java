@@ -0,0 +1,10 @@
+package com.inghubs.event;
+
+import com.inghubs.session.MarketCalendar;
+
+/**
+ * Published inside the mutating transaction whenever the trading session of a stock exchange is set or removed. The
+ * calendar is null for a removed session.
+ */
+public record MarketSessionChangedEvent(Long stockExchangeId, MarketCalendar calendar) {
+}
@@ -0,0 +1,10 @@
+package com.inghubs.event;
+
+import java.util.Map;
+
+/**
+ * Published inside the transaction that opens or closes the market of a batch of stock exchanges, with the live in
+ * market flag of each of them by name.
+ */
+public record MarketStatusChangedEvent(boolean marketOpen, Map<String, Boolean> liveInMarketByName) {
+}
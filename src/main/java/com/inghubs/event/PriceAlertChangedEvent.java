@@ -0,0 +1,14 @@
+package com.inghubs.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside the mutating transaction whenever a price alert is created or deleted.
+ */
+public record PriceAlertChangedEvent(Type type, Long alertId, Long stockId, BigDecimal abovePrice, BigDecimal belowPrice) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
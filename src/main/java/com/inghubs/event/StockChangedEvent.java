@@ -0,0 +1,15 @@
+package com.inghubs.event;
+
+import com.inghubs.dto.StockDTO;
+
+/**
+ * Published inside the mutating transaction whenever a stock is created, re-priced or deleted.
+ */
+public record StockChangedEvent(Type type, StockDTO stock) {
+
+    public enum Type {
+        CREATED,
+        PRICE_UPDATED,
+        DELETED
+    }
+}
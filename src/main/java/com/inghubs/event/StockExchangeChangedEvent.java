@@ -0,0 +1,16 @@
+package com.inghubs.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside the mutating transaction whenever a stock is added to or removed from a stock exchange. The
+ * stock price and version are the ones read with the added stock, and null for a removed stock.
+ */
+public record StockExchangeChangedEvent(Type type, Long stockExchangeId, String stockExchangeName, Long stockId,
+                                        boolean liveInMarket, BigDecimal stockPrice, Integer stockVersion) {
+
+    public enum Type {
+        STOCK_ADDED,
+        STOCK_REMOVED
+    }
+}
@@ -1,7 +1,10 @@
 package com.inghubs.exception;
 
+/**
+ * Thrown when a request is invalid. Mapped to a 400, without a stack trace.
+ */
 public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
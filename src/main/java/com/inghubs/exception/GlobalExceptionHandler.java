@@ -1,6 +1,8 @@
 package com.inghubs.exception;
 
+import com.inghubs.dto.ErrorResponseDTO;
 import com.inghubs.util.MessageUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
@@ -11,10 +13,8 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -22,59 +22,57 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler {
     private final MessageUtils messageUtils;
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponseDTO<?>> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler({BadRequestException.class, IllegalArgumentException.class})
-    public ResponseEntity<Object> handleBadRequestException(Exception ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ErrorResponseDTO<?>> handleBadRequestException(Exception ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-
+    protected ResponseEntity<ErrorResponseDTO<?>> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, WebRequest request) {
         List<String> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.toList());
 
-        body.put("message", errors);
-
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(ErrorResponseDTO.of(errors), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(StockAlreadyExistsException.class)
-    public ResponseEntity<Object> handleStockAlreadyExistsException(StockAlreadyExistsException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    public ResponseEntity<ErrorResponseDTO<?>> handleStockAlreadyExistsException(StockAlreadyExistsException ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(ex.getMessage()), HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler({OptimisticLockingFailureException.class})
-    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", messageUtils.getMessage("error.concurrent.modification"));
-        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    public ResponseEntity<ErrorResponseDTO<?>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(messageUtils.getMessage("error.concurrent.modification")), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(StockNotLocalException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleStockNotLocalException(StockNotLocalException ex, HttpServletRequest request) {
+        String query = request.getQueryString() == null ? "" : "?" + request.getQueryString();
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                .location(URI.create(ex.getOwnerUrl() + request.getRequestURI() + query))
+                .body(ErrorResponseDTO.of(ex.getMessage()));
+    }
+
+    @ExceptionHandler(NodeUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleNodeUnavailableException(NodeUnavailableException ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleGenericException(Exception ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", messageUtils.getMessage("error.unexpected") + ": " + ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ErrorResponseDTO<?>> handleGenericException(Exception ex, WebRequest request) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(messageUtils.getMessage("error.unexpected") + ": " + ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
 }
\ No newline at end of file
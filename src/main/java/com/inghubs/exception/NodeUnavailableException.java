@@ -0,0 +1,11 @@
+package com.inghubs.exception;
+
+public class NodeUnavailableException extends RuntimeException {
+    public NodeUnavailableException(String message) {
+        super(message);
+    }
+
+    public NodeUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,11 @@
 package com.inghubs.exception;
 
+/**
+ * Thrown when a requested resource does not exist. Missing resources are an expected outcome, mapped to a 404, so the
+ * exception records no stack trace.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.inghubs.exception;
 
+/**
+ * Thrown when a stock name is taken or a stock is already listed on the stock exchange. Mapped to a 409, without a
+ * stack trace.
+ */
 public class StockAlreadyExistsException extends RuntimeException {
     public StockAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
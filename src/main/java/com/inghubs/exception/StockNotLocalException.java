@@ -0,0 +1,17 @@
+package com.inghubs.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request concerns a stock owned by another node of the cluster. The request is redirected to the
+ * owning node.
+ */
+@Getter
+public class StockNotLocalException extends RuntimeException {
+    private final String ownerUrl;
+
+    public StockNotLocalException(String message, String ownerUrl) {
+        super(message);
+        this.ownerUrl = ownerUrl;
+    }
+}
@@ -0,0 +1,40 @@
+package com.inghubs.history;
+
+import java.nio.LongBuffer;
+
+/**
+ * Reads back the bits of a {@link BitWriter}, from its words or from a copy of them in a file.
+ */
+final class BitReader {
+
+    private final LongBuffer words;
+    private long position;
+
+    BitReader(LongBuffer words) {
+        this.words = words;
+    }
+
+    /**
+     * Reads the next bits as the low bits of a value.
+     *
+     * @param bits the number of bits to read, from 1 to 64
+     */
+    long read(int bits) {
+        int index = (int) (position >>> 6);
+        int used = (int) (position & 63);
+        int available = 64 - used;
+        long value = (words.get(index) << used) >>> (64 - bits);
+        if (bits > available) {
+            value |= words.get(index + 1) >>> (64 - (bits - available));
+        }
+        position += bits;
+        return value;
+    }
+
+    boolean readBit() {
+        int index = (int) (position >>> 6);
+        long bit = words.get(index) >>> (63 - (position & 63));
+        position++;
+        return (bit & 1) != 0;
+    }
+}
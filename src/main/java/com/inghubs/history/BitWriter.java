@@ -0,0 +1,64 @@
+package com.inghubs.history;
+
+import java.util.Arrays;
+
+/**
+ * Growable stream of bits, written most significant bit first into 64-bit words.
+ */
+final class BitWriter {
+
+    private long[] words;
+    private long bitCount;
+
+    BitWriter(int initialWords) {
+        this.words = new long[Math.max(initialWords, 1)];
+    }
+
+    /**
+     * Writes the low bits of a value.
+     *
+     * @param bits the number of bits to write, from 0 to 64
+     */
+    void write(long value, int bits) {
+        if (bits == 0) {
+            return;
+        }
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        int index = (int) (bitCount >>> 6);
+        int free = 64 - (int) (bitCount & 63);
+        if (index + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (bits <= free) {
+            words[index] |= value << (free - bits);
+        } else {
+            words[index] |= value >>> (bits - free);
+            words[index + 1] = value << (64 - (bits - free));
+        }
+        bitCount += bits;
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * @return the number of words holding the written bits
+     */
+    int wordCount() {
+        return (int) ((bitCount + 63) >>> 6);
+    }
+
+    /**
+     * @return the backing words, of which the first {@link #wordCount()} hold the written bits
+     */
+    long[] words() {
+        return words;
+    }
+}
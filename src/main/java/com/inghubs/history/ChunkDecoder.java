@@ -0,0 +1,61 @@
+package com.inghubs.history;
+
+import java.nio.LongBuffer;
+
+/**
+ * Cursor over the ticks of a chunk written by a {@link ChunkEncoder}.
+ */
+final class ChunkDecoder {
+
+    private final BitReader bits;
+    private final int count;
+    private int index;
+    private long timestamp;
+    private long delta;
+    private long price;
+
+    ChunkDecoder(LongBuffer words, ChunkSummary summary) {
+        this.bits = new BitReader(words);
+        this.count = summary.count();
+        this.timestamp = summary.firstTimestamp();
+        this.price = summary.open();
+    }
+
+    /**
+     * Moves to the next tick.
+     *
+     * @return false if there are no more ticks
+     */
+    boolean next() {
+        if (index == count) {
+            return false;
+        }
+        if (index > 0) {
+            delta += readValue(bits, ChunkEncoder.TIMESTAMP_WIDTHS);
+            timestamp += delta;
+            price += readValue(bits, ChunkEncoder.PRICE_WIDTHS);
+        }
+        index++;
+        return true;
+    }
+
+    long timestamp() {
+        return timestamp;
+    }
+
+    long price() {
+        return price;
+    }
+
+    static long readValue(BitReader bits, int[] widths) {
+        int code = 0;
+        while (code < widths.length && bits.readBit()) {
+            code++;
+        }
+        if (code == 0) {
+            return 0;
+        }
+        long zigzag = bits.read(widths[code - 1]);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
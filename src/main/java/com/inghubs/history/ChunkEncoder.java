@@ -0,0 +1,104 @@
+package com.inghubs.history;
+
+/**
+ * Encodes the ticks of one stock into a chunk of bits, in the style of the Gorilla time-series compression.
+ * <p>
+ * The first tick is kept in the {@link ChunkSummary}. Every following tick stores its timestamp as the difference
+ * between its delta and the previous delta, which is zero for ticks at a steady rate, and its price as the difference
+ * from the previous price. Gorilla XORs the bits of successive floating-point values; prices here are integer price
+ * ticks, for which the difference is smaller than the XOR and exact. Each difference is written as a variable-length
+ * code:
+ * <pre>
+ * 0                 the difference is zero
+ * 10   + 7/6 bits   zigzag-encoded timestamp/price difference below 2^7/2^6
+ * 110  + 12/13 bits below 2^12/2^13
+ * 1110 + 20/24 bits below 2^20/2^24
+ * 1111 + 64 bits    any other difference
+ * </pre>
+ * A tick at a steady rate and an unchanged price takes 2 bits.
+ */
+final class ChunkEncoder {
+
+    static final int[] TIMESTAMP_WIDTHS = {7, 12, 20, 64};
+    static final int[] PRICE_WIDTHS = {6, 13, 24, 64};
+    /**
+     * The most bits a tick can take: the longest code for both differences.
+     */
+    static final int MAX_BITS_PER_TICK = 2 * (4 + 64);
+
+    private final BitWriter bits;
+    private int count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+
+    ChunkEncoder(int expectedTicks) {
+        // about two bytes per tick at a steady rate and small price moves
+        this.bits = new BitWriter(expectedTicks / 4);
+    }
+
+    /**
+     * Appends a tick, at or after the previous one.
+     */
+    void append(long timestamp, long price) {
+        if (count == 0) {
+            firstTimestamp = timestamp;
+            open = price;
+            high = price;
+            low = price;
+        } else {
+            long delta = timestamp - lastTimestamp;
+            writeValue(bits, delta - lastDelta, TIMESTAMP_WIDTHS);
+            writeValue(bits, price - close, PRICE_WIDTHS);
+            lastDelta = delta;
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+        }
+        lastTimestamp = timestamp;
+        close = price;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    ChunkSummary summary() {
+        return new ChunkSummary(count, firstTimestamp, lastTimestamp, open, high, low, close);
+    }
+
+    int wordCount() {
+        return bits.wordCount();
+    }
+
+    long[] words() {
+        return bits.words();
+    }
+
+    static void writeValue(BitWriter bits, long value, int[] widths) {
+        if (value == 0) {
+            bits.writeBit(false);
+            return;
+        }
+        long zigzag = (value << 1) ^ (value >> 63);
+        int code = 0;
+        while (code < widths.length - 1 && zigzag >>> widths[code] != 0) {
+            code++;
+        }
+        if (code < widths.length - 1) {
+            // code + 1 ones, then a zero
+            bits.write(((1L << (code + 1)) - 1) << 1, code + 2);
+        } else {
+            bits.write((1L << widths.length) - 1, widths.length);
+        }
+        bits.write(zigzag, widths[code]);
+    }
+}
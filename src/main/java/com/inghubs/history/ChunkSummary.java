@@ -0,0 +1,11 @@
+package com.inghubs.history;
+
+/**
+ * The ticks of a chunk in aggregate, kept next to its encoded ticks so that a chunk falling within one bar of a
+ * downsampled range does not have to be decoded.
+ *
+ * @param open the price of the first tick, in price ticks
+ * @param close the price of the last tick, in price ticks
+ */
+record ChunkSummary(int count, long firstTimestamp, long lastTimestamp, long open, long high, long low, long close) {
+}
@@ -0,0 +1,10 @@
+package com.inghubs.history;
+
+/**
+ * The ticks of one interval of a downsampled range: open, high, low and close prices, in price ticks.
+ *
+ * @param startMillis the start of the interval, inclusive
+ * @param count the number of ticks in the interval
+ */
+public record PriceBar(long startMillis, long open, long high, long low, long close, int count) {
+}
@@ -0,0 +1,564 @@
+package com.inghubs.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Compressed price history of every stock, in chunks of ticks stored in memory-mapped segment files.
+ * <p>
+ * The ticks of a stock are appended to an open chunk held in memory, encoded by a {@link ChunkEncoder} at about two
+ * bytes per tick. Once it holds {@code chunkTicks} ticks, or when {@link #sealOlderThan(long)} finds it old enough,
+ * the chunk is sealed: it is copied to the end of the current segment file with a header of its stock, time range
+ * and {@link ChunkSummary}, and a new chunk is started. Segments are mapped into memory and a new one is created when
+ * the current one is full. On opening, the headers of the existing segments are read back to index the chunks of
+ * every stock; chunks that were still open when the store was last closed without {@link #close()} are lost.
+ * <p>
+ * Every segment starts with the epoch of the database its stock IDs refer to. Segments of another epoch, written
+ * against a database that no longer exists, are deleted on opening, so that their ticks are not read back as the
+ * history of unrelated stocks that reuse the IDs. {@link #dropSegmentsOlderThan(long)} deletes whole segments whose
+ * newest tick is older than a retention limit.
+ * <p>
+ * The chunks of a stock cover consecutive time ranges, so a range scan finds the first chunk it needs by binary
+ * search and decodes only the chunks overlapping the range. Downsampling into bars takes a chunk that falls within
+ * a single bar from its summary, without decoding it.
+ * <p>
+ * Ticks of one stock must be appended in time order; a tick older than the last one of its stock is recorded at the
+ * time of the last one. Appends and scans of one stock are serialized, and those of different stocks run in parallel.
+ */
+public final class PriceHistoryStore implements Closeable {
+
+    static final int HEADER_BYTES = 72;
+    static final int SEGMENT_HEADER_BYTES = 24;
+    private static final int MAGIC = 0x50484331;
+    private static final int SEGMENT_MAGIC = 0x50485331;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("prices-(\\d{6})\\.seg");
+
+    private final Path directory;
+    private final UUID epoch;
+    private final int chunkTicks;
+    private final int segmentBytes;
+    private final Map<Long, StockHistory> histories = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private final LongAdder decodedChunks = new LongAdder();
+    private Segment currentSegment;
+    private int lastSegmentNumber;
+    private long storedTicks;
+    private long storedBytes;
+    private int storedChunks;
+    private int deletedSegments;
+    private volatile boolean closed;
+
+    /**
+     * Opens the store in the given directory, creating it if needed, deletes the segments of another epoch and
+     * indexes the chunks of the others.
+     *
+     * @param epoch the epoch of the database the stock IDs refer to
+     * @param chunkTicks the number of ticks after which a chunk is sealed
+     * @param segmentBytes the size of a segment file, which must hold its header and at least one full chunk
+     */
+    public PriceHistoryStore(Path directory, UUID epoch, int chunkTicks, int segmentBytes) throws IOException {
+        if (chunkTicks < 2) {
+            throw new IllegalArgumentException("chunkTicks must be at least 2");
+        }
+        if (segmentBytes < minSegmentBytes(chunkTicks)) {
+            throw new IllegalArgumentException("segmentBytes must be at least " + minSegmentBytes(chunkTicks));
+        }
+        this.directory = directory;
+        this.epoch = epoch;
+        this.chunkTicks = chunkTicks;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    lastSegmentNumber = Integer.parseInt(name.group(1));
+                    Segment segment = load(file);
+                    if (segment == null) {
+                        Files.delete(file);
+                        deletedSegments++;
+                    } else {
+                        currentSegment = segment;
+                        segments.add(segment);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a tick to the history of a stock.
+     *
+     * @param priceTicks the price, in units of 10^-{@link com.inghubs.util.AppConstants#PRICE_SCALE}
+     */
+    public void append(long stockId, long timestampMillis, long priceTicks) {
+        if (closed) {
+            throw new IllegalStateException("The price history store is closed");
+        }
+        StockHistory history = histories.computeIfAbsent(stockId, StockHistory::new);
+        synchronized (history) {
+            long timestamp = Math.max(timestampMillis, history.lastTimestamp);
+            if (history.openChunk == null) {
+                history.openChunk = new ChunkEncoder(chunkTicks);
+            }
+            history.openChunk.append(timestamp, priceTicks);
+            history.lastTimestamp = timestamp;
+            if (history.openChunk.count() >= chunkTicks) {
+                seal(history);
+            }
+        }
+    }
+
+    /**
+     * Visits the ticks of a stock in a time range, in time order.
+     *
+     * @param fromMillis the start of the range, inclusive
+     * @param toMillis the end of the range, exclusive
+     * @return the number of ticks visited
+     */
+    public long scan(long stockId, long fromMillis, long toMillis, TickVisitor visitor) {
+        StockHistory history = histories.get(stockId);
+        if (history == null) {
+            return 0;
+        }
+        long[] visited = new long[1];
+        TickVisitor counting = (timestamp, price) -> {
+            visited[0]++;
+            return visitor.visit(timestamp, price);
+        };
+        synchronized (history) {
+            for (int i = firstChunkEndingAtOrAfter(history.chunks, fromMillis); i < history.chunks.size(); i++) {
+                ChunkRef chunk = history.chunks.get(i);
+                if (chunk.summary().firstTimestamp() >= toMillis
+                        || !visit(decoder(chunk), fromMillis, toMillis, counting)) {
+                    return visited[0];
+                }
+            }
+            ChunkEncoder openChunk = history.openChunk;
+            if (openChunk != null && openChunk.firstTimestamp() < toMillis) {
+                visit(decoder(openChunk), fromMillis, toMillis, counting);
+            }
+        }
+        return visited[0];
+    }
+
+    /**
+     * Downsamples the ticks of a stock in a time range into bars of a fixed interval, starting at the start of the
+     * range. Intervals without ticks have no bar.
+     *
+     * @param fromMillis the start of the range, inclusive
+     * @param toMillis the end of the range, exclusive
+     * @return the bars, in time order
+     */
+    public List<PriceBar> downsample(long stockId, long fromMillis, long toMillis, long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("intervalMillis must be positive");
+        }
+        BarBuilder bars = new BarBuilder(fromMillis, intervalMillis);
+        StockHistory history = histories.get(stockId);
+        if (history == null) {
+            return bars.build();
+        }
+        synchronized (history) {
+            for (int i = firstChunkEndingAtOrAfter(history.chunks, fromMillis); i < history.chunks.size(); i++) {
+                ChunkRef chunk = history.chunks.get(i);
+                if (chunk.summary().firstTimestamp() >= toMillis) {
+                    break;
+                }
+                if (!bars.addIfWithinOneBar(chunk.summary(), toMillis)) {
+                    visit(decoder(chunk), fromMillis, toMillis, bars);
+                }
+            }
+            ChunkEncoder openChunk = history.openChunk;
+            if (openChunk != null && openChunk.firstTimestamp() < toMillis
+                    && !bars.addIfWithinOneBar(openChunk.summary(), toMillis)) {
+                visit(decoder(openChunk), fromMillis, toMillis, bars);
+            }
+        }
+        return bars.build();
+    }
+
+    /**
+     * Seals the open chunks whose first tick is older than the given time, so that the ticks of stocks that rarely
+     * change are written to a segment.
+     *
+     * @return the number of chunks sealed
+     */
+    public int sealOlderThan(long timestampMillis) {
+        int sealed = 0;
+        for (StockHistory history : histories.values()) {
+            synchronized (history) {
+                if (history.openChunk != null && history.openChunk.firstTimestamp() < timestampMillis) {
+                    seal(history);
+                    sealed++;
+                }
+            }
+        }
+        return sealed;
+    }
+
+    /**
+     * Deletes the segments whose newest tick is older than the given time, except the one being written. The ticks
+     * of a stock are removed oldest first, so what is left of its history is still contiguous.
+     *
+     * @return the number of segments deleted
+     */
+    public int dropSegmentsOlderThan(long timestampMillis) {
+        List<Segment> expired = new ArrayList<>();
+        synchronized (segments) {
+            for (Segment segment : segments) {
+                if (segment != currentSegment && segment.lastTimestamp < timestampMillis) {
+                    expired.add(segment);
+                    storedTicks -= segment.ticks;
+                    storedBytes -= segment.position - SEGMENT_HEADER_BYTES;
+                    storedChunks -= segment.chunks;
+                }
+            }
+            segments.removeAll(expired);
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        for (StockHistory history : histories.values()) {
+            synchronized (history) {
+                history.chunks.removeIf(chunk -> expired.contains(chunk.segment()));
+            }
+        }
+        // a mapping stays valid after its file is deleted, and is released once the segment is collected
+        for (Segment segment : expired) {
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * Forces the segments written since the last call to disk.
+     */
+    public void force() {
+        synchronized (segments) {
+            for (Segment segment : segments) {
+                if (segment.dirty) {
+                    segment.buffer.force();
+                    segment.dirty = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Seals every open chunk and forces the segments to disk. The store cannot be appended to afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        sealOlderThan(Long.MAX_VALUE);
+        force();
+    }
+
+    /**
+     * @return the number of ticks in sealed chunks
+     */
+    public long storedTicks() {
+        synchronized (segments) {
+            return storedTicks;
+        }
+    }
+
+    /**
+     * @return the number of bytes taken by the sealed chunks, headers included
+     */
+    public long storedBytes() {
+        synchronized (segments) {
+            return storedBytes;
+        }
+    }
+
+    /**
+     * @return the number of sealed chunks
+     */
+    public int storedChunks() {
+        synchronized (segments) {
+            return storedChunks;
+        }
+    }
+
+    /**
+     * @return the number of segments of another epoch deleted when the store was opened
+     */
+    public int deletedSegments() {
+        return deletedSegments;
+    }
+
+    /**
+     * @return the number of chunks decoded by scans and downsampling since the store was opened
+     */
+    long decodedChunks() {
+        return decodedChunks.sum();
+    }
+
+    static int maxChunkBytes(int chunkTicks) {
+        return HEADER_BYTES + (int) (((long) chunkTicks * ChunkEncoder.MAX_BITS_PER_TICK + 63) / 64 + 1) * 8;
+    }
+
+    static int minSegmentBytes(int chunkTicks) {
+        return SEGMENT_HEADER_BYTES + maxChunkBytes(chunkTicks);
+    }
+
+    private static boolean visit(ChunkDecoder decoder, long fromMillis, long toMillis, TickVisitor visitor) {
+        while (decoder.next()) {
+            long timestamp = decoder.timestamp();
+            if (timestamp >= toMillis) {
+                return false;
+            }
+            if (timestamp >= fromMillis && !visitor.visit(timestamp, decoder.price())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ChunkDecoder decoder(ChunkRef chunk) {
+        decodedChunks.increment();
+        LongBuffer words = chunk.segment().buffer
+                .slice(chunk.offset() + HEADER_BYTES, chunk.payloadWords() * Long.BYTES).asLongBuffer();
+        return new ChunkDecoder(words, chunk.summary());
+    }
+
+    private ChunkDecoder decoder(ChunkEncoder openChunk) {
+        decodedChunks.increment();
+        return new ChunkDecoder(LongBuffer.wrap(openChunk.words()), openChunk.summary());
+    }
+
+    private static int firstChunkEndingAtOrAfter(List<ChunkRef> chunks, long timestampMillis) {
+        int low = 0;
+        int high = chunks.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (chunks.get(middle).summary().lastTimestamp() < timestampMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void seal(StockHistory history) {
+        history.chunks.add(write(history.stockId, history.openChunk));
+        history.openChunk = null;
+    }
+
+    private ChunkRef write(long stockId, ChunkEncoder chunk) {
+        int payloadWords = chunk.wordCount();
+        int bytes = HEADER_BYTES + payloadWords * Long.BYTES;
+        ChunkSummary summary = chunk.summary();
+        synchronized (segments) {
+            if (currentSegment == null || currentSegment.position + bytes > currentSegment.buffer.capacity()) {
+                currentSegment = create(++lastSegmentNumber);
+                segments.add(currentSegment);
+            }
+            MappedByteBuffer buffer = currentSegment.buffer;
+            int offset = currentSegment.position;
+            buffer.putInt(offset + 4, summary.count());
+            buffer.putInt(offset + 8, payloadWords);
+            buffer.putInt(offset + 12, 0);
+            buffer.putLong(offset + 16, stockId);
+            buffer.putLong(offset + 24, summary.firstTimestamp());
+            buffer.putLong(offset + 32, summary.lastTimestamp());
+            buffer.putLong(offset + 40, summary.open());
+            buffer.putLong(offset + 48, summary.high());
+            buffer.putLong(offset + 56, summary.low());
+            buffer.putLong(offset + 64, summary.close());
+            long[] words = chunk.words();
+            for (int i = 0; i < payloadWords; i++) {
+                buffer.putLong(offset + HEADER_BYTES + i * Long.BYTES, words[i]);
+            }
+            // the magic number goes last, so that a chunk cut short by a crash is not read back
+            buffer.putInt(offset, MAGIC);
+            currentSegment.position += bytes;
+            currentSegment.dirty = true;
+            currentSegment.add(summary);
+            storedTicks += summary.count();
+            storedBytes += bytes;
+            storedChunks++;
+            return new ChunkRef(currentSegment, offset, payloadWords, summary);
+        }
+    }
+
+    private Segment create(int number) {
+        Path file = directory.resolve(String.format("prices-%06d.seg", number));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+            segment.buffer.putInt(4, 0);
+            segment.buffer.putLong(8, epoch.getMostSignificantBits());
+            segment.buffer.putLong(16, epoch.getLeastSignificantBits());
+            segment.buffer.putInt(0, SEGMENT_MAGIC);
+            segment.position = SEGMENT_HEADER_BYTES;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the segment with its chunks indexed, or null if it belongs to another epoch
+     */
+    private Segment load(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.capacity() < SEGMENT_HEADER_BYTES || buffer.getInt(0) != SEGMENT_MAGIC
+                || buffer.getLong(8) != epoch.getMostSignificantBits() || buffer.getLong(16) != epoch.getLeastSignificantBits()) {
+            return null;
+        }
+        Segment segment = new Segment(file, buffer);
+        segment.position = SEGMENT_HEADER_BYTES;
+        while (segment.position + HEADER_BYTES <= buffer.capacity() && buffer.getInt(segment.position) == MAGIC) {
+            int offset = segment.position;
+            int payloadWords = buffer.getInt(offset + 8);
+            int bytes = HEADER_BYTES + payloadWords * Long.BYTES;
+            if (payloadWords < 0 || offset + bytes > buffer.capacity()) {
+                break;
+            }
+            ChunkSummary summary = new ChunkSummary(buffer.getInt(offset + 4), buffer.getLong(offset + 24),
+                    buffer.getLong(offset + 32), buffer.getLong(offset + 40), buffer.getLong(offset + 48),
+                    buffer.getLong(offset + 56), buffer.getLong(offset + 64));
+            StockHistory history = histories.computeIfAbsent(buffer.getLong(offset + 16), StockHistory::new);
+            history.chunks.add(new ChunkRef(segment, offset, payloadWords, summary));
+            history.lastTimestamp = Math.max(history.lastTimestamp, summary.lastTimestamp());
+            segment.position += bytes;
+            segment.add(summary);
+            storedTicks += summary.count();
+            storedBytes += bytes;
+            storedChunks++;
+        }
+        return segment;
+    }
+
+    private static final class StockHistory {
+        private final long stockId;
+        private final List<ChunkRef> chunks = new ArrayList<>();
+        private ChunkEncoder openChunk;
+        private long lastTimestamp = Long.MIN_VALUE;
+
+        private StockHistory(long stockId) {
+            this.stockId = stockId;
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private boolean dirty;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private long ticks;
+        private int chunks;
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private void add(ChunkSummary summary) {
+            lastTimestamp = Math.max(lastTimestamp, summary.lastTimestamp());
+            ticks += summary.count();
+            chunks++;
+        }
+    }
+
+    private record ChunkRef(Segment segment, int offset, int payloadWords, ChunkSummary summary) {
+    }
+
+    /**
+     * Builds the bars of a downsampled range from ticks and from chunks within one bar, in time order.
+     */
+    private static final class BarBuilder implements TickVisitor {
+        private final long fromMillis;
+        private final long intervalMillis;
+        private final List<PriceBar> bars = new ArrayList<>();
+        private long bar = -1;
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        private int count;
+
+        private BarBuilder(long fromMillis, long intervalMillis) {
+            this.fromMillis = fromMillis;
+            this.intervalMillis = intervalMillis;
+        }
+
+        @Override
+        public boolean visit(long timestampMillis, long priceTicks) {
+            add(barOf(timestampMillis), priceTicks, priceTicks, priceTicks, priceTicks, 1);
+            return true;
+        }
+
+        /**
+         * @return false if the chunk is not entirely within one bar of the range, and must be decoded
+         */
+        private boolean addIfWithinOneBar(ChunkSummary chunk, long toMillis) {
+            if (chunk.firstTimestamp() < fromMillis || chunk.lastTimestamp() >= toMillis
+                    || barOf(chunk.firstTimestamp()) != barOf(chunk.lastTimestamp())) {
+                return false;
+            }
+            add(barOf(chunk.firstTimestamp()), chunk.open(), chunk.high(), chunk.low(), chunk.close(), chunk.count());
+            return true;
+        }
+
+        private long barOf(long timestampMillis) {
+            return Math.floorDiv(timestampMillis - fromMillis, intervalMillis);
+        }
+
+        private void add(long bar, long open, long high, long low, long close, int count) {
+            if (bar != this.bar) {
+                flush();
+                this.bar = bar;
+                this.open = open;
+                this.high = high;
+                this.low = low;
+                this.count = 0;
+            } else {
+                this.high = Math.max(this.high, high);
+                this.low = Math.min(this.low, low);
+            }
+            this.close = close;
+            this.count += count;
+        }
+
+        private void flush() {
+            if (count > 0) {
+                bars.add(new PriceBar(fromMillis + bar * intervalMillis, open, high, low, close, count));
+            }
+        }
+
+        private List<PriceBar> build() {
+            flush();
+            count = 0;
+            return bars;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inghubs.history;
+
+/**
+ * Receives the ticks of a range scan of a {@link PriceHistoryStore}, in time order.
+ */
+@FunctionalInterface
+public interface TickVisitor {
+
+    /**
+     * @param priceTicks the price, in units of 10^-{@link com.inghubs.util.AppConstants#PRICE_SCALE}
+     * @return false to stop the scan
+     */
+    boolean visit(long timestampMillis, long priceTicks);
+}
@@ -0,0 +1,210 @@
+package com.inghubs.idempotency;
+
+import com.inghubs.config.IdempotencyProperties;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplicates retried write requests, placed in the security filter chain after the rate limit.
+ * <p>
+ * A {@code POST} to one of the configured paths that carries an {@code Idempotency-Key} header claims the key for
+ * its user in the {@link IdempotencyStore}. If the request succeeds, its status, content type and body are stored,
+ * and a retry with the same key gets them back with an {@code Idempotent-Replayed} header, before it reaches a
+ * controller or the database. A body larger than {@code idempotency.max-response-bytes} is dropped, and the retry gets
+ * the status with an empty body. Failed requests release the key, so they can be corrected and sent again with it.
+ * <p>
+ * A retry that arrives while the first request is still running gets {@code 409 Conflict}, and a key sent again with
+ * another method, path, parameters or body gets {@code 422 Unprocessable Entity}.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final IdempotencyProperties idempotencyProperties;
+    private final MessageUtils messageUtils;
+    private final IdempotencyStore idempotencyStore;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyProperties idempotencyProperties, MessageUtils messageUtils) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.messageUtils = messageUtils;
+        this.idempotencyStore = new IdempotencyStore(idempotencyProperties.getMaxKeys(), idempotencyProperties.getMaxBytes(),
+                idempotencyProperties.getSegments(), TimeUnit.SECONDS.toNanos(idempotencyProperties.getTtlSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !idempotencyProperties.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(AppConstants.IDEMPOTENCY_KEY_HEADER) == null
+                || idempotencyProperties.getPaths().stream().noneMatch(path -> pathMatcher.match(path, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(AppConstants.IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > AppConstants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, messageUtils.getMessage("idempotency.key.invalid",
+                    String.valueOf(AppConstants.IDEMPOTENCY_KEY_MAX_LENGTH)));
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key = (authentication == null ? request.getRemoteAddr() : authentication.getName()) + '\n' + idempotencyKey;
+        // parameters are parsed before the body is read, since a form body is only available as parameters afterwards
+        String parameters = request.getParameterMap().entrySet().stream()
+                .map(parameter -> parameter.getKey() + '=' + String.join(",", parameter.getValue()))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        byte[] body = request.getInputStream().readAllBytes();
+        long fingerprint = fingerprint(request.getMethod() + ' ' + request.getRequestURI() + '?' + parameters, body);
+
+        IdempotentResponse stored = idempotencyStore.claim(key, fingerprint, System.nanoTime());
+        if (stored != null) {
+            if (stored.fingerprint() != fingerprint) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, messageUtils.getMessage("idempotency.key.reused"));
+            } else if (stored.isInFlight()) {
+                reject(response, HttpStatus.CONFLICT, messageUtils.getMessage("idempotency.key.in.progress"));
+            } else {
+                replay(response, stored);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (HttpStatus.valueOf(status).is2xxSuccessful()) {
+                IdempotentResponse completedResponse = new IdempotentResponse(fingerprint, status,
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+                if (responseWrapper.getContentSize() > idempotencyProperties.getMaxResponseBytes()) {
+                    completedResponse = completedResponse.withoutBody();
+                }
+                idempotencyStore.complete(key, completedResponse, System.nanoTime());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, IdempotentResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(AppConstants.IDEMPOTENT_REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String errorMessage) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(status.value());
+        response.getOutputStream().println("{ \"error\": \"" + errorMessage + "\" }");
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the target of the request and its body.
+     */
+    private static long fingerprint(String target, byte[] body) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < target.length(); i++) {
+            hash = (hash ^ target.charAt(i)) * FNV_PRIME;
+        }
+        for (byte b : body) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Replays a request body that was already read to fingerprint the request.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the whole body is already in memory: it is available at once, and read once the listener is done
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.inghubs.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded store of the responses to requests sent with an {@code Idempotency-Key}, evicted after a fixed time to
+ * live.
+ * <p>
+ * Keys are spread over lock-striped segments. Each segment is a hash map in insertion order with a fixed share of the
+ * capacity, in keys and in bytes, and since every entry lives for the same time, the oldest entry is always the first
+ * to expire: expired entries are dropped from the head of the segment on every write, and while a segment is over
+ * either share its oldest entries make room. The bytes of an entry are estimated as its key, its response body and
+ * {@value #ENTRY_OVERHEAD_BYTES} bytes for the objects around them, so the heap retained by the store stays close to
+ * {@code maxBytes}, whatever the request rate and the size of the responses.
+ * <p>
+ * A key is first claimed with an in-flight marker, so a retry that arrives while the original request is still
+ * running does not run it a second time, then completed with the response or released if there is none to keep.
+ * In-flight claims only expire and are never evicted to make room, since a retry would then run the request again:
+ * a segment may go over its share by the number of its requests still running, which is bounded by the request
+ * threads.
+ */
+public final class IdempotencyStore {
+
+    /**
+     * The heap taken by an entry besides its key characters and response body: the map entry, the slot, the
+     * response, the key string and the body array headers, as measured by {@code IdempotencyStoreBenchmark}.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 192;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+
+    /**
+     * @param maxKeys the number of keys kept at most
+     * @param maxBytes the estimated bytes kept at most
+     * @param segmentCount the number of lock stripes, rounded up to a power of two
+     * @param ttlNanos how long a key is kept after it is claimed
+     */
+    public IdempotencyStore(int maxKeys, long maxBytes, int segmentCount, long ttlNanos) {
+        if (maxKeys < 1 || maxBytes < 1 || segmentCount < 1 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("maxKeys, maxBytes, segmentCount and ttlNanos must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(segmentCount, maxKeys) * 2 - 1);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(Math.max(1, maxKeys / count), Math.max(1, maxBytes / count));
+        }
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Claims a key for a request, unless it is already known.
+     *
+     * @param fingerprint the hash of the request the key is sent with
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return null if the key was claimed and the request should run, otherwise the stored response, which is
+     * {@link IdempotentResponse#isInFlight() in flight} if the first request has not completed yet
+     */
+    public IdempotentResponse claim(String key, long fingerprint, long nowNanos) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.evictExpired(nowNanos);
+            Slot slot = segment.get(key);
+            if (slot != null) {
+                return slot.response;
+            }
+            segment.add(key, new Slot(key, IdempotentResponse.inFlight(fingerprint), nowNanos + ttlNanos));
+            return null;
+        }
+    }
+
+    /**
+     * Stores the response of a claimed key, for the rest of its time to live.
+     */
+    public void complete(String key, IdempotentResponse response, long nowNanos) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            Slot slot = segment.get(key);
+            if (slot != null) {
+                segment.replace(key, slot, response);
+            } else {
+                segment.evictExpired(nowNanos);
+                segment.add(key, new Slot(key, response, nowNanos + ttlNanos));
+            }
+        }
+    }
+
+    /**
+     * Forgets a claimed key, so the request can be sent again with it.
+     */
+    public void release(String key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.drop(key);
+        }
+    }
+
+    /**
+     * @return the number of keys stored, expired ones included until they are evicted
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the estimated bytes stored, expired keys included until they are evicted
+     */
+    public long bytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    private Segment segment(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static long estimateBytes(String key, IdempotentResponse response) {
+        return ENTRY_OVERHEAD_BYTES + key.length() + response.body().length;
+    }
+
+    private static final class Slot {
+        private IdempotentResponse response;
+        private long bytes;
+        private final long expiresAtNanos;
+
+        private Slot(String key, IdempotentResponse response, long expiresAtNanos) {
+            this.response = response;
+            this.bytes = estimateBytes(key, response);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Slot> {
+
+        private final int maxKeys;
+        private final long maxBytes;
+        private long bytes;
+
+        private Segment(int maxKeys, long maxBytes) {
+            super(Math.min(maxKeys, 1 << 16), 0.75f, false);
+            this.maxKeys = maxKeys;
+            this.maxBytes = maxBytes;
+        }
+
+        private void add(String key, Slot slot) {
+            put(key, slot);
+            bytes += slot.bytes;
+            evictOverCapacity();
+        }
+
+        private void replace(String key, Slot slot, IdempotentResponse response) {
+            bytes -= slot.bytes;
+            slot.response = response;
+            slot.bytes = estimateBytes(key, response);
+            bytes += slot.bytes;
+            evictOverCapacity();
+        }
+
+        private void drop(String key) {
+            Slot slot = remove(key);
+            if (slot != null) {
+                bytes -= slot.bytes;
+            }
+        }
+
+        private void evictExpired(long nowNanos) {
+            Iterator<Slot> slots = values().iterator();
+            while (slots.hasNext()) {
+                Slot slot = slots.next();
+                if (slot.expiresAtNanos - nowNanos > 0) {
+                    return;
+                }
+                bytes -= slot.bytes;
+                slots.remove();
+            }
+        }
+
+        private void evictOverCapacity() {
+            Iterator<Slot> slots = values().iterator();
+            while ((size() > maxKeys || bytes > maxBytes) && slots.hasNext()) {
+                Slot slot = slots.next();
+                if (!slot.response.isInFlight()) {
+                    bytes -= slot.bytes;
+                    slots.remove();
+                }
+            }
+        }
+    }
+}
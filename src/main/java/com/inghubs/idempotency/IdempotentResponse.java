@@ -0,0 +1,29 @@
+package com.inghubs.idempotency;
+
+/**
+ * A response kept for replay, or the marker of a request that is still running.
+ *
+ * @param fingerprint the hash of the method, path and body of the request, to detect a key reused for another request
+ * @param status the HTTP status, 0 while the request is in flight
+ * @param contentType the content type of the body, or null
+ * @param body the response body, empty if it was larger than the store keeps
+ */
+public record IdempotentResponse(long fingerprint, int status, String contentType, byte[] body) {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    public static IdempotentResponse inFlight(long fingerprint) {
+        return new IdempotentResponse(fingerprint, 0, null, EMPTY);
+    }
+
+    /**
+     * @return this response with its body dropped, keeping the status and content type
+     */
+    public IdempotentResponse withoutBody() {
+        return new IdempotentResponse(fingerprint, status, contentType, EMPTY);
+    }
+
+    public boolean isInFlight() {
+        return status == 0;
+    }
+}
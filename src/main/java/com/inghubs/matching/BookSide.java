@@ -0,0 +1,114 @@
+package com.inghubs.matching;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * One side of an order book: price levels in a sorted array keyed by a primitive {@code long} price.
+ * <p>
+ * Levels are sorted from worst to best price, so the best level is the last element: consuming it during a match
+ * and adding a level near the top of the book, the common cases, move few or no elements.
+ */
+final class BookSide {
+
+    private final boolean bids;
+    private final Deque<PriceLevel> freeLevels = new ArrayDeque<>();
+    private long[] keys = new long[16];
+    private PriceLevel[] levels = new PriceLevel[16];
+    private int count;
+
+    BookSide(boolean bids) {
+        this.bids = bids;
+    }
+
+    int levelCount() {
+        return count;
+    }
+
+    PriceLevel best() {
+        return levels[count - 1];
+    }
+
+    /**
+     * @param depth the position from the best level, 0 being the best
+     */
+    PriceLevel level(int depth) {
+        return levels[count - 1 - depth];
+    }
+
+    /**
+     * @return whether an incoming order at the given limit price crosses the best level of this side
+     */
+    boolean crosses(long limitPrice) {
+        if (count == 0) {
+            return false;
+        }
+        long bestPrice = best().price;
+        return bids ? bestPrice >= limitPrice : bestPrice <= limitPrice;
+    }
+
+    void add(Order order) {
+        long key = key(order.price);
+        int index = Arrays.binarySearch(keys, 0, count, key);
+        PriceLevel level;
+        if (index >= 0) {
+            level = levels[index];
+        } else {
+            level = insertLevel(-index - 1, key, order.price);
+        }
+        level.append(order);
+    }
+
+    void remove(Order order) {
+        PriceLevel level = order.level;
+        level.unlink(order);
+        if (level.isEmpty()) {
+            removeLevel(Arrays.binarySearch(keys, 0, count, key(level.price)));
+        }
+    }
+
+    void clear(OrderPool orderPool) {
+        for (int i = 0; i < count; i++) {
+            Order order = levels[i].head;
+            while (order != null) {
+                Order next = order.next;
+                orderPool.release(order);
+                order = next;
+            }
+            freeLevels.push(levels[i]);
+            levels[i] = null;
+        }
+        count = 0;
+    }
+
+    private PriceLevel insertLevel(int index, long key, long price) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            levels = Arrays.copyOf(levels, count * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(levels, index, levels, index + 1, count - index);
+        PriceLevel level = freeLevels.isEmpty() ? new PriceLevel() : freeLevels.pop();
+        level.reset(price);
+        keys[index] = key;
+        levels[index] = level;
+        count++;
+        return level;
+    }
+
+    private void removeLevel(int index) {
+        freeLevels.push(levels[index]);
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(levels, index + 1, levels, index, count - index - 1);
+        count--;
+        levels[count] = null;
+    }
+
+    /**
+     * Sort key that puts the best price last: the highest bid, or the lowest ask.
+     */
+    private long key(long price) {
+        return bids ? price : -price;
+    }
+}
@@ -0,0 +1,12 @@
+package com.inghubs.matching;
+
+import java.util.List;
+
+/**
+ * A copy of the best levels of an order book, taken on the thread of its shard.
+ */
+public record BookView(long lastTradePrice, List<Level> bids, List<Level> asks) {
+
+    public record Level(long price, long quantity, int orderCount) {
+    }
+}
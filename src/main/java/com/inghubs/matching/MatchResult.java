@@ -0,0 +1,9 @@
+package com.inghubs.matching;
+
+import java.util.List;
+
+/**
+ * The outcome of submitting an order: its fills and the quantity left resting in the book.
+ */
+public record MatchResult(long orderId, long remaining, List<Trade> trades) {
+}
@@ -0,0 +1,181 @@
+package com.inghubs.matching;
+
+import com.inghubs.config.MatchingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the order books of all listings. Listings are spread over a fixed number of shards by (exchange, stock);
+ * each shard owns its books and its {@link OrderPool} and runs them on a single thread, so books need no locking
+ * and the orders of one listing are matched strictly in arrival order.
+ * <p>
+ * The last trade price of every stock is kept in a map that the caller drains, so bursts of trades are conflated
+ * into one price update per stock.
+ */
+@Slf4j
+@Component
+public class MatchingEngine {
+
+    private final Shard[] shards;
+    private final AtomicLong orderIds = new AtomicLong();
+    private final Map<Long, Long> lastTradePrices = new ConcurrentHashMap<>();
+
+    public MatchingEngine(MatchingProperties matchingProperties) {
+        shards = new Shard[matchingProperties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Submits a limit order to the book of a listing.
+     *
+     * @param stockExchangeId the ID of the StockExchange
+     * @param stockId the ID of the Stock
+     * @param side the side of the order
+     * @param price the limit price in ticks
+     * @param quantity the quantity of the order
+     * @return the fills of the order and its resting quantity
+     */
+    public CompletableFuture<MatchResult> submit(long stockExchangeId, long stockId, OrderSide side, long price, long quantity) {
+        long orderId = orderIds.incrementAndGet();
+        Shard shard = shardFor(stockExchangeId, stockId);
+        return CompletableFuture.supplyAsync(() -> shard.submit(new ListingKey(stockExchangeId, stockId), orderId, side, price, quantity),
+                shard.executor);
+    }
+
+    /**
+     * Cancels a resting order.
+     *
+     * @return the cancelled quantity, or -1 if the order is not resting in the book of the listing
+     */
+    public CompletableFuture<Long> cancel(long stockExchangeId, long stockId, long orderId) {
+        Shard shard = shardFor(stockExchangeId, stockId);
+        return CompletableFuture.supplyAsync(() -> shard.cancel(new ListingKey(stockExchangeId, stockId), orderId), shard.executor);
+    }
+
+    /**
+     * Copies the best levels of the book of a listing.
+     */
+    public CompletableFuture<BookView> view(long stockExchangeId, long stockId, int depth) {
+        Shard shard = shardFor(stockExchangeId, stockId);
+        return CompletableFuture.supplyAsync(() -> shard.view(new ListingKey(stockExchangeId, stockId), depth), shard.executor);
+    }
+
+    /**
+     * Drops the book of a listing with all of its resting orders.
+     */
+    public CompletableFuture<Void> closeBook(long stockExchangeId, long stockId) {
+        Shard shard = shardFor(stockExchangeId, stockId);
+        return CompletableFuture.runAsync(() -> shard.close(new ListingKey(stockExchangeId, stockId)), shard.executor);
+    }
+
+    /**
+     * Removes and returns the last trade price, in ticks, of every stock that traded since the previous call.
+     */
+    public Map<Long, Long> drainLastTradePrices() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long stockId : lastTradePrices.keySet()) {
+            Long price = lastTradePrices.remove(stockId);
+            if (price != null) {
+                drained.put(stockId, price);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Puts back a drained last trade price that could not be written, unless the stock has traded again since.
+     */
+    public void requeueLastTradePrice(long stockId, long price) {
+        lastTradePrices.putIfAbsent(stockId, price);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            if (!shard.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Matching shard {} did not stop in time", shard.index);
+            }
+        }
+    }
+
+    private Shard shardFor(long stockExchangeId, long stockId) {
+        return shards[Math.floorMod(Objects.hash(stockExchangeId, stockId), shards.length)];
+    }
+
+    private record ListingKey(long stockExchangeId, long stockId) {
+    }
+
+    private final class Shard {
+
+        private final int index;
+        private final ExecutorService executor;
+        private final OrderPool orderPool = new OrderPool();
+        private final Map<ListingKey, OrderBook> books = new HashMap<>();
+        private List<Trade> currentTrades;
+        private final TradeListener tradeListener = (makerOrderId, takerOrderId, price, quantity) ->
+                currentTrades.add(new Trade(makerOrderId, price, quantity));
+
+        private Shard(int index) {
+            this.index = index;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "matching-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private MatchResult submit(ListingKey listing, long orderId, OrderSide side, long price, long quantity) {
+            OrderBook book = books.computeIfAbsent(listing, key -> new OrderBook(orderPool));
+            currentTrades = new ArrayList<>();
+            long remaining = book.submit(orderId, side, price, quantity, tradeListener);
+            List<Trade> trades = currentTrades;
+            currentTrades = null;
+            if (!trades.isEmpty()) {
+                lastTradePrices.put(listing.stockId(), book.getLastTradePrice());
+            }
+            return new MatchResult(orderId, remaining, trades);
+        }
+
+        private long cancel(ListingKey listing, long orderId) {
+            OrderBook book = books.get(listing);
+            return book == null ? -1 : book.cancel(orderId);
+        }
+
+        private BookView view(ListingKey listing, int depth) {
+            OrderBook book = books.get(listing);
+            if (book == null) {
+                return new BookView(0, List.of(), List.of());
+            }
+            List<BookView.Level> bids = new ArrayList<>();
+            List<BookView.Level> asks = new ArrayList<>();
+            book.visitLevels(OrderSide.BUY, depth, (price, quantity, orderCount) -> bids.add(new BookView.Level(price, quantity, orderCount)));
+            book.visitLevels(OrderSide.SELL, depth, (price, quantity, orderCount) -> asks.add(new BookView.Level(price, quantity, orderCount)));
+            return new BookView(book.getLastTradePrice(), bids, asks);
+        }
+
+        private void close(ListingKey listing) {
+            OrderBook book = books.remove(listing);
+            if (book != null) {
+                book.clear();
+            }
+        }
+    }
+}
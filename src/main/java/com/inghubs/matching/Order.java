@@ -0,0 +1,26 @@
+package com.inghubs.matching;
+
+/**
+ * A resting limit order. Instances are recycled through an {@link OrderPool} and linked into the FIFO queue of
+ * their {@link PriceLevel}, so resting an order allocates nothing once the pool is warm.
+ */
+final class Order {
+
+    long orderId;
+    OrderSide side;
+    long price;
+    long remaining;
+    PriceLevel level;
+    Order prev;
+    Order next;
+
+    void reset() {
+        orderId = 0;
+        side = null;
+        price = 0;
+        remaining = 0;
+        level = null;
+        prev = null;
+        next = null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.inghubs.matching;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limit order book of one listing with price-time priority.
+ * <p>
+ * An incoming order trades against the best opposite levels, oldest order first, at the resting order's price
+ * until it is filled or no longer crosses; the remainder rests in the book. Prices are integer ticks. The book is
+ * not thread-safe: the {@link MatchingEngine} only touches it from the thread of its shard.
+ */
+public class OrderBook {
+
+    private final OrderPool orderPool;
+    private final BookSide bids = new BookSide(true);
+    private final BookSide asks = new BookSide(false);
+    private final Map<Long, Order> restingOrders = new HashMap<>();
+    private long lastTradePrice;
+
+    public OrderBook() {
+        this(new OrderPool());
+    }
+
+    OrderBook(OrderPool orderPool) {
+        this.orderPool = orderPool;
+    }
+
+    /**
+     * Matches a limit order and rests its remainder.
+     *
+     * @param orderId the ID of the order, unique within the book
+     * @param side the side of the order
+     * @param price the limit price in ticks
+     * @param quantity the quantity of the order
+     * @param tradeListener receives every fill of the order, in match order
+     * @return the quantity left resting in the book
+     */
+    public long submit(long orderId, OrderSide side, long price, long quantity, TradeListener tradeListener) {
+        BookSide opposite = side == OrderSide.BUY ? asks : bids;
+        long remaining = quantity;
+        while (remaining > 0 && opposite.crosses(price)) {
+            PriceLevel level = opposite.best();
+            Order maker = level.head;
+            long fill = Math.min(remaining, maker.remaining);
+            maker.remaining -= fill;
+            level.quantity -= fill;
+            remaining -= fill;
+            lastTradePrice = level.price;
+            tradeListener.onTrade(maker.orderId, orderId, level.price, fill);
+            if (maker.remaining == 0) {
+                opposite.remove(maker);
+                restingOrders.remove(maker.orderId);
+                orderPool.release(maker);
+            }
+        }
+        if (remaining > 0) {
+            Order order = orderPool.acquire(orderId, side, price, remaining);
+            (side == OrderSide.BUY ? bids : asks).add(order);
+            restingOrders.put(orderId, order);
+        }
+        return remaining;
+    }
+
+    /**
+     * Cancels a resting order.
+     *
+     * @param orderId the ID of the order
+     * @return the cancelled quantity, or -1 if the order is not resting in the book
+     */
+    public long cancel(long orderId) {
+        Order order = restingOrders.remove(orderId);
+        if (order == null) {
+            return -1;
+        }
+        long remaining = order.remaining;
+        (order.side == OrderSide.BUY ? bids : asks).remove(order);
+        orderPool.release(order);
+        return remaining;
+    }
+
+    /**
+     * Removes every resting order.
+     */
+    public void clear() {
+        bids.clear(orderPool);
+        asks.clear(orderPool);
+        restingOrders.clear();
+    }
+
+    /**
+     * Visits the best levels of one side, best first.
+     *
+     * @param side the side to visit
+     * @param maxLevels the maximum number of levels to visit
+     * @param visitor receives the price, total quantity and order count of each level
+     */
+    public void visitLevels(OrderSide side, int maxLevels, LevelVisitor visitor) {
+        BookSide bookSide = side == OrderSide.BUY ? bids : asks;
+        for (int depth = 0; depth < Math.min(maxLevels, bookSide.levelCount()); depth++) {
+            PriceLevel level = bookSide.level(depth);
+            visitor.visit(level.price, level.quantity, level.orderCount);
+        }
+    }
+
+    /**
+     * @return the price of the last trade in ticks, or 0 if the book has not traded
+     */
+    public long getLastTradePrice() {
+        return lastTradePrice;
+    }
+
+    public int getRestingOrderCount() {
+        return restingOrders.size();
+    }
+
+    @FunctionalInterface
+    public interface LevelVisitor {
+
+        void visit(long price, long quantity, int orderCount);
+
+    }
+}
@@ -0,0 +1,37 @@
+package com.inghubs.matching;
+
+/**
+ * Free list of {@link Order} objects. Not thread-safe; each shard of the matching engine owns its own pool.
+ */
+final class OrderPool {
+
+    private Order free;
+    private int freeCount;
+
+    Order acquire(long orderId, OrderSide side, long price, long quantity) {
+        Order order = free;
+        if (order == null) {
+            order = new Order();
+        } else {
+            free = order.next;
+            order.next = null;
+            freeCount--;
+        }
+        order.orderId = orderId;
+        order.side = side;
+        order.price = price;
+        order.remaining = quantity;
+        return order;
+    }
+
+    void release(Order order) {
+        order.reset();
+        order.next = free;
+        free = order;
+        freeCount++;
+    }
+
+    int freeCount() {
+        return freeCount;
+    }
+}
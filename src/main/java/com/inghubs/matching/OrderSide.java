@@ -0,0 +1,6 @@
+package com.inghubs.matching;
+
+public enum OrderSide {
+    BUY,
+    SELL
+}
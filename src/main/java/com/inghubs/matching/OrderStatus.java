@@ -0,0 +1,8 @@
+package com.inghubs.matching;
+
+public enum OrderStatus {
+    NEW,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELLED
+}
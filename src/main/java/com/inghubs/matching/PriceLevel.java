@@ -0,0 +1,56 @@
+package com.inghubs.matching;
+
+/**
+ * The orders resting at one price, oldest first, with their total quantity.
+ */
+final class PriceLevel {
+
+    long price;
+    long quantity;
+    int orderCount;
+    Order head;
+    Order tail;
+
+    void append(Order order) {
+        order.level = this;
+        order.prev = tail;
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.next = order;
+        }
+        tail = order;
+        quantity += order.remaining;
+        orderCount++;
+    }
+
+    void unlink(Order order) {
+        if (order.prev == null) {
+            head = order.next;
+        } else {
+            order.prev.next = order.next;
+        }
+        if (order.next == null) {
+            tail = order.prev;
+        } else {
+            order.next.prev = order.prev;
+        }
+        quantity -= order.remaining;
+        orderCount--;
+        order.prev = null;
+        order.next = null;
+        order.level = null;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    void reset(long price) {
+        this.price = price;
+        quantity = 0;
+        orderCount = 0;
+        head = null;
+        tail = null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.inghubs.matching;
+
+/**
+ * A fill of an incoming order against a resting order, at the resting order's price in ticks.
+ */
+public record Trade(long makerOrderId, long price, long quantity) {
+}
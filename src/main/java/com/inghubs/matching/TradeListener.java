@@ -0,0 +1,11 @@
+package com.inghubs.matching;
+
+/**
+ * Receives the fills of an incoming order as they are matched, so that matching itself does not allocate.
+ */
+@FunctionalInterface
+public interface TradeListener {
+
+    void onTrade(long makerOrderId, long takerOrderId, long price, long quantity);
+
+}
@@ -0,0 +1,60 @@
+package com.inghubs.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.config.OutboxProperties;
+import com.inghubs.dto.OutboxEventDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends relayed events as JSON lines to a local file and forces them to disk before the relay commits its
+ * offset.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox.sink", name = "type", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void publish(List<OutboxEventDTO> events) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (OutboxEventDTO event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event", e);
+        }
+        Path file = Paths.get(outboxProperties.getSink().getFile());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.inghubs.outbox;
+
+import com.inghubs.dto.OutboxEventDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps relayed events in memory, mainly for tests.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.sink", name = "type", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEventDTO> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEventDTO> batch) {
+        events.addAll(batch);
+    }
+
+    public List<OutboxEventDTO> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.inghubs.outbox;
+
+import com.inghubs.dto.OutboxEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.sink", name = "type", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxEventDTO> events) {
+        events.forEach(event -> log.debug("Outbox event {} {} {}#{}: {}", event.getId(), event.getEventType(),
+                event.getAggregateType(), event.getAggregateId(), event.getPayload()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.inghubs.outbox;
+
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
+import com.inghubs.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every domain event to the outbox. The listener runs synchronously on the publishing thread, so the
+ * outbox row joins the transaction of the mutation.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventListener {
+
+    static final String STOCK_AGGREGATE = "Stock";
+    static final String STOCK_EXCHANGE_AGGREGATE = "StockExchange";
+
+    private final OutboxService outboxService;
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        outboxService.record(STOCK_AGGREGATE, event.stock().getId(), event.type().name(), event.stock());
+    }
+
+    @EventListener
+    public void onStockExchangeChanged(StockExchangeChangedEvent event) {
+        outboxService.record(STOCK_EXCHANGE_AGGREGATE, event.stockExchangeId(), event.type().name(), event);
+    }
+}
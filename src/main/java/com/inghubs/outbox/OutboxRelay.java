@@ -0,0 +1,152 @@
+package com.inghubs.outbox;
+
+import com.inghubs.config.OutboxProperties;
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tails the outbox in ID order and publishes batches to the configured {@link OutboxSink}.
+ * <p>
+ * The relay commits its offset only after a batch was published, which gives at-least-once delivery. Event
+ * IDs are allocated when the row is inserted but become visible when the transaction commits, so a
+ * concurrent transaction can leave a temporary gap. The relay publishes past a gap but remembers the missing
+ * IDs, re-queries them on every run and publishes the events that show up late. A gap is only given up, as a
+ * rolled back transaction, once {@code outbox.relay.gap-timeout-ms} have passed since the relay first saw it.
+ * The committed offset stays in front of the oldest open gap, so a restart redelivers from there instead of
+ * losing the gaps held in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final OutboxSink outboxSink;
+    private final OutboxProperties outboxProperties;
+
+    private final NavigableMap<Long, Gap> openGaps = new TreeMap<>();
+    private long position;
+    private long committed;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void scheduledRelay() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, the batch will be redelivered: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:60000}")
+    public void scheduledPurge() {
+        outboxService.purgePublishedEvents();
+    }
+
+    /**
+     * Publishes the events that were missing from earlier runs and every committed event after the relay position.
+     *
+     * @return the number of published events
+     */
+    public synchronized int relay() {
+        OutboxProperties.Relay properties = outboxProperties.getRelay();
+        committed = outboxService.getOffset(properties.getConsumer()).getLastEventId();
+        position = Math.max(position, committed);
+        int published = relayGaps(properties);
+        commitOffset(properties);
+        while (true) {
+            List<OutboxEventDTO> batch = outboxService.getEventsAfter(position, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return published;
+            }
+            List<Gap> gaps = findGaps(batch, position, System.currentTimeMillis());
+            outboxSink.publish(batch);
+            gaps.forEach(gap -> openGaps.put(gap.fromId(), gap));
+            position = batch.get(batch.size() - 1).getId();
+            commitOffset(properties);
+            published += batch.size();
+            if (batch.size() < properties.getBatchSize()) {
+                return published;
+            }
+        }
+    }
+
+    private int relayGaps(OutboxProperties.Relay properties) {
+        if (openGaps.isEmpty()) {
+            return 0;
+        }
+        long deadline = System.currentTimeMillis() - properties.getGapTimeoutMs();
+        List<OutboxEventDTO> late = new ArrayList<>();
+        List<Gap> remaining = new ArrayList<>();
+        for (Gap gap : openGaps.values()) {
+            List<OutboxEventDTO> found = outboxService.getEventsBetween(gap.fromId(), gap.toId());
+            late.addAll(found);
+            if (gap.firstSeenMillis() > deadline) {
+                remaining.addAll(gap.without(found));
+            } else {
+                log.debug("Outbox events {} to {} did not appear, treating them as rolled back", gap.fromId(), gap.toId());
+            }
+        }
+        if (!late.isEmpty()) {
+            outboxSink.publish(late);
+        }
+        openGaps.clear();
+        remaining.forEach(gap -> openGaps.put(gap.fromId(), gap));
+        return late.size();
+    }
+
+    private void commitOffset(OutboxProperties.Relay properties) {
+        long offset = openGaps.isEmpty() ? position : Math.min(position, openGaps.firstKey() - 1);
+        if (offset > committed) {
+            outboxService.commitOffset(properties.getConsumer(), offset);
+            committed = offset;
+        }
+    }
+
+    private static List<Gap> findGaps(List<OutboxEventDTO> events, long offset, long now) {
+        List<Gap> gaps = new ArrayList<>();
+        long expectedId = offset + 1;
+        for (OutboxEventDTO event : events) {
+            if (event.getId() != expectedId) {
+                gaps.add(new Gap(expectedId, event.getId() - 1, now));
+            }
+            expectedId = event.getId() + 1;
+        }
+        return gaps;
+    }
+
+    /**
+     * A range of event IDs that the relay has passed without seeing them.
+     */
+    private record Gap(long fromId, long toId, long firstSeenMillis) {
+
+        /**
+         * @param found the events in this range that have appeared, in ID order
+         * @return the ranges that are still missing, first seen at the same time as this one
+         */
+        List<Gap> without(List<OutboxEventDTO> found) {
+            List<Gap> gaps = new ArrayList<>();
+            long next = fromId;
+            for (OutboxEventDTO event : found) {
+                if (event.getId() > next) {
+                    gaps.add(new Gap(next, event.getId() - 1, firstSeenMillis));
+                }
+                next = event.getId() + 1;
+            }
+            if (next <= toId) {
+                gaps.add(new Gap(next, toId, firstSeenMillis));
+            }
+            return gaps;
+        }
+    }
+}
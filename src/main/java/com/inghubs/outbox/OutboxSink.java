@@ -0,0 +1,14 @@
+package com.inghubs.outbox;
+
+import com.inghubs.dto.OutboxEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. An implementation must either deliver the whole batch or throw;
+ * a failed batch is redelivered on the next relay run.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEventDTO> events);
+}
@@ -0,0 +1,12 @@
+package com.inghubs.pipeline;
+
+/**
+ * One stage of a {@link RingBuffer} pipeline. The handler sees every slot in sequence order and is told when a slot
+ * is the last one currently available, so that it can act on the whole batch at once.
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+
+}
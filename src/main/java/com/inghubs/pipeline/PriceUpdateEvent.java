@@ -0,0 +1,34 @@
+package com.inghubs.pipeline;
+
+import com.inghubs.dto.StockDTO;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A reusable slot of the price update ring. The producer fills in the request and the future it waits on; the
+ * stages fill in the decoded price, the outcome and any failure; the publish stage completes the future and
+ * clears the slot.
+ */
+final class PriceUpdateEvent {
+
+    Long stockId;
+    BigDecimal price;
+    long priceTicks;
+    RuntimeException failure;
+    StockDTO result;
+    CompletableFuture<StockDTO> future;
+
+    boolean isRejected() {
+        return failure != null;
+    }
+
+    void clear() {
+        stockId = null;
+        price = null;
+        priceTicks = 0;
+        failure = null;
+        result = null;
+        future = null;
+    }
+}
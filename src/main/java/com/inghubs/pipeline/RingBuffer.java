@@ -0,0 +1,114 @@
+package com.inghubs.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Pre-allocated ring of reusable slots shared by multiple producers and a chain of stages, in the style of the
+ * LMAX Disruptor.
+ * <p>
+ * A producer claims the next sequence with a CAS on the cursor, fills the slot and publishes it by marking the slot
+ * available for the current lap of the ring; the first stage only consumes up to the highest contiguous available
+ * sequence, so slots claimed out of order are never read early. A producer cannot claim a slot until the last
+ * stage has released it, which bounds the work in flight to the size of the ring.
+ */
+public final class RingBuffer<E> {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Object[] entries;
+    private final int[] availableBuffer;
+    private final int mask;
+    private final int indexShift;
+    private final Sequence cursor = new Sequence();
+    private final Sequence gatingSequenceCache = new Sequence();
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    public RingBuffer(int bufferSize, Supplier<E> eventFactory) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+        entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = eventFactory.get();
+        }
+        availableBuffer = new int[bufferSize];
+        Arrays.fill(availableBuffer, -1);
+        mask = bufferSize - 1;
+        indexShift = Integer.numberOfTrailingZeros(bufferSize);
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    /**
+     * Claims the next slot, waiting while the ring is full.
+     *
+     * @return the sequence of the claimed slot
+     */
+    public long next() {
+        int counter = 0;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            long cachedGatingSequence = gatingSequenceCache.get();
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+                long gatingSequence = minimumSequence(gatingSequences, current);
+                if (wrapPoint > gatingSequence) {
+                    counter = WaitStrategy.idle(counter);
+                    continue;
+                }
+                gatingSequenceCache.set(gatingSequence);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Makes a claimed slot visible to the first stage.
+     */
+    public void publish(long sequence) {
+        AVAILABLE.setRelease(availableBuffer, (int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    Sequence getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return the highest sequence from {@code lowerBound} to {@code availableSequence} below which every slot has
+     * been published
+     */
+    long getHighestPublishedSequence(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if ((int) AVAILABLE.getAcquire(availableBuffer, (int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    /**
+     * Sets the sequences producers must not overtake, normally that of the last stage.
+     */
+    void setGatingSequences(Sequence... sequences) {
+        gatingSequences = sequences.clone();
+    }
+
+    static long minimumSequence(Sequence[] sequences, long minimum) {
+        for (Sequence sequence : sequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
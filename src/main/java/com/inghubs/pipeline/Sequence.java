@@ -0,0 +1,55 @@
+package com.inghubs.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+abstract class SequenceLeftPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLeftPadding {
+    protected volatile long value;
+}
+
+abstract class SequenceRightPadding extends SequenceValue {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * A sequence number padded on both sides to a cache line of its own, so that the sequences of neighbouring
+ * stages, written by different threads, do not false-share. Writes use release semantics, which is enough to
+ * publish the slots written before them and cheaper than a volatile write.
+ */
+public final class Sequence extends SequenceRightPadding {
+
+    static final long INITIAL_VALUE = -1L;
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expectedValue, long newValue) {
+        return VALUE.compareAndSet(this, expectedValue, newValue);
+    }
+}
@@ -0,0 +1,74 @@
+package com.inghubs.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs one stage of a {@link RingBuffer} pipeline on its own thread. The stage waits until its upstream, either the
+ * producers or the stages it depends on, has released a range of slots, hands the whole range to its handler and
+ * then releases it downstream with a single write of its sequence. Anything the handler throws, errors included, is
+ * logged and the stage moves on to the next slot, so a failing slot does not stop the stage.
+ */
+@Slf4j
+public final class StageProcessor<E> implements Runnable {
+
+    private final RingBuffer<E> ringBuffer;
+    private final Sequence[] dependencies;
+    private final EventHandler<E> eventHandler;
+    private final Sequence sequence = new Sequence();
+    private volatile boolean running = true;
+
+    /**
+     * @param dependencies the sequences of the upstream stages, or none for the first stage
+     */
+    public StageProcessor(RingBuffer<E> ringBuffer, EventHandler<E> eventHandler, Sequence... dependencies) {
+        this.ringBuffer = ringBuffer;
+        this.eventHandler = eventHandler;
+        this.dependencies = dependencies;
+    }
+
+    public Sequence getSequence() {
+        return sequence;
+    }
+
+    public void halt() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long nextSequence = sequence.get() + 1;
+        while (running) {
+            long availableSequence = waitFor(nextSequence);
+            if (availableSequence < nextSequence) {
+                continue;
+            }
+            for (long current = nextSequence; current <= availableSequence; current++) {
+                try {
+                    eventHandler.onEvent(ringBuffer.get(current), current, current == availableSequence);
+                } catch (Throwable e) {
+                    log.error("Pipeline stage failed on sequence {}", current, e);
+                }
+            }
+            sequence.set(availableSequence);
+            nextSequence = availableSequence + 1;
+        }
+    }
+
+    private long waitFor(long nextSequence) {
+        int counter = 0;
+        while (running) {
+            long availableSequence;
+            if (dependencies.length == 0) {
+                long cursor = ringBuffer.getCursor().get();
+                availableSequence = cursor < nextSequence ? cursor : ringBuffer.getHighestPublishedSequence(nextSequence, cursor);
+            } else {
+                availableSequence = RingBuffer.minimumSequence(dependencies, Long.MAX_VALUE);
+            }
+            if (availableSequence >= nextSequence) {
+                return availableSequence;
+            }
+            counter = WaitStrategy.idle(counter);
+        }
+        return nextSequence - 1;
+    }
+}
@@ -0,0 +1,300 @@
+package com.inghubs.pipeline;
+
+import com.inghubs.config.PipelineProperties;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.ServiceUnavailableException;
+import com.inghubs.service.StockService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional pipeline for stock price updates, enabled with {@code pipeline.enabled=true}.
+ * <p>
+ * Request threads claim a slot of a pre-allocated {@link RingBuffer}, fill in the update and wait for its outcome for
+ * up to {@code pipeline.timeout-ms}. Five stages, each on a dedicated thread, then process the slots in order:
+ * <ol>
+ *     <li>decode: converts the price to integer ticks</li>
+ *     <li>validate: rejects updates with an invalid ID or price</li>
+ *     <li>apply: writes every accepted update of a batch in one transaction, see {@link StockService#updateStockPrices}</li>
+ *     <li>journal: appends the applied updates to a journal file, flushed and forced to disk once per batch, and
+ *     rotated once it reaches {@code pipeline.journal.max-bytes}</li>
+ *     <li>publish: completes the futures the request threads wait on and clears the slots</li>
+ * </ol>
+ * Under load the batches grow with the backlog, so the cost of the fsync and of the transaction is shared by many
+ * updates instead of being paid by each request. On shutdown the updates still in the ring after a grace period are
+ * failed, and later updates are rejected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pipeline", name = "enabled", havingValue = "true")
+public class StockPriceUpdatePipeline {
+
+    private static final long SHUTDOWN_TIMEOUT_NANOS = 5_000_000_000L;
+
+    private final StockService stockService;
+    private final MessageUtils messageUtils;
+    private final PipelineProperties pipelineProperties;
+    private final RingBuffer<PriceUpdateEvent> ringBuffer;
+    private final List<StageProcessor<PriceUpdateEvent>> stages = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final PriceUpdateEvent[] applyBatch;
+    private int applyBatchSize;
+    private Path journalFile;
+    private FileChannel journalChannel;
+    private DataOutputStream journal;
+    private volatile boolean stopped;
+
+    public StockPriceUpdatePipeline(StockService stockService, MessageUtils messageUtils, PipelineProperties pipelineProperties) {
+        this.stockService = stockService;
+        this.messageUtils = messageUtils;
+        this.pipelineProperties = pipelineProperties;
+        this.ringBuffer = new RingBuffer<>(pipelineProperties.getBufferSize(), PriceUpdateEvent::new);
+        this.applyBatch = new PriceUpdateEvent[pipelineProperties.getApplyBatchSize()];
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (pipelineProperties.getJournal().isEnabled()) {
+            journalFile = Paths.get(pipelineProperties.getJournal().getFile());
+            Files.createDirectories(journalFile.toAbsolutePath().getParent());
+            openJournal();
+        }
+        StageProcessor<PriceUpdateEvent> decode = stage("decode", this::decode);
+        StageProcessor<PriceUpdateEvent> validate = stage("validate", this::validate, decode.getSequence());
+        StageProcessor<PriceUpdateEvent> apply = stage("apply", this::apply, validate.getSequence());
+        StageProcessor<PriceUpdateEvent> journalStage = stage("journal", this::journal, apply.getSequence());
+        StageProcessor<PriceUpdateEvent> publish = stage("publish", this::publish, journalStage.getSequence());
+        ringBuffer.setGatingSequences(publish.getSequence());
+        threads.forEach(Thread::start);
+        log.info("Started price update pipeline with {} slots", ringBuffer.getBufferSize());
+    }
+
+    /**
+     * Updates the price of a stock through the pipeline and waits for the outcome.
+     *
+     * @param stockPriceUpdateDTO the stock price update data transfer object
+     * @return the updated StockDTO
+     * @throws ResourceNotFoundException if the stock with the given ID is not found
+     * @throws BadRequestException if the update is invalid
+     * @throws ServiceUnavailableException if the pipeline is stopped, or the update did not complete in time, in
+     * which case it may still be applied
+     */
+    public StockDTO updateStockPrice(StockPriceUpdateDTO stockPriceUpdateDTO) {
+        if (stopped) {
+            throw new ServiceUnavailableException(messageUtils.getMessage("pipeline.stopped"));
+        }
+        CompletableFuture<StockDTO> future = new CompletableFuture<>();
+        long sequence = ringBuffer.next();
+        PriceUpdateEvent event = ringBuffer.get(sequence);
+        event.stockId = stockPriceUpdateDTO.getId();
+        event.price = stockPriceUpdateDTO.getCurrentPrice();
+        event.future = future;
+        ringBuffer.publish(sequence);
+        try {
+            return future.get(pipelineProperties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(messageUtils.getMessage("pipeline.timeout",
+                    String.valueOf(pipelineProperties.getTimeoutMs())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(messageUtils.getMessage("pipeline.stopped"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        Sequence last = stages.get(stages.size() - 1).getSequence();
+        while (last.get() < ringBuffer.getCursor().get() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        stages.forEach(StageProcessor::halt);
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+        }
+        // the slots the stages did not get to: their requests would otherwise wait for the timeout
+        ServiceUnavailableException failure = new ServiceUnavailableException(messageUtils.getMessage("pipeline.stopped"));
+        for (long sequence = last.get() + 1; sequence <= ringBuffer.getCursor().get(); sequence++) {
+            CompletableFuture<StockDTO> future = ringBuffer.get(sequence).future;
+            if (future != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void decode(PriceUpdateEvent event, long sequence, boolean endOfBatch) {
+        if (event.price == null) {
+            event.failure = new BadRequestException(messageUtils.getMessage("stock.currentprice.not-null"));
+            return;
+        }
+        try {
+            event.priceTicks = event.price.movePointRight(AppConstants.PRICE_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            event.failure = new BadRequestException(messageUtils.getMessage("stock.currentprice.digits"));
+        }
+    }
+
+    private void validate(PriceUpdateEvent event, long sequence, boolean endOfBatch) {
+        if (event.isRejected()) {
+            return;
+        }
+        if (event.stockId == null || event.stockId <= 0) {
+            event.failure = new BadRequestException(messageUtils.getMessage("stock.id.positive"));
+        } else if (event.priceTicks <= 0) {
+            event.failure = new BadRequestException(messageUtils.getMessage("stock.currentprice.positive"));
+        } else if (event.priceTicks >= AppConstants.PRICE_TICKS_LIMIT) {
+            event.failure = new BadRequestException(messageUtils.getMessage("stock.currentprice.digits"));
+        }
+    }
+
+    private void journal(PriceUpdateEvent event, long sequence, boolean endOfBatch) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            if (!event.isRejected()) {
+                journal.writeLong(System.currentTimeMillis());
+                journal.writeLong(event.stockId);
+                journal.writeLong(event.priceTicks);
+            }
+            if (endOfBatch) {
+                journal.flush();
+                if (pipelineProperties.getJournal().isFsync()) {
+                    journalChannel.force(false);
+                }
+                if (journalChannel.size() >= pipelineProperties.getJournal().getMaxBytes()) {
+                    rotateJournal();
+                }
+            }
+        } catch (IOException e) {
+            // the update is already committed: the failure is the journal's, not the request's
+            log.error("Failed to journal the price update of stock {}", event.stockId, e);
+        }
+    }
+
+    /**
+     * Renames the journal to {@code <file>.1}, shifting the rotated files up and deleting the ones past
+     * {@code pipeline.journal.retained-files}, and starts a new journal.
+     */
+    private void rotateJournal() throws IOException {
+        journal.close();
+        int retained = pipelineProperties.getJournal().getRetainedFiles();
+        Files.deleteIfExists(rotatedJournal(retained));
+        for (int i = retained - 1; i >= 1; i--) {
+            if (Files.exists(rotatedJournal(i))) {
+                Files.move(rotatedJournal(i), rotatedJournal(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (retained > 0) {
+            Files.move(journalFile, rotatedJournal(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(journalFile);
+        }
+        openJournal();
+    }
+
+    private Path rotatedJournal(int index) {
+        return journalFile.resolveSibling(journalFile.getFileName() + "." + index);
+    }
+
+    private void openJournal() throws IOException {
+        journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(journalChannel), 64 * 1024));
+    }
+
+    private void apply(PriceUpdateEvent event, long sequence, boolean endOfBatch) {
+        if (!event.isRejected()) {
+            applyBatch[applyBatchSize++] = event;
+        }
+        if (endOfBatch || applyBatchSize == applyBatch.length) {
+            flushApplyBatch();
+        }
+    }
+
+    private void flushApplyBatch() {
+        if (applyBatchSize == 0) {
+            return;
+        }
+        List<StockPriceUpdateDTO> updates = new ArrayList<>(applyBatchSize);
+        for (int i = 0; i < applyBatchSize; i++) {
+            updates.add(new StockPriceUpdateDTO(applyBatch[i].stockId, BigDecimal.valueOf(applyBatch[i].priceTicks, AppConstants.PRICE_SCALE)));
+        }
+        try {
+            List<StockDTO> results = stockService.updateStockPrices(updates);
+            for (int i = 0; i < applyBatchSize; i++) {
+                PriceUpdateEvent event = applyBatch[i];
+                event.result = results.get(i);
+                if (event.result == null) {
+                    event.failure = new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", event.stockId));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < applyBatchSize; i++) {
+                applyBatch[i].failure = e;
+            }
+        } finally {
+            for (int i = 0; i < applyBatchSize; i++) {
+                applyBatch[i] = null;
+            }
+            applyBatchSize = 0;
+        }
+    }
+
+    private void publish(PriceUpdateEvent event, long sequence, boolean endOfBatch) {
+        CompletableFuture<StockDTO> future = event.future;
+        if (event.isRejected()) {
+            future.completeExceptionally(event.failure);
+        } else if (event.result == null) {
+            // an earlier stage failed on the slot without recording why
+            future.completeExceptionally(new IllegalStateException("Price update of stock " + event.stockId + " was not applied"));
+        } else {
+            future.complete(event.result);
+        }
+        event.clear();
+    }
+
+    private StageProcessor<PriceUpdateEvent> stage(String name, EventHandler<PriceUpdateEvent> handler, Sequence... dependencies) {
+        StageProcessor<PriceUpdateEvent> stage = new StageProcessor<>(ringBuffer, handler, dependencies);
+        Thread thread = new Thread(stage, "pipeline-" + name);
+        thread.setDaemon(true);
+        stages.add(stage);
+        threads.add(thread);
+        return stage;
+    }
+}
@@ -0,0 +1,29 @@
+package com.inghubs.pipeline;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for a sequence by spinning, then yielding, then parking briefly: latency stays in the sub-microsecond range
+ * while the pipeline is busy, and an idle pipeline does not burn its cores.
+ */
+final class WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private WaitStrategy() {
+    }
+
+    static int idle(int counter) {
+        if (counter < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return counter;
+        }
+        return counter + 1;
+    }
+}
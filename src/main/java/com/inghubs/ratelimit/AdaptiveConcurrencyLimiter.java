@@ -0,0 +1,78 @@
+package com.inghubs.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free limit on the number of requests in flight, adapted to their latency by additive increase and
+ * multiplicative decrease (AIMD).
+ * <p>
+ * A request that completes within the latency threshold while at least half of the limit is in use raises the
+ * limit by one; a request slower than the threshold lowers it by the backoff ratio. When the server saturates,
+ * queueing makes requests slow, so the limit shrinks until the requests in flight complete in time again, and
+ * excess requests are rejected at once instead of waiting in a queue. The limit and the in-flight count are
+ * changed by compare-and-set only; a lost race on the limit skips that adjustment.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                      double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max and 0 < backoffRatio < 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    /**
+     * Admits a request if fewer requests than the limit are in flight. An admitted request must be released.
+     *
+     * @return true if the request was admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos the time the request took
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        int currentLimit = limit.get();
+        if (latencyNanos > latencyThresholdNanos) {
+            int decreased = Math.max(minLimit, (int) (currentLimit * backoffRatio));
+            if (decreased < currentLimit) {
+                limit.compareAndSet(currentLimit, decreased);
+            }
+        } else if (current * 2 >= currentLimit && currentLimit < maxLimit) {
+            limit.compareAndSet(currentLimit, currentLimit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
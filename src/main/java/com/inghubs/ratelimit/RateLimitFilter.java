@@ -0,0 +1,92 @@
+package com.inghubs.ratelimit;
+
+import com.inghubs.config.RateLimitProperties;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the write endpoints, placed in the security filter chain after authorization.
+ * <p>
+ * Each principal gets a {@link TokenBucket}, so one client sending too fast is rejected without slowing the others,
+ * and all principals share an {@link AdaptiveConcurrencyLimiter}, so the server stops taking writes before it
+ * queues them. A rejected request gets {@code 429 Too Many Requests} with a {@code Retry-After} header, before it
+ * reaches a controller. Reads are not limited.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties rateLimitProperties;
+    private final MessageUtils messageUtils;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties rateLimitProperties, MessageUtils messageUtils) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.messageUtils = messageUtils;
+        RateLimitProperties.Concurrency concurrency = rateLimitProperties.getConcurrency();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), TimeUnit.MILLISECONDS.toNanos(concurrency.getLatencyThresholdMs()),
+                concurrency.getBackoffRatio());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !rateLimitProperties.isEnabled()
+                || HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long waitNanos = bucket(request).tryAcquire(start);
+        if (waitNanos > 0) {
+            reject(response, "rate.limit.exceeded", TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, "rate.limit.overloaded", AppConstants.RATE_LIMIT_OVERLOADED_RETRY_AFTER_SECONDS);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private TokenBucket bucket(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication == null ? request.getRemoteAddr() : authentication.getName();
+        TokenBucket bucket = buckets.get(principal);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(principal,
+                    key -> new TokenBucket(rateLimitProperties.getRequestsPerSecond(), rateLimitProperties.getBurst()));
+        }
+        return bucket;
+    }
+
+    private void reject(HttpServletResponse response, String messageKey, long retryAfterSeconds) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        String errorMessage = messageUtils.getMessage(messageKey, retryAfterSeconds);
+        response.getOutputStream().println("{ \"error\": \"" + errorMessage + "\" }");
+    }
+}
@@ -0,0 +1,50 @@
+package com.inghubs.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm.
+ * <p>
+ * Instead of a token count refilled by a timer, the bucket keeps one number: the theoretical arrival time of the
+ * next request if requests came exactly at the permitted rate. A request is admitted if that time is at most
+ * {@code burst} intervals ahead of now, and pushes it one interval further. Taking a token is therefore a single
+ * compare-and-set on an {@link AtomicLong}, with no allocation and no lock.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param permitsPerSecond the sustained rate
+     * @param burst the number of permits that can be taken at once by a client that was idle
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if a permit was taken, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long wait = next - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.inghubs.reactive;
+
+import com.inghubs.config.MessageConfig;
+import com.inghubs.config.UserProperties;
+import com.inghubs.util.MessageUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive variant of the stock and stock exchange API, served by WebFlux on Netty with R2DBC database access.
+ * <p>
+ * Exposes the create, price update and delete routes of /api/v1/stock and the get, add and remove routes of
+ * /api/v1/stock-exchange with the same DTOs, validation messages, credentials and error bodies as the servlet
+ * application, so that both can be compared under the same load. It shares no beans with the servlet application:
+ * it scans only this package, and every component in it is conditional on a reactive web application, so the
+ * servlet application skips them when it scans com.inghubs.
+ */
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({MessageConfig.class, MessageUtils.class, UserProperties.class})
+public class ReactiveStockExchangeApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveStockExchangeApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles("reactive")
+				.run(args);
+	}
+
+}
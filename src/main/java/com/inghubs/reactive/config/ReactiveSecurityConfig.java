@@ -0,0 +1,86 @@
+package com.inghubs.reactive.config;
+
+import com.inghubs.config.UserProperties;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Security of the reactive variant, with the same users, roles and error bodies as the servlet application.
+ */
+@RequiredArgsConstructor
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private final UserProperties userProperties;
+    private final MessageUtils messageUtils;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.GET, "/api/**").hasAnyRole("USER", "ADMIN")
+                        .anyExchange().hasRole("ADMIN")
+                )
+                .httpBasic(httpBasic -> httpBasic
+                        .authenticationEntryPoint((exchange, e) ->
+                                writeError(exchange, HttpStatus.UNAUTHORIZED, "error.unauthorized")))
+                .exceptionHandling(configurer -> configurer
+                        .authenticationEntryPoint((exchange, e) ->
+                                writeError(exchange, HttpStatus.UNAUTHORIZED, "error.unauthorized"))
+                        .accessDeniedHandler((exchange, e) ->
+                                writeError(exchange, HttpStatus.FORBIDDEN, "error.access.denied")))
+                .build();
+    }
+
+    @Bean
+    public MapReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        UserDetails user = User.builder()
+                .username(userProperties.getUser().getUsername())
+                .password(passwordEncoder.encode(userProperties.getUser().getPassword()))
+                .roles(userProperties.getUser().getRoles())
+                .build();
+
+        UserDetails admin = User.builder()
+                .username(userProperties.getAdmin().getUsername())
+                .password(passwordEncoder.encode(userProperties.getAdmin().getPassword()))
+                .roles(userProperties.getAdmin().getRoles())
+                .build();
+
+        return new MapReactiveUserDetailsService(user, admin);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(userProperties.getBcryptStrength());
+    }
+
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String code) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        String body = "{ \"error\": \"" + messageUtils.getMessage(code) + "\" }\n";
+        DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return exchange.getResponse().writeWith(Mono.just(buffer));
+    }
+}
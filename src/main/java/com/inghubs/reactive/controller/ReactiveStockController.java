@@ -0,0 +1,74 @@
+package com.inghubs.reactive.controller;
+
+import com.inghubs.dto.StockCreateDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.reactive.service.ReactiveStockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/stock")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Reactive-Stock-Controller", description = "Operations related to stocks, on WebFlux and R2DBC")
+public class ReactiveStockController {
+    private final ReactiveStockService stockService;
+
+    @Operation(summary = "Create a new stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stock created successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Stock already exists", content = @Content)
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<StockDTO> createStock(@Valid @RequestBody StockCreateDTO stockCreateDTO) {
+        return stockService.createStock(stockCreateDTO);
+    }
+
+    @Operation(summary = "Update the price of an existing stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock price updated successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @PutMapping
+    public Mono<StockDTO> updateStockPrice(@Valid @RequestBody StockPriceUpdateDTO stockPriceUpdateDTO) {
+        return stockService.updateStockPrice(stockPriceUpdateDTO);
+    }
+
+    @Operation(summary = "Delete a stock by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Stock deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteStock(
+            @Parameter(description = "ID of the stock to delete", required = true) @PathVariable Long id) {
+        return stockService.deleteStock(id);
+    }
+}
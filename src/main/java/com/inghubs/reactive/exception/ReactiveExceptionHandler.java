@@ -0,0 +1,75 @@
+package com.inghubs.reactive.exception;
+
+import com.inghubs.dto.ErrorResponseDTO;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.StockAlreadyExistsException;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Maps the exceptions of the reactive variant to the same statuses and bodies as the GlobalExceptionHandler of the
+ * servlet application.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+    private final MessageUtils messageUtils;
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler({BadRequestException.class, IllegalArgumentException.class})
+    public ResponseEntity<ErrorResponseDTO<?>> handleBadRequestException(Exception ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        List<String> errors = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(FieldError::getDefaultMessage)
+                .toList();
+        return error(HttpStatus.BAD_REQUEST, errors);
+    }
+
+    @ExceptionHandler(StockAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleStockAlreadyExistsException(StockAlreadyExistsException ex) {
+        return error(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return error(HttpStatus.CONFLICT, messageUtils.getMessage("error.concurrent.modification"));
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleResponseStatusException(ResponseStatusException ex) {
+        return error(ex.getStatusCode(), ex.getReason());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO<?>> handleGenericException(Exception ex) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, messageUtils.getMessage("error.unexpected") + ": " + ex.getMessage());
+    }
+
+    private static ResponseEntity<ErrorResponseDTO<?>> error(HttpStatusCode status, Object message) {
+        return new ResponseEntity<>(ErrorResponseDTO.of(message), status);
+    }
+}
@@ -0,0 +1,118 @@
+package com.inghubs.reactive.repository;
+
+import com.inghubs.dto.StockDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the stock_exchange and stock_exchange_stock tables, with the same SQL the servlet
+ * application runs through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStockExchangeRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<StockExchangeRow> findByName(String name) {
+        return databaseClient.sql("SELECT id, name, description, live_in_market, market_open, version FROM stock_exchange "
+                        + "WHERE name = :name")
+                .bind("name", name)
+                .map(row -> new StockExchangeRow(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("live_in_market", Boolean.class),
+                        row.get("market_open", Boolean.class),
+                        row.get("version", Integer.class)))
+                .one();
+    }
+
+    /**
+     * @return the stocks listed on the stock exchange, in ID order
+     */
+    public Flux<StockDTO> findStocks(long stockExchangeId) {
+        return databaseClient.sql("SELECT " + ReactiveStockRepository.STOCK_COLUMNS + " FROM stock s "
+                        + "JOIN stock_exchange_stock ses ON ses.stock_id = s.id "
+                        + "WHERE ses.stock_exchange_id = :stockExchangeId ORDER BY s.id")
+                .bind("stockExchangeId", stockExchangeId)
+                .map(ReactiveStockRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Boolean> containsStock(long stockExchangeId, long stockId) {
+        return databaseClient.sql("SELECT COUNT(*) > 0 FROM stock_exchange_stock "
+                        + "WHERE stock_exchange_id = :stockExchangeId AND stock_id = :stockId")
+                .bind("stockExchangeId", stockExchangeId)
+                .bind("stockId", stockId)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Long> insertStock(long stockExchangeId, long stockId) {
+        return databaseClient.sql("INSERT INTO stock_exchange_stock (stock_exchange_id, stock_id) "
+                        + "VALUES (:stockExchangeId, :stockId)")
+                .bind("stockExchangeId", stockExchangeId)
+                .bind("stockId", stockId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return the number of deleted rows, 0 if the stock is not listed on the stock exchange
+     */
+    public Mono<Long> deleteStock(long stockExchangeId, long stockId) {
+        return databaseClient.sql("DELETE FROM stock_exchange_stock "
+                        + "WHERE stock_exchange_id = :stockExchangeId AND stock_id = :stockId")
+                .bind("stockExchangeId", stockExchangeId)
+                .bind("stockId", stockId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Removes a stock from every stock exchange listing it.
+     */
+    public Mono<Long> deleteStockFromAll(long stockId) {
+        return databaseClient.sql("DELETE FROM stock_exchange_stock WHERE stock_id = :stockId")
+                .bind("stockId", stockId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Recomputes the live in market flag of a stock exchange from its number of stocks and market status, guarded by
+     * the version read with the stock exchange.
+     *
+     * @return the number of updated rows, 0 if the stock exchange was changed concurrently
+     */
+    public Mono<Long> updateLiveInMarket(long stockExchangeId, int version, int threshold) {
+        return databaseClient.sql("UPDATE stock_exchange SET live_in_market = market_open AND (SELECT COUNT(*) FROM stock_exchange_stock "
+                        + "WHERE stock_exchange_id = :stockExchangeId) >= :threshold, version = version + 1 "
+                        + "WHERE id = :stockExchangeId AND version = :version")
+                .bind("stockExchangeId", stockExchangeId)
+                .bind("version", version)
+                .bind("threshold", threshold)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Recomputes the live in market flag of every stock exchange listing a stock, as if the stock were removed.
+     */
+    public Mono<Long> updateLiveInMarketWithoutStock(long stockId, int threshold) {
+        return databaseClient.sql("UPDATE stock_exchange SET live_in_market = market_open AND (SELECT COUNT(*) FROM stock_exchange_stock "
+                        + "WHERE stock_exchange_id = stock_exchange.id AND stock_id <> :stockId) >= :threshold, "
+                        + "version = version + 1 "
+                        + "WHERE id IN (SELECT stock_exchange_id FROM stock_exchange_stock WHERE stock_id = :stockId)")
+                .bind("stockId", stockId)
+                .bind("threshold", threshold)
+                .fetch()
+                .rowsUpdated();
+    }
+}
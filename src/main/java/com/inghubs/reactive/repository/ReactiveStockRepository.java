@@ -0,0 +1,117 @@
+package com.inghubs.reactive.repository;
+
+import com.inghubs.dto.StockDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking access to the stock table, with the same SQL the servlet application runs through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStockRepository {
+
+    static final String STOCK_COLUMNS = "s.id, s.name, s.description, s.current_price, s.last_update";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<StockDTO> findById(long id) {
+        return databaseClient.sql("SELECT " + STOCK_COLUMNS + " FROM stock s WHERE s.id = :id")
+                .bind("id", id)
+                .map(ReactiveStockRepository::toDTO)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("SELECT COUNT(*) > 0 FROM stock WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsByName(String name) {
+        return databaseClient.sql("SELECT COUNT(*) > 0 FROM stock WHERE name = :name")
+                .bind("name", name)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * @return the inserted stock, with its generated ID
+     */
+    public Mono<StockDTO> insert(String name, String description, BigDecimal currentPrice) {
+        LocalDateTime lastUpdate = LocalDateTime.now();
+        return databaseClient.sql("INSERT INTO stock (name, description, current_price, last_update, version) "
+                        + "VALUES (:name, :description, :currentPrice, :lastUpdate, 0)")
+                .bind("name", name)
+                .bind("description", description)
+                .bind("currentPrice", currentPrice)
+                .bind("lastUpdate", lastUpdate)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> StockDTO.builder()
+                        .id(id)
+                        .name(name)
+                        .description(description)
+                        .currentPrice(currentPrice)
+                        .lastUpdate(Timestamp.valueOf(lastUpdate))
+                        .build());
+    }
+
+    /**
+     * Sets the price of a stock in one statement, so concurrent updates cannot be lost and need no version check.
+     *
+     * @return the number of updated rows
+     */
+    public Mono<Long> updatePrice(long id, BigDecimal currentPrice) {
+        return databaseClient.sql("UPDATE stock SET current_price = :currentPrice, last_update = :lastUpdate, "
+                        + "version = version + 1 WHERE id = :id")
+                .bind("currentPrice", currentPrice)
+                .bind("lastUpdate", LocalDateTime.now())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return the number of deleted rows
+     */
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM stock WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Records the deletion of a stock in the change sequence, like the tombstones of the servlet application.
+     */
+    public Mono<Long> insertTombstone(long stockId) {
+        return databaseClient.sql("INSERT INTO stock_tombstone (change_seq, stock_id, deleted_at) "
+                        + "VALUES (NEXT VALUE FOR stock_change_seq, :stockId, :deletedAt)")
+                .bind("stockId", stockId)
+                .bind("deletedAt", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    static StockDTO toDTO(Readable row) {
+        return StockDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .currentPrice(row.get("current_price", BigDecimal.class))
+                .lastUpdate(Timestamp.valueOf(row.get("last_update", LocalDateTime.class)))
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.inghubs.reactive.repository;
+
+/**
+ * A row of the stock_exchange table, with the version that guards its live in market flag.
+ */
+public record StockExchangeRow(long id, String name, String description, boolean liveInMarket, boolean marketOpen, int version) {
+}
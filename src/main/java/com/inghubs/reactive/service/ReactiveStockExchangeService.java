@@ -0,0 +1,13 @@
+package com.inghubs.reactive.service;
+
+import com.inghubs.dto.StockExchangeDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStockExchangeService {
+
+    Mono<StockExchangeDTO> getStockExchange(String name);
+
+    Mono<StockExchangeDTO> addStockToStockExchange(String name, Long stockId);
+
+    Mono<StockExchangeDTO> removeStockFromStockExchange(String name, Long stockId);
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.inghubs.reactive.service;
+
+import com.inghubs.dto.StockCreateDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStockService {
+
+    Mono<StockDTO> createStock(StockCreateDTO stockCreateDTO);
+
+    Mono<StockDTO> updateStockPrice(StockPriceUpdateDTO stockPriceUpdateDTO);
+
+    Mono<Void> deleteStock(Long id);
+}
\ No newline at end of file
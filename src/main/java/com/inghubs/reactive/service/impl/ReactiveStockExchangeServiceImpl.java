@@ -0,0 +1,134 @@
+package com.inghubs.reactive.service.impl;
+
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.StockAlreadyExistsException;
+import com.inghubs.reactive.repository.ReactiveStockExchangeRepository;
+import com.inghubs.reactive.repository.ReactiveStockRepository;
+import com.inghubs.reactive.repository.StockExchangeRow;
+import com.inghubs.reactive.service.ReactiveStockExchangeService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive service implementation for managing stock exchanges. Each operation runs in one R2DBC transaction and
+ * never blocks the calling thread.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStockExchangeServiceImpl implements ReactiveStockExchangeService {
+
+    // same policy as @OptimisticLockingRetryable: three attempts, one second apart, each in a new transaction
+    private static final Retry OPTIMISTIC_LOCKING_RETRY = Retry.fixedDelay(2, Duration.ofSeconds(1))
+            .filter(OptimisticLockingFailureException.class::isInstance)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+    private final ReactiveStockExchangeRepository stockExchangeRepository;
+    private final ReactiveStockRepository stockRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final MessageUtils messageUtils;
+
+    /**
+     * Retrieves a StockExchange by its name, with its stocks.
+     *
+     * @param name the name of the StockExchange
+     * @return the StockExchangeDTO
+     * @throws ResourceNotFoundException if the StockExchange is not found
+     */
+    public Mono<StockExchangeDTO> getStockExchange(String name) {
+        return findStockExchange(name).flatMap(this::toDTO);
+    }
+
+    /**
+     * Adds a Stock to a StockExchange.
+     *
+     * @param name the name of the StockExchange
+     * @param stockId the ID of the Stock to add
+     * @return the updated StockExchangeDTO
+     */
+    public Mono<StockExchangeDTO> addStockToStockExchange(String name, Long stockId) {
+        return findStockExchange(name)
+                .flatMap(stockExchange -> requireStock(stockId)
+                        .then(stockExchangeRepository.containsStock(stockExchange.id(), stockId))
+                        .flatMap(contains -> contains
+                                ? Mono.error(new StockAlreadyExistsException(
+                                messageUtils.getMessage("stock.already.exists.in.exchange", stockId)))
+                                : stockExchangeRepository.insertStock(stockExchange.id(), stockId))
+                        .then(updateLiveInMarket(stockExchange)))
+                .as(transactionalOperator::transactional)
+                .retryWhen(OPTIMISTIC_LOCKING_RETRY);
+    }
+
+    /**
+     * Removes a Stock from a StockExchange.
+     *
+     * @param name the name of the StockExchange
+     * @param stockId the ID of the Stock to remove
+     * @return the updated StockExchangeDTO
+     */
+    public Mono<StockExchangeDTO> removeStockFromStockExchange(String name, Long stockId) {
+        return findStockExchange(name)
+                .flatMap(stockExchange -> requireStock(stockId)
+                        .then(stockExchangeRepository.deleteStock(stockExchange.id(), stockId))
+                        .flatMap(deleted -> deleted == 0
+                                ? Mono.error(new ResourceNotFoundException(
+                                messageUtils.getMessage("stock.not.found.in.exchange")))
+                                : Mono.just(deleted))
+                        .then(updateLiveInMarket(stockExchange)))
+                .as(transactionalOperator::transactional)
+                .retryWhen(OPTIMISTIC_LOCKING_RETRY);
+    }
+
+    private Mono<StockExchangeRow> findStockExchange(String name) {
+        return stockExchangeRepository.findByName(name)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        messageUtils.getMessage("stock.exchange.not.found", name))));
+    }
+
+    private Mono<Void> requireStock(Long stockId) {
+        return stockRepository.existsById(stockId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new IllegalArgumentException(
+                        messageUtils.getMessage("stock.not.found", stockId))));
+    }
+
+    /**
+     * Recomputes the live in market flag after a membership change, guarded by the version read with the
+     * StockExchange, and reloads the StockExchange with its stocks.
+     *
+     * @throws OptimisticLockingFailureException if the StockExchange was changed concurrently
+     */
+    private Mono<StockExchangeDTO> updateLiveInMarket(StockExchangeRow stockExchange) {
+        return stockExchangeRepository.updateLiveInMarket(stockExchange.id(), stockExchange.version(),
+                        AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD)
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new OptimisticLockingFailureException(
+                        "Stock exchange " + stockExchange.id() + " was changed concurrently"))
+                        : stockExchangeRepository.findByName(stockExchange.name()))
+                .flatMap(this::toDTO);
+    }
+
+    private Mono<StockExchangeDTO> toDTO(StockExchangeRow stockExchange) {
+        return stockExchangeRepository.findStocks(stockExchange.id())
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .map(stocks -> StockExchangeDTO.builder()
+                        .id(stockExchange.id())
+                        .name(stockExchange.name())
+                        .description(stockExchange.description())
+                        .liveInMarket(stockExchange.liveInMarket())
+                        .marketOpen(stockExchange.marketOpen())
+                        .stocks(stocks)
+                        .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.inghubs.reactive.service.impl;
+
+import com.inghubs.dto.StockCreateDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.StockAlreadyExistsException;
+import com.inghubs.reactive.repository.ReactiveStockExchangeRepository;
+import com.inghubs.reactive.repository.ReactiveStockRepository;
+import com.inghubs.reactive.service.ReactiveStockService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service implementation for managing stocks. Each operation runs in one R2DBC transaction and never
+ * blocks the calling thread.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStockServiceImpl implements ReactiveStockService {
+    private final ReactiveStockRepository stockRepository;
+    private final ReactiveStockExchangeRepository stockExchangeRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final MessageUtils messageUtils;
+
+    /**
+     * Creates a new stock.
+     *
+     * @param stockCreateDTO the stock creation data transfer object
+     * @return the created StockDTO
+     * @throws StockAlreadyExistsException if a stock with the same name already exists, including one created
+     * concurrently
+     */
+    public Mono<StockDTO> createStock(StockCreateDTO stockCreateDTO) {
+        return stockRepository.existsByName(stockCreateDTO.getName())
+                .flatMap(exists -> exists
+                        ? Mono.<StockDTO>error(stockAlreadyExists(stockCreateDTO.getName()))
+                        : stockRepository.insert(stockCreateDTO.getName(), stockCreateDTO.getDescription(),
+                        stockCreateDTO.getCurrentPrice()))
+                .onErrorMap(DuplicateKeyException.class, e -> stockAlreadyExists(stockCreateDTO.getName()))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Updates the price of an existing stock.
+     *
+     * @param stockPriceUpdateDTO the stock price update data transfer object
+     * @return the updated StockDTO
+     * @throws ResourceNotFoundException if the stock with the given ID is not found
+     */
+    public Mono<StockDTO> updateStockPrice(StockPriceUpdateDTO stockPriceUpdateDTO) {
+        Long id = stockPriceUpdateDTO.getId();
+        return stockRepository.updatePrice(id, stockPriceUpdateDTO.getCurrentPrice())
+                .flatMap(updated -> updated == 0 ? Mono.error(stockNotFound(id)) : stockRepository.findById(id))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes a stock by its ID, removing it from every stock exchange listing it.
+     *
+     * @param id the ID of the stock to delete
+     * @throws ResourceNotFoundException if the stock with the given ID is not found
+     */
+    public Mono<Void> deleteStock(Long id) {
+        return stockRepository.existsById(id)
+                .flatMap(exists -> exists ? Mono.empty() : Mono.error(stockNotFound(id)))
+                .then(stockExchangeRepository.updateLiveInMarketWithoutStock(id, AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD))
+                .then(stockExchangeRepository.deleteStockFromAll(id))
+                .then(stockRepository.deleteById(id))
+                .then(stockRepository.insertTombstone(id))
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+
+    private StockAlreadyExistsException stockAlreadyExists(String name) {
+        return new StockAlreadyExistsException(messageUtils.getMessage("stock.already.exists", name));
+    }
+
+    private ResourceNotFoundException stockNotFound(Long id) {
+        return new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", id));
+    }
+}
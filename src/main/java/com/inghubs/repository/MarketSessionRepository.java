@@ -0,0 +1,19 @@
+package com.inghubs.repository;
+
+import com.inghubs.entity.MarketSession;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MarketSessionRepository extends JpaRepository<MarketSession, Long> {
+
+    @EntityGraph(attributePaths = "holidays")
+    Optional<MarketSession> findWithHolidaysByStockExchangeId(Long stockExchangeId);
+
+    @EntityGraph(attributePaths = "holidays")
+    @Query("SELECT s FROM MarketSession s")
+    List<MarketSession> findAllWithHolidays();
+}
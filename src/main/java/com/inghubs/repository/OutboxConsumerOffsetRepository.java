@@ -0,0 +1,10 @@
+package com.inghubs.repository;
+
+import com.inghubs.entity.OutboxConsumerOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxConsumerOffsetRepository extends JpaRepository<OutboxConsumerOffset, String> {
+    @Query("SELECT MIN(o.lastEventId) FROM OutboxConsumerOffset o")
+    Long findMinLastEventId();
+}
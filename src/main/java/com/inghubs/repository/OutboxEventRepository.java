@@ -0,0 +1,21 @@
+package com.inghubs.repository;
+
+import com.inghubs.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<OutboxEvent> findByIdBetweenOrderByIdAsc(Long fromId, Long toId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :maxId AND e.createdAt < :before")
+    int deletePublishedBefore(@Param("maxId") Long maxId, @Param("before") Timestamp before);
+}
@@ -0,0 +1,32 @@
+package com.inghubs.repository;
+
+import com.inghubs.entity.PriceAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+    List<PriceAlert> findAllByOwnerOrderById(String owner);
+
+    Optional<PriceAlert> findByIdAndOwner(Long id, String owner);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PriceAlert a SET a.triggeredAt = :triggeredAt, a.triggeredPrice = :price "
+            + "WHERE a.id IN :ids AND a.triggeredAt IS NULL")
+    int markTriggered(@Param("ids") Collection<Long> ids, @Param("price") BigDecimal price,
+                      @Param("triggeredAt") Timestamp triggeredAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PriceAlert a WHERE a.stockId = :stockId AND a.triggeredAt IS NULL")
+    int deleteActiveByStockId(@Param("stockId") Long stockId);
+}
@@ -1,15 +1,91 @@
 package com.inghubs.repository;
 
 import com.inghubs.entity.StockExchange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface StockExchangeRepository extends JpaRepository<StockExchange, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<StockExchange> findByName(String name);
+
+    @EntityGraph(attributePaths = "stocks")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<StockExchange> findWithStocksByName(String name);
+
+    @EntityGraph(attributePaths = "stocks")
+    Optional<StockExchange> findWithStocksById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT se FROM StockExchange se JOIN se.stocks s WHERE s.id = :stockId")
     List<StockExchange> findAllByStockId(@Param("stockId") Long stockId);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM stock_exchange_stock WHERE stock_exchange_id = :stockExchangeId AND stock_id = :stockId",
+            nativeQuery = true)
+    boolean containsStock(@Param("stockExchangeId") Long stockExchangeId, @Param("stockId") Long stockId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange_stock"))
+    @Query(value = "INSERT INTO stock_exchange_stock (stock_exchange_id, stock_id) VALUES (:stockExchangeId, :stockId)",
+            nativeQuery = true)
+    int insertStock(@Param("stockExchangeId") Long stockExchangeId, @Param("stockId") Long stockId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange_stock"))
+    @Query(value = "DELETE FROM stock_exchange_stock WHERE stock_exchange_id = :stockExchangeId AND stock_id = :stockId",
+            nativeQuery = true)
+    int deleteStock(@Param("stockExchangeId") Long stockExchangeId, @Param("stockId") Long stockId);
+
+    /**
+     * Recomputes the live in market flag of a stock exchange from its stock count and market status, and increments
+     * its version, if the version is still the given one.
+     *
+     * @return the number of updated rows, 0 if the stock exchange was changed concurrently
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange"))
+    @Query(value = "UPDATE stock_exchange SET live_in_market = market_open AND (SELECT COUNT(*) FROM stock_exchange_stock "
+            + "WHERE stock_exchange_id = :stockExchangeId) >= :threshold, version = version + 1 "
+            + "WHERE id = :stockExchangeId AND version = :version", nativeQuery = true)
+    int updateLiveInMarket(@Param("stockExchangeId") Long stockExchangeId, @Param("version") int version,
+                           @Param("threshold") int threshold);
+
+    /**
+     * Recomputes the live in market flag of every stock exchange listing one of the stocks as if the stocks were
+     * removed, and increments their versions. Must run before {@link #deleteStocksFromAll(Collection)}.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange"))
+    @Query(value = "UPDATE stock_exchange SET live_in_market = market_open AND (SELECT COUNT(*) FROM stock_exchange_stock "
+            + "WHERE stock_exchange_id = stock_exchange.id AND stock_id NOT IN (:stockIds)) >= :threshold, version = version + 1 "
+            + "WHERE id IN (SELECT stock_exchange_id FROM stock_exchange_stock WHERE stock_id IN (:stockIds))", nativeQuery = true)
+    int updateLiveInMarketWithoutStocks(@Param("stockIds") Collection<Long> stockIds, @Param("threshold") int threshold);
+
+    /**
+     * Opens or closes the market of the given stock exchanges in one statement, recomputes their live in market flags
+     * and increments their versions. Stock exchanges already in that state are left as they are.
+     *
+     * @return the number of stock exchanges that changed state
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange"))
+    @Query(value = "UPDATE stock_exchange SET market_open = :marketOpen, live_in_market = :marketOpen AND (SELECT COUNT(*) "
+            + "FROM stock_exchange_stock WHERE stock_exchange_id = stock_exchange.id) >= :threshold, version = version + 1 "
+            + "WHERE id IN (:stockExchangeIds) AND market_open <> :marketOpen", nativeQuery = true)
+    int updateMarketOpen(@Param("stockExchangeIds") Collection<Long> stockExchangeIds, @Param("marketOpen") boolean marketOpen,
+                         @Param("threshold") int threshold);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_exchange_stock"))
+    @Query(value = "DELETE FROM stock_exchange_stock WHERE stock_id IN (:stockIds)", nativeQuery = true)
+    int deleteStocksFromAll(@Param("stockIds") Collection<Long> stockIds);
+}
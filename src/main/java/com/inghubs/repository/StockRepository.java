@@ -1,10 +1,25 @@
 package com.inghubs.repository;
 
 import com.inghubs.entity.Stock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Stock> findByName(String name);
-}
\ No newline at end of file
+
+    List<Stock> findByChangeSeqBetweenOrderByChangeSeqAsc(Long fromChangeSeq, Long toChangeSeq, Limit limit);
+
+    /**
+     * Draws a value from the change sequence without changing a stock.
+     */
+    @Query(value = "SELECT NEXT VALUE FOR stock_change_seq", nativeQuery = true)
+    long nextChangeSeq();
+}
@@ -0,0 +1,24 @@
+package com.inghubs.repository;
+
+import com.inghubs.entity.StockTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockTombstoneRepository extends JpaRepository<StockTombstone, Long> {
+    List<StockTombstone> findByChangeSeqBetweenOrderByChangeSeqAsc(Long fromChangeSeq, Long toChangeSeq, Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_tombstone"))
+    @Query(value = "INSERT INTO stock_tombstone (change_seq, stock_id, deleted_at) "
+            + "SELECT NEXT VALUE FOR stock_change_seq, id, CURRENT_TIMESTAMP FROM stock WHERE id IN (:stockIds)", nativeQuery = true)
+    int insertForStocks(@Param("stockIds") Collection<Long> stockIds);
+}
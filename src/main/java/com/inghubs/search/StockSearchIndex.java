@@ -0,0 +1,317 @@
+package com.inghubs.search;
+
+import com.inghubs.dto.StockDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over stock names and descriptions.
+ * <p>
+ * Every stock gets a dense ordinal. Names are kept in a sorted map for prefix lookups, and names and descriptions
+ * are split into trigrams whose posting lists are ascending {@code int} arrays of ordinals. A query returns, in this
+ * order: stocks whose name starts with the query, stocks whose name contains it, stocks whose description contains
+ * it, and stocks whose name is similar to it by trigram similarity (as in PostgreSQL's pg_trgm).
+ * <p>
+ * Deleted stocks leave dead ordinals in the posting lists, which are skipped on read and dropped by compacting
+ * the index once they make up half of it. Readers share a read lock, so queries do not block each other.
+ */
+public class StockSearchIndex {
+
+    static final double SIMILARITY_THRESHOLD = 0.3;
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_COMPACTION_SIZE = 1_024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final NavigableMap<String, Integer> ordinalsByName = new TreeMap<>();
+    private final Map<String, Postings> nameGrams = new HashMap<>();
+    private final Map<String, Postings> descriptionGrams = new HashMap<>();
+    private StockDTO[] stocks = new StockDTO[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int size;
+    private int deleted;
+
+    /**
+     * Adds a stock to the index, or replaces the indexed copy if a stock with the same ID is already present. Does
+     * nothing if the indexed copy is of a newer version.
+     *
+     * @param stock the stock to index
+     */
+    public void put(StockDTO stock) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(stock.getId());
+            if (ordinal != null && stocks[ordinal].getVersion() > stock.getVersion()) {
+                return;
+            }
+            if (ordinal != null && normalize(stock.getName()).equals(names[ordinal])
+                    && normalize(stock.getDescription()).equals(descriptions[ordinal])) {
+                stocks[ordinal] = stock;
+                return;
+            }
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+            }
+            add(stock);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a stock from the index. Does nothing if the stock is not indexed.
+     *
+     * @param stockId the ID of the stock to remove
+     */
+    public void remove(Long stockId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(stockId);
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every stock from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset(16);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed stocks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query the text to search for, matched case-insensitively
+     * @param limit the maximum number of results
+     * @return the best matching stocks, best first
+     */
+    public List<StockDTO> search(String query, int limit) {
+        String normalizedQuery = normalize(query).trim();
+        if (normalizedQuery.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> hits = new LinkedHashSet<>();
+            collectPrefixMatches(normalizedQuery, hits, limit);
+            if (normalizedQuery.length() >= GRAM_LENGTH) {
+                collectSubstringMatches(nameGrams, names, normalizedQuery, hits, limit);
+                collectSubstringMatches(descriptionGrams, descriptions, normalizedQuery, hits, limit);
+                collectSimilarNames(normalizedQuery, hits, limit);
+            }
+            List<StockDTO> results = new ArrayList<>(hits.size());
+            for (Integer ordinal : hits) {
+                results.add(stocks[ordinal]);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectPrefixMatches(String query, Set<Integer> hits, int limit) {
+        for (Integer ordinal : ordinalsByName.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+            if (hits.size() >= limit) {
+                return;
+            }
+            hits.add(ordinal);
+        }
+    }
+
+    private void collectSubstringMatches(Map<String, Postings> index, String[] texts, String query,
+                                         Set<Integer> hits, int limit) {
+        if (hits.size() >= limit) {
+            return;
+        }
+        Postings shortest = null;
+        for (String gram : grams(query, false)) {
+            Postings postings = index.get(gram);
+            if (postings == null) {
+                return;
+            }
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+        for (int i = 0; i < shortest.size && hits.size() < limit; i++) {
+            int ordinal = shortest.ordinals[i];
+            if (stocks[ordinal] != null && texts[ordinal].contains(query)) {
+                hits.add(ordinal);
+            }
+        }
+    }
+
+    private void collectSimilarNames(String query, Set<Integer> hits, int limit) {
+        if (hits.size() >= limit) {
+            return;
+        }
+        Set<String> queryGrams = grams(query, true);
+        List<Postings> postingLists = new ArrayList<>();
+        for (String gram : queryGrams) {
+            Postings postings = nameGrams.get(gram);
+            if (postings != null) {
+                postingLists.add(postings);
+            }
+        }
+        // similarity = shared / (|query grams| + |name grams| - shared) can only reach the threshold with enough
+        // shared grams, and a name sharing that many grams appears in at least one list outside the largest
+        // (minShared - 1) lists, so only the shorter lists are scanned and the longer ones are probed
+        int minShared = Math.max(1, (int) Math.ceil(SIMILARITY_THRESHOLD * queryGrams.size()));
+        int scannedLists = postingLists.size() - (minShared - 1);
+        if (scannedLists <= 0) {
+            return;
+        }
+        postingLists.sort(Comparator.comparingInt(postings -> postings.size));
+        Map<Integer, Integer> sharedGrams = new HashMap<>();
+        for (Postings postings : postingLists.subList(0, scannedLists)) {
+            for (int i = 0; i < postings.size; i++) {
+                sharedGrams.merge(postings.ordinals[i], 1, Integer::sum);
+            }
+        }
+        for (Postings postings : postingLists.subList(scannedLists, postingLists.size())) {
+            sharedGrams.replaceAll((ordinal, shared) -> postings.contains(ordinal) ? shared + 1 : shared);
+        }
+        List<double[]> candidates = new ArrayList<>();
+        sharedGrams.forEach((ordinal, shared) -> {
+            if (shared >= minShared && stocks[ordinal] != null && !hits.contains(ordinal)) {
+                int nameGramCount = grams(names[ordinal], true).size();
+                double similarity = (double) shared / (queryGrams.size() + nameGramCount - shared);
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    candidates.add(new double[]{similarity, ordinal});
+                }
+            }
+        });
+        candidates.sort(Comparator.comparingDouble((double[] candidate) -> -candidate[0])
+                .thenComparingDouble(candidate -> candidate[1]));
+        for (int i = 0; i < candidates.size() && hits.size() < limit; i++) {
+            hits.add((int) candidates.get(i)[1]);
+        }
+    }
+
+    private void add(StockDTO stock) {
+        if (size == stocks.length) {
+            int capacity = size * 2;
+            stocks = Arrays.copyOf(stocks, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int ordinal = size++;
+        String name = normalize(stock.getName());
+        String description = normalize(stock.getDescription());
+        stocks[ordinal] = stock;
+        names[ordinal] = name;
+        descriptions[ordinal] = description;
+        ordinalsById.put(stock.getId(), ordinal);
+        ordinalsByName.put(name + '\0' + ordinal, ordinal);
+        for (String gram : grams(name, true)) {
+            nameGrams.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+        for (String gram : grams(description, false)) {
+            descriptionGrams.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void removeOrdinal(int ordinal) {
+        ordinalsById.remove(stocks[ordinal].getId());
+        ordinalsByName.remove(names[ordinal] + '\0' + ordinal);
+        stocks[ordinal] = null;
+        deleted++;
+    }
+
+    private void compactIfSparse() {
+        if (size < MIN_COMPACTION_SIZE || deleted * 2 < size) {
+            return;
+        }
+        StockDTO[] live = Arrays.stream(stocks, 0, size).filter(stock -> stock != null).toArray(StockDTO[]::new);
+        reset(Math.max(16, live.length));
+        for (StockDTO stock : live) {
+            add(stock);
+        }
+    }
+
+    private void reset(int capacity) {
+        ordinalsById.clear();
+        ordinalsByName.clear();
+        nameGrams.clear();
+        descriptionGrams.clear();
+        stocks = new StockDTO[capacity];
+        names = new String[capacity];
+        descriptions = new String[capacity];
+        size = 0;
+        deleted = 0;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a text into its distinct trigrams. Padded trigrams mark the start and end of the text, which makes
+     * short names comparable by similarity.
+     */
+    static Set<String> grams(String text, boolean padded) {
+        String source = padded ? "  " + text + " " : text;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= source.length(); i++) {
+            grams.add(source.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Ascending list of ordinals, grown by appending since ordinals are handed out in increasing order.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        private boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.MarketSessionDTO;
+import com.inghubs.dto.MarketSessionUpdateDTO;
+
+public interface MarketSessionService {
+
+    MarketSessionDTO getSession(String name);
+
+    MarketSessionDTO setSession(String name, MarketSessionUpdateDTO marketSessionUpdateDTO);
+
+    void deleteSession(String name);
+
+}
@@ -0,0 +1,17 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.OrderBookDTO;
+import com.inghubs.dto.OrderCreateDTO;
+import com.inghubs.dto.OrderResultDTO;
+
+public interface OrderService {
+
+    OrderResultDTO submitOrder(String name, Long stockId, OrderCreateDTO orderCreateDTO);
+
+    OrderResultDTO cancelOrder(String name, Long stockId, Long orderId);
+
+    OrderBookDTO getOrderBook(String name, Long stockId, int depth);
+
+    void publishLastTradePrices();
+
+}
@@ -0,0 +1,21 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.dto.OutboxOffsetDTO;
+
+import java.util.List;
+
+public interface OutboxService {
+
+    void record(String aggregateType, Long aggregateId, String eventType, Object payload);
+
+    List<OutboxEventDTO> getEventsAfter(long afterId, int limit);
+
+    List<OutboxEventDTO> getEventsBetween(long fromId, long toId);
+
+    OutboxOffsetDTO getOffset(String consumer);
+
+    OutboxOffsetDTO commitOffset(String consumer, long lastEventId);
+
+    int purgePublishedEvents();
+}
@@ -0,0 +1,19 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.PriceAlertCreateDTO;
+import com.inghubs.dto.PriceAlertDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface PriceAlertService {
+
+    PriceAlertDTO createAlert(String owner, PriceAlertCreateDTO priceAlertCreateDTO);
+
+    List<PriceAlertDTO> getAlerts(String owner);
+
+    void deleteAlert(String owner, Long id);
+
+    SseEmitter subscribe(String owner);
+
+}
@@ -0,0 +1,15 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.PriceBarDTO;
+import com.inghubs.dto.PriceTickDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PriceHistoryService {
+
+    List<PriceTickDTO> getPrices(Long stockId, Instant from, Instant to, int limit);
+
+    List<PriceBarDTO> getBars(Long stockId, Instant from, Instant to, long intervalMs);
+
+}
@@ -0,0 +1,12 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.dto.StockExchangeIndexDTO;
+
+public interface ShardedStockExchangeService {
+
+    StockExchangeDTO getStockExchange(String name, String authorization);
+
+    StockExchangeIndexDTO getStockExchangeIndex(String name, String authorization);
+
+}
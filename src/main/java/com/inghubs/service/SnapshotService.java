@@ -0,0 +1,13 @@
+package com.inghubs.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface SnapshotService {
+
+    Path takeSnapshot();
+
+    Optional<Path> findLatestSnapshot();
+
+    boolean restoreLatestSnapshot();
+}
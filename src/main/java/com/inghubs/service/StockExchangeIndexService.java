@@ -0,0 +1,11 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.StockExchangeIndexDTO;
+
+public interface StockExchangeIndexService {
+
+    StockExchangeIndexDTO getStockExchangeIndex(String name);
+
+    void rebuildIndex();
+
+}
@@ -7,6 +7,8 @@ public interface StockExchangeService {
 
     StockExchangeDTO getStockExchange(String name);
 
+    byte[] getStockExchangeJson(String name);
+
     StockExchangeDTO addStockToStockExchange(String name, Long stockId);
 
     StockExchangeDTO removeStockFromStockExchange(String name, Long stockId);
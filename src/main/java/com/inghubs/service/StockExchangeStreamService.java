@@ -0,0 +1,14 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.StockExchangeDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface StockExchangeStreamService {
+
+    StockExchangeDTO getStockExchangeHeader(String name);
+
+    void writeStockExchange(StockExchangeDTO header, OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,13 @@
+package com.inghubs.service;
+
+import com.inghubs.dto.StockDTO;
+
+import java.util.List;
+
+public interface StockSearchService {
+
+    List<StockDTO> searchStocks(String query, int limit);
+
+    void rebuildIndex();
+
+}
@@ -1,17 +1,26 @@
 package com.inghubs.service;
 
+import com.inghubs.dto.StockChangesDTO;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
 import com.inghubs.entity.Stock;
 
+import java.util.List;
+
 public interface StockService {
 
     void deleteStock(Long id);
 
+    void deleteStocks(List<Long> ids);
+
     StockDTO createStock(StockCreateDTO stockCreateDTO);
 
     StockDTO updateStockPrice(StockPriceUpdateDTO stockPriceUpdateDTO);
 
+    List<StockDTO> updateStockPrices(List<StockPriceUpdateDTO> stockPriceUpdateDTOs);
+
     Stock getStockById(Long id);
+
+    StockChangesDTO getStockChanges(String since, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.converter.MarketSessionConverter;
+import com.inghubs.dto.MarketSessionDTO;
+import com.inghubs.dto.MarketSessionUpdateDTO;
+import com.inghubs.entity.MarketSession;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.event.MarketSessionChangedEvent;
+import com.inghubs.event.MarketStatusChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.repository.MarketSessionRepository;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.service.MarketSessionService;
+import com.inghubs.session.MarketCalendar;
+import com.inghubs.session.MarketSessionScheduler;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service implementation for the trading sessions of stock exchanges.
+ * <p>
+ * Setting or removing a session moves the market of the stock exchange to the state it should be in right away, in
+ * the same transaction, and hands the session to the {@link MarketSessionScheduler} once committed, which opens and
+ * closes the market from then on.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarketSessionServiceImpl implements MarketSessionService {
+
+    private final MarketSessionRepository marketSessionRepository;
+    private final StockExchangeRepository stockExchangeRepository;
+    private final MarketSessionConverter marketSessionConverter;
+    private final MessageUtils messageUtils;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retrieves the trading session of a StockExchange.
+     *
+     * @param name the name of the StockExchange
+     * @return the session, with the current market status and the next time the market opens or closes
+     * @throws ResourceNotFoundException if the StockExchange is not found or has no session
+     */
+    @Transactional(readOnly = true)
+    public MarketSessionDTO getSession(String name) {
+        StockExchange stockExchange = findStockExchange(name);
+        MarketSession marketSession = marketSessionRepository.findWithHolidaysByStockExchangeId(stockExchange.getId())
+                .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("market.session.not.found", name)));
+        return marketSessionConverter.toDTO(name, marketSession, stockExchange.isMarketOpen(),
+                marketSessionConverter.toCalendar(marketSession).nextTransition(Instant.now()));
+    }
+
+    /**
+     * Sets or replaces the trading session of a StockExchange, and opens or closes its market accordingly.
+     *
+     * @param name the name of the StockExchange
+     * @param marketSessionUpdateDTO the session
+     * @return the session, with the market status it was moved to
+     * @throws ResourceNotFoundException if the StockExchange is not found
+     * @throws BadRequestException if the time zone is unknown or the market would close before it opens
+     */
+    @Transactional
+    public MarketSessionDTO setSession(String name, MarketSessionUpdateDTO marketSessionUpdateDTO) {
+        ZoneId zone = requireZone(marketSessionUpdateDTO.getTimeZone());
+        if (!marketSessionUpdateDTO.getOpenTime().isBefore(marketSessionUpdateDTO.getCloseTime())) {
+            throw new BadRequestException(messageUtils.getMessage("market.session.hours.invalid"));
+        }
+        StockExchange stockExchange = findStockExchange(name);
+        MarketSession marketSession = marketSessionRepository.findWithHolidaysByStockExchangeId(stockExchange.getId())
+                .orElseGet(() -> MarketSession.builder().stockExchangeId(stockExchange.getId()).build());
+        marketSession.setTimeZone(zone.getId());
+        marketSession.setOpenTime(marketSessionUpdateDTO.getOpenTime());
+        marketSession.setCloseTime(marketSessionUpdateDTO.getCloseTime());
+        marketSession.setTradingDays(marketSessionConverter.toTradingDays(marketSessionUpdateDTO.getTradingDays()));
+        marketSession.getHolidays().clear();
+        if (marketSessionUpdateDTO.getHolidays() != null) {
+            marketSession.getHolidays().addAll(marketSessionUpdateDTO.getHolidays());
+        }
+        MarketSession savedSession = marketSessionRepository.save(marketSession);
+
+        MarketCalendar calendar = marketSessionConverter.toCalendar(savedSession);
+        Instant now = Instant.now();
+        boolean marketOpen = calendar.isOpen(now);
+        updateMarketOpen(stockExchange, marketOpen);
+        eventPublisher.publishEvent(new MarketSessionChangedEvent(stockExchange.getId(), calendar));
+        return marketSessionConverter.toDTO(name, savedSession, marketOpen, calendar.nextTransition(now));
+    }
+
+    /**
+     * Removes the trading session of a StockExchange, which leaves its market open.
+     *
+     * @param name the name of the StockExchange
+     * @throws ResourceNotFoundException if the StockExchange is not found or has no session
+     */
+    @Transactional
+    public void deleteSession(String name) {
+        StockExchange stockExchange = findStockExchange(name);
+        MarketSession marketSession = marketSessionRepository.findById(stockExchange.getId())
+                .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("market.session.not.found", name)));
+        marketSessionRepository.delete(marketSession);
+        updateMarketOpen(stockExchange, true);
+        eventPublisher.publishEvent(new MarketSessionChangedEvent(stockExchange.getId(), null));
+    }
+
+    private StockExchange findStockExchange(String name) {
+        return stockExchangeRepository.findByName(name).orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name)));
+    }
+
+    private ZoneId requireZone(String timeZone) {
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new BadRequestException(messageUtils.getMessage("market.session.time-zone.invalid", timeZone));
+        }
+    }
+
+    private void updateMarketOpen(StockExchange stockExchange, boolean marketOpen) {
+        if (stockExchangeRepository.updateMarketOpen(List.of(stockExchange.getId()), marketOpen,
+                AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD) > 0) {
+            boolean liveInMarket = stockExchangeRepository.findById(stockExchange.getId()).orElseThrow().isLiveInMarket();
+            eventPublisher.publishEvent(new MarketStatusChangedEvent(marketOpen, Map.of(stockExchange.getName(), liveInMarket)));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.converter.OrderConverter;
+import com.inghubs.dto.OrderBookDTO;
+import com.inghubs.dto.OrderCreateDTO;
+import com.inghubs.dto.OrderResultDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.event.MarketStatusChangedEvent;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.matching.MatchResult;
+import com.inghubs.matching.MatchingEngine;
+import com.inghubs.service.OrderService;
+import com.inghubs.service.StockExchangeService;
+import com.inghubs.service.StockService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation for trading on the order books of listed stocks.
+ * <p>
+ * Which stocks are listed on which exchange, and whether the exchange is open and live, is cached in memory when an
+ * exchange is first traded and kept up to date by the stock exchange change and market status events, so submitting
+ * an order does not query the database. Trades update {@code Stock.currentPrice} through a scheduled task that writes the last trade price
+ * of every stock that traded since its previous run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderServiceImpl implements OrderService {
+
+    private final MatchingEngine matchingEngine;
+    private final StockExchangeService stockExchangeService;
+    private final StockService stockService;
+    private final OrderConverter orderConverter;
+    private final MessageUtils messageUtils;
+    private final Map<String, Listings> listingsByExchange = new ConcurrentHashMap<>();
+
+    /**
+     * Submits a limit order for a stock listed on a live StockExchange.
+     *
+     * @param name the name of the StockExchange
+     * @param stockId the ID of the Stock
+     * @param orderCreateDTO the order
+     * @return the fills of the order and its resting quantity
+     * @throws ResourceNotFoundException if the StockExchange is not found or does not list the Stock
+     * @throws BadRequestException if the market of the StockExchange is closed or the StockExchange is not live
+     */
+    public OrderResultDTO submitOrder(String name, Long stockId, OrderCreateDTO orderCreateDTO) {
+        Listings listings = getListings(name, stockId);
+        if (!listings.marketOpen) {
+            throw new BadRequestException(messageUtils.getMessage("order.exchange.closed", name));
+        }
+        if (!listings.liveInMarket) {
+            throw new BadRequestException(messageUtils.getMessage("order.exchange.not.live", name));
+        }
+        MatchResult matchResult = matchingEngine.submit(listings.stockExchangeId, stockId, orderCreateDTO.getSide(),
+                orderConverter.toTicks(orderCreateDTO.getPrice()), orderCreateDTO.getQuantity()).join();
+        return orderConverter.toResultDTO(stockId, orderCreateDTO.getQuantity(), matchResult);
+    }
+
+    /**
+     * Cancels a resting order.
+     *
+     * @param name the name of the StockExchange
+     * @param stockId the ID of the Stock
+     * @param orderId the ID of the order
+     * @return the cancelled order with its cancelled quantity
+     * @throws ResourceNotFoundException if the listing is not found or the order is not resting in its book
+     */
+    public OrderResultDTO cancelOrder(String name, Long stockId, Long orderId) {
+        Listings listings = getListings(name, stockId);
+        long cancelledQuantity = matchingEngine.cancel(listings.stockExchangeId, stockId, orderId).join();
+        if (cancelledQuantity < 0) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("order.not.found", String.valueOf(orderId)));
+        }
+        return orderConverter.toCancelledDTO(stockId, orderId, cancelledQuantity);
+    }
+
+    /**
+     * Retrieves the best levels of the order book of a listing.
+     *
+     * @param name the name of the StockExchange
+     * @param stockId the ID of the Stock
+     * @param depth the maximum number of levels per side
+     * @return the order book
+     * @throws BadRequestException if the depth is out of range
+     */
+    public OrderBookDTO getOrderBook(String name, Long stockId, int depth) {
+        if (depth < 1 || depth > AppConstants.ORDER_BOOK_MAX_DEPTH) {
+            throw new BadRequestException(messageUtils.getMessage("order.book.depth.invalid", String.valueOf(AppConstants.ORDER_BOOK_MAX_DEPTH)));
+        }
+        Listings listings = getListings(name, stockId);
+        return orderConverter.toBookDTO(name, stockId, matchingEngine.view(listings.stockExchangeId, stockId, depth).join());
+    }
+
+    /**
+     * Writes the last trade price of every stock that traded since the previous run to the stock table.
+     * <p>
+     * Each stock is written in its own transaction. A price that fails to be written is put back for the next run,
+     * unless the stock has traded again in the meantime, and does not stop the prices of the other stocks.
+     */
+    @Scheduled(fixedDelayString = "${matching.price-update-interval-ms:200}")
+    public void publishLastTradePrices() {
+        matchingEngine.drainLastTradePrices().forEach((stockId, price) -> {
+            try {
+                stockService.updateStockPrice(new StockPriceUpdateDTO(stockId, orderConverter.fromTicks(price)));
+            } catch (ResourceNotFoundException e) {
+                log.debug("Stock {} was deleted before its last trade price was written", stockId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write the last trade price of stock {}, retrying on the next run", stockId, e);
+                matchingEngine.requeueLastTradePrice(stockId, price);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onStockExchangeChanged(StockExchangeChangedEvent event) {
+        listingsByExchange.computeIfPresent(event.stockExchangeName(), (name, listings) -> {
+            listings.liveInMarket = event.liveInMarket();
+            if (event.type() == StockExchangeChangedEvent.Type.STOCK_ADDED) {
+                listings.stockIds.add(event.stockId());
+            } else {
+                listings.stockIds.remove(event.stockId());
+            }
+            return listings;
+        });
+        if (event.type() == StockExchangeChangedEvent.Type.STOCK_REMOVED) {
+            matchingEngine.closeBook(event.stockExchangeId(), event.stockId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMarketStatusChanged(MarketStatusChangedEvent event) {
+        event.liveInMarketByName().forEach((name, liveInMarket) -> listingsByExchange.computeIfPresent(name, (key, listings) -> {
+            listings.marketOpen = event.marketOpen();
+            listings.liveInMarket = liveInMarket;
+            return listings;
+        }));
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.type() == StockChangedEvent.Type.DELETED) {
+            Long stockId = event.stock().getId();
+            listingsByExchange.values().forEach(listings -> {
+                if (listings.stockIds.remove(stockId)) {
+                    matchingEngine.closeBook(listings.stockExchangeId, stockId);
+                }
+            });
+        }
+    }
+
+    private Listings getListings(String name, Long stockId) {
+        Listings listings = listingsByExchange.computeIfAbsent(name, this::loadListings);
+        if (!listings.stockIds.contains(stockId)) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("stock.not.found.in.exchange"));
+        }
+        return listings;
+    }
+
+    private Listings loadListings(String name) {
+        StockExchange stockExchange = stockExchangeService.getStockExchangeByName(name);
+        Listings listings = new Listings(stockExchange.getId());
+        listings.marketOpen = stockExchange.isMarketOpen();
+        listings.liveInMarket = stockExchange.isLiveInMarket();
+        stockExchange.getStocks().stream().map(Stock::getId).forEach(listings.stockIds::add);
+        return listings;
+    }
+
+    /**
+     * The stocks listed on one StockExchange, whether its market is open and whether it is live.
+     */
+    static final class Listings {
+        private final long stockExchangeId;
+        private final Set<Long> stockIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean marketOpen;
+        private volatile boolean liveInMarket;
+
+        private Listings(long stockExchangeId) {
+            this.stockExchangeId = stockExchangeId;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.inghubs.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.aspect.OptimisticLockingRetryable;
+import com.inghubs.config.OutboxProperties;
+import com.inghubs.converter.OutboxEventConverter;
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.dto.OutboxOffsetDTO;
+import com.inghubs.entity.OutboxConsumerOffset;
+import com.inghubs.entity.OutboxEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.repository.OutboxConsumerOffsetRepository;
+import com.inghubs.repository.OutboxEventRepository;
+import com.inghubs.service.OutboxService;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service implementation for the transactional outbox.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConsumerOffsetRepository outboxConsumerOffsetRepository;
+    private final OutboxEventConverter outboxEventConverter;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+    private final MessageUtils messageUtils;
+
+    /**
+     * Appends an event to the outbox. Must be called inside the transaction of the mutation it describes,
+     * so that the event is committed or rolled back together with it.
+     *
+     * @param aggregateType the type of the changed aggregate
+     * @param aggregateId the ID of the changed aggregate
+     * @param eventType the type of the change
+     * @param payload the event payload, serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .build());
+    }
+
+    /**
+     * Retrieves outbox events in ID order.
+     *
+     * @param afterId the exclusive lower bound of event IDs
+     * @param limit the maximum number of events to return
+     * @return the events after the given ID
+     * @throws BadRequestException if the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEventDTO> getEventsAfter(long afterId, int limit) {
+        if (limit < 1 || limit > outboxProperties.getMaxPollSize()) {
+            throw new BadRequestException(messageUtils.getMessage("outbox.limit.invalid", String.valueOf(outboxProperties.getMaxPollSize())));
+        }
+        return outboxEventRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit)).stream()
+                .map(outboxEventConverter::toDTO)
+                .toList();
+    }
+
+    /**
+     * Retrieves the outbox events in an ID range, used by the relay to look for events that committed late.
+     *
+     * @param fromId the inclusive lower bound of event IDs
+     * @param toId the inclusive upper bound of event IDs
+     * @return the events in the range, in ID order
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEventDTO> getEventsBetween(long fromId, long toId) {
+        return outboxEventRepository.findByIdBetweenOrderByIdAsc(fromId, toId).stream()
+                .map(outboxEventConverter::toDTO)
+                .toList();
+    }
+
+    /**
+     * Retrieves the committed offset of a consumer. Unknown consumers start at offset 0.
+     *
+     * @param consumer the consumer name
+     * @return the consumer offset
+     */
+    @Transactional(readOnly = true)
+    public OutboxOffsetDTO getOffset(String consumer) {
+        long lastEventId = outboxConsumerOffsetRepository.findById(consumer)
+                .map(OutboxConsumerOffset::getLastEventId)
+                .orElse(0L);
+        return new OutboxOffsetDTO(consumer, lastEventId);
+    }
+
+    /**
+     * Commits the offset of a consumer. Offsets only move forward, so re-committing an older offset after a
+     * redelivery is a no-op.
+     *
+     * @param consumer the consumer name
+     * @param lastEventId the ID of the last event the consumer has processed
+     * @return the committed consumer offset
+     * @throws BadRequestException if the offset is negative
+     */
+    @OptimisticLockingRetryable
+    @Transactional
+    public OutboxOffsetDTO commitOffset(String consumer, long lastEventId) {
+        if (lastEventId < 0) {
+            throw new BadRequestException(messageUtils.getMessage("outbox.offset.invalid"));
+        }
+        OutboxConsumerOffset offset = outboxConsumerOffsetRepository.findById(consumer)
+                .orElseGet(() -> OutboxConsumerOffset.builder().consumer(consumer).build());
+        if (lastEventId > offset.getLastEventId()) {
+            offset.setLastEventId(lastEventId);
+            offset = outboxConsumerOffsetRepository.save(offset);
+        }
+        return new OutboxOffsetDTO(consumer, offset.getLastEventId());
+    }
+
+    /**
+     * Deletes events that the relay and every consumer with a committed offset have processed, and that are older
+     * than the retention period. A consumer that stops committing holds the purge back.
+     *
+     * @return the number of deleted events
+     */
+    @Transactional
+    public int purgePublishedEvents() {
+        long processed = getOffset(outboxProperties.getRelay().getConsumer()).getLastEventId();
+        Long slowestConsumer = outboxConsumerOffsetRepository.findMinLastEventId();
+        if (slowestConsumer != null) {
+            processed = Math.min(processed, slowestConsumer);
+        }
+        Timestamp before = Timestamp.from(Instant.now().minusMillis(outboxProperties.getRetentionMs()));
+        return outboxEventRepository.deletePublishedBefore(processed, before);
+    }
+}
@@ -0,0 +1,251 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.alert.PriceAlertIndex;
+import com.inghubs.alert.PriceAlertNotifier;
+import com.inghubs.converter.PriceAlertConverter;
+import com.inghubs.dto.PriceAlertCreateDTO;
+import com.inghubs.dto.PriceAlertDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.entity.PriceAlert;
+import com.inghubs.entity.Stock;
+import com.inghubs.event.PriceAlertChangedEvent;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.repository.PriceAlertRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.PriceAlertService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.LazyQueryConnections;
+import com.inghubs.util.MessageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for user-defined price alerts, evaluated against a {@link PriceAlertIndex}.
+ * <p>
+ * The index holds the active alerts. It is loaded from the {@code price_alert} table once the application is ready
+ * and kept in sync by the alert change events of committed transactions. Every committed price update is evaluated
+ * against the index on the updating thread, which only touches the alerts it triggers. Recording and pushing the
+ * triggered alerts is handed to a single delivery thread, so a tick never waits for the database or a slow stream.
+ * An alert triggered just before a crash may trigger again after the restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceAlertServiceImpl implements PriceAlertService {
+
+    private static final String SELECT_ACTIVE_ALERTS = "SELECT id, stock_id, above_price, below_price FROM price_alert "
+            + "WHERE triggered_at IS NULL AND stock_id IN (SELECT id FROM stock) ORDER BY id";
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final StockRepository stockRepository;
+    private final PriceAlertConverter priceAlertConverter;
+    private final PriceAlertNotifier priceAlertNotifier;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSource dataSource;
+    private final MessageUtils messageUtils;
+    private final PriceAlertIndex priceAlertIndex = new PriceAlertIndex();
+    private final Queue<PriceAlertChangedEvent> eventsDuringRebuild = new ConcurrentLinkedQueue<>();
+    private final ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-alert-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean rebuilding;
+
+    /**
+     * Creates a price alert on a stock for the given owner.
+     *
+     * @param owner the name of the user the alert is pushed to
+     * @param priceAlertCreateDTO the alert
+     * @return the created alert with its thresholds
+     * @throws ResourceNotFoundException if the stock is not found
+     * @throws BadRequestException if the price or percentage of the type is missing, or the price already reached
+     *                             the threshold
+     */
+    @Transactional
+    public PriceAlertDTO createAlert(String owner, PriceAlertCreateDTO priceAlertCreateDTO) {
+        Long stockId = priceAlertCreateDTO.getStockId();
+        Stock stock = stockRepository.findById(stockId)
+                .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", String.valueOf(stockId))));
+        BigDecimal currentPrice = stock.getCurrentPrice();
+        PriceAlert priceAlert = PriceAlert.builder()
+                .stockId(stockId)
+                .owner(owner)
+                .type(priceAlertCreateDTO.getType())
+                .build();
+        switch (priceAlertCreateDTO.getType()) {
+            case ABOVE -> priceAlert.setAbovePrice(requireThreshold(priceAlertCreateDTO.getPrice(), currentPrice, 1));
+            case BELOW -> priceAlert.setBelowPrice(requireThreshold(priceAlertCreateDTO.getPrice(), currentPrice, -1));
+            case MOVE -> {
+                BigDecimal percentage = priceAlertCreateDTO.getPercentage();
+                if (percentage == null) {
+                    throw new BadRequestException(messageUtils.getMessage("price.alert.percentage.required"));
+                }
+                BigDecimal move = currentPrice.multiply(percentage).movePointLeft(2);
+                priceAlert.setPercentage(percentage);
+                priceAlert.setReferencePrice(currentPrice);
+                priceAlert.setAbovePrice(currentPrice.add(move).setScale(AppConstants.PRICE_SCALE, RoundingMode.CEILING));
+                priceAlert.setBelowPrice(currentPrice.subtract(move).setScale(AppConstants.PRICE_SCALE, RoundingMode.FLOOR));
+            }
+        }
+        PriceAlert saved = priceAlertRepository.save(priceAlert);
+        eventPublisher.publishEvent(new PriceAlertChangedEvent(PriceAlertChangedEvent.Type.CREATED, saved.getId(),
+                stockId, saved.getAbovePrice(), saved.getBelowPrice()));
+        return priceAlertConverter.toDTO(saved);
+    }
+
+    /**
+     * Retrieves the active and triggered alerts of the given owner.
+     *
+     * @param owner the name of the user
+     * @return the alerts, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<PriceAlertDTO> getAlerts(String owner) {
+        return priceAlertRepository.findAllByOwnerOrderById(owner).stream().map(priceAlertConverter::toDTO).toList();
+    }
+
+    /**
+     * Deletes an alert of the given owner.
+     *
+     * @param owner the name of the user
+     * @param id the ID of the alert
+     * @throws ResourceNotFoundException if the owner has no alert with this ID
+     */
+    @Transactional
+    public void deleteAlert(String owner, Long id) {
+        PriceAlert priceAlert = priceAlertRepository.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("price.alert.not.found", String.valueOf(id))));
+        priceAlertRepository.delete(priceAlert);
+        eventPublisher.publishEvent(new PriceAlertChangedEvent(PriceAlertChangedEvent.Type.DELETED, id,
+                priceAlert.getStockId(), priceAlert.getAbovePrice(), priceAlert.getBelowPrice()));
+    }
+
+    /**
+     * Opens a server-sent event stream of the alerts of the given owner, as they trigger.
+     */
+    public SseEmitter subscribe(String owner) {
+        return priceAlertNotifier.subscribe(owner);
+    }
+
+    /**
+     * Loads the index from the active alerts of existing stocks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            priceAlertIndex.clear();
+            loadAlerts();
+            eventsDuringRebuild.forEach(this::apply);
+        } finally {
+            rebuilding = false;
+            eventsDuringRebuild.clear();
+        }
+        log.info("Loaded {} price alerts into the alert index in {} ms", priceAlertIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onPriceAlertChanged(PriceAlertChangedEvent event) {
+        apply(event);
+        if (rebuilding) {
+            eventsDuringRebuild.add(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        StockDTO stock = event.stock();
+        if (event.type() == StockChangedEvent.Type.PRICE_UPDATED) {
+            List<Long> triggered = new ArrayList<>();
+            if (priceAlertIndex.evaluate(stock.getId(), priceAlertConverter.toTicks(stock.getCurrentPrice()), triggered::add) > 0) {
+                deliveryExecutor.execute(() -> deliver(triggered, stock.getCurrentPrice()));
+            }
+        } else if (event.type() == StockChangedEvent.Type.DELETED && priceAlertIndex.removeStock(stock.getId()) > 0) {
+            deliveryExecutor.execute(() -> priceAlertRepository.deleteActiveByStockId(stock.getId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        deliveryExecutor.shutdown();
+        if (!deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Price alert delivery did not stop in time");
+        }
+    }
+
+    private BigDecimal requireThreshold(BigDecimal price, BigDecimal currentPrice, int side) {
+        if (price == null) {
+            throw new BadRequestException(messageUtils.getMessage("price.alert.price.required"));
+        }
+        if (price.compareTo(currentPrice) * side <= 0) {
+            throw new BadRequestException(messageUtils.getMessage("price.alert.price.reached", currentPrice.toPlainString()));
+        }
+        return price;
+    }
+
+    private void apply(PriceAlertChangedEvent event) {
+        long above = priceAlertConverter.toTicks(event.abovePrice());
+        long below = priceAlertConverter.toTicks(event.belowPrice());
+        if (event.type() == PriceAlertChangedEvent.Type.CREATED) {
+            priceAlertIndex.add(event.stockId(), event.alertId(), above, below);
+        } else {
+            priceAlertIndex.remove(event.stockId(), event.alertId(), above, below);
+        }
+    }
+
+    private void deliver(List<Long> alertIds, BigDecimal price) {
+        try {
+            priceAlertRepository.markTriggered(alertIds, price, Timestamp.from(Instant.now()));
+            priceAlertNotifier.publish(priceAlertRepository.findAllById(alertIds).stream().map(priceAlertConverter::toDTO).toList());
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver price alerts {}", alertIds, e);
+        }
+    }
+
+    private void loadAlerts() {
+        Connection connection = LazyQueryConnections.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ACTIVE_ALERTS)) {
+            statement.setFetchSize(AppConstants.JDBC_CURSOR_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    priceAlertIndex.add(resultSet.getLong(2), resultSet.getLong(1),
+                            priceAlertConverter.toTicks(resultSet.getBigDecimal(3)),
+                            priceAlertConverter.toTicks(resultSet.getBigDecimal(4)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load the price alert index", e);
+        } finally {
+            LazyQueryConnections.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.config.PriceHistoryProperties;
+import com.inghubs.converter.PriceHistoryConverter;
+import com.inghubs.dto.PriceBarDTO;
+import com.inghubs.dto.PriceTickDTO;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.history.PriceHistoryStore;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.PriceHistoryService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service implementation for the price history of stocks, kept in a {@link PriceHistoryStore} when
+ * {@code price-history.enabled=true}.
+ * <p>
+ * Every committed creation and price update of a stock is appended to the store with the time it was committed at,
+ * so the store holds one tick per update without a row per tick in the database. Open chunks older than
+ * {@code price-history.max-chunk-age-ms} are sealed and the segments forced to disk every
+ * {@code price-history.seal-interval-ms}, when the segments whose newest tick is older than
+ * {@code price-history.retention-ms} are deleted as well. The history of a stock is kept after the stock is deleted,
+ * but can no longer be read.
+ * <p>
+ * The store is opened against the epoch of the database, which is new for every database created from
+ * {@code data.sql} and carried over by a snapshot restore. Segments written against an earlier database are deleted
+ * on startup, since its stock IDs may have been reused for other stocks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryServiceImpl implements PriceHistoryService {
+
+    private final PriceHistoryProperties priceHistoryProperties;
+    private final PriceHistoryConverter priceHistoryConverter;
+    private final StockRepository stockRepository;
+    private final MessageUtils messageUtils;
+    private final DataSource dataSource;
+    private volatile PriceHistoryStore store;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (priceHistoryProperties.isEnabled()) {
+            long start = System.currentTimeMillis();
+            store = new PriceHistoryStore(Paths.get(priceHistoryProperties.getDirectory()), readEpoch(),
+                    priceHistoryProperties.getChunkTicks(), priceHistoryProperties.getSegmentBytes());
+            if (store.deletedSegments() > 0) {
+                log.warn("Deleted {} price history segments written against another database", store.deletedSegments());
+            }
+            log.info("Opened the price history with {} ticks in {} chunks in {} ms", store.storedTicks(),
+                    store.storedChunks(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Retrieves the price updates of a stock in a time range, in time order.
+     *
+     * @param stockId the ID of the stock
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param limit the maximum number of updates to return
+     * @return the first updates of the range, up to the limit
+     * @throws BadRequestException if the price history is disabled, or the range or limit is invalid
+     * @throws ResourceNotFoundException if the stock is not found
+     */
+    public List<PriceTickDTO> getPrices(Long stockId, Instant from, Instant to, int limit) {
+        PriceHistoryStore history = requireStore();
+        requireRange(from, to);
+        if (limit < 1 || limit > AppConstants.PRICE_HISTORY_MAX_TICKS) {
+            throw new BadRequestException(messageUtils.getMessage("price.history.limit.invalid",
+                    String.valueOf(AppConstants.PRICE_HISTORY_MAX_TICKS)));
+        }
+        requireStock(stockId);
+        List<PriceTickDTO> prices = new ArrayList<>();
+        history.scan(stockId, from.toEpochMilli(), to.toEpochMilli(), (timestamp, price) -> {
+            prices.add(priceHistoryConverter.toTickDTO(timestamp, price));
+            return prices.size() < limit;
+        });
+        return prices;
+    }
+
+    /**
+     * Retrieves the open, high, low and close prices of a stock over fixed intervals of a time range, starting at
+     * the start of the range. Intervals without price updates are left out.
+     *
+     * @param stockId the ID of the stock
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param intervalMs the length of an interval, in milliseconds
+     * @return the bars, in time order
+     * @throws BadRequestException if the price history is disabled, or the range or interval is invalid
+     * @throws ResourceNotFoundException if the stock is not found
+     */
+    public List<PriceBarDTO> getBars(Long stockId, Instant from, Instant to, long intervalMs) {
+        PriceHistoryStore history = requireStore();
+        requireRange(from, to);
+        long rangeMs = to.toEpochMilli() - from.toEpochMilli();
+        if (intervalMs < 1 || (rangeMs - 1) / intervalMs >= AppConstants.PRICE_HISTORY_MAX_BARS) {
+            throw new BadRequestException(messageUtils.getMessage("price.history.interval.invalid",
+                    String.valueOf(AppConstants.PRICE_HISTORY_MAX_BARS)));
+        }
+        requireStock(stockId);
+        return history.downsample(stockId, from.toEpochMilli(), to.toEpochMilli(), intervalMs).stream()
+                .map(priceHistoryConverter::toBarDTO)
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        PriceHistoryStore history = store;
+        if (history != null && event.type() != StockChangedEvent.Type.DELETED) {
+            try {
+                history.append(event.stock().getId(), System.currentTimeMillis(),
+                        priceHistoryConverter.toTicks(event.stock().getCurrentPrice()));
+            } catch (RuntimeException e) {
+                log.error("Failed to record the price of stock {}", event.stock().getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Seals the open chunks older than the maximum chunk age, forces the segments to disk and deletes the segments
+     * past the retention.
+     */
+    @Scheduled(fixedDelayString = "${price-history.seal-interval-ms:60000}",
+            initialDelayString = "${price-history.seal-interval-ms:60000}")
+    public void sealOldChunks() {
+        PriceHistoryStore history = store;
+        if (history != null) {
+            history.sealOlderThan(System.currentTimeMillis() - priceHistoryProperties.getMaxChunkAgeMs());
+            history.force();
+            int dropped = history.dropSegmentsOlderThan(System.currentTimeMillis() - priceHistoryProperties.getRetentionMs());
+            if (dropped > 0) {
+                log.info("Deleted {} price history segments past the retention", dropped);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PriceHistoryStore history = store;
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    private UUID readEpoch() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT epoch FROM database_epoch")) {
+            rs.next();
+            return rs.getObject(1, UUID.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the database epoch", e);
+        }
+    }
+
+    private PriceHistoryStore requireStore() {
+        PriceHistoryStore history = store;
+        if (history == null) {
+            throw new BadRequestException(messageUtils.getMessage("price.history.disabled"));
+        }
+        return history;
+    }
+
+    private void requireRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException(messageUtils.getMessage("price.history.range.invalid"));
+        }
+    }
+
+    private void requireStock(Long stockId) {
+        if (!stockRepository.existsById(stockId)) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", stockId));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.cluster.ShardRouter;
+import com.inghubs.config.ClusterProperties;
+import com.inghubs.converter.StockExchangeIndexConverter;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.dto.StockExchangeIndexDTO;
+import com.inghubs.exception.NodeUnavailableException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.service.ShardedStockExchangeService;
+import com.inghubs.service.StockExchangeIndexService;
+import com.inghubs.service.StockExchangeService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for reading a stock exchange whose stocks are spread over the nodes of the cluster.
+ * <p>
+ * Every node holds the stock exchange itself and the memberships of its own stocks. A read asks every other node
+ * for its part in parallel, each on a virtual thread, reads the local part meanwhile, and merges the parts. Since
+ * each node only counts its own stocks, the live in market flag is recomputed from the merged stocks and the market
+ * state of every node, and the price index from the merged count, sum, lowest and highest price.
+ */
+@Slf4j
+@Service
+public class ShardedStockExchangeServiceImpl implements ShardedStockExchangeService {
+
+    private final StockExchangeService stockExchangeService;
+    private final StockExchangeIndexService stockExchangeIndexService;
+    private final StockExchangeIndexConverter stockExchangeIndexConverter;
+    private final ShardRouter shardRouter;
+    private final RestClient clusterRestClient;
+    private final MessageUtils messageUtils;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedStockExchangeServiceImpl(StockExchangeService stockExchangeService,
+                                           StockExchangeIndexService stockExchangeIndexService,
+                                           StockExchangeIndexConverter stockExchangeIndexConverter, ShardRouter shardRouter,
+                                           RestClient clusterRestClient, MessageUtils messageUtils) {
+        this.stockExchangeService = stockExchangeService;
+        this.stockExchangeIndexService = stockExchangeIndexService;
+        this.stockExchangeIndexConverter = stockExchangeIndexConverter;
+        this.shardRouter = shardRouter;
+        this.clusterRestClient = clusterRestClient;
+        this.messageUtils = messageUtils;
+    }
+
+    /**
+     * Retrieves a StockExchange by its name from every node of the cluster.
+     *
+     * @param name the name of the StockExchange
+     * @param authorization the Authorization header of the request, forwarded to the other nodes
+     * @return the StockExchangeDTO with the stocks of every node
+     * @throws ResourceNotFoundException if no node has the StockExchange
+     * @throws NodeUnavailableException if a node cannot be reached or fails
+     */
+    public StockExchangeDTO getStockExchange(String name, String authorization) {
+        return merge(name, gather(name, authorization, "/api/v1/stock-exchange/{name}", StockExchangeDTO.class,
+                () -> stockExchangeService.getStockExchange(name)));
+    }
+
+    /**
+     * Retrieves the price index of a StockExchange over the stocks of every node of the cluster.
+     *
+     * @param name the name of the StockExchange
+     * @param authorization the Authorization header of the request, forwarded to the other nodes
+     * @return the StockExchangeIndexDTO merged from the aggregates of every node
+     * @throws ResourceNotFoundException if no node has the StockExchange
+     * @throws NodeUnavailableException if a node cannot be reached or fails
+     */
+    public StockExchangeIndexDTO getStockExchangeIndex(String name, String authorization) {
+        return mergeIndex(name, gather(name, authorization, "/api/v1/stock-exchange/{name}/index", StockExchangeIndexDTO.class,
+                () -> stockExchangeIndexService.getStockExchangeIndex(name)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Asks every other node for its part in parallel and reads the local part meanwhile.
+     */
+    private <T> List<Optional<T>> gather(String name, String authorization, String path, Class<T> type, Supplier<T> localPart) {
+        List<CompletableFuture<Optional<T>>> remoteParts = new ArrayList<>();
+        for (ClusterProperties.Node node : shardRouter.getNodes()) {
+            if (node != shardRouter.getLocalNode()) {
+                remoteParts.add(CompletableFuture.supplyAsync(() -> fetchPart(node, name, authorization, path, type), executor));
+            }
+        }
+        List<Optional<T>> parts = new ArrayList<>();
+        parts.add(localPart(localPart));
+        for (CompletableFuture<Optional<T>> remotePart : remoteParts) {
+            try {
+                parts.add(remotePart.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return parts;
+    }
+
+    private <T> Optional<T> localPart(Supplier<T> localPart) {
+        try {
+            return Optional.of(localPart.get());
+        } catch (ResourceNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private <T> Optional<T> fetchPart(ClusterProperties.Node node, String name, String authorization, String path, Class<T> type) {
+        try {
+            return clusterRestClient.get()
+                    .uri(node.getUrl() + path, name)
+                    .header(AppConstants.CLUSTER_LOCAL_HEADER, "true")
+                    .headers(headers -> {
+                        if (authorization != null) {
+                            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                        }
+                    })
+                    .exchange((request, response) -> {
+                        if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                            return Optional.<T>empty();
+                        }
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new NodeUnavailableException(messageUtils.getMessage("cluster.node.unavailable", node.getId())
+                                    + ": HTTP " + response.getStatusCode().value());
+                        }
+                        return Optional.ofNullable(response.bodyTo(type));
+                    });
+        } catch (RestClientException e) {
+            log.warn("Could not read stock exchange {} from node {}", name, node.getId(), e);
+            throw new NodeUnavailableException(messageUtils.getMessage("cluster.node.unavailable", node.getId()), e);
+        }
+    }
+
+    private StockExchangeDTO merge(String name, List<Optional<StockExchangeDTO>> parts) {
+        StockExchangeDTO merged = null;
+        boolean marketOpen = true;
+        List<StockDTO> stocks = new ArrayList<>();
+        for (Optional<StockExchangeDTO> part : parts) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (merged == null) {
+                merged = part.get();
+            }
+            // sessions are node-local, so the market is closed as soon as one node has closed it
+            marketOpen &= part.get().isMarketOpen();
+            if (part.get().getStocks() != null) {
+                stocks.addAll(part.get().getStocks());
+            }
+        }
+        if (merged == null) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name));
+        }
+        stocks.sort(Comparator.comparing(StockDTO::getId));
+        Set<StockDTO> mergedStocks = new LinkedHashSet<>(stocks);
+        return StockExchangeDTO.builder()
+                .id(merged.getId())
+                .name(merged.getName())
+                .description(merged.getDescription())
+                .liveInMarket(marketOpen && mergedStocks.size() >= AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD)
+                .marketOpen(marketOpen)
+                .stocks(mergedStocks)
+                .build();
+    }
+
+    private StockExchangeIndexDTO mergeIndex(String name, List<Optional<StockExchangeIndexDTO>> parts) {
+        boolean found = false;
+        int stockCount = 0;
+        BigDecimal priceSum = BigDecimal.ZERO.setScale(AppConstants.PRICE_SCALE);
+        BigDecimal minPrice = null;
+        BigDecimal maxPrice = null;
+        for (Optional<StockExchangeIndexDTO> part : parts) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            found = true;
+            StockExchangeIndexDTO index = part.get();
+            if (index.getStockCount() == 0) {
+                continue;
+            }
+            stockCount += index.getStockCount();
+            priceSum = priceSum.add(index.getPriceSum());
+            minPrice = minPrice == null || index.getMinPrice().compareTo(minPrice) < 0 ? index.getMinPrice() : minPrice;
+            maxPrice = maxPrice == null || index.getMaxPrice().compareTo(maxPrice) > 0 ? index.getMaxPrice() : maxPrice;
+        }
+        if (!found) {
+            throw new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name));
+        }
+        return stockExchangeIndexConverter.build(name, stockCount, priceSum, minPrice, maxPrice);
+    }
+}
@@ -0,0 +1,629 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.config.SnapshotProperties;
+import com.inghubs.service.SnapshotService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for binary snapshots of the in-memory database.
+ * <p>
+ * A snapshot holds the {@code stock_exchange}, {@code stock}, {@code stock_exchange_stock}, {@code stock_tombstone},
+ * {@code market_session}, {@code market_holiday}, {@code price_alert}, {@code outbox_event} and
+ * {@code outbox_consumer_offset} tables in a compact row-tagged binary format. Snapshots are taken by a scheduled task,
+ * read the nine tables from one serializable read-only transaction (served by H2's MVCC copy-on-write pages, so writers
+ * are not blocked) and are written to a temporary file that is atomically renamed once complete.
+ * <p>
+ * The outbox is restored with the mutations it describes: events not yet relayed are relayed after the restore, and
+ * the event IDs continue after the restored ones, so consumer offsets stay valid. The epoch of the database is carried
+ * over as well, so that files written against it, such as the price history, are still recognized after the restore.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "snapshot", name = "enabled", havingValue = "true")
+public class SnapshotServiceImpl implements SnapshotService {
+
+    static final int MAGIC = 0x5358534E;
+    static final short FORMAT_VERSION = 6;
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int RETAINED_SNAPSHOTS = 3;
+    private static final int FETCH_SIZE = 1_000;
+    private static final byte ROW = 1;
+    private static final byte END_OF_TABLE = 0;
+
+    private final DataSource dataSource;
+    private final SnapshotProperties snapshotProperties;
+
+    /**
+     * Takes a snapshot on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.interval-ms:60000}", initialDelayString = "${snapshot.interval-ms:60000}")
+    public void scheduledSnapshot() {
+        takeSnapshot();
+    }
+
+    /**
+     * Takes a final snapshot so that a clean shutdown loses nothing.
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        takeSnapshot();
+    }
+
+    /**
+     * Writes a consistent snapshot of the stock tables to the snapshot directory.
+     *
+     * @return the path of the written snapshot
+     */
+    public synchronized Path takeSnapshot() {
+        long start = System.nanoTime();
+        Path directory = Paths.get(snapshotProperties.getDirectory());
+        Path target = directory.resolve(String.format("%s%019d%s", FILE_PREFIX, System.currentTimeMillis(), FILE_SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                int isolation = connection.getTransactionIsolation();
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                    out.writeInt(MAGIC);
+                    out.writeShort(FORMAT_VERSION);
+                    out.writeLong(System.currentTimeMillis());
+                    writeEpoch(connection, out);
+                    writeStockExchanges(connection, out);
+                    writeStocks(connection, out);
+                    writeMemberships(connection, out);
+                    writeTombstones(connection, out);
+                    writeMarketSessions(connection, out);
+                    writeMarketHolidays(connection, out);
+                    writePriceAlerts(connection, out);
+                    writeOutboxEvents(connection, out);
+                    writeOutboxOffsets(connection, out);
+                } finally {
+                    connection.commit();
+                    connection.setTransactionIsolation(isolation);
+                    connection.setReadOnly(false);
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            pruneOldSnapshots(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read database for snapshot", e);
+        }
+        log.info("Snapshot {} written in {} ms", target.getFileName(), (System.nanoTime() - start) / 1_000_000);
+        return target;
+    }
+
+    /**
+     * Finds the most recent complete snapshot, if any.
+     *
+     * @return the latest snapshot path
+     */
+    public Optional<Path> findLatestSnapshot() {
+        Path directory = Paths.get(snapshotProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(SnapshotServiceImpl::isSnapshotFile)
+                    .max(Comparator.comparing(path -> path.getFileName().toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Bulk-loads the latest snapshot into the (empty) stock tables.
+     * <p>
+     * Rows are inserted with batched prepared statements and committed every {@code snapshot.batch-size} rows,
+     * which keeps H2's undo log small; a failed restore is rethrown so that startup aborts.
+     *
+     * @return true if a snapshot was found and loaded
+     */
+    public boolean restoreLatestSnapshot() {
+        Optional<Path> latest = findLatestSnapshot();
+        if (latest.isEmpty()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        long[] counts;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest.get()), 1 << 16));
+             Connection connection = dataSource.getConnection()) {
+            if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported snapshot file: " + latest.get());
+            }
+            in.readLong();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                readEpoch(connection, in);
+                counts = new long[]{readStockExchanges(connection, in), readStocks(connection, in), readMemberships(connection, in),
+                        readTombstones(connection, in), readMarketSessions(connection, in), readMarketHolidays(connection, in),
+                        readPriceAlerts(connection, in), readOutboxEvents(connection, in), readOutboxOffsets(connection, in)};
+                restartIdentity(connection, "stock_exchange");
+                restartIdentity(connection, "price_alert");
+                restartIdentity(connection, "outbox_event");
+                restartStockIdSequence(connection);
+                restartChangeSequence(connection);
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not restore snapshot " + latest.get(), e);
+        }
+        log.info("Restored snapshot {} ({} exchanges, {} stocks, {} listings, {} tombstones, {} sessions, {} holidays, {} alerts, "
+                        + "{} outbox events, {} consumer offsets) in {} ms", latest.get().getFileName(), counts[0], counts[1], counts[2],
+                counts[3], counts[4], counts[5], counts[6], counts[7], counts[8], (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    private void writeEpoch(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT epoch FROM database_epoch")) {
+            rs.next();
+            UUID epoch = rs.getObject(1, UUID.class);
+            out.writeLong(epoch.getMostSignificantBits());
+            out.writeLong(epoch.getLeastSignificantBits());
+        }
+    }
+
+    private void readEpoch(Connection connection, DataInputStream in) throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE database_epoch SET epoch = ?")) {
+            statement.setObject(1, new UUID(in.readLong(), in.readLong()));
+            statement.executeUpdate();
+        }
+    }
+
+    private void writeStockExchanges(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT id, name, description, live_in_market, market_open, version FROM stock_exchange")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeUTF(rs.getString(2));
+                    writeNullableString(out, rs.getString(3));
+                    out.writeBoolean(rs.getBoolean(4));
+                    out.writeBoolean(rs.getBoolean(5));
+                    out.writeInt(rs.getInt(6));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeStocks(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT id, name, description, current_price, last_update, version, change_seq FROM stock")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeUTF(rs.getString(2));
+                    writeNullableString(out, rs.getString(3));
+                    BigDecimal price = rs.getBigDecimal(4);
+                    out.writeByte(price.scale());
+                    out.writeLong(price.unscaledValue().longValueExact());
+                    Timestamp lastUpdate = rs.getTimestamp(5);
+                    out.writeLong(lastUpdate.getTime());
+                    out.writeInt(lastUpdate.getNanos());
+                    out.writeInt(rs.getInt(6));
+                    out.writeLong(rs.getLong(7));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeMemberships(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT stock_exchange_id, stock_id FROM stock_exchange_stock")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeLong(rs.getLong(2));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeTombstones(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT change_seq, stock_id, deleted_at FROM stock_tombstone")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeLong(rs.getLong(2));
+                    out.writeLong(rs.getTimestamp(3).getTime());
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeMarketSessions(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT stock_exchange_id, time_zone, open_time, close_time, trading_days FROM market_session")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeUTF(rs.getString(2));
+                    out.writeLong(rs.getObject(3, LocalTime.class).toNanoOfDay());
+                    out.writeLong(rs.getObject(4, LocalTime.class).toNanoOfDay());
+                    out.writeInt(rs.getInt(5));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeMarketHolidays(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT stock_exchange_id, holiday FROM market_holiday")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeLong(rs.getObject(2, LocalDate.class).toEpochDay());
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writePriceAlerts(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT id, stock_id, owner, type, above_price, below_price, percentage, "
+                    + "reference_price, created_at, triggered_at, triggered_price FROM price_alert")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeLong(rs.getLong(2));
+                    out.writeUTF(rs.getString(3));
+                    out.writeUTF(rs.getString(4));
+                    writeNullableDecimal(out, rs.getBigDecimal(5));
+                    writeNullableDecimal(out, rs.getBigDecimal(6));
+                    writeNullableDecimal(out, rs.getBigDecimal(7));
+                    writeNullableDecimal(out, rs.getBigDecimal(8));
+                    out.writeLong(rs.getTimestamp(9).getTime());
+                    Timestamp triggeredAt = rs.getTimestamp(10);
+                    out.writeBoolean(triggeredAt != null);
+                    if (triggeredAt != null) {
+                        out.writeLong(triggeredAt.getTime());
+                    }
+                    writeNullableDecimal(out, rs.getBigDecimal(11));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeOutboxEvents(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at FROM outbox_event")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeLong(rs.getLong(1));
+                    out.writeUTF(rs.getString(2));
+                    out.writeLong(rs.getLong(3));
+                    out.writeUTF(rs.getString(4));
+                    out.writeUTF(rs.getString(5));
+                    out.writeLong(rs.getTimestamp(6).getTime());
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private void writeOutboxOffsets(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT consumer, last_event_id, version FROM outbox_consumer_offset")) {
+                while (rs.next()) {
+                    out.writeByte(ROW);
+                    out.writeUTF(rs.getString(1));
+                    out.writeLong(rs.getLong(2));
+                    out.writeInt(rs.getInt(3));
+                }
+            }
+        }
+        out.writeByte(END_OF_TABLE);
+    }
+
+    private long readStockExchanges(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO stock_exchange (id, name, description, live_in_market, market_open, version) VALUES (?, ?, ?, ?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setString(2, in.readUTF());
+                statement.setString(3, readNullableString(in));
+                statement.setBoolean(4, in.readBoolean());
+                statement.setBoolean(5, in.readBoolean());
+                statement.setInt(6, in.readInt());
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readStocks(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO stock (id, name, description, current_price, last_update, version, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setString(2, in.readUTF());
+                statement.setString(3, readNullableString(in));
+                int scale = in.readByte();
+                statement.setBigDecimal(4, new BigDecimal(BigInteger.valueOf(in.readLong()), scale));
+                Timestamp lastUpdate = new Timestamp(in.readLong());
+                lastUpdate.setNanos(in.readInt());
+                statement.setTimestamp(5, lastUpdate);
+                statement.setInt(6, in.readInt());
+                statement.setLong(7, in.readLong());
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readMemberships(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO stock_exchange_stock (stock_exchange_id, stock_id) VALUES (?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setLong(2, in.readLong());
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readTombstones(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO stock_tombstone (change_seq, stock_id, deleted_at) VALUES (?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setLong(2, in.readLong());
+                statement.setTimestamp(3, new Timestamp(in.readLong()));
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readMarketSessions(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO market_session (stock_exchange_id, time_zone, open_time, close_time, trading_days) VALUES (?, ?, ?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setString(2, in.readUTF());
+                statement.setObject(3, LocalTime.ofNanoOfDay(in.readLong()));
+                statement.setObject(4, LocalTime.ofNanoOfDay(in.readLong()));
+                statement.setInt(5, in.readInt());
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readMarketHolidays(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO market_holiday (stock_exchange_id, holiday) VALUES (?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setObject(2, LocalDate.ofEpochDay(in.readLong()));
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readPriceAlerts(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO price_alert (id, stock_id, owner, type, above_price, below_price, percentage, reference_price, "
+                + "created_at, triggered_at, triggered_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setLong(2, in.readLong());
+                statement.setString(3, in.readUTF());
+                statement.setString(4, in.readUTF());
+                statement.setBigDecimal(5, readNullableDecimal(in));
+                statement.setBigDecimal(6, readNullableDecimal(in));
+                statement.setBigDecimal(7, readNullableDecimal(in));
+                statement.setBigDecimal(8, readNullableDecimal(in));
+                statement.setTimestamp(9, new Timestamp(in.readLong()));
+                statement.setTimestamp(10, in.readBoolean() ? new Timestamp(in.readLong()) : null);
+                statement.setBigDecimal(11, readNullableDecimal(in));
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readOutboxEvents(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO outbox_event (id, aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setLong(1, in.readLong());
+                statement.setString(2, in.readUTF());
+                statement.setLong(3, in.readLong());
+                statement.setString(4, in.readUTF());
+                statement.setString(5, in.readUTF());
+                statement.setTimestamp(6, new Timestamp(in.readLong()));
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long readOutboxOffsets(Connection connection, DataInputStream in) throws SQLException, IOException {
+        String sql = "INSERT INTO outbox_consumer_offset (consumer, last_event_id, version) VALUES (?, ?, ?)";
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                statement.setString(1, in.readUTF());
+                statement.setLong(2, in.readLong());
+                statement.setInt(3, in.readInt());
+                count = addToBatch(statement, count);
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private long addToBatch(PreparedStatement statement, long count) throws SQLException {
+        statement.addBatch();
+        if (++count % snapshotProperties.getBatchSize() == 0) {
+            statement.executeBatch();
+            statement.getConnection().commit();
+        }
+        return count;
+    }
+
+    private void restartIdentity(Connection connection, String table) throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            next = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private void restartStockIdSequence(Connection connection) throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM stock")) {
+            rs.next();
+            next = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE stock_id_seq RESTART WITH " + next);
+        }
+    }
+
+    private void restartChangeSequence(Connection connection) throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT GREATEST((SELECT COALESCE(MAX(change_seq), 0) FROM stock), "
+                     + "(SELECT COALESCE(MAX(change_seq), 0) FROM stock_tombstone)) + 1")) {
+            rs.next();
+            next = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE stock_change_seq RESTART WITH " + next);
+        }
+    }
+
+    private void pruneOldSnapshots(Path directory) throws IOException {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(directory)) {
+            snapshots = files.filter(SnapshotServiceImpl::isSnapshotFile)
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        }
+        for (Path old : snapshots.subList(Math.min(RETAINED_SNAPSHOTS, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static boolean isSnapshotFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeByte(value.scale());
+            out.writeLong(value.unscaledValue().longValueExact());
+        }
+    }
+
+    private static BigDecimal readNullableDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readByte();
+        return new BigDecimal(BigInteger.valueOf(in.readLong()), scale);
+    }
+}
@@ -0,0 +1,152 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.aggregate.PriceSummary;
+import com.inghubs.aggregate.StockExchangeAggregates;
+import com.inghubs.converter.StockExchangeIndexConverter;
+import com.inghubs.dto.StockExchangeIndexDTO;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.service.StockExchangeIndexService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.LazyQueryConnections;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Service implementation for the price index of a stock exchange, served from {@link StockExchangeAggregates}.
+ * <p>
+ * The aggregates are loaded from the {@code stock} and {@code stock_exchange_stock} tables once the application is
+ * ready, which also builds the in-memory map from each stock to the stock exchanges listing it. They are then kept
+ * in sync by the stock and membership change events of committed transactions, so reading an index never visits
+ * the stocks of the stock exchange. Every price carries the version of its stock, so an event that arrives after one
+ * of a later commit does not overwrite its price. Events that arrive while the aggregates are being loaded are
+ * replayed in order after the load.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockExchangeIndexServiceImpl implements StockExchangeIndexService {
+
+    private static final String SELECT_STOCKS = "SELECT s.id, s.current_price, s.version, se.name FROM stock s "
+            + "LEFT JOIN stock_exchange_stock ses ON ses.stock_id = s.id "
+            + "LEFT JOIN stock_exchange se ON se.id = ses.stock_exchange_id ORDER BY s.id";
+
+    private final StockExchangeRepository stockExchangeRepository;
+    private final StockExchangeIndexConverter stockExchangeIndexConverter;
+    private final DataSource dataSource;
+    private final MessageUtils messageUtils;
+    private final StockExchangeAggregates stockExchangeAggregates = new StockExchangeAggregates();
+    private final Queue<Object> eventsDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+
+    /**
+     * Retrieves the price index of a StockExchange: the number of its stocks and the sum, lowest, highest and
+     * average of their prices.
+     *
+     * @param name the name of the StockExchange
+     * @return the StockExchangeIndexDTO, with null prices if the StockExchange lists no stock
+     * @throws ResourceNotFoundException if the StockExchange is not found
+     */
+    public StockExchangeIndexDTO getStockExchangeIndex(String name) {
+        PriceSummary priceSummary = stockExchangeAggregates.get(name);
+        if (priceSummary == null) {
+            stockExchangeRepository.findByName(name)
+                    .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name)));
+            priceSummary = PriceSummary.EMPTY;
+        }
+        return stockExchangeIndexConverter.toDTO(name, priceSummary);
+    }
+
+    /**
+     * Loads the aggregates from the prices of every stock and the memberships of every stock exchange.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            stockExchangeAggregates.clear();
+            loadStocks();
+            eventsDuringRebuild.forEach(this::apply);
+        } finally {
+            rebuilding = false;
+            eventsDuringRebuild.clear();
+        }
+        log.info("Loaded the price index of {} stock exchanges in {} ms", stockExchangeAggregates.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        apply(event);
+        if (rebuilding) {
+            eventsDuringRebuild.add(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStockExchangeChanged(StockExchangeChangedEvent event) {
+        apply(event);
+        if (rebuilding) {
+            eventsDuringRebuild.add(event);
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof StockChangedEvent stockChanged) {
+            long stockId = stockChanged.stock().getId();
+            if (stockChanged.type() == StockChangedEvent.Type.DELETED) {
+                stockExchangeAggregates.deleteStock(stockId);
+            } else {
+                stockExchangeAggregates.putPrice(stockId, stockExchangeIndexConverter.toTicks(stockChanged.stock().getCurrentPrice()),
+                        stockChanged.stock().getVersion());
+            }
+        } else if (event instanceof StockExchangeChangedEvent stockExchangeChanged) {
+            if (stockExchangeChanged.type() == StockExchangeChangedEvent.Type.STOCK_ADDED) {
+                stockExchangeAggregates.addStock(stockExchangeChanged.stockExchangeName(), stockExchangeChanged.stockId(),
+                        stockExchangeIndexConverter.toTicks(stockExchangeChanged.stockPrice()), stockExchangeChanged.stockVersion());
+            } else {
+                stockExchangeAggregates.removeStock(stockExchangeChanged.stockExchangeName(), stockExchangeChanged.stockId());
+            }
+        }
+    }
+
+    private void loadStocks() {
+        Connection connection = LazyQueryConnections.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_STOCKS)) {
+            statement.setFetchSize(AppConstants.JDBC_CURSOR_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long stockId = resultSet.getLong(1);
+                    long price = stockExchangeIndexConverter.toTicks(resultSet.getBigDecimal(2));
+                    int version = resultSet.getInt(3);
+                    String name = resultSet.getString(4);
+                    if (name == null) {
+                        stockExchangeAggregates.putPrice(stockId, price, version);
+                    } else {
+                        stockExchangeAggregates.addStock(name, stockId, price, version);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load the stock exchange price index", e);
+        } finally {
+            LazyQueryConnections.releaseConnection(connection, dataSource);
+        }
+    }
+}
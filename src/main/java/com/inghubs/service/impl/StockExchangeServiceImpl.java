@@ -1,22 +1,46 @@
 package com.inghubs.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inghubs.aspect.OptimisticLockingRetryable;
+import com.inghubs.cache.StockExchangeCache;
 import com.inghubs.converter.StockExchangeConverter;
 import com.inghubs.dto.StockExchangeDTO;
 import com.inghubs.entity.Stock;
 import com.inghubs.entity.StockExchange;
+import com.inghubs.event.MarketStatusChangedEvent;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
 import com.inghubs.exception.ResourceNotFoundException;
 import com.inghubs.exception.StockAlreadyExistsException;
 import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
 import com.inghubs.service.StockExchangeService;
+import com.inghubs.util.AppConstants;
 import com.inghubs.util.MessageUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service implementation for managing stock exchanges.
+ * <p>
+ * Assembled stock exchanges are cached by name (see {@link StockExchangeCache}) and invalidated after the commit of
+ * a membership change, of a market opening or closing, or of a price update or deletion of one of their stocks, so a cache hit runs no query and,
+ * for the JSON form, no serialization. Concurrent misses for the same name are coalesced into one load.
+ * <p>
+ * Membership changes never load the stocks of the StockExchange: the stock and the membership are checked with
+ * single queries, the join table row is written directly, and the live in market flag is recomputed from the stock
+ * count by one version-guarded update, so each change runs a fixed number of statements whatever the catalog size.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,17 +50,29 @@ public class StockExchangeServiceImpl implements StockExchangeService {
     private final StockRepository stockRepository;
     private final StockExchangeConverter stockExchangeConverter;
     private final MessageUtils messageUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockExchangeCache stockExchangeCache;
+    private final ObjectMapper objectMapper;
+    private final Map<String, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>();
 
     /**
      * Retrieves a StockExchange by its name.
      *
      * @param name the name of the StockExchange
-     * @return the StockExchangeDTO
+     * @return the StockExchangeDTO, shared with other readers and not to be modified
      */
-    @Transactional
     public StockExchangeDTO getStockExchange(String name) {
-        StockExchange stockExchange = getStockExchangeByName(name);
-        return stockExchangeConverter.toDTO(stockExchange);
+        return getCachedStockExchange(name).getStockExchange();
+    }
+
+    /**
+     * Retrieves a StockExchange by its name as JSON.
+     *
+     * @param name the name of the StockExchange
+     * @return the JSON form of the StockExchangeDTO
+     */
+    public byte[] getStockExchangeJson(String name) {
+        return getCachedStockExchange(name).getJson(this::toJson);
     }
 
     /**
@@ -49,15 +85,15 @@ public class StockExchangeServiceImpl implements StockExchangeService {
     @OptimisticLockingRetryable
     @Transactional
     public StockExchangeDTO addStockToStockExchange(String name, Long stockId) {
-        StockExchange stockExchange = getStockExchangeByName(name);
-        Stock stock = stockRepository.findById(stockId)
-                .orElseThrow(() -> new IllegalArgumentException(messageUtils.getMessage("stock.not.found", stockId)));
+        StockExchange stockExchange = findStockExchange(name);
+        requireStock(stockId);
 
-        if (stockExchange.getStocks().contains(stock)) {
+        if (stockExchangeRepository.containsStock(stockExchange.getId(), stockId)) {
             throw new StockAlreadyExistsException(messageUtils.getMessage("stock.already.exists.in.exchange", stockId));
         }
-        stockExchange.addStock(stock);
-        StockExchange updatedStockExchange = stockExchangeRepository.save(stockExchange);
+        stockExchangeRepository.insertStock(stockExchange.getId(), stockId);
+        StockExchange updatedStockExchange = updateLiveInMarket(stockExchange);
+        publishStockExchangeChanged(StockExchangeChangedEvent.Type.STOCK_ADDED, updatedStockExchange, stockId);
         return stockExchangeConverter.toDTO(updatedStockExchange);
     }
 
@@ -71,28 +107,127 @@ public class StockExchangeServiceImpl implements StockExchangeService {
     @OptimisticLockingRetryable
     @Transactional
     public StockExchangeDTO removeStockFromStockExchange(String name, Long stockId) {
-        StockExchange stockExchange = getStockExchangeByName(name);
-        Stock stock = stockRepository.findById(stockId)
-                .orElseThrow(() -> new IllegalArgumentException(messageUtils.getMessage("stock.not.found", stockId)));
+        StockExchange stockExchange = findStockExchange(name);
+        requireStock(stockId);
 
-        if (!stockExchange.getStocks().contains(stock)) {
+        if (stockExchangeRepository.deleteStock(stockExchange.getId(), stockId) == 0) {
             throw new ResourceNotFoundException(messageUtils.getMessage("stock.not.found.in.exchange"));
         }
-
-        stockExchange.removeStock(stock);
-
-        StockExchange updatedStockExchange = stockExchangeRepository.save(stockExchange);
+        StockExchange updatedStockExchange = updateLiveInMarket(stockExchange);
+        publishStockExchangeChanged(StockExchangeChangedEvent.Type.STOCK_REMOVED, updatedStockExchange, stockId);
         return stockExchangeConverter.toDTO(updatedStockExchange);
     }
 
     /**
-     * Retrieves a StockExchange by its name.
+     * Retrieves a StockExchange by its name, with its stocks.
      *
      * @param name the name of the StockExchange
      * @return the StockExchange entity
      */
     public StockExchange getStockExchangeByName(String name) {
+        return stockExchangeRepository.findWithStocksByName(name).orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name)));
+    }
+
+    @TransactionalEventListener
+    public void onStockExchangeChanged(StockExchangeChangedEvent event) {
+        stockExchangeCache.invalidate(event.stockExchangeName());
+    }
+
+    @TransactionalEventListener
+    public void onMarketStatusChanged(MarketStatusChangedEvent event) {
+        event.liveInMarketByName().keySet().forEach(stockExchangeCache::invalidate);
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.type() != StockChangedEvent.Type.CREATED) {
+            stockExchangeCache.invalidateStock(event.stock().getId());
+        }
+    }
+
+    private StockExchange findStockExchange(String name) {
         return stockExchangeRepository.findByName(name).orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name)));
     }
 
+    private void requireStock(Long stockId) {
+        if (!stockRepository.existsById(stockId)) {
+            throw new IllegalArgumentException(messageUtils.getMessage("stock.not.found", stockId));
+        }
+    }
+
+    /**
+     * Recomputes the live in market flag after a membership change, guarded by the version read with the
+     * StockExchange, and reloads the StockExchange with its stocks.
+     *
+     * @throws ObjectOptimisticLockingFailureException if the StockExchange was changed concurrently
+     */
+    private StockExchange updateLiveInMarket(StockExchange stockExchange) {
+        if (stockExchangeRepository.updateLiveInMarket(stockExchange.getId(), stockExchange.getVersion(),
+                AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD) == 0) {
+            throw new ObjectOptimisticLockingFailureException(StockExchange.class, stockExchange.getId());
+        }
+        return stockExchangeRepository.findWithStocksById(stockExchange.getId()).orElseThrow();
+    }
+
+    /**
+     * Returns the cached stock exchange, or loads it. Concurrent misses for the same name share a single load: the
+     * first one loads, and the others wait for its result, as long as the exchange was not invalidated since the load
+     * started. If one of its stocks changed during the load, the waiters load again. A failed load is rethrown to
+     * every waiter.
+     */
+    private StockExchangeCache.Entry getCachedStockExchange(String name) {
+        StockExchangeCache.Entry entry = stockExchangeCache.get(name);
+        if (entry != null) {
+            return entry;
+        }
+        InFlightLoad load = new InFlightLoad(stockExchangeCache.startLoad(name), new CompletableFuture<>());
+        InFlightLoad current = inFlightLoads.compute(name,
+                (key, existing) -> existing != null && stockExchangeCache.isCurrent(existing.cacheLoad()) ? existing : load);
+        if (current != load) {
+            stockExchangeCache.endLoad(load.cacheLoad());
+            StockExchangeCache.Entry shared = awaitLoad(current);
+            return shared != null ? shared : getCachedStockExchange(name);
+        }
+        try {
+            StockExchangeDTO stockExchangeDTO = stockExchangeConverter.toDTO(getStockExchangeByName(name));
+            StockExchangeCache.Entry loaded = stockExchangeCache.put(load.cacheLoad(), stockExchangeDTO);
+            load.result().complete(load.cacheLoad().isStale() ? null : loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            stockExchangeCache.endLoad(load.cacheLoad());
+            inFlightLoads.remove(name, load);
+        }
+    }
+
+    private StockExchangeCache.Entry awaitLoad(InFlightLoad load) {
+        try {
+            return load.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private byte[] toJson(StockExchangeDTO stockExchangeDTO) {
+        try {
+            return objectMapper.writeValueAsBytes(stockExchangeDTO);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void publishStockExchangeChanged(StockExchangeChangedEvent.Type type, StockExchange stockExchange, Long stockId) {
+        Stock stock = type == StockExchangeChangedEvent.Type.STOCK_ADDED ? stockExchange.getStocks().stream()
+                .filter(listed -> listed.getId().equals(stockId))
+                .findFirst()
+                .orElse(null) : null;
+        eventPublisher.publishEvent(new StockExchangeChangedEvent(type, stockExchange.getId(), stockExchange.getName(),
+                stockId, stockExchange.isLiveInMarket(), stock == null ? null : stock.getCurrentPrice(),
+                stock == null ? null : stock.getVersion()));
+    }
+
+    private record InFlightLoad(StockExchangeCache.Load cacheLoad, CompletableFuture<StockExchangeCache.Entry> result) {
+    }
 }
\ No newline at end of file
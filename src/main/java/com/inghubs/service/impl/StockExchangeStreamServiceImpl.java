@@ -0,0 +1,120 @@
+package com.inghubs.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.service.StockExchangeStreamService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.LazyQueryConnections;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Service implementation for streaming a StockExchange as JSON.
+ * <p>
+ * The stocks of the exchange are read with a forward-only JDBC cursor, on a connection with lazy query execution so
+ * that H2 does not build the result in memory, and written one at a time to the response through a
+ * {@link JsonGenerator}, so the memory used per request does not grow with the size of the exchange.
+ * The JSON has the same shape as {@link StockExchangeDTO}, with the stocks ordered by ID.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockExchangeStreamServiceImpl implements StockExchangeStreamService {
+
+    private static final String SELECT_HEADER =
+            "SELECT id, name, description, live_in_market, market_open FROM stock_exchange WHERE name = ?";
+    private static final String SELECT_STOCKS =
+            "SELECT s.id, s.name, s.description, s.current_price, s.last_update FROM stock_exchange_stock ses "
+                    + "JOIN stock s ON s.id = ses.stock_id WHERE ses.stock_exchange_id = ? "
+                    // the order of the primary key of stock_exchange_stock, so that H2 needs no sort and can stream the rows
+                    + "ORDER BY ses.stock_exchange_id, ses.stock_id";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final MessageUtils messageUtils;
+
+    /**
+     * Retrieves a StockExchange by its name, without its stocks.
+     *
+     * @param name the name of the StockExchange
+     * @return the StockExchangeDTO with no stocks
+     */
+    public StockExchangeDTO getStockExchangeHeader(String name) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_HEADER)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", name));
+                }
+                return StockExchangeDTO.builder()
+                        .id(resultSet.getLong(1))
+                        .name(resultSet.getString(2))
+                        .description(resultSet.getString(3))
+                        .liveInMarket(resultSet.getBoolean(4))
+                        .marketOpen(resultSet.getBoolean(5))
+                        .build();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read stock exchange " + name, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Writes a StockExchange and its stocks as JSON.
+     *
+     * @param header the StockExchange, as returned by {@link #getStockExchangeHeader(String)}
+     * @param outputStream the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public void writeStockExchange(StockExchangeDTO header, OutputStream outputStream) throws IOException {
+        Connection connection = LazyQueryConnections.getConnection(dataSource);
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(outputStream, JsonEncoding.UTF8)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+             PreparedStatement statement = connection.prepareStatement(SELECT_STOCKS,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(AppConstants.JDBC_CURSOR_FETCH_SIZE);
+            statement.setLong(1, header.getId());
+            generator.writeStartObject();
+            generator.writeNumberField("id", header.getId());
+            generator.writeStringField("name", header.getName());
+            generator.writeStringField("description", header.getDescription());
+            generator.writeBooleanField("liveInMarket", header.isLiveInMarket());
+            generator.writeBooleanField("marketOpen", header.isMarketOpen());
+            generator.writeArrayFieldStart("stocks");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    generator.writeObject(StockDTO.builder()
+                            .id(resultSet.getLong(1))
+                            .name(resultSet.getString(2))
+                            .description(resultSet.getString(3))
+                            .currentPrice(resultSet.getBigDecimal(4))
+                            .lastUpdate(resultSet.getTimestamp(5))
+                            .build());
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to stream stock exchange " + header.getName(), e);
+        } finally {
+            LazyQueryConnections.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.dto.StockDTO;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.search.StockSearchIndex;
+import com.inghubs.service.StockSearchService;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.LazyQueryConnections;
+import com.inghubs.util.MessageUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation for type-ahead stock search, served from a {@link StockSearchIndex}.
+ * <p>
+ * The index is loaded from the {@code stock} table once the application is ready and kept in sync by the stock
+ * change events of committed transactions. Events that arrive while the index is being loaded are replayed after
+ * the load, so a change committed during the table scan is not overwritten by the older row. An event that arrives
+ * after one of a later commit of the same stock is ignored by the index, see {@link StockSearchIndex#put}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSearchServiceImpl implements StockSearchService {
+
+    private static final String SELECT_STOCKS =
+            "SELECT id, name, description, current_price, last_update, version FROM stock ORDER BY id";
+
+    private final DataSource dataSource;
+    private final MessageUtils messageUtils;
+    private final StockSearchIndex stockSearchIndex = new StockSearchIndex();
+    private final Map<Long, StockChangedEvent> eventsDuringRebuild = new ConcurrentHashMap<>();
+    private volatile boolean rebuilding;
+
+    /**
+     * Searches stocks by name and description.
+     *
+     * @param query the text to search for
+     * @param limit the maximum number of results
+     * @return the best matching stocks, best first
+     * @throws BadRequestException if the query is blank or the limit is out of range
+     */
+    public List<StockDTO> searchStocks(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException(messageUtils.getMessage("stock.search.query.invalid"));
+        }
+        if (limit < 1 || limit > AppConstants.STOCK_SEARCH_MAX_LIMIT) {
+            throw new BadRequestException(messageUtils.getMessage("stock.search.limit.invalid", String.valueOf(AppConstants.STOCK_SEARCH_MAX_LIMIT)));
+        }
+        return stockSearchIndex.search(query, limit);
+    }
+
+    /**
+     * Loads the search index from the stock table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            stockSearchIndex.clear();
+            loadStocks();
+            eventsDuringRebuild.values().forEach(this::apply);
+        } finally {
+            rebuilding = false;
+            eventsDuringRebuild.clear();
+        }
+        log.info("Loaded {} stocks into the search index in {} ms", stockSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        apply(event);
+        if (rebuilding) {
+            eventsDuringRebuild.put(event.stock().getId(), event);
+        }
+    }
+
+    private void apply(StockChangedEvent event) {
+        if (event.type() == StockChangedEvent.Type.DELETED) {
+            stockSearchIndex.remove(event.stock().getId());
+        } else {
+            stockSearchIndex.put(event.stock());
+        }
+    }
+
+    private void loadStocks() {
+        Connection connection = LazyQueryConnections.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_STOCKS)) {
+            statement.setFetchSize(AppConstants.JDBC_CURSOR_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    stockSearchIndex.put(StockDTO.builder()
+                            .id(resultSet.getLong(1))
+                            .name(resultSet.getString(2))
+                            .description(resultSet.getString(3))
+                            .currentPrice(resultSet.getBigDecimal(4))
+                            .lastUpdate(resultSet.getTimestamp(5))
+                            .version(resultSet.getInt(6))
+                            .build());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load the stock search index", e);
+        } finally {
+            LazyQueryConnections.releaseConnection(connection, dataSource);
+        }
+    }
+}
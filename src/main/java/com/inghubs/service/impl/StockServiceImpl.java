@@ -2,21 +2,38 @@ package com.inghubs.service.impl;
 
 import com.inghubs.aspect.DataIntegrityRetryable;
 import com.inghubs.aspect.OptimisticLockingRetryable;
+import com.inghubs.cache.StockNameFilter;
+import com.inghubs.changes.StockChangeWatermark;
 import com.inghubs.converter.StockConverter;
+import com.inghubs.dto.StockChangesDTO;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
 import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockTombstone;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
 import com.inghubs.exception.ResourceNotFoundException;
 import com.inghubs.exception.StockAlreadyExistsException;
+import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
+import com.inghubs.repository.StockTombstoneRepository;
 import com.inghubs.service.StockService;
+import com.inghubs.util.AppConstants;
 import com.inghubs.util.MessageUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing stocks.
@@ -25,11 +42,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class StockServiceImpl implements StockService {
     private final StockRepository stockRepository;
+    private final StockExchangeRepository stockExchangeRepository;
+    private final StockTombstoneRepository stockTombstoneRepository;
     private final StockConverter stockConverter;
     private final MessageUtils messageUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockNameFilter stockNameFilter;
+    private final StockChangeWatermark stockChangeWatermark;
 
     /**
-     * Creates a new stock.
+     * Creates a new stock. The name is only looked up if the {@link StockNameFilter} cannot rule it out; it is added
+     * to the filter before the insert, so a retry after a unique constraint violation looks it up and fails.
      *
      * @param stockCreateDTO the stock creation data transfer object
      * @return the created StockDTO
@@ -38,13 +61,17 @@ public class StockServiceImpl implements StockService {
     @DataIntegrityRetryable
     @Transactional
     public StockDTO createStock(StockCreateDTO stockCreateDTO) {
-        Optional<Stock> existingStock = stockRepository.findByName(stockCreateDTO.getName());
-        if (existingStock.isPresent()) {
+        if (stockNameFilter.mightContain(stockCreateDTO.getName())
+                && stockRepository.findByName(stockCreateDTO.getName()).isPresent()) {
             throw new StockAlreadyExistsException(messageUtils.getMessage("stock.already.exists", stockCreateDTO.getName()));
         }
+        stockNameFilter.add(stockCreateDTO.getName());
+        stockChangeWatermark.register();
         Stock stock = stockConverter.fromCreateDTO(stockCreateDTO);
         Stock savedStock = stockRepository.save(stock);
-        return stockConverter.toDTO(savedStock);
+        StockDTO stockDTO = stockConverter.toDTO(savedStock);
+        eventPublisher.publishEvent(new StockChangedEvent(StockChangedEvent.Type.CREATED, stockDTO));
+        return stockDTO;
     }
 
     /**
@@ -58,13 +85,56 @@ public class StockServiceImpl implements StockService {
     @Transactional
     public StockDTO updateStockPrice(StockPriceUpdateDTO stockPriceUpdateDTO) {
         Stock existingStock = getStockById(stockPriceUpdateDTO.getId());
+        stockChangeWatermark.register();
         existingStock.setCurrentPrice(stockPriceUpdateDTO.getCurrentPrice());
-        Stock updatedStock = stockRepository.save(existingStock);
-        return stockConverter.toDTO(updatedStock);
+        // flushed so that the event carries the version the stock is committed at
+        Stock updatedStock = stockRepository.saveAndFlush(existingStock);
+        StockDTO stockDTO = stockConverter.toDTO(updatedStock);
+        eventPublisher.publishEvent(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED, stockDTO));
+        return stockDTO;
+    }
+
+    /**
+     * Updates the prices of several stocks in one transaction, loading all of them with a single query.
+     *
+     * @param stockPriceUpdateDTOs the price updates, applied in order
+     * @return the updated StockDTO for each update, in the same order, or null where the stock is not found
+     */
+    @OptimisticLockingRetryable
+    @Transactional
+    public List<StockDTO> updateStockPrices(List<StockPriceUpdateDTO> stockPriceUpdateDTOs) {
+        stockChangeWatermark.register();
+        Set<Long> ids = stockPriceUpdateDTOs.stream().map(StockPriceUpdateDTO::getId).collect(Collectors.toSet());
+        Map<Long, Stock> stocksById = stockRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Stock::getId, Function.identity()));
+        List<StockDTO> stockDTOs = new ArrayList<>(stockPriceUpdateDTOs.size());
+        for (StockPriceUpdateDTO stockPriceUpdateDTO : stockPriceUpdateDTOs) {
+            Stock stock = stocksById.get(stockPriceUpdateDTO.getId());
+            if (stock == null) {
+                stockDTOs.add(null);
+                continue;
+            }
+            stock.setCurrentPrice(stockPriceUpdateDTO.getCurrentPrice());
+            stock.updateTimestamp();
+            stockDTOs.add(stockConverter.toDTO(stock));
+        }
+        // flushed before the events are published, so that they carry the version the stocks are committed at;
+        // several updates of a stock in the batch share it and keep their order
+        stockRepository.saveAllAndFlush(stocksById.values());
+        for (StockDTO stockDTO : stockDTOs) {
+            if (stockDTO != null) {
+                stockDTO.setVersion(stocksById.get(stockDTO.getId()).getVersion());
+                eventPublisher.publishEvent(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED, stockDTO));
+            }
+        }
+        return stockDTOs;
     }
 
     /**
      * Deletes a stock by its ID.
+     * <p>
+     * The stock is removed from every stock exchange listing it with one update of their live in market flags and
+     * one delete from the join table, without loading the stock exchanges.
      *
      * @param id the ID of the stock to delete
      * @throws ResourceNotFoundException if the stock with the given ID is not found
@@ -73,7 +143,44 @@ public class StockServiceImpl implements StockService {
     @Transactional
     public void deleteStock(Long id) {
         Stock stock = getStockById(id);
+        stockChangeWatermark.register();
+        stockExchangeRepository.updateLiveInMarketWithoutStocks(List.of(id), AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD);
+        stockExchangeRepository.deleteStocksFromAll(List.of(id));
         stockRepository.delete(stock);
+        stockTombstoneRepository.save(StockTombstone.builder().stockId(id).build());
+        eventPublisher.publishEvent(new StockChangedEvent(StockChangedEvent.Type.DELETED, stockConverter.toDTO(stock)));
+    }
+
+    /**
+     * Deletes stocks by their IDs, all or none.
+     * <p>
+     * Whatever the number of stocks and of stock exchanges listing them, this runs one select of the stocks, one
+     * update of the live in market flags of the affected stock exchanges, one insert of the tombstones, one delete
+     * from the join table and one delete of the stocks.
+     *
+     * @param ids the IDs of the stocks to delete
+     * @throws BadRequestException if no or too many IDs are given
+     * @throws ResourceNotFoundException if one of the stocks is not found
+     */
+    @Transactional
+    public void deleteStocks(List<Long> ids) {
+        Set<Long> uniqueIds = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > AppConstants.STOCK_BULK_DELETE_MAX_SIZE) {
+            throw new BadRequestException(messageUtils.getMessage("stock.bulk.delete.size.invalid",
+                    String.valueOf(AppConstants.STOCK_BULK_DELETE_MAX_SIZE)));
+        }
+        List<Stock> stocks = stockRepository.findAllById(uniqueIds);
+        if (stocks.size() != uniqueIds.size()) {
+            stocks.forEach(stock -> uniqueIds.remove(stock.getId()));
+            throw new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", uniqueIds.iterator().next()));
+        }
+        stockChangeWatermark.register();
+        stockExchangeRepository.updateLiveInMarketWithoutStocks(uniqueIds, AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD);
+        stockTombstoneRepository.insertForStocks(uniqueIds);
+        // the bulk delete also deletes the join table rows of the stocks, in one statement
+        stockRepository.deleteAllByIdInBatch(uniqueIds);
+        stocks.forEach(stock -> eventPublisher.publishEvent(
+                new StockChangedEvent(StockChangedEvent.Type.DELETED, stockConverter.toDTO(stock))));
     }
 
     /**
@@ -87,4 +194,71 @@ public class StockServiceImpl implements StockService {
         return stockRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(messageUtils.getMessage("stock.not.found", id)));
     }
+
+    /**
+     * Retrieves the stocks changed or deleted since a change token, in change order.
+     * <p>
+     * Every insert and update of a stock draws a new value from the {@code stock_change_seq} sequence, and
+     * deletions leave a tombstone with a value from the same sequence, so both are served by index range scans.
+     * Only changes below the {@link StockChangeWatermark} are served, because a running transaction may still commit
+     * a change with a lower sequence value than one already committed.
+     *
+     * @param since the token returned by the previous call, or null for a full sync
+     * @param limit the maximum number of changes to return
+     * @return the changes and the token to continue from
+     * @throws BadRequestException if the token or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public StockChangesDTO getStockChanges(String since, int limit) {
+        long sinceSeq = parseChangeToken(since);
+        if (limit < 1 || limit > AppConstants.STOCK_CHANGES_MAX_LIMIT) {
+            throw new BadRequestException(messageUtils.getMessage("stock.changes.limit.invalid", String.valueOf(AppConstants.STOCK_CHANGES_MAX_LIMIT)));
+        }
+        long watermark = stockChangeWatermark.current();
+        List<Stock> changedStocks = stockRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(sinceSeq + 1, watermark - 1, Limit.of(limit));
+        List<StockTombstone> tombstones = stockTombstoneRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(sinceSeq + 1, watermark - 1, Limit.of(limit));
+
+        List<StockDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long nextSeq = sinceSeq;
+        int stockIndex = 0;
+        int tombstoneIndex = 0;
+        while (changed.size() + deleted.size() < limit
+                && (stockIndex < changedStocks.size() || tombstoneIndex < tombstones.size())) {
+            Stock stock = stockIndex < changedStocks.size() ? changedStocks.get(stockIndex) : null;
+            StockTombstone tombstone = tombstoneIndex < tombstones.size() ? tombstones.get(tombstoneIndex) : null;
+            if (tombstone == null || stock != null && stock.getChangeSeq() < tombstone.getChangeSeq()) {
+                changed.add(stockConverter.toDTO(stock));
+                nextSeq = stock.getChangeSeq();
+                stockIndex++;
+            } else {
+                deleted.add(tombstone.getStockId());
+                nextSeq = tombstone.getChangeSeq();
+                tombstoneIndex++;
+            }
+        }
+        boolean hasMore = stockIndex < changedStocks.size() || tombstoneIndex < tombstones.size()
+                || changedStocks.size() == limit || tombstones.size() == limit;
+        return StockChangesDTO.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .nextToken(String.valueOf(nextSeq))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private long parseChangeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long changeSeq = Long.parseLong(token);
+            if (changeSeq >= 0) {
+                return changeSeq;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the bad request below
+        }
+        throw new BadRequestException(messageUtils.getMessage("stock.changes.token.invalid", token));
+    }
 }
\ No newline at end of file
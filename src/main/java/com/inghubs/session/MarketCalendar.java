@@ -0,0 +1,74 @@
+package com.inghubs.session;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The trading session of a stock exchange: the market is open from the open time to the close time, in the time
+ * zone of the exchange, on its trading days that are not holidays.
+ *
+ * @param openTime the local time the market opens, inclusive
+ * @param closeTime the local time the market closes, exclusive, after the open time
+ */
+public record MarketCalendar(ZoneId zone, LocalTime openTime, LocalTime closeTime, Set<DayOfWeek> tradingDays,
+                             Set<LocalDate> holidays) {
+
+    /**
+     * How far ahead {@link #nextTransition(Instant)} looks for a trading day.
+     */
+    private static final int MAX_DAYS_AHEAD = 3 * 366;
+
+    public MarketCalendar {
+        if (!openTime.isBefore(closeTime)) {
+            throw new IllegalArgumentException("openTime must be before closeTime");
+        }
+        tradingDays = tradingDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(tradingDays);
+        holidays = Set.copyOf(holidays);
+    }
+
+    public boolean isOpen(Instant now) {
+        ZonedDateTime local = now.atZone(zone);
+        LocalDate date = local.toLocalDate();
+        return isTradingDay(date) && !now.isBefore(opensAt(date)) && now.isBefore(closesAt(date));
+    }
+
+    /**
+     * @return the first time after now at which the market opens or closes, or null if it never opens again within
+     * the next three years
+     */
+    public Instant nextTransition(Instant now) {
+        LocalDate date = now.atZone(zone).toLocalDate();
+        for (int day = 0; day <= MAX_DAYS_AHEAD; day++, date = date.plusDays(1)) {
+            if (!isTradingDay(date)) {
+                continue;
+            }
+            Instant opensAt = opensAt(date);
+            if (now.isBefore(opensAt)) {
+                return opensAt;
+            }
+            Instant closesAt = closesAt(date);
+            if (now.isBefore(closesAt)) {
+                return closesAt;
+            }
+        }
+        return null;
+    }
+
+    private boolean isTradingDay(LocalDate date) {
+        return tradingDays.contains(date.getDayOfWeek()) && !holidays.contains(date);
+    }
+
+    private Instant opensAt(LocalDate date) {
+        return ZonedDateTime.of(date, openTime, zone).toInstant();
+    }
+
+    private Instant closesAt(LocalDate date) {
+        return ZonedDateTime.of(date, closeTime, zone).toInstant();
+    }
+}
@@ -0,0 +1,193 @@
+package com.inghubs.session;
+
+import com.inghubs.config.MarketSessionProperties;
+import com.inghubs.converter.MarketSessionConverter;
+import com.inghubs.entity.MarketSession;
+import com.inghubs.event.MarketSessionChangedEvent;
+import com.inghubs.event.MarketStatusChangedEvent;
+import com.inghubs.repository.MarketSessionRepository;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.util.AppConstants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens and closes the markets of the stock exchanges with a trading session, at the times their sessions set.
+ * <p>
+ * Every session has one timer in a {@link TimerWheel}, for its next transition, advanced by a single thread once per
+ * tick. The transitions due on a tick are handled as one batch: the stock exchanges that open and those that close
+ * are each updated by one statement per batch of ids, in one transaction, however many of them share the same time.
+ * Each stock exchange then gets a timer for its following transition.
+ * <p>
+ * The sessions are loaded once the application is ready, and every market is moved to the state its session sets
+ * at that time. A session set or removed afterwards is re-evaluated on the next tick.
+ */
+@Slf4j
+@Component
+public class MarketSessionScheduler {
+
+    private final MarketSessionRepository marketSessionRepository;
+    private final StockExchangeRepository stockExchangeRepository;
+    private final MarketSessionConverter marketSessionConverter;
+    private final MarketSessionProperties marketSessionProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, ScheduledSession> sessions = new ConcurrentHashMap<>();
+    private final TimerWheel<Long> timerWheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "market-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MarketSessionScheduler(MarketSessionRepository marketSessionRepository,
+                                  StockExchangeRepository stockExchangeRepository,
+                                  MarketSessionConverter marketSessionConverter,
+                                  MarketSessionProperties marketSessionProperties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.marketSessionRepository = marketSessionRepository;
+        this.stockExchangeRepository = stockExchangeRepository;
+        this.marketSessionConverter = marketSessionConverter;
+        this.marketSessionProperties = marketSessionProperties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timerWheel = new TimerWheel<>(marketSessionProperties.getTickMs(), marketSessionProperties.getWheelSize(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Loads the sessions, moves every market to the state its session sets now, and starts ticking.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        long start = System.currentTimeMillis();
+        List<Long> stockExchangeIds = new ArrayList<>();
+        for (MarketSession marketSession : marketSessionRepository.findAllWithHolidays()) {
+            sessions.put(marketSession.getStockExchangeId(), new ScheduledSession(marketSessionConverter.toCalendar(marketSession), null));
+            stockExchangeIds.add(marketSession.getStockExchangeId());
+        }
+        apply(stockExchangeIds, Instant.ofEpochMilli(start));
+        long tickMs = marketSessionProperties.getTickMs();
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Scheduled {} market sessions in {} ms", sessions.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-evaluates a session that was set or removed, on the next tick.
+     */
+    @TransactionalEventListener
+    public synchronized void onMarketSessionChanged(MarketSessionChangedEvent event) {
+        if (event.calendar() == null) {
+            cancel(sessions.remove(event.stockExchangeId()));
+        } else {
+            schedule(event.stockExchangeId(), event.calendar(), Instant.now());
+        }
+    }
+
+    /**
+     * Handles the transitions due at the given time.
+     *
+     * @return the number of stock exchanges whose transitions were due
+     */
+    public synchronized int advance(Instant now) {
+        List<Long> due = new ArrayList<>();
+        timerWheel.advance(now.toEpochMilli(), due::add);
+        apply(due, now);
+        return due.size();
+    }
+
+    /**
+     * @return the number of stock exchanges with a session
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            advance(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to process market session transitions", e);
+        }
+    }
+
+    private void apply(List<Long> stockExchangeIds, Instant now) {
+        List<Long> opening = new ArrayList<>();
+        List<Long> closing = new ArrayList<>();
+        for (Long stockExchangeId : stockExchangeIds) {
+            ScheduledSession session = sessions.get(stockExchangeId);
+            if (session != null) {
+                (session.calendar().isOpen(now) ? opening : closing).add(stockExchangeId);
+            }
+        }
+        update(opening, true, now);
+        update(closing, false, now);
+    }
+
+    private void update(List<Long> stockExchangeIds, boolean marketOpen, Instant now) {
+        int batchSize = marketSessionProperties.getBatchSize();
+        for (int from = 0; from < stockExchangeIds.size(); from += batchSize) {
+            List<Long> batch = stockExchangeIds.subList(from, Math.min(from + batchSize, stockExchangeIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (stockExchangeRepository.updateMarketOpen(batch, marketOpen, AppConstants.STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD) > 0) {
+                        Map<String, Boolean> liveInMarketByName = new HashMap<>();
+                        stockExchangeRepository.findAllById(batch)
+                                .forEach(stockExchange -> liveInMarketByName.put(stockExchange.getName(), stockExchange.isLiveInMarket()));
+                        eventPublisher.publishEvent(new MarketStatusChangedEvent(marketOpen, liveInMarketByName));
+                    }
+                });
+                for (Long stockExchangeId : batch) {
+                    MarketCalendar calendar = sessions.get(stockExchangeId).calendar();
+                    schedule(stockExchangeId, calendar, calendar.nextTransition(now));
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to {} the markets of {} stock exchanges, retrying on the next tick",
+                        marketOpen ? "open" : "close", batch.size(), e);
+                for (Long stockExchangeId : batch) {
+                    schedule(stockExchangeId, sessions.get(stockExchangeId).calendar(), now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the timer of a session, or leaves it without one if it has no next transition.
+     */
+    private void schedule(Long stockExchangeId, MarketCalendar calendar, Instant at) {
+        TimerWheel.Timer<Long> timer = at == null ? null : timerWheel.schedule(at.toEpochMilli(), stockExchangeId);
+        cancel(sessions.put(stockExchangeId, new ScheduledSession(calendar, timer)));
+    }
+
+    private static void cancel(ScheduledSession session) {
+        if (session != null && session.timer() != null) {
+            session.timer().cancel();
+        }
+    }
+
+    private record ScheduledSession(MarketCalendar calendar, TimerWheel.Timer<Long> timer) {
+    }
+}
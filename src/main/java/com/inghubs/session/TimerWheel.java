@@ -0,0 +1,144 @@
+package com.inghubs.session;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, holding the timers that expire on the ticks mapping to them.
+ * <p>
+ * Scheduling and cancelling a timer are constant time, whatever the number of timers. Advancing the wheel visits one
+ * bucket per elapsed tick and only touches the timers in it: a timer that is due expires, one that is due on a later
+ * turn of the ring stays. Timers are expired with a precision of one tick and never early, and timers that fall due
+ * on the same tick are expired together, which lets the caller handle them as one batch. If the wheel falls behind
+ * by more than a turn of the ring, one pass over every bucket expires all the timers that are due.
+ * <p>
+ * The wheel is synchronized, so timers can be scheduled and cancelled from any thread while one thread advances it.
+ *
+ * @param <T> the payload of a timer, handed to the consumer when it expires
+ */
+public final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final Timer<T>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis the duration of a tick
+     * @param bucketCount the number of buckets, rounded up to a power of two
+     * @param startMillis the current time, in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int bucketCount, long startMillis) {
+        if (tickMillis < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("tickMillis and bucketCount must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(bucketCount, 1 << 30) * 2 - 1);
+        this.tickMillis = tickMillis;
+        this.buckets = new Timer[count];
+        this.mask = count - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a timer. A deadline in the past expires on the next advance.
+     *
+     * @return the timer, to cancel it
+     */
+    public synchronized Timer<T> schedule(long deadlineMillis, T payload) {
+        // the first tick at or after the deadline, so that a timer never expires early
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick + 1);
+        Timer<T> timer = new Timer<>(this, tick, payload);
+        int index = (int) (tick & mask);
+        timer.next = buckets[index];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        buckets[index] = timer;
+        size++;
+        return timer;
+    }
+
+    /**
+     * Expires the timers that are due at the given time, in no particular order.
+     *
+     * @return the number of expired timers
+     */
+    public synchronized int advance(long nowMillis, Consumer<T> expired) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        if (nowTick <= currentTick) {
+            return 0;
+        }
+        int expiredCount = 0;
+        long ticks = Math.min(nowTick - currentTick, buckets.length);
+        for (long i = 1; i <= ticks; i++) {
+            Timer<T> timer = buckets[(int) ((currentTick + i) & mask)];
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                if (timer.tick <= nowTick) {
+                    unlink(timer);
+                    expired.accept(timer.payload);
+                    expiredCount++;
+                }
+                timer = next;
+            }
+        }
+        currentTick = nowTick;
+        return expiredCount;
+    }
+
+    /**
+     * @return the number of scheduled timers
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean cancel(Timer<T> timer) {
+        if (timer.wheel == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            buckets[(int) (timer.tick & mask)] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.wheel = null;
+        size--;
+    }
+
+    /**
+     * A scheduled timer, linked into the bucket of its tick.
+     */
+    public static final class Timer<T> {
+        private TimerWheel<T> wheel;
+        private final long tick;
+        private final T payload;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(TimerWheel<T> wheel, long tick, T payload) {
+            this.wheel = wheel;
+            this.tick = tick;
+            this.payload = payload;
+        }
+
+        /**
+         * @return true if the timer was cancelled, false if it had already expired or been cancelled
+         */
+        public boolean cancel() {
+            TimerWheel<T> owner = wheel;
+            return owner != null && owner.cancel(this);
+        }
+    }
+}
@@ -6,4 +6,19 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AppConstants {
     public static final int STOCK_EXCHANGE_MINIMUM_LIVE_THRESHOLD = 5;
-}
+    public static final int STOCK_CHANGES_MAX_LIMIT = 5_000;
+    public static final int JDBC_CURSOR_FETCH_SIZE = 1_000;
+    public static final int STOCK_SEARCH_MAX_LIMIT = 100;
+    public static final int PRICE_SCALE = 2;
+    public static final int ORDER_BOOK_MAX_DEPTH = 100;
+    public static final long PRICE_TICKS_LIMIT = 100_000_000_000_000_000L;
+    public static final String CLUSTER_LOCAL_HEADER = "X-Cluster-Local";
+    public static final int STOCK_BULK_DELETE_MAX_SIZE = 1_000;
+    public static final long PRICE_ALERT_STREAM_TIMEOUT_MILLIS = 30 * 60 * 1_000L;
+    public static final long RATE_LIMIT_OVERLOADED_RETRY_AFTER_SECONDS = 1;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 255;
+    public static final int PRICE_HISTORY_MAX_TICKS = 10_000;
+    public static final int PRICE_HISTORY_MAX_BARS = 10_000;
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.inghubs.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Obtains connections for reading large result sets row by row.
+ * <p>
+ * H2 ignores the JDBC fetch size and builds the whole result set in memory before returning the first row,
+ * unless lazy query execution is enabled for the session. Connections obtained here have it enabled, and it is
+ * disabled again before the connection is released, so pooled connections used by JPA are not affected.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LazyQueryConnections {
+
+    /**
+     * Obtains a connection like {@link DataSourceUtils#getConnection(DataSource)} and enables lazy query execution on it.
+     *
+     * @param dataSource the DataSource to obtain the connection from
+     * @return the connection
+     */
+    public static Connection getConnection(DataSource dataSource) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            setLazyQueryExecution(connection, true);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw new IllegalStateException("Failed to enable lazy query execution", e);
+        }
+        return connection;
+    }
+
+    /**
+     * Disables lazy query execution and releases the connection like {@link DataSourceUtils#releaseConnection(Connection, DataSource)}.
+     *
+     * @param connection the connection obtained from {@link #getConnection(DataSource)}
+     * @param dataSource the DataSource the connection was obtained from
+     */
+    public static void releaseConnection(Connection connection, DataSource dataSource) {
+        try {
+            setLazyQueryExecution(connection, false);
+        } catch (SQLException e) {
+            log.warn("Failed to disable lazy query execution: {}", e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void setLazyQueryExecution(Connection connection, boolean lazy) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + lazy);
+        }
+    }
+}
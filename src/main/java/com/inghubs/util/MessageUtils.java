@@ -5,15 +5,31 @@ import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Component;
 
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class MessageUtils {
 
     private final MessageSource messageSource;
+    private final Map<Locale, Map<String, String>> messagesByLocale = new ConcurrentHashMap<>();
 
+    /**
+     * Resolves a message in the default locale. Messages without arguments are resolved once per code and locale and
+     * then served from a cache, since the message bundle is never reloaded.
+     */
     public String getMessage(String code, Object... args) {
+        Locale locale = Locale.getDefault();
+        if (args == null || args.length == 0) {
+            return messagesByLocale.computeIfAbsent(locale, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(code, key -> resolve(key, args, locale));
+        }
+        return resolve(code, args, locale);
+    }
+
+    private String resolve(String code, Object[] args, Locale locale) {
         String defaultMessage = "An unexpected error occurred";
-        return messageSource.getMessage(code, args, defaultMessage, Locale.getDefault());
+        return messageSource.getMessage(code, args, defaultMessage, locale);
     }
 }
@@ -0,0 +1,4 @@
+INSERT INTO stock_exchange (name, description, live_in_market, version)
+VALUES ('A', 'A Stock Exchange', FALSE, 0),
+       ('B', 'B Stock Exchange', FALSE, 0),
+       ('C', 'C Stock Exchange', FALSE, 0);
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.inghubs.aggregate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockExchangeAggregatesTest {
+
+    private StockExchangeAggregates stockExchangeAggregates;
+
+    @BeforeEach
+    void setUp() {
+        stockExchangeAggregates = new StockExchangeAggregates();
+    }
+
+    @Test
+    void givenListedStocks_whenPricesChange_thenSummaryFollows() {
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("A", 2, 3_000, 0);
+        stockExchangeAggregates.addStock("A", 3, 2_000, 0);
+
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(3, 6_000, 1_000, 3_000));
+
+        stockExchangeAggregates.putPrice(1, 4_000, 1);
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(3, 9_000, 2_000, 4_000));
+
+        stockExchangeAggregates.putPrice(4, 500, 1);
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(3, 9_000, 2_000, 4_000));
+    }
+
+    @Test
+    void givenStockListedTwice_whenRemovedFromOneStockExchange_thenOtherKeepsIt() {
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("B", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("B", 2, 2_000, 0);
+
+        stockExchangeAggregates.removeStock("B", 1);
+        stockExchangeAggregates.removeStock("B", 1);
+        stockExchangeAggregates.putPrice(1, 1_500, 1);
+
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(1, 1_500, 1_500, 1_500));
+        assertThat(stockExchangeAggregates.get("B")).isEqualTo(new PriceSummary(1, 2_000, 2_000, 2_000));
+    }
+
+    @Test
+    void givenKnownPrice_whenStockAddedWithOlderPrice_thenKnownPriceIsCounted() {
+        stockExchangeAggregates.putPrice(1, 1_200, 2);
+
+        stockExchangeAggregates.addStock("A", 1, 1_000, 1);
+
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(1, 1_200, 1_200, 1_200));
+    }
+
+    @Test
+    void givenNewerPrice_whenOlderPriceArrivesLate_thenIgnored() {
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+        stockExchangeAggregates.putPrice(1, 3_000, 2);
+
+        stockExchangeAggregates.putPrice(1, 2_000, 1);
+
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(1, 3_000, 3_000, 3_000));
+    }
+
+    @Test
+    void givenKnownPrice_whenStockAddedWithNewerPrice_thenPriceMovedOnEveryStockExchange() {
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+
+        stockExchangeAggregates.addStock("B", 1, 1_500, 1);
+
+        assertThat(stockExchangeAggregates.get("A")).isEqualTo(new PriceSummary(1, 1_500, 1_500, 1_500));
+        assertThat(stockExchangeAggregates.get("B")).isEqualTo(new PriceSummary(1, 1_500, 1_500, 1_500));
+    }
+
+    @Test
+    void givenStockListedOnManyStockExchanges_whenDeleted_thenRemovedFromAll() {
+        stockExchangeAggregates.addStock("A", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("B", 1, 1_000, 0);
+        stockExchangeAggregates.addStock("B", 2, 2_000, 0);
+
+        stockExchangeAggregates.deleteStock(1);
+
+        assertThat(stockExchangeAggregates.get("A")).isNull();
+        assertThat(stockExchangeAggregates.get("B")).isEqualTo(new PriceSummary(1, 2_000, 2_000, 2_000));
+        assertThat(stockExchangeAggregates.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.inghubs.alert;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Load, memory and evaluation benchmark of a {@link PriceAlertIndex} holding millions of alerts.
+ * <p>
+ * Spreads alerts over a number of stocks with thresholds up to 50% away from the price, half of them above it and
+ * half below, then replays a random walk of price ticks and reports the latency percentiles of one evaluation
+ * together with the number of alerts it triggered. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.inghubs.alert.PriceAlertIndexBenchmark [alerts] [stocks] [ticks]
+ * </pre>
+ */
+public final class PriceAlertIndexBenchmark {
+
+    private static final long START_PRICE = 10_000;
+
+    private PriceAlertIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int alerts = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int stocks = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+        Random random = new Random(42);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        PriceAlertIndex priceAlertIndex = new PriceAlertIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < alerts; i++) {
+            long offset = 1 + random.nextInt((int) (START_PRICE / 2));
+            boolean above = random.nextBoolean();
+            priceAlertIndex.add(random.nextInt(stocks), i, above ? START_PRICE + offset : PriceAlertIndex.NONE,
+                    above ? PriceAlertIndex.NONE : START_PRICE - offset);
+        }
+        long loadNanos = System.nanoTime() - start;
+        System.gc();
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("Loaded %,d alerts on %,d stocks in %,d ms, about %d bytes per alert%n", alerts, stocks,
+                loadNanos / 1_000_000, (usedAfter - usedBefore) / alerts);
+
+        long[] prices = new long[stocks];
+        Arrays.fill(prices, START_PRICE);
+        long[] latencies = new long[ticks];
+        long triggered = 0;
+        for (int i = 0; i < ticks; i++) {
+            int stock = random.nextInt(stocks);
+            prices[stock] = Math.max(1, prices[stock] + random.nextInt(21) - 10);
+            long tickStart = System.nanoTime();
+            triggered += priceAlertIndex.evaluate(stock, prices[stock], alertId -> {
+            });
+            latencies[i] = System.nanoTime() - tickStart;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%,d ticks triggered %,d alerts, %,d alerts left: p50 %,d ns, p99 %,d ns, p99.9 %,d ns, max %,d ns%n",
+                ticks, triggered, priceAlertIndex.size(), latencies[ticks / 2], latencies[ticks * 99 / 100],
+                latencies[(int) (ticks * 999L / 1_000)], latencies[ticks - 1]);
+    }
+}
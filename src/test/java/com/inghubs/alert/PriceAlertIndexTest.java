@@ -0,0 +1,103 @@
+package com.inghubs.alert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.inghubs.alert.PriceAlertIndex.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceAlertIndexTest {
+
+    private PriceAlertIndex priceAlertIndex;
+
+    @BeforeEach
+    void setUp() {
+        priceAlertIndex = new PriceAlertIndex();
+    }
+
+    @Test
+    void givenAboveAndBelowAlerts_whenPriceRises_thenOnlyReachedAboveAlertsTrigger() {
+        priceAlertIndex.add(1, 1, 10_100, NONE);
+        priceAlertIndex.add(1, 2, 10_200, NONE);
+        priceAlertIndex.add(1, 3, 10_300, NONE);
+        priceAlertIndex.add(1, 4, NONE, 9_900);
+
+        assertThat(evaluate(1, 10_050)).isEmpty();
+        assertThat(evaluate(1, 10_200)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(evaluate(1, 10_200)).isEmpty();
+        assertThat(priceAlertIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenBelowAlerts_whenPriceFalls_thenReachedAlertsTriggerOnce() {
+        priceAlertIndex.add(1, 1, NONE, 9_900);
+        priceAlertIndex.add(1, 2, NONE, 9_800);
+        priceAlertIndex.add(2, 3, NONE, 9_900);
+
+        assertThat(evaluate(1, 9_850)).containsExactly(1L);
+        assertThat(evaluate(1, 9_000)).containsExactly(2L);
+        assertThat(priceAlertIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenMoveAlert_whenOneThresholdIsReached_thenOtherThresholdIsRemoved() {
+        priceAlertIndex.add(1, 1, 11_000, 9_000);
+
+        assertThat(evaluate(1, 8_999)).containsExactly(1L);
+        assertThat(evaluate(1, 12_000)).isEmpty();
+        assertThat(priceAlertIndex.size()).isZero();
+    }
+
+    @Test
+    void givenIndexedAlert_whenAddedAgainOrRemoved_thenCountedOnce() {
+        priceAlertIndex.add(1, 1, 11_000, 9_000);
+        priceAlertIndex.add(1, 1, 11_000, 9_000);
+        priceAlertIndex.add(1, 2, 10_500, NONE);
+
+        assertThat(priceAlertIndex.size()).isEqualTo(2);
+        assertThat(priceAlertIndex.remove(1, 1, 11_000, 9_000)).isTrue();
+        assertThat(priceAlertIndex.remove(1, 1, 11_000, 9_000)).isFalse();
+        assertThat(evaluate(1, 12_000)).containsExactly(2L);
+        assertThat(priceAlertIndex.size()).isZero();
+    }
+
+    @Test
+    void givenAlertsOnStock_whenStockRemoved_thenAllItsAlertsAreDropped() {
+        priceAlertIndex.add(1, 1, 11_000, 9_000);
+        priceAlertIndex.add(1, 2, NONE, 9_500);
+        priceAlertIndex.add(2, 3, 10_500, NONE);
+
+        assertThat(priceAlertIndex.removeStock(1)).isEqualTo(2);
+        assertThat(evaluate(1, 1)).isEmpty();
+        assertThat(priceAlertIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenManyAlerts_whenPriceSweepsUpAndDown_thenEveryAlertTriggersExactlyOnce() {
+        int alerts = 100_000;
+        for (int i = 0; i < alerts; i++) {
+            long threshold = 10_000 + (i % 2 == 0 ? 1 : -1) * (1 + i / 2);
+            priceAlertIndex.add(1, i, i % 2 == 0 ? threshold : NONE, i % 2 == 0 ? NONE : threshold);
+        }
+
+        int triggered = 0;
+        for (long price = 10_000; price <= 10_000 + alerts; price += 1_000) {
+            triggered += priceAlertIndex.evaluate(1, price, alertId -> assertThat(alertId % 2).isZero());
+        }
+        for (long price = 10_000; price >= 10_000 - alerts; price -= 1_000) {
+            triggered += priceAlertIndex.evaluate(1, price, alertId -> assertThat(alertId % 2).isOne());
+        }
+
+        assertThat(triggered).isEqualTo(alerts);
+        assertThat(priceAlertIndex.size()).isZero();
+    }
+
+    private List<Long> evaluate(long stockId, long price) {
+        List<Long> triggered = new ArrayList<>();
+        priceAlertIndex.evaluate(stockId, price, triggered::add);
+        return triggered;
+    }
+}
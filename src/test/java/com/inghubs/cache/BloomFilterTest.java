@@ -0,0 +1,59 @@
+package com.inghubs.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int NAMES = 100_000;
+
+    @Test
+    void givenAddedNames_whenLookedUp_thenAllMightBeContained() {
+        BloomFilter filter = new BloomFilter(NAMES, 0.01);
+        for (int i = 0; i < NAMES; i++) {
+            filter.add("Stock " + i);
+        }
+
+        for (int i = 0; i < NAMES; i++) {
+            assertThat(filter.mightContain("Stock " + i)).isTrue();
+        }
+    }
+
+    @Test
+    void givenFilterFilledToExpectedNames_whenNewNamesLookedUp_thenFalsePositiveRateIsNearTarget() {
+        for (double target : new double[]{0.1, 0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(NAMES, target);
+            for (int i = 0; i < NAMES; i++) {
+                filter.add("Stock " + i);
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < NAMES; i++) {
+                if (filter.mightContain("New stock " + i)) {
+                    falsePositives++;
+                }
+            }
+
+            assertThat((double) falsePositives / NAMES).isBetween(target / 2, target * 1.5);
+            assertThat(filter.expectedFalsePositiveRate()).isBetween(target / 2, target * 1.5);
+        }
+    }
+
+    @Test
+    void givenFilterFilledBeyondExpectedNames_whenEstimated_thenFalsePositiveRateGrows() {
+        BloomFilter filter = new BloomFilter(NAMES / 4, 0.01);
+        for (int i = 0; i < NAMES; i++) {
+            filter.add("Stock " + i);
+        }
+
+        assertThat(filter.expectedFalsePositiveRate()).isGreaterThan(0.02);
+    }
+
+    @Test
+    void givenInvalidSizing_whenCreated_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(NAMES, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.inghubs.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing and cost of the {@link BloomFilter} behind the {@link StockNameFilter}, against the lookup it replaces.
+ * <p>
+ * For a range of target false-positive rates, fills a filter with the given number of names and reports its size,
+ * its number of hash functions, the false-positive rate measured over as many new names and the time per lookup.
+ * Then reports the time of the name lookup that a create runs when the filter cannot rule the name out, against an
+ * in-memory H2 table with a unique name index. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) com.inghubs.cache.StockNameFilterBenchmark [names]
+ * </pre>
+ */
+public final class StockNameFilterBenchmark {
+
+    private static long sink;
+
+    private StockNameFilterBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int names = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.printf("%-10s %10s %6s %12s %10s%n", "Target", "KB", "k", "Measured", "ns/lookup");
+        for (double target : new double[]{0.1, 0.05, 0.01, 0.001, 0.0001}) {
+            BloomFilter filter = new BloomFilter(names, target);
+            for (int i = 0; i < names; i++) {
+                filter.add("Stock " + i);
+            }
+            String[] newNames = new String[names];
+            for (int i = 0; i < names; i++) {
+                newNames[i] = "New stock " + i;
+            }
+            int falsePositives = 0;
+            for (String name : newNames) {
+                if (filter.mightContain(name)) {
+                    falsePositives++;
+                }
+            }
+            long start = System.nanoTime();
+            for (int round = 0; round < 5; round++) {
+                for (String name : newNames) {
+                    sink += filter.mightContain(name) ? 1 : 0;
+                }
+            }
+            double nanos = (double) (System.nanoTime() - start) / (5L * names);
+            System.out.printf("%-10s %,10d %6d %11.4f%% %10.0f%n", target, filter.bitCount() / 8_192, filter.hashCount(),
+                    100.0 * falsePositives / names, nanos);
+        }
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:names")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE stock (id BIGINT PRIMARY KEY, name VARCHAR(255) UNIQUE)");
+                statement.execute("INSERT INTO stock SELECT x, 'Stock ' || x FROM SYSTEM_RANGE(1, " + names + ")");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM stock WHERE name = ?")) {
+                int lookups = 0;
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                long start = System.nanoTime();
+                while (System.nanoTime() < end) {
+                    statement.setString(1, "New stock " + lookups++);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        sink += resultSet.next() ? 1 : 0;
+                    }
+                }
+                System.out.printf("%nName lookup in H2: %,.0f ns%n", (double) (System.nanoTime() - start) / lookups);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.inghubs.cluster;
+
+import com.inghubs.config.ClusterProperties;
+import com.inghubs.exception.StockNotLocalException;
+import com.inghubs.util.MessageUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardRouterTest {
+
+    private final MessageUtils messageUtils = Mockito.mock(MessageUtils.class);
+
+    @Test
+    void givenClusterDisabled_whenRouting_thenEveryStockIsLocal() {
+        ShardRouter router = new ShardRouter(new ClusterProperties(), messageUtils);
+
+        assertThat(router.isLocalStock(42L)).isTrue();
+        router.requireLocalStock(42L);
+        router.requireLocalStockName("Tesla");
+    }
+
+    @Test
+    void givenNodeIdNotInNodes_whenCreate_thenThrowIllegalStateException() {
+        ClusterProperties properties = cluster("node-9", 3);
+
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(properties, messageUtils));
+    }
+
+    @Test
+    void givenThreeNodes_whenRouting_thenEveryNodeAgreesAndOwnsAFairShare() {
+        ShardRouter[] routers = new ShardRouter[3];
+        for (int n = 0; n < routers.length; n++) {
+            routers[n] = new ShardRouter(cluster("node-" + (n + 1), 3), messageUtils);
+        }
+        Map<String, Integer> stocksPerNode = new HashMap<>();
+        int stocks = 30_000;
+        for (long id = 1; id <= stocks; id++) {
+            int owners = 0;
+            for (ShardRouter router : routers) {
+                owners += router.isLocalStock(id) ? 1 : 0;
+            }
+            assertThat(owners).isEqualTo(1);
+            String owner = routers[0].ownerOfShard(routers[0].shardOfStock(id)).getId();
+            stocksPerNode.merge(owner, 1, Integer::sum);
+        }
+        assertThat(stocksPerNode).hasSize(3);
+        assertThat(stocksPerNode.values()).allSatisfy(count -> assertThat(count).isBetween(stocks / 5, stocks / 2));
+    }
+
+    @Test
+    void givenNodeAdded_whenRouting_thenOnlyShardsMovingToTheNewNodeChangeOwner() {
+        ShardRouter before = new ShardRouter(cluster("node-1", 3), messageUtils);
+        ShardRouter after = new ShardRouter(cluster("node-1", 4), messageUtils);
+
+        int moved = 0;
+        for (int shard = 0; shard < 256; shard++) {
+            String oldOwner = before.ownerOfShard(shard).getId();
+            String newOwner = after.ownerOfShard(shard).getId();
+            if (!oldOwner.equals(newOwner)) {
+                assertThat(newOwner).isEqualTo("node-4");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(256 / 8, 256 / 2);
+    }
+
+    @Test
+    void givenStockOwnedByAnotherNode_whenRequireLocalStock_thenThrowWithOwnerUrl() {
+        ShardRouter router = new ShardRouter(cluster("node-1", 2), messageUtils);
+        long remoteId = 1;
+        while (router.isLocalStock(remoteId)) {
+            remoteId++;
+        }
+        long id = remoteId;
+
+        StockNotLocalException exception = assertThrows(StockNotLocalException.class, () -> router.requireLocalStock(id));
+        assertThat(exception.getOwnerUrl()).isEqualTo("http://localhost:8082");
+    }
+
+    private static ClusterProperties cluster(String nodeId, int nodes) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(nodeId);
+        for (int n = 1; n <= nodes; n++) {
+            ClusterProperties.Node node = new ClusterProperties.Node();
+            node.setId("node-" + n);
+            node.setUrl("http://localhost:808" + n);
+            properties.getNodes().add(node);
+        }
+        return properties;
+    }
+}
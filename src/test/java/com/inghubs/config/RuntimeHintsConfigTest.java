@@ -0,0 +1,42 @@
+package com.inghubs.config;
+
+import com.inghubs.aspect.OptimisticLockingRetryable;
+import com.inghubs.cluster.StockIdGenerator;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.event.StockExchangeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBindingProcessor;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new RuntimeHintsConfig.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        new RegisterReflectionForBindingProcessor().registerReflectionHints(hints.reflection(), RuntimeHintsConfig.class);
+    }
+
+    @Test
+    void givenHints_thenMessagesAndReflectiveTypesAreRegistered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("messages.properties")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(StockIdGenerator.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(OptimisticLockingRetryable.class)).accepts(hints);
+        assertThat(hints.reflection().getTypeHint(TypeReference.of("com.inghubs.pipeline.SequenceValue")).fields())
+                .anyMatch(field -> field.getName().equals("value"));
+    }
+
+    @Test
+    void givenHints_thenTypesSerializedDirectlyAreRegisteredForBinding() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StockExchangeDTO.class, "getName")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StockExchangeChangedEvent.class, "stockPrice"))
+                .accepts(hints);
+    }
+}
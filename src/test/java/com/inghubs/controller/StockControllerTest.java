@@ -1,6 +1,7 @@
 package com.inghubs.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.cluster.ShardRouter;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
@@ -8,8 +9,10 @@ import com.inghubs.entity.Stock;
 import com.inghubs.entity.StockExchange;
 import com.inghubs.exception.GlobalExceptionHandler;
 import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.pipeline.StockPriceUpdatePipeline;
 import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockSearchService;
 import com.inghubs.service.StockService;
 import com.inghubs.util.MessageUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -24,6 +28,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,6 +44,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -60,6 +66,15 @@ class StockControllerTest {
     @Mock
     private StockService stockService;
 
+    @Mock
+    private StockSearchService stockSearchService;
+
+    @Mock
+    private ObjectProvider<StockPriceUpdatePipeline> stockPriceUpdatePipeline;
+
+    @Mock
+    private ShardRouter shardRouter;
+
     @InjectMocks
     private StockController stockController;
 
@@ -141,6 +156,15 @@ class StockControllerTest {
         verify(stockService, times(1)).deleteStock(stockId);
     }
 
+    @Test
+    void givenValidStockIds_whenDeleteStocks_thenReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/stock").param("ids", "1", "2", "3"))
+                .andExpect(status().isNoContent());
+
+        verify(shardRouter, times(3)).requireLocalStock(any());
+        verify(stockService, times(1)).deleteStocks(List.of(1L, 2L, 3L));
+    }
+
     @Test
     void givenInvalidStockCreateDTO_whenCreateStock_thenReturnBadRequest() throws Exception {
         StockCreateDTO stockCreateDTO = StockCreateDTO.builder().build(); // Missing required fields
@@ -196,4 +220,16 @@ class StockControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException));
     }
+
+    @Test
+    void givenQuery_whenSearchStocks_thenReturnMatchingStocks() throws Exception {
+        StockDTO stockDTO = StockDTO.builder().id(1L).name("Tesla").build();
+        when(stockSearchService.searchStocks("tes", 5)).thenReturn(List.of(stockDTO));
+
+        mockMvc.perform(get("/api/v1/stock/search").param("q", "tes").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Tesla"));
+
+        verify(stockSearchService, times(1)).searchStocks("tes", 5);
+    }
 }
\ No newline at end of file
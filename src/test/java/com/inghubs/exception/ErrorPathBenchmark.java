@@ -0,0 +1,172 @@
+package com.inghubs.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.config.MessageConfig;
+import com.inghubs.util.MessageUtils;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the 404 and 409 paths without the servlet around them: throwing the exception from deep in the stack,
+ * resolving its message, building the error body in {@link GlobalExceptionHandler} and serializing it.
+ * <p>
+ * Each case runs the current path and the previous one, which threw exceptions with stack traces, resolved every
+ * message through the {@link MessageSource} and built the body as a map. Reports the time and the bytes allocated
+ * per error on one thread. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) com.inghubs.exception.ErrorPathBenchmark [seconds] [depth]
+ * </pre>
+ */
+public final class ErrorPathBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static MessageSource messageSource;
+    private static MessageUtils messageUtils;
+    private static GlobalExceptionHandler handler;
+    private static ObjectMapper objectMapper;
+    private static int depth;
+    private static long sink;
+
+    private ErrorPathBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        depth = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        messageSource = new MessageConfig().messageSource();
+        messageUtils = new MessageUtils(messageSource);
+        handler = new GlobalExceptionHandler(messageUtils);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Case[] cases = {
+                new Case("404 stock exchange not found", ErrorPathBenchmark::notFound, ErrorPathBenchmark::legacyNotFound),
+                new Case("409 stock already exists", ErrorPathBenchmark::alreadyExists, ErrorPathBenchmark::legacyAlreadyExists),
+                new Case("409 concurrent modification", ErrorPathBenchmark::concurrentModification,
+                        ErrorPathBenchmark::legacyConcurrentModification),
+        };
+        for (Case c : cases) {
+            run(c.current(), 1);
+            run(c.legacy(), 1);
+        }
+        System.out.printf("%-30s %-8s %10s %10s%n", "Case", "Path", "ns/error", "B/error");
+        for (Case c : cases) {
+            report(c.name(), "legacy", run(c.legacy(), seconds));
+            report(c.name(), "current", run(c.current(), seconds));
+        }
+    }
+
+    private static byte[] notFound() throws Exception {
+        try {
+            throwFrom(depth, () -> new ResourceNotFoundException(messageUtils.getMessage("stock.exchange.not.found", "missing")));
+        } catch (ResourceNotFoundException e) {
+            return objectMapper.writeValueAsBytes(handler.handleResourceNotFoundException(e, null).getBody());
+        }
+        throw new IllegalStateException();
+    }
+
+    private static byte[] legacyNotFound() throws Exception {
+        try {
+            throwFrom(depth, () -> new RuntimeException(legacyMessage("stock.exchange.not.found", "missing")));
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(legacyBody(e.getMessage()));
+        }
+        throw new IllegalStateException();
+    }
+
+    private static byte[] alreadyExists() throws Exception {
+        try {
+            throwFrom(depth, () -> new StockAlreadyExistsException(messageUtils.getMessage("stock.already.exists", "Tesla")));
+        } catch (StockAlreadyExistsException e) {
+            return objectMapper.writeValueAsBytes(handler.handleStockAlreadyExistsException(e, null).getBody());
+        }
+        throw new IllegalStateException();
+    }
+
+    private static byte[] legacyAlreadyExists() throws Exception {
+        try {
+            throwFrom(depth, () -> new RuntimeException(legacyMessage("stock.already.exists", "Tesla")));
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(legacyBody(e.getMessage()));
+        }
+        throw new IllegalStateException();
+    }
+
+    private static byte[] concurrentModification() throws Exception {
+        try {
+            throwFrom(depth, () -> new OptimisticLockingFailureException("Row was updated by another transaction"));
+        } catch (OptimisticLockingFailureException e) {
+            return objectMapper.writeValueAsBytes(handler.handleOptimisticLockingFailureException(e, null).getBody());
+        }
+        throw new IllegalStateException();
+    }
+
+    private static byte[] legacyConcurrentModification() throws Exception {
+        try {
+            throwFrom(depth, () -> new OptimisticLockingFailureException("Row was updated by another transaction"));
+        } catch (OptimisticLockingFailureException e) {
+            return objectMapper.writeValueAsBytes(legacyBody(legacyMessage("error.concurrent.modification")));
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void throwFrom(int frames, Supplier<RuntimeException> exception) {
+        if (frames == 0) {
+            throw exception.get();
+        }
+        throwFrom(frames - 1, exception);
+    }
+
+    private static String legacyMessage(String code, Object... args) {
+        return messageSource.getMessage(code, args, "An unexpected error occurred", Locale.getDefault());
+    }
+
+    private static Map<String, Object> legacyBody(Object message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", message);
+        return body;
+    }
+
+    /**
+     * @return the nanoseconds and the bytes allocated per error
+     */
+    private static double[] run(ErrorPath path, int seconds) throws Exception {
+        long errors = 0;
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 1_000; i++) {
+                sink += path.handle().length;
+            }
+            errors += 1_000;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[]{(double) elapsed / errors, (double) allocated / errors};
+    }
+
+    private static void report(String name, String path, double[] result) {
+        System.out.printf("%-30s %-8s %,10.0f %,10.0f%n", name, path, result[0], result[1]);
+    }
+
+    @FunctionalInterface
+    private interface ErrorPath {
+        byte[] handle() throws Exception;
+    }
+
+    private record Case(String name, ErrorPath current, ErrorPath legacy) {
+    }
+}
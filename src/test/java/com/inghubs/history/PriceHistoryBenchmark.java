@@ -0,0 +1,126 @@
+package com.inghubs.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Size and scan speed of the {@link PriceHistoryStore}.
+ * <p>
+ * Appends a random walk of prices for every stock, once with a tick per second and up to 50 ms of jitter, and once
+ * with irregular gaps averaging 200 ms, and reports the bytes stored per tick, headers included, against the 16 bytes
+ * of a raw timestamp and price. Then times a full scan of each stock, one-hour range scans at random offsets, and
+ * downsampling a day into one-minute and one-hour bars. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.inghubs.history.PriceHistoryBenchmark [stocks] [ticksPerStock]
+ * </pre>
+ */
+public final class PriceHistoryBenchmark {
+
+    private static final long START = 1_760_000_000_000L;
+    private static final int CHUNK_TICKS = 1_024;
+    private static final int SEGMENT_BYTES = 64 * 1_024 * 1_024;
+    private static final int RANGE_QUERIES = 1_000;
+
+    private PriceHistoryBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int stocks = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int ticksPerStock = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Random random = new Random(42);
+        run("steady 1 s ticks", stocks, ticksPerStock, previous -> previous + 950 + random.nextInt(101), random);
+        run("irregular ~200 ms gaps", stocks, ticksPerStock,
+                previous -> previous + 1 + (long) (-200 * Math.log(1 - random.nextDouble())), random);
+    }
+
+    private static void run(String name, int stocks, int ticksPerStock, LongUnaryOperator nextTimestamp, Random random) throws IOException {
+        Path directory = Files.createTempDirectory("price-history-benchmark");
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, UUID.randomUUID(), CHUNK_TICKS, SEGMENT_BYTES)) {
+            long[] timestamps = new long[stocks];
+            long[] prices = new long[stocks];
+            Arrays.fill(timestamps, START);
+            Arrays.fill(prices, 10_000);
+            long start = System.nanoTime();
+            for (int i = 0; i < ticksPerStock; i++) {
+                for (int stock = 0; stock < stocks; stock++) {
+                    timestamps[stock] = nextTimestamp.applyAsLong(timestamps[stock]);
+                    // half of the ticks leave the price unchanged, the others move it by up to 5 cents
+                    if (random.nextBoolean()) {
+                        prices[stock] = Math.max(1, prices[stock] + random.nextInt(11) - 5);
+                    }
+                    store.append(stock, timestamps[stock], prices[stock]);
+                }
+            }
+            store.sealOlderThan(Long.MAX_VALUE);
+            long appendNanos = System.nanoTime() - start;
+            System.out.printf("%s: %,d ticks in %,d chunks, %.2f bytes/tick (raw 16), append %.0f ns/tick%n",
+                    name, store.storedTicks(), store.storedChunks(), (double) store.storedBytes() / store.storedTicks(),
+                    (double) appendNanos / store.storedTicks());
+            long lastTimestamp = Arrays.stream(timestamps).min().orElse(START);
+            for (int round = 0; round < 3; round++) {
+                measureScans(store, stocks, lastTimestamp, random, round == 2);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static void measureScans(PriceHistoryStore store, int stocks, long lastTimestamp, Random random, boolean print) {
+        long[] checksum = new long[1];
+        TickVisitor summing = (timestamp, price) -> {
+            checksum[0] += price;
+            return true;
+        };
+        long start = System.nanoTime();
+        long ticks = 0;
+        for (int stock = 0; stock < stocks; stock++) {
+            ticks += store.scan(stock, Long.MIN_VALUE, Long.MAX_VALUE, summing);
+        }
+        long fullNanos = System.nanoTime() - start;
+
+        long rangeTicks = 0;
+        long decodedBefore = store.decodedChunks();
+        start = System.nanoTime();
+        for (int i = 0; i < RANGE_QUERIES; i++) {
+            long from = START + (long) (random.nextDouble() * Math.max(1, lastTimestamp - START - 3_600_000));
+            rangeTicks += store.scan(random.nextInt(stocks), from, from + 3_600_000, summing);
+        }
+        long rangeNanos = System.nanoTime() - start;
+        long rangeChunks = store.decodedChunks() - decodedBefore;
+
+        long[] minuteBars = downsample(store, stocks, 60_000);
+        long[] hourBars = downsample(store, stocks, 3_600_000);
+        if (print) {
+            System.out.printf("  full scan: %.0f M ticks/s%n", ticks / (fullNanos / 1e3));
+            System.out.printf("  1 h range scan: %.0f us per query, %d ticks and %.1f chunks decoded per query%n",
+                    rangeNanos / 1e3 / RANGE_QUERIES, rangeTicks / RANGE_QUERIES, (double) rangeChunks / RANGE_QUERIES);
+            System.out.printf("  1 day into 1 min bars: %.2f ms per stock, %d bars, %.1f chunks decoded per stock%n",
+                    minuteBars[0] / 1e6 / stocks, minuteBars[1] / stocks, (double) minuteBars[2] / stocks);
+            System.out.printf("  1 day into 1 h bars: %.2f ms per stock, %d bars, %.1f chunks decoded per stock%n",
+                    hourBars[0] / 1e6 / stocks, hourBars[1] / stocks, (double) hourBars[2] / stocks);
+        }
+    }
+
+    /**
+     * @return the nanoseconds taken to downsample a day of every stock, the number of bars and of decoded chunks
+     */
+    private static long[] downsample(PriceHistoryStore store, int stocks, long intervalMillis) {
+        long bars = 0;
+        long decodedBefore = store.decodedChunks();
+        long start = System.nanoTime();
+        for (int stock = 0; stock < stocks; stock++) {
+            bars += store.downsample(stock, START, START + 86_400_000, intervalMillis).size();
+        }
+        return new long[]{System.nanoTime() - start, bars, store.decodedChunks() - decodedBefore};
+    }
+}
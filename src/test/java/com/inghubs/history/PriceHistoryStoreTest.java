@@ -0,0 +1,241 @@
+package com.inghubs.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceHistoryStoreTest {
+
+    private static final long START = 1_760_000_000_000L;
+    private static final int CHUNK_TICKS = 100;
+    private static final int SEGMENT_BYTES = 1 << 20;
+    private static final UUID EPOCH = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenIrregularTicks_whenScanned_thenDecodedExactly() throws IOException {
+        List<long[]> ticks = new ArrayList<>();
+        Random random = new Random(42);
+        long timestamp = START;
+        long price = 10_000;
+        for (int i = 0; i < 1_000; i++) {
+            // steady, jittered, repeated and far apart timestamps; unchanged, small and huge price moves
+            timestamp += switch (i % 4) {
+                case 0 -> 1_000;
+                case 1 -> 1_000 + random.nextInt(200) - 100;
+                case 2 -> 0;
+                default -> random.nextInt(10) == 0 ? 86_400_000L * 365 : random.nextInt(100_000);
+            };
+            price = switch (i % 3) {
+                case 0 -> price;
+                case 1 -> Math.max(1, price + random.nextInt(21) - 10);
+                default -> 1 + (random.nextLong() >>> 8);
+            };
+            ticks.add(new long[]{timestamp, price});
+        }
+
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            ticks.forEach(tick -> store.append(1L, tick[0], tick[1]));
+            List<long[]> scanned = scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE);
+
+            assertThat(scanned).containsExactlyElementsOf(ticks);
+            assertThat(store.storedChunks()).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void givenManyChunks_whenRangeScanned_thenOnlyOverlappingChunksDecoded() throws IOException {
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            for (int i = 0; i < 10_000; i++) {
+                store.append(1L, START + i * 1_000L, 10_000 + i);
+                store.append(2L, START + i * 1_000L, 20_000);
+            }
+
+            List<long[]> scanned = scan(store, 1L, START + 4_050_000, START + 4_250_000);
+
+            assertThat(scanned).hasSize(200);
+            assertThat(scanned.get(0)).containsExactly(START + 4_050_000, 14_050);
+            assertThat(scanned.get(199)).containsExactly(START + 4_249_000, 14_249);
+            assertThat(store.decodedChunks()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void givenOpenChunk_whenScannedWithStop_thenVisitsUpToStop() throws IOException {
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            for (int i = 0; i < 150; i++) {
+                store.append(1L, START + i, i + 1);
+            }
+            List<Long> prices = new ArrayList<>();
+
+            long visited = store.scan(1L, START + 90, Long.MAX_VALUE, (timestamp, price) -> prices.add(price) && prices.size() < 20);
+
+            assertThat(visited).isEqualTo(20);
+            assertThat(prices).startsWith(91L).endsWith(110L);
+            assertThat(store.scan(3L, Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, price) -> true)).isZero();
+        }
+    }
+
+    @Test
+    void givenTicks_whenDownsampled_thenBarsMatchTicksAndChunksWithinOneBarAreNotDecoded() throws IOException {
+        Random random = new Random(7);
+        List<long[]> ticks = new ArrayList<>();
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            long price = 50_000;
+            for (int i = 0; i < 100_000; i++) {
+                price = Math.max(1, price + random.nextInt(11) - 5);
+                ticks.add(new long[]{START + i * 100L, price});
+                store.append(1L, START + i * 100L, price);
+            }
+            long from = START + 12_345;
+            long to = START + 9_000_000;
+            long interval = 60_000;
+
+            List<PriceBar> bars = store.downsample(1L, from, to, interval);
+
+            assertThat(bars).containsExactlyElementsOf(naiveBars(ticks, from, to, interval));
+            // 600 ticks per bar: most chunks of 100 ticks fall within one bar
+            assertThat(store.decodedChunks()).isLessThan(400);
+        }
+    }
+
+    @Test
+    void givenClosedStore_whenReopened_thenChunksAreIndexedFromTheSegments() throws IOException {
+        // small segments, so that the chunks are spread over several files
+        int segmentBytes = PriceHistoryStore.minSegmentBytes(CHUNK_TICKS);
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, segmentBytes)) {
+            for (int i = 0; i < 1_050; i++) {
+                store.append(1L + i % 3, START + i * 1_000L, 100 + i);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isGreaterThan(1);
+        }
+
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, segmentBytes)) {
+            assertThat(store.storedTicks()).isEqualTo(1_050);
+            List<long[]> scanned = scan(store, 2L, Long.MIN_VALUE, Long.MAX_VALUE);
+            assertThat(scanned).hasSize(350);
+            assertThat(scanned.get(349)).containsExactly(START + 1_048_000, 1_148);
+
+            store.append(2L, START + 2_000_000, 7);
+            assertThat(scan(store, 2L, START + 1_048_001, Long.MAX_VALUE)).containsExactly(new long[]{START + 2_000_000, 7});
+        }
+    }
+
+    @Test
+    void givenSegmentsOfAnotherEpoch_whenReopened_thenDeletedAndNotRead() throws IOException {
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            for (int i = 0; i < 250; i++) {
+                store.append(1L, START + i * 1_000L, 100 + i);
+            }
+        }
+
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, UUID.randomUUID(), CHUNK_TICKS, SEGMENT_BYTES)) {
+            assertThat(store.deletedSegments()).isOne();
+            assertThat(store.storedTicks()).isZero();
+            assertThat(scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+
+            store.append(1L, START, 7);
+            assertThat(scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE)).containsExactly(new long[]{START, 7});
+        }
+    }
+
+    @Test
+    void givenOldSegments_whenDroppedOlderThan_thenOnlyTheirTicksAreRemoved() throws IOException {
+        int segmentBytes = PriceHistoryStore.minSegmentBytes(CHUNK_TICKS);
+        long cutoff = START + 2_500_000;
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, segmentBytes)) {
+            for (int i = 0; i < 5_050; i++) {
+                store.append(1L, START + i * 1_000L, 100 + i);
+            }
+            long segments;
+            try (Stream<Path> files = Files.list(directory)) {
+                segments = files.count();
+            }
+
+            int dropped = store.dropSegmentsOlderThan(cutoff);
+
+            assertThat(dropped).isPositive();
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.count()).isEqualTo(segments - dropped);
+            }
+            List<long[]> scanned = scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE);
+            // a contiguous suffix of the ticks, with every tick at or after the cutoff kept
+            assertThat(scanned.get(0)[0]).isGreaterThan(START).isLessThanOrEqualTo(cutoff);
+            assertThat(scanned).hasSize(5_050 - (int) ((scanned.get(0)[0] - START) / 1_000));
+            assertThat(scanned.get(scanned.size() - 1)).containsExactly(START + 5_049_000, 5_149);
+            assertThat(store.storedTicks()).isEqualTo(scanned.size() - 50);
+            assertThat(store.dropSegmentsOlderThan(cutoff)).isZero();
+        }
+
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, segmentBytes)) {
+            assertThat(store.deletedSegments()).isZero();
+            assertThat(scan(store, 1L, Long.MIN_VALUE, cutoff)).isNotEmpty().allSatisfy(tick -> assertThat(tick[0]).isGreaterThan(START));
+        }
+    }
+
+    @Test
+    void givenOutOfOrderTick_whenAppended_thenRecordedAtLastTimestamp() throws IOException {
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            store.append(1L, START + 1_000, 1);
+            store.append(1L, START, 2);
+
+            assertThat(scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE))
+                    .containsExactly(new long[]{START + 1_000, 1}, new long[]{START + 1_000, 2});
+        }
+    }
+
+    @Test
+    void givenOldOpenChunk_whenSealed_thenWrittenToSegment() throws IOException {
+        try (PriceHistoryStore store = new PriceHistoryStore(directory, EPOCH, CHUNK_TICKS, SEGMENT_BYTES)) {
+            store.append(1L, START, 1);
+            store.append(2L, START + 60_000, 2);
+
+            assertThat(store.sealOlderThan(START + 30_000)).isOne();
+            assertThat(store.storedTicks()).isOne();
+            assertThat(scan(store, 1L, Long.MIN_VALUE, Long.MAX_VALUE)).containsExactly(new long[]{START, 1});
+        }
+    }
+
+    private static List<long[]> scan(PriceHistoryStore store, long stockId, long from, long to) {
+        List<long[]> ticks = new ArrayList<>();
+        store.scan(stockId, from, to, (timestamp, price) -> ticks.add(new long[]{timestamp, price}));
+        return ticks;
+    }
+
+    private static List<PriceBar> naiveBars(List<long[]> ticks, long from, long to, long interval) {
+        List<PriceBar> bars = new ArrayList<>();
+        PriceBar bar = null;
+        for (long[] tick : ticks) {
+            if (tick[0] < from || tick[0] >= to) {
+                continue;
+            }
+            long start = from + (tick[0] - from) / interval * interval;
+            if (bar != null && bar.startMillis() == start) {
+                bar = new PriceBar(start, bar.open(), Math.max(bar.high(), tick[1]), Math.min(bar.low(), tick[1]), tick[1], bar.count() + 1);
+            } else {
+                if (bar != null) {
+                    bars.add(bar);
+                }
+                bar = new PriceBar(start, tick[1], tick[1], tick[1], tick[1], 1);
+            }
+        }
+        if (bar != null) {
+            bars.add(bar);
+        }
+        return bars;
+    }
+}
@@ -0,0 +1,64 @@
+package com.inghubs.idempotency;
+
+import com.inghubs.config.IdempotencyProperties;
+import com.inghubs.util.AppConstants;
+import com.inghubs.util.MessageUtils;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter idempotencyFilter = new IdempotencyFilter(new IdempotencyProperties(), mock(MessageUtils.class));
+
+    @Test
+    void givenReadListener_whenBodyReadAsynchronously_thenCachedBodyDeliveredAndCompleted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/stock");
+        request.addHeader(AppConstants.IDEMPOTENCY_KEY_HEADER, "key");
+        request.setContent("{\"name\":\"Async\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+
+        idempotencyFilter.doFilter(request, response, (filteredRequest, filteredResponse) -> {
+            ServletInputStream input = filteredRequest.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    callbacks.add("onDataAvailable");
+                    byte[] buffer = new byte[4];
+                    int read;
+                    while (input.isReady() && (read = input.read(buffer)) != -1) {
+                        received.write(buffer, 0, read);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    callbacks.add("onAllDataRead");
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    callbacks.add("onError");
+                }
+            });
+            filteredResponse.getWriter().write("{}");
+        });
+
+        assertThat(callbacks).containsExactly("onDataAvailable", "onAllDataRead");
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"Async\"}");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+}
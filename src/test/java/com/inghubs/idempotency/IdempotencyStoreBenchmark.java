@@ -0,0 +1,68 @@
+package com.inghubs.idempotency;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory and speed of {@link IdempotencyStore} at the default key capacity, without a byte limit: fills it with keys,
+ * each completed with a response the size of a created stock, reports the heap retained per key against the bytes the
+ * store estimates, then times claims of known and new keys, which evict the oldest ones once the store is full.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile
+ * java -Xmx2g -cp target/classes:target/test-classes com.inghubs.idempotency.IdempotencyStoreBenchmark [keys] [responseBytes]
+ * </pre>
+ */
+public final class IdempotencyStoreBenchmark {
+
+    private IdempotencyStoreBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int responseBytes = args.length > 1 ? Integer.parseInt(args[1]) : 160;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeap(memory);
+        IdempotencyStore store = new IdempotencyStore(keys, Long.MAX_VALUE, 64, TimeUnit.HOURS.toNanos(1));
+        long start = System.nanoTime();
+        for (int i = 0; i < keys; i++) {
+            String key = key(i);
+            store.claim(key, i, start);
+            store.complete(key, new IdempotentResponse(i, 201, "application/json", new byte[responseBytes]), start);
+        }
+        long filled = System.nanoTime() - start;
+        long retained = usedHeap(memory) - before;
+        System.out.printf("%,d keys with %d-byte responses: %,d MB retained (%,d MB estimated), %,d bytes per key, filled in %,d ms%n",
+                store.size(), responseBytes, retained >> 20, store.bytes() >> 20, retained / keys, TimeUnit.NANOSECONDS.toMillis(filled));
+
+        long hits = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < keys; i++) {
+            if (store.claim(key((int) ((i * 2_654_435_761L) % keys)), i, start) != null) {
+                hits++;
+            }
+        }
+        long hitNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < keys; i++) {
+            store.claim(key(keys + i), i, start);
+        }
+        long missNanos = System.nanoTime() - start;
+        System.out.printf("claim of a stored key: %.0f ns (%,d hits), claim of a new key evicting the oldest: %.0f ns, %,d keys kept%n",
+                (double) hitNanos / keys, hits, (double) missNanos / keys, store.size());
+    }
+
+    private static String key(int i) {
+        return "feed\n3f1c9a2e-7b4d-4e0a-9c61-" + (100_000_000_000L + i);
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,101 @@
+package com.inghubs.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private static final long TTL = 1_000;
+
+    private static IdempotentResponse created(long fingerprint) {
+        return new IdempotentResponse(fingerprint, 201, "application/json", new byte[]{'{', '}'});
+    }
+
+    @Test
+    void givenClaimedKey_whenClaimedAgain_thenInFlightUntilCompleted() {
+        IdempotencyStore store = new IdempotencyStore(16, Long.MAX_VALUE, 4, TTL);
+
+        assertThat(store.claim("k", 7, 0)).isNull();
+        assertThat(store.claim("k", 7, 1).isInFlight()).isTrue();
+
+        store.complete("k", created(7), 2);
+
+        IdempotentResponse stored = store.claim("k", 7, 3);
+        assertThat(stored.isInFlight()).isFalse();
+        assertThat(stored.status()).isEqualTo(201);
+    }
+
+    @Test
+    void givenReleasedKey_whenClaimedAgain_thenClaimed() {
+        IdempotencyStore store = new IdempotencyStore(16, Long.MAX_VALUE, 4, TTL);
+        store.claim("k", 7, 0);
+
+        store.release("k");
+
+        assertThat(store.claim("k", 8, 1)).isNull();
+    }
+
+    @Test
+    void givenStoredKey_whenTimeToLiveElapses_thenExpired() {
+        IdempotencyStore store = new IdempotencyStore(16, Long.MAX_VALUE, 1, TTL);
+        store.claim("a", 1, 0);
+        store.complete("a", created(1), 0);
+        store.claim("b", 2, 500);
+
+        assertThat(store.claim("a", 1, TTL)).isNull();
+        assertThat(store.claim("b", 2, TTL).isInFlight()).isTrue();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFullStore_whenKeyClaimed_thenOldestKeyEvicted() {
+        IdempotencyStore store = new IdempotencyStore(3, Long.MAX_VALUE, 1, TTL);
+        store.claim("a", 1, 0);
+        store.complete("a", created(1), 0);
+        store.claim("b", 2, 1);
+        store.complete("b", created(2), 1);
+        store.claim("c", 3, 2);
+
+        store.claim("d", 4, 3);
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.claim("b", 2, 4)).isNotNull();
+        assertThat(store.claim("a", 1, 5)).isNull();
+    }
+
+    @Test
+    void givenStoreOverItsBytes_whenResponseCompleted_thenOldestKeysEvicted() {
+        long entryBytes = IdempotencyStore.ENTRY_OVERHEAD_BYTES + 1;
+        IdempotencyStore store = new IdempotencyStore(16, 4 * entryBytes, 1, TTL);
+        store.claim("a", 1, 0);
+        store.complete("a", new IdempotentResponse(1, 204, "application/json", new byte[0]), 0);
+        store.claim("b", 2, 1);
+        store.complete("b", new IdempotentResponse(2, 204, "application/json", new byte[0]), 1);
+        store.claim("c", 3, 2);
+
+        store.complete("c", new IdempotentResponse(3, 201, "application/json", new byte[(int) entryBytes + 1]), 3);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.bytes()).isEqualTo(3 * entryBytes + 1);
+        assertThat(store.claim("a", 1, 4)).isNull();
+        assertThat(store.claim("c", 3, 5).status()).isEqualTo(201);
+    }
+
+    @Test
+    void givenInFlightClaims_whenStoreOverCapacity_thenOnlyCompletedKeysEvicted() {
+        IdempotencyStore store = new IdempotencyStore(2, Long.MAX_VALUE, 1, TTL);
+        store.claim("a", 1, 0);
+        store.complete("a", created(1), 0);
+        store.claim("b", 2, 1);
+
+        store.claim("c", 3, 2);
+        store.claim("d", 4, 3);
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.claim("b", 2, 4).isInFlight()).isTrue();
+        assertThat(store.claim("c", 3, 5).isInFlight()).isTrue();
+        assertThat(store.claim("d", 4, 6).isInFlight()).isTrue();
+        assertThat(store.claim("a", 1, 7)).isNull();
+    }
+}
@@ -0,0 +1,158 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.StockExchangeApplication;
+import com.inghubs.cluster.ShardRouter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a two node cluster in one JVM, each node with its own port and in-memory database.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClusterIntegrationTest {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<String> urls = new ArrayList<>();
+
+    @BeforeAll
+    void startNodes() throws IOException {
+        for (int n = 0; n < 2; n++) {
+            urls.add("http://localhost:" + freePort());
+        }
+        for (int n = 0; n < 2; n++) {
+            nodes.add(new SpringApplicationBuilder(StockExchangeApplication.class).run(
+                    "--spring.profiles.active=cluster",
+                    "--cluster.node-id=node-" + (n + 1),
+                    "--server.port=" + URI.create(urls.get(n)).getPort(),
+                    "--spring.datasource.url=jdbc:h2:mem:cluster-node-" + (n + 1),
+                    "--cluster.nodes[0].id=node-1",
+                    "--cluster.nodes[0].url=" + urls.get(0),
+                    "--cluster.nodes[1].id=node-2",
+                    "--cluster.nodes[1].url=" + urls.get(1),
+                    "--outbox.relay.enabled=false"));
+        }
+    }
+
+    @AfterAll
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void givenTwoNodes_whenStocksAreCreatedAndListed_thenEachNodeOwnsItsStocksAndReadsGatherAllOfThem() throws Exception {
+        Set<String> servingNodes = new HashSet<>();
+        List<Long> stockIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String body = objectMapper.writeValueAsString(Map.of("name", "Cluster Stock " + i,
+                    "description", "Cluster Description", "currentPrice", 100 + i));
+            HttpResponse<String> response = sendFollowingRedirects("POST", urls.get(0) + "/api/v1/stock", body);
+            assertThat(response.statusCode()).isEqualTo(201);
+            long id = objectMapper.readTree(response.body()).get("id").asLong();
+            int node = urls.indexOf(response.uri().getScheme() + "://" + response.uri().getAuthority());
+            assertThat(nodes.get(node).getBean(ShardRouter.class).isLocalStock(id)).isTrue();
+            servingNodes.add("node-" + (node + 1));
+            stockIds.add(id);
+        }
+        assertThat(servingNodes).containsExactlyInAnyOrder("node-1", "node-2");
+
+        for (Long stockId : stockIds) {
+            HttpResponse<String> response = sendFollowingRedirects("POST",
+                    urls.get(1) + "/api/v1/stock-exchange/A?stockId=" + stockId, null);
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+
+        for (String url : urls) {
+            JsonNode stockExchange = objectMapper.readTree(send("GET", url + "/api/v1/stock-exchange/A", null).body());
+            assertThat(stockExchange.get("stocks")).hasSize(10);
+            assertThat(stockExchange.get("liveInMarket").asBoolean()).isTrue();
+        }
+        HttpResponse<String> localPart = httpClient.send(request("GET", urls.get(0) + "/api/v1/stock-exchange/A", null)
+                .header("X-Cluster-Local", "true").build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(objectMapper.readTree(localPart.body()).get("stocks").size()).isBetween(1, 9);
+
+        // a session closed on one node closes the merged view on every node
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String session = objectMapper.writeValueAsString(Map.of("timeZone", "UTC", "openTime", "00:00:00",
+                "closeTime", "23:59:59", "tradingDays", DayOfWeek.values(),
+                "holidays", List.of(today.minusDays(1).toString(), today.toString(), today.plusDays(1).toString())));
+        assertThat(send("PUT", urls.get(1) + "/api/v1/stock-exchange/A/session", session).statusCode()).isEqualTo(200);
+        for (String url : urls) {
+            JsonNode stockExchange = objectMapper.readTree(send("GET", url + "/api/v1/stock-exchange/A", null).body());
+            assertThat(stockExchange.get("marketOpen").asBoolean()).isFalse();
+            assertThat(stockExchange.get("liveInMarket").asBoolean()).isFalse();
+        }
+        assertThat(send("DELETE", urls.get(1) + "/api/v1/stock-exchange/A/session", null).statusCode()).isEqualTo(204);
+        JsonNode reopened = objectMapper.readTree(send("GET", urls.get(0) + "/api/v1/stock-exchange/A", null).body());
+        assertThat(reopened.get("liveInMarket").asBoolean()).isTrue();
+    }
+
+    @Test
+    void givenStockOwnedByOtherNode_whenUpdateStockPrice_thenRedirectToOwner() throws Exception {
+        ShardRouter router = nodes.get(0).getBean(ShardRouter.class);
+        long remoteId = 1;
+        while (router.isLocalStock(remoteId)) {
+            remoteId++;
+        }
+        String body = objectMapper.writeValueAsString(Map.of("id", remoteId, "currentPrice", 150));
+
+        HttpResponse<String> response = send("PUT", urls.get(0) + "/api/v1/stock", body);
+
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).hasValue(urls.get(1) + "/api/v1/stock");
+    }
+
+    private HttpResponse<String> sendFollowingRedirects(String method, String url, String body) throws Exception {
+        HttpResponse<String> response = send(method, url, body);
+        if (response.statusCode() == 307) {
+            response = send(method, response.headers().firstValue("Location").orElseThrow(), body);
+        }
+        return response;
+    }
+
+    private HttpResponse<String> send(String method, String url, String body) throws Exception {
+        return httpClient.send(request(method, url, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String method, String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.inghubs.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "spring.datasource.url=jdbc:h2:mem:idempotency",
+        "idempotency.max-response-bytes=160"})
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenCreatedStock_whenRetriedWithSameKey_thenStoredResponseIsReplayed() throws Exception {
+        String created = mockMvc.perform(createStock("Broadcom", "create-broadcom"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        String replayed = mockMvc.perform(createStock("Broadcom", "create-broadcom"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayed).isEqualTo(created);
+        mockMvc.perform(createStock("Broadcom", "another-key")).andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenKeyUsedForOneRequest_whenSentWithAnotherBody_thenRejected() throws Exception {
+        mockMvc.perform(createStock("Qualcomm", "create-qualcomm")).andExpect(status().isCreated());
+
+        mockMvc.perform(createStock("Micron", "create-qualcomm"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("This Idempotency-Key was already used for a different request"));
+    }
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenFailedRequest_whenRetriedWithSameKey_thenRunsAgain() throws Exception {
+        mockMvc.perform(post("/api/v1/stock-exchange/B?stockId=999999").header("Idempotency-Key", "add-missing"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/stock-exchange/B?stockId=999999").header("Idempotency-Key", "add-missing"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenStockAddedToStockExchange_whenRetriedWithSameKey_thenNotAddedTwice() throws Exception {
+        mockMvc.perform(post("/api/v1/stock-exchange/C?stockId=2").header("Idempotency-Key", "add-amazon"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/stock-exchange/C?stockId=2").header("Idempotency-Key", "add-amazon"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+        mockMvc.perform(post("/api/v1/stock-exchange/C?stockId=2").with(user("other").roles("ADMIN"))
+                        .header("Idempotency-Key", "add-amazon"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenResponseLargerThanStored_whenRetriedWithSameKey_thenStatusIsReplayedWithoutBody() throws Exception {
+        String added = mockMvc.perform(post("/api/v1/stock-exchange/A?stockId=4").header("Idempotency-Key", "add-netflix"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(added.length()).isGreaterThan(160);
+
+        mockMvc.perform(post("/api/v1/stock-exchange/A?stockId=4").header("Idempotency-Key", "add-netflix"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Content-Length", "0"));
+    }
+
+    private MockHttpServletRequestBuilder createStock(String name, String idempotencyKey) {
+        return post("/api/v1/stock")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"description\":\"" + name + " Corp.\",\"currentPrice\":120.0}");
+    }
+}
@@ -0,0 +1,193 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.dto.MarketSessionUpdateDTO;
+import com.inghubs.dto.OrderCreateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.matching.OrderSide;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.MarketSessionService;
+import com.inghubs.session.MarketSessionScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "market-session.batch-size=2")
+@AutoConfigureMockMvc
+class MarketSessionIntegrationTest {
+
+    private static final Set<DayOfWeek> EVERY_DAY = EnumSet.allOf(DayOfWeek.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private MarketSessionService marketSessionService;
+
+    @Autowired
+    private MarketSessionScheduler marketSessionScheduler;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<String> stockExchangeNames = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // through the service, so that the scheduler drops the sessions as well
+        for (String name : stockExchangeNames) {
+            try {
+                marketSessionService.deleteSession(name);
+            } catch (ResourceNotFoundException e) {
+                // no session left to delete
+            }
+        }
+        assertThat(marketSessionScheduler.size()).isZero();
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void givenSessionClosedToday_whenSubmitOrder_thenRejectedUntilMarketOpens() throws Exception {
+        Long stockId = createStockExchange("Session Exchange", 5).get(0).getId();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant opensAt = today.plusDays(2).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        setSession("Session Exchange", new MarketSessionUpdateDTO("UTC", LocalTime.MIDNIGHT, LocalTime.NOON, EVERY_DAY,
+                Set.of(today.minusDays(1), today, today.plusDays(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marketOpen").value(false))
+                .andExpect(jsonPath("$.nextTransition").value(opensAt.toString()));
+        submitOrder("Session Exchange", stockId)
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/stock-exchange/Session Exchange"))
+                .andExpect(jsonPath("$.liveInMarket").value(false));
+
+        assertThat(marketSessionScheduler.advance(opensAt)).isOne();
+
+        submitOrder("Session Exchange", stockId)
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/stock-exchange/Session Exchange"))
+                .andExpect(jsonPath("$.liveInMarket").value(true));
+        mockMvc.perform(get("/api/v1/stock-exchange/Session Exchange/session"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marketOpen").value(true))
+                .andExpect(jsonPath("$.tradingDays.length()").value(7));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenSessionsClosingAtSameTime_whenAdvanced_thenAllClosedAndReopened() throws Exception {
+        List<String> names = List.of("First Exchange", "Second Exchange", "Third Exchange");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (String name : names) {
+            createStockExchange(name, 5);
+            setSession(name, new MarketSessionUpdateDTO("UTC", LocalTime.MIDNIGHT, LocalTime.of(23, 59, 59), EVERY_DAY, null))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(marketSessionScheduler.advance(today.atTime(23, 59, 59).toInstant(ZoneOffset.UTC))).isEqualTo(3);
+        assertThat(names).allSatisfy(name -> assertThat(stockExchangeRepository.findByName(name).orElseThrow().isLiveInMarket()).isFalse());
+
+        assertThat(marketSessionScheduler.advance(today.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC))).isEqualTo(3);
+        assertThat(names).allSatisfy(name -> assertThat(stockExchangeRepository.findByName(name).orElseThrow().isLiveInMarket()).isTrue());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenClosedSession_whenDeleted_thenMarketOpensAndSessionNotFound() throws Exception {
+        createStockExchange("Deleted Session Exchange", 5);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        setSession("Deleted Session Exchange", new MarketSessionUpdateDTO("UTC", LocalTime.MIDNIGHT, LocalTime.NOON, EVERY_DAY,
+                Set.of(today.minusDays(1), today, today.plusDays(1))));
+
+        mockMvc.perform(delete("/api/v1/stock-exchange/Deleted Session Exchange/session"))
+                .andExpect(status().isNoContent());
+
+        assertThat(stockExchangeRepository.findByName("Deleted Session Exchange").orElseThrow().isLiveInMarket()).isTrue();
+        mockMvc.perform(get("/api/v1/stock-exchange/Deleted Session Exchange/session"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenInvalidSession_whenSet_thenBadRequest() throws Exception {
+        createStockExchange("Invalid Session Exchange", 5);
+
+        setSession("Invalid Session Exchange", new MarketSessionUpdateDTO("Mars/Olympus_Mons", LocalTime.MIDNIGHT, LocalTime.NOON, EVERY_DAY, null))
+                .andExpect(status().isBadRequest());
+        setSession("Invalid Session Exchange", new MarketSessionUpdateDTO("UTC", LocalTime.NOON, LocalTime.MIDNIGHT, EVERY_DAY, null))
+                .andExpect(status().isBadRequest());
+        setSession("Invalid Session Exchange", new MarketSessionUpdateDTO("UTC", LocalTime.MIDNIGHT, LocalTime.NOON, Set.of(), null))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions setSession(String name, MarketSessionUpdateDTO marketSessionUpdateDTO) throws Exception {
+        return mockMvc.perform(put("/api/v1/stock-exchange/" + name + "/session")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(marketSessionUpdateDTO)));
+    }
+
+    private ResultActions submitOrder(String name, Long stockId) throws Exception {
+        return mockMvc.perform(post("/api/v1/stock-exchange/" + name + "/stocks/" + stockId + "/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new OrderCreateDTO(OrderSide.BUY, new BigDecimal("99.00"), 1L))));
+    }
+
+    private List<Stock> createStockExchange(String name, int stockCount) {
+        stockExchangeNames.add(name);
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName(name);
+        stockExchange.setDescription(name + " Description");
+        stockExchange.setStocks(new HashSet<>());
+        stockExchange = stockExchangeRepository.save(stockExchange);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < stockCount; i++) {
+            Stock stock = new Stock();
+            stock.setName(name + " Stock " + i);
+            stock.setDescription(name + " Stock " + i + " Description");
+            stock.setCurrentPrice(BigDecimal.valueOf(100.0));
+            stock.setStockExchanges(new HashSet<>());
+            stock = stockRepository.save(stock);
+            stockExchange.addStock(stock);
+            stocks.add(stock);
+        }
+        stockExchangeRepository.save(stockExchange);
+        return stocks;
+    }
+}
@@ -0,0 +1,171 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.dto.OrderCreateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.matching.OrderSide;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void whenCrossingOrdersSubmitted_thenTradeReportedAndStockPriceUpdated() throws Exception {
+        List<Stock> stocks = createStockExchange("Trading Exchange", 5);
+        Long stockId = stocks.get(0).getId();
+
+        submitOrder("Trading Exchange", stockId, OrderSide.SELL, "101.50", 10)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("NEW"));
+        JsonNode buy = readJson(submitOrder("Trading Exchange", stockId, OrderSide.BUY, "102.00", 4)
+                .andExpect(status().isCreated()));
+
+        assertThat(buy.get("status").asText()).isEqualTo("FILLED");
+        assertThat(buy.get("trades")).hasSize(1);
+        assertThat(buy.get("trades").get(0).get("price").decimalValue()).isEqualByComparingTo("101.50");
+        mockMvc.perform(get("/api/v1/stock-exchange/Trading Exchange/stocks/" + stockId + "/book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asks[0].quantity").value(6))
+                .andExpect(jsonPath("$.bids").isEmpty());
+
+        orderService.publishLastTradePrices();
+        assertThat(awaitCurrentPrice(stockId, new BigDecimal("101.50"))).isEqualByComparingTo("101.50");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void whenCancelOrder_thenCancelledOnceThenNotFound() throws Exception {
+        Long stockId = createStockExchange("Cancel Exchange", 5).get(0).getId();
+        long orderId = readJson(submitOrder("Cancel Exchange", stockId, OrderSide.BUY, "99.00", 3)).get("orderId").asLong();
+
+        mockMvc.perform(delete("/api/v1/stock-exchange/Cancel Exchange/stocks/" + stockId + "/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andExpect(jsonPath("$.remainingQuantity").value(3));
+        mockMvc.perform(delete("/api/v1/stock-exchange/Cancel Exchange/stocks/" + stockId + "/orders/" + orderId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenExchangeNotLive_whenSubmitOrder_thenBadRequest() throws Exception {
+        Long stockId = createStockExchange("Closed Exchange", 1).get(0).getId();
+
+        submitOrder("Closed Exchange", stockId, OrderSide.BUY, "99.00", 3)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenStockNotListed_whenSubmitOrder_thenNotFound() throws Exception {
+        createStockExchange("Listing Exchange", 5);
+        Long unlistedStockId = createStock("Unlisted Stock").getId();
+
+        submitOrder("Listing Exchange", unlistedStockId, OrderSide.BUY, "99.00", 3)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenInvalidOrder_whenSubmitOrder_thenBadRequest() throws Exception {
+        Long stockId = createStockExchange("Validation Exchange", 5).get(0).getId();
+
+        submitOrder("Validation Exchange", stockId, OrderSide.BUY, "99.001", 0)
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Stock> createStockExchange(String name, int stockCount) {
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName(name);
+        stockExchange.setDescription(name + " Description");
+        stockExchange.setStocks(new HashSet<>());
+        stockExchange = stockExchangeRepository.save(stockExchange);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < stockCount; i++) {
+            Stock stock = createStock(name + " Stock " + i);
+            stockExchange.addStock(stock);
+            stocks.add(stock);
+        }
+        stockExchangeRepository.save(stockExchange);
+        return stocks;
+    }
+
+    private Stock createStock(String name) {
+        Stock stock = new Stock();
+        stock.setName(name);
+        stock.setDescription(name + " Description");
+        stock.setCurrentPrice(BigDecimal.valueOf(100.0));
+        stock.setStockExchanges(new HashSet<>());
+        return stockRepository.save(stock);
+    }
+
+    private ResultActions submitOrder(String name, Long stockId, OrderSide side, String price, long quantity) throws Exception {
+        OrderCreateDTO orderCreateDTO = new OrderCreateDTO(side, new BigDecimal(price), quantity);
+        return mockMvc.perform(post("/api/v1/stock-exchange/" + name + "/stocks/" + stockId + "/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderCreateDTO)));
+    }
+
+    private JsonNode readJson(ResultActions resultActions) throws Exception {
+        return objectMapper.readTree(resultActions.andReturn().getResponse().getContentAsString());
+    }
+
+    private BigDecimal awaitCurrentPrice(Long stockId, BigDecimal expected) throws InterruptedException {
+        BigDecimal currentPrice = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            currentPrice = stockRepository.findById(stockId).orElseThrow().getCurrentPrice();
+            if (currentPrice.compareTo(expected) == 0) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        return currentPrice;
+    }
+}
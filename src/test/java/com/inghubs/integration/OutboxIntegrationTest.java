@@ -0,0 +1,179 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.cache.StockNameFilter;
+import com.inghubs.config.OutboxProperties;
+import com.inghubs.dto.StockCreateDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.entity.OutboxEvent;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.outbox.InMemoryOutboxSink;
+import com.inghubs.outbox.OutboxRelay;
+import com.inghubs.repository.OutboxConsumerOffsetRepository;
+import com.inghubs.repository.OutboxEventRepository;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"outbox.sink.type=memory", "outbox.relay.interval-ms=3600000", "outbox.relay.gap-timeout-ms=0"})
+@AutoConfigureMockMvc
+class OutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxConsumerOffsetRepository outboxConsumerOffsetRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private StockNameFilter stockNameFilter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        outboxConsumerOffsetRepository.deleteAll();
+        outboxSink.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenStockIsCreatedAndUpdated_thenEventsAreWrittenToOutboxInOrder() throws Exception {
+        mockMvc.perform(post("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockCreateDTO("Outbox Stock", "Outbox Description", BigDecimal.valueOf(10)))))
+                .andExpect(status().isCreated());
+        Stock stock = stockRepository.findByName("Outbox Stock").orElseThrow();
+        mockMvc.perform(put("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockPriceUpdateDTO(stock.getId(), BigDecimal.valueOf(12)))))
+                .andExpect(status().isOk());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly("CREATED", "PRICE_UPDATED");
+        assertThat(events).allMatch(event -> event.getAggregateId().equals(stock.getId()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenMutationFails_thenNoEventIsWritten() throws Exception {
+        Stock stock = stockRepository.save(Stock.builder().name("Existing").description("Existing").currentPrice(BigDecimal.ONE).build());
+        // saved around the service, and the test schema has no unique constraint on the name to catch the duplicate
+        stockNameFilter.add(stock.getName());
+        StockExchange stockExchange = stockExchangeRepository.save(StockExchange.builder().name("Outbox Exchange").stocks(new HashSet<>()).build());
+
+        mockMvc.perform(post("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockCreateDTO("Existing", "Duplicate", BigDecimal.ONE))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + stock.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getEventType).containsExactly("STOCK_ADDED");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenRelayRuns_thenEventsArePublishedAndOffsetIsExposed() throws Exception {
+        Stock stock = stockRepository.save(Stock.builder().name("Relayed").description("Relayed").currentPrice(BigDecimal.ONE).build());
+        StockExchange stockExchange = stockExchangeRepository.save(StockExchange.builder().name("Relay Exchange").stocks(new HashSet<>()).build());
+        mockMvc.perform(post("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + stock.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockPriceUpdateDTO(stock.getId(), BigDecimal.TEN))))
+                .andExpect(status().isOk());
+
+        assertThat(outboxRelay.relay()).isEqualTo(2);
+        long lastEventId = outboxSink.getEvents().get(1).getId();
+        // the events deleted by earlier tests are gaps to the relay, given up on the next run with a zero timeout
+        assertThat(outboxRelay.relay()).isZero();
+
+        mockMvc.perform(get("/api/v1/outbox/offsets/relay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastEventId").value(lastEventId));
+        mockMvc.perform(get("/api/v1/outbox/events").param("after", String.valueOf(lastEventId - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].eventType").value("PRICE_UPDATED"))
+                .andExpect(jsonPath("$[0].payload.currentPrice").value(10));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenOlderOffsetIsCommitted_thenOffsetDoesNotMoveBackwards() throws Exception {
+        mockMvc.perform(put("/api/v1/outbox/offsets/consumer").param("lastEventId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastEventId").value(5));
+        mockMvc.perform(put("/api/v1/outbox/offsets/consumer").param("lastEventId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastEventId").value(5));
+        mockMvc.perform(get("/api/v1/outbox/events").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenConsumerBehindTheRelay_whenPurge_thenEventsTheConsumerHasNotProcessedAreKept() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(outboxEventRepository.save(OutboxEvent.builder().aggregateType("STOCK").aggregateId((long) i)
+                    .eventType("CREATED").payload("{}").build()).getId());
+        }
+        outboxService.commitOffset(outboxProperties.getRelay().getConsumer(), ids.get(2));
+        outboxService.commitOffset("slow", ids.get(0));
+        long retentionMs = outboxProperties.getRetentionMs();
+        // a negative retention makes the events just written old enough to purge
+        outboxProperties.setRetentionMs(-60_000);
+        try {
+            assertThat(outboxService.purgePublishedEvents()).isOne();
+        } finally {
+            outboxProperties.setRetentionMs(retentionMs);
+        }
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getId).containsExactly(ids.get(1), ids.get(2));
+    }
+}
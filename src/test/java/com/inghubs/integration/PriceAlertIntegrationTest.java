@@ -0,0 +1,121 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.alert.PriceAlertNotifier;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.repository.PriceAlertRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "outbox.relay.enabled=false")
+class PriceAlertIntegrationTest {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PriceAlertRepository priceAlertRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private PriceAlertNotifier priceAlertNotifier;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        priceAlertRepository.deleteAll();
+        stockRepository.findByName("Alert Stock").ifPresent(stockRepository::delete);
+    }
+
+    @Test
+    void givenSubscribedUser_whenPriceCrossesAlertThreshold_thenAlertIsPushedAndRecorded() throws Exception {
+        Stock stock = new Stock();
+        stock.setName("Alert Stock");
+        stock.setDescription("Alert Description");
+        stock.setCurrentPrice(new BigDecimal("100.00"));
+        Long stockId = stockRepository.save(stock).getId();
+
+        HttpResponse<String> created = send("POST", "/api/v1/alerts",
+                objectMapper.writeValueAsString(Map.of("stockId", stockId, "type", "MOVE", "percentage", 5)));
+        assertThat(created.statusCode()).isEqualTo(201);
+        long alertId = objectMapper.readTree(created.body()).get("id").asLong();
+        HttpResponse<String> rejected = send("POST", "/api/v1/alerts",
+                objectMapper.writeValueAsString(Map.of("stockId", stockId, "type", "ABOVE", "price", 99)));
+        assertThat(rejected.statusCode()).isEqualTo(400);
+
+        CompletableFuture<HttpResponse<Stream<String>>> stream = httpClient.sendAsync(request("GET", "/api/v1/alerts/stream", null)
+                .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofLines());
+        awaitSubscriber();
+
+        stockService.updateStockPrice(new StockPriceUpdateDTO(stockId, new BigDecimal("103.00")));
+        stockService.updateStockPrice(new StockPriceUpdateDTO(stockId, new BigDecimal("105.00")));
+
+        Iterator<String> lines = stream.get(5, TimeUnit.SECONDS).body().iterator();
+        String data = null;
+        while (data == null && lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("data:")) {
+                data = line.substring("data:".length());
+            }
+        }
+        JsonNode pushed = objectMapper.readTree(data);
+        assertThat(pushed.get("id").asLong()).isEqualTo(alertId);
+        assertThat(pushed.get("triggeredPrice").decimalValue()).isEqualByComparingTo("105.00");
+
+        JsonNode alerts = objectMapper.readTree(send("GET", "/api/v1/alerts", null).body());
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).get("abovePrice").decimalValue()).isEqualByComparingTo("105.00");
+        assertThat(alerts.get(0).get("belowPrice").decimalValue()).isEqualByComparingTo("95.00");
+        assertThat(alerts.get(0).get("triggeredAt").isNull()).isFalse();
+    }
+
+    private void awaitSubscriber() throws InterruptedException {
+        for (int i = 0; i < 50 && priceAlertNotifier.subscriberCount("user") == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(priceAlertNotifier.subscriberCount("user")).isEqualTo(1);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        return httpClient.send(request(method, path, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+    }
+}
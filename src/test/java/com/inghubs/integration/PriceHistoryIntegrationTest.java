@@ -0,0 +1,107 @@
+package com.inghubs.integration;
+
+import com.inghubs.dto.StockCreateDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"price-history.enabled=true", "outbox.relay.enabled=false"})
+@AutoConfigureMockMvc
+class PriceHistoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @DynamicPropertySource
+    static void historyDirectory(DynamicPropertyRegistry registry) throws IOException {
+        // a new directory per run, so that the history of stock IDs from an earlier run is not read back
+        String directory = Files.createTempDirectory("price-history").toString();
+        registry.add("price-history.directory", () -> directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenPriceUpdates_whenHistoryRead_thenEveryCommittedPriceIsReturned() throws Exception {
+        Instant from = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        StockDTO stock = stockService.createStock(new StockCreateDTO("History Stock", "History Description", new BigDecimal("100.00")));
+        for (String price : new String[]{"101.50", "99.25", "100.75"}) {
+            stockService.updateStockPrice(new StockPriceUpdateDTO(stock.getId(), new BigDecimal(price)));
+        }
+        Instant to = Instant.now().plusSeconds(1);
+
+        mockMvc.perform(get("/api/v1/stock/{id}/history", stock.getId())
+                        .param("from", from.toString()).param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].price").value(100.00))
+                .andExpect(jsonPath("$[3].price").value(100.75));
+        mockMvc.perform(get("/api/v1/stock/{id}/history", stock.getId())
+                        .param("from", from.toString()).param("to", to.toString()).param("limit", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].price").value(101.50));
+        mockMvc.perform(get("/api/v1/stock/{id}/history/bars", stock.getId())
+                        .param("from", from.toString()).param("to", to.toString())
+                        .param("intervalMs", String.valueOf(to.toEpochMilli() - from.toEpochMilli())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].open").value(100.00))
+                .andExpect(jsonPath("$[0].high").value(101.50))
+                .andExpect(jsonPath("$[0].low").value(99.25))
+                .andExpect(jsonPath("$[0].close").value(100.75))
+                .andExpect(jsonPath("$[0].count").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenInvalidRequest_whenHistoryRead_thenRejected() throws Exception {
+        StockDTO stock = stockService.createStock(new StockCreateDTO("History Stock", "History Description", new BigDecimal("100.00")));
+        Instant now = Instant.now();
+
+        mockMvc.perform(get("/api/v1/stock/{id}/history", stock.getId())
+                        .param("from", now.toString()).param("to", now.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/stock/{id}/history/bars", stock.getId())
+                        .param("from", now.minusSeconds(86_400).toString()).param("to", now.toString())
+                        .param("intervalMs", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/stock/{id}/history", Long.MAX_VALUE)
+                        .param("from", now.minusSeconds(60).toString()).param("to", now.toString()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,45 @@
+package com.inghubs.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"rate-limit.requests-per-second=0.5", "rate-limit.burst=2", "outbox.relay.enabled=false"})
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "feed", roles = "ADMIN")
+    void givenClientOverItsRate_whenWriting_thenRejectedWithRetryAfterWhileOthersAreServed() throws Exception {
+        mockMvc.perform(priceUpdate()).andExpect(status().isNotFound());
+        mockMvc.perform(priceUpdate()).andExpect(status().isNotFound());
+
+        mockMvc.perform(priceUpdate())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Too many requests, retry after 2 seconds"));
+        mockMvc.perform(get("/api/v1/stock/changes")).andExpect(status().isOk());
+        mockMvc.perform(priceUpdate().with(user("other").roles("ADMIN"))).andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder priceUpdate() {
+        return put("/api/v1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":999999,\"currentPrice\":150.0}");
+    }
+}
@@ -0,0 +1,106 @@
+package com.inghubs.integration;
+
+import com.inghubs.StockExchangeApplication;
+import com.inghubs.cache.StockExchangeCache;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockExchangeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Latency benchmark of the load behind {@code GET /api/v1/stock-exchange/{name}}, with and without the l2cache
+ * profile.
+ * <p>
+ * A warm GET is served from the assembled response cache either way, so the benchmark clears that cache before
+ * every call and measures the load that runs after each invalidation. It calls the service rather than the endpoint,
+ * as the password check of HTTP basic authentication would take most of the time of a request. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) com.inghubs.integration.SecondLevelCacheBenchmark [stocks] [loads]
+ * </pre>
+ */
+public final class SecondLevelCacheBenchmark {
+
+    private static final String NAME = "Benchmark Exchange";
+
+    private SecondLevelCacheBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int stocks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int loads = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        run("without second-level cache", "default", stocks, loads);
+        run("with second-level cache", "l2cache", stocks, loads);
+    }
+
+    private static void run(String label, String profile, int stocks, int loads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StockExchangeApplication.class).run(
+                "--spring.profiles.active=" + profile,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + profile,
+                "--outbox.relay.enabled=false",
+                "--logging.level.root=WARN")) {
+            seed(context, stocks);
+            StockExchangeCache stockExchangeCache = context.getBean(StockExchangeCache.class);
+            StockExchangeService stockExchangeService = context.getBean(StockExchangeService.class);
+
+            measure(stockExchangeService, stockExchangeCache, loads / 5);
+            long[] latencies = measure(stockExchangeService, stockExchangeCache, loads);
+            System.out.printf("%-28s %,d stocks: mean %,d us, p50 %,d us, p99 %,d us%n", label, stocks,
+                    mean(latencies) / 1_000, latencies[latencies.length / 2] / 1_000,
+                    latencies[latencies.length * 99 / 100] / 1_000);
+        }
+    }
+
+    private static long[] measure(StockExchangeService stockExchangeService, StockExchangeCache stockExchangeCache,
+                                  int loads) {
+        long[] latencies = new long[loads];
+        for (int i = 0; i < loads; i++) {
+            stockExchangeCache.clear();
+            long start = System.nanoTime();
+            stockExchangeService.getStockExchangeJson(NAME);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long mean(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int count) {
+        StockRepository stockRepository = context.getBean(StockRepository.class);
+        StockExchangeRepository stockExchangeRepository = context.getBean(StockExchangeRepository.class);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setName("Benchmark Stock " + i);
+            stock.setDescription("Benchmark Description " + i);
+            stock.setCurrentPrice(BigDecimal.valueOf(100 + i));
+            stocks.add(stock);
+        }
+        List<Stock> saved = stockRepository.saveAll(stocks);
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName(NAME);
+        stockExchange.setDescription("Benchmark Description");
+        stockExchange.setStocks(new HashSet<>());
+        Long stockExchangeId = stockExchangeRepository.save(stockExchange).getId();
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status ->
+                saved.forEach(stock -> stockExchangeRepository.insertStock(stockExchangeId, stock.getId())));
+    }
+}
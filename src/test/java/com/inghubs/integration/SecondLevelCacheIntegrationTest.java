@@ -0,0 +1,144 @@
+package com.inghubs.integration;
+
+import com.inghubs.cache.StockExchangeCache;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockExchangeService;
+import com.inghubs.service.StockService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the l2cache profile on its own database, so that no other context writes behind its cache.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "outbox.relay.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:l2cache"})
+@ActiveProfiles("l2cache")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private StockExchangeService stockExchangeService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private StockExchangeCache stockExchangeCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+        stockExchangeCache.clear();
+    }
+
+    @Test
+    void givenLoadedStockExchange_whenLoadedAgainByName_thenServedFromCacheWithoutStatements() {
+        createStockExchange("Cached Exchange", createStocks("Cached", 3));
+        stockExchangeService.getStockExchangeByName("Cached Exchange");
+
+        statistics.clear();
+        StockExchange stockExchange = stockExchangeService.getStockExchangeByName("Cached Exchange");
+
+        assertThat(stockExchange.getStocks()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenCachedStock_whenPriceUpdated_thenNextReadSeesNewPriceAndVersionFromCache() {
+        Stock stock = createStocks("Priced", 1).get(0);
+        stockService.getStockById(stock.getId());
+
+        stockService.updateStockPrice(StockPriceUpdateDTO.builder().id(stock.getId()).currentPrice(BigDecimal.valueOf(150)).build());
+        statistics.clear();
+        Stock updated = stockService.getStockById(stock.getId());
+
+        assertThat(updated.getCurrentPrice()).isEqualByComparingTo("150");
+        assertThat(updated.getVersion()).isEqualTo(stock.getVersion() + 1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenCachedStockExchange_whenMembershipChanges_thenCachedQueriesAndStocksAreInvalidated() {
+        List<Stock> stocks = createStocks("Member", 5);
+        createStockExchange("Member Exchange", stocks.subList(0, 4));
+        Long addedStockId = stocks.get(4).getId();
+        assertThat(stockExchangeService.getStockExchangeByName("Member Exchange").getStocks()).hasSize(4);
+        assertThat(stockExchangeRepository.findAllByStockId(addedStockId)).isEmpty();
+
+        stockExchangeService.addStockToStockExchange("Member Exchange", addedStockId);
+
+        StockExchange stockExchange = stockExchangeService.getStockExchangeByName("Member Exchange");
+        assertThat(stockExchange.getStocks()).hasSize(5);
+        assertThat(stockExchange.isLiveInMarket()).isTrue();
+        assertThat(stockExchangeRepository.findAllByStockId(addedStockId)).hasSize(1);
+
+        stockService.deleteStock(addedStockId);
+
+        stockExchange = stockExchangeService.getStockExchangeByName("Member Exchange");
+        assertThat(stockExchange.getStocks()).hasSize(4);
+        assertThat(stockExchange.isLiveInMarket()).isFalse();
+        assertThat(stockExchangeRepository.findAllByStockId(addedStockId)).isEmpty();
+    }
+
+    private List<Stock> createStocks(String prefix, int count) {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setName(prefix + " Stock " + i);
+            stock.setDescription("Description");
+            stock.setCurrentPrice(BigDecimal.valueOf(100));
+            stocks.add(stock);
+        }
+        return stockRepository.saveAll(stocks);
+    }
+
+    private void createStockExchange(String name, List<Stock> stocks) {
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName(name);
+        stockExchange.setDescription("Description");
+        stockExchange.setStocks(new HashSet<>());
+        Long stockExchangeId = stockExchangeRepository.save(stockExchange).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                stocks.forEach(stock -> stockExchangeRepository.insertStock(stockExchangeId, stock.getId())));
+    }
+}
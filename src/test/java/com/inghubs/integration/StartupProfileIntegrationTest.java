@@ -0,0 +1,48 @@
+package com.inghubs.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "spring.datasource.url=jdbc:h2:mem:startup"})
+@ActiveProfiles("startup")
+@AutoConfigureMockMvc
+class StartupProfileIntegrationTest {
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenStartupProfile_whenStarted_thenApplicationBeansAreEagerAndOpenApiIsNotBuilt() {
+        var beanFactory = applicationContext.getBeanFactory();
+
+        assertThat(beanFactory.getBeanDefinition("customOpenAPI").isLazyInit()).isTrue();
+        assertThat(beanFactory.containsSingleton("customOpenAPI")).isFalse();
+        assertThat(beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class)).isEmpty();
+        assertThat(beanFactory.containsSingleton("stockServiceImpl")).isTrue();
+        assertThat(beanFactory.containsSingleton("stockRepository")).isTrue();
+        assertThat(beanFactory.containsSingleton("stockExchangeCache")).isTrue();
+    }
+
+    @Test
+    @WithMockUser
+    void givenStartupProfile_whenStockExchangeRequested_thenServed() throws Exception {
+        mockMvc.perform(get("/api/v1/stock-exchange/A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("A"));
+    }
+}
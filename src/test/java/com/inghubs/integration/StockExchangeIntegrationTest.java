@@ -1,10 +1,13 @@
 package com.inghubs.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.cache.StockExchangeCache;
 import com.inghubs.entity.Stock;
 import com.inghubs.entity.StockExchange;
 import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockExchangeIndexService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,12 +25,15 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -44,6 +50,12 @@ class StockExchangeIntegrationTest {
     @Autowired
     private StockExchangeRepository stockExchangeRepository;
 
+    @Autowired
+    private StockExchangeCache stockExchangeCache;
+
+    @Autowired
+    private StockExchangeIndexService stockExchangeIndexService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -63,6 +75,7 @@ class StockExchangeIntegrationTest {
     void tearDownAfterEach() {
         stockExchangeRepository.deleteAll();
         stockRepository.deleteAll();
+        stockExchangeCache.clear();
     }
 
     private Stock createStock(String name, String description, BigDecimal price) {
@@ -93,6 +106,75 @@ class StockExchangeIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenCachedStockExchange_whenStockPriceIsUpdated_thenGetStockExchangeReturnsNewPrice() throws Exception {
+        StockExchange stockExchange = createStockExchange("Test Exchange", "Test Description");
+        Stock stock = createStock("Test Stock", "Test Stock Description", BigDecimal.valueOf(100.0));
+        mockMvc.perform(post("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + stock.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertThat(getStockExchangePrice(stockExchange.getName())).isEqualByComparingTo("100.0");
+        assertThat(stockExchangeCache.get(stockExchange.getName())).isNotNull();
+
+        mockMvc.perform(put("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + stock.getId() + ",\"currentPrice\":150.0}"))
+                .andExpect(status().isOk());
+
+        assertThat(getStockExchangePrice(stockExchange.getName())).isEqualByComparingTo("150.0");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenStocksAddedAndRepriced_whenGetStockExchangeIndex_thenAggregatesFollow() throws Exception {
+        StockExchange stockExchange = createStockExchange("Test Exchange", "Test Description");
+        Stock first = createStock("First Stock", "Test Stock Description", new BigDecimal("10.00"));
+        Stock second = createStock("Second Stock", "Test Stock Description", new BigDecimal("30.00"));
+        stockExchangeIndexService.rebuildIndex();
+
+        mockMvc.perform(get("/api/v1/stock-exchange/" + stockExchange.getName() + "/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockCount").value(0))
+                .andExpect(jsonPath("$.averagePrice").doesNotExist());
+
+        for (Stock stock : List.of(first, second)) {
+            mockMvc.perform(post("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + stock.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(put("/api/v1/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + first.getId() + ",\"currentPrice\":40.0}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + second.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/stock-exchange/" + stockExchange.getName() + "?stockId=" + second.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/stock-exchange/" + stockExchange.getName() + "/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockCount").value(2))
+                .andExpect(jsonPath("$.priceSum").value(70.00))
+                .andExpect(jsonPath("$.minPrice").value(30.00))
+                .andExpect(jsonPath("$.maxPrice").value(40.00))
+                .andExpect(jsonPath("$.averagePrice").value(35.00));
+        mockMvc.perform(get("/api/v1/stock-exchange/Unknown Exchange/index"))
+                .andExpect(status().isNotFound());
+    }
+
+    private BigDecimal getStockExchangePrice(String name) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/stock-exchange/" + name)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode stocks = objectMapper.readTree(body).get("stocks");
+        return stocks.get(0).get("currentPrice").decimalValue();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void whenAddStockToStockExchange_thenUpdated() throws Exception {
@@ -103,7 +185,7 @@ class StockExchangeIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        StockExchange updatedStockExchange = stockExchangeRepository.findById(stockExchange.getId()).orElse(null);
+        StockExchange updatedStockExchange = stockExchangeRepository.findWithStocksById(stockExchange.getId()).orElse(null);
         assertThat(updatedStockExchange).isNotNull();
         assertThat(updatedStockExchange.getStocks()).contains(stock);
     }
@@ -120,7 +202,7 @@ class StockExchangeIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        StockExchange updatedStockExchange = stockExchangeRepository.findById(stockExchange.getId()).orElse(null);
+        StockExchange updatedStockExchange = stockExchangeRepository.findWithStocksById(stockExchange.getId()).orElse(null);
         assertThat(updatedStockExchange).isNotNull();
         assertThat(updatedStockExchange.getStocks()).doesNotContain(stock);
     }
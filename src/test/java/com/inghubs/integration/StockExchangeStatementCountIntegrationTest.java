@@ -0,0 +1,202 @@
+package com.inghubs.integration;
+
+import com.inghubs.cache.StockExchangeCache;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockExchangeService;
+import com.inghubs.service.StockService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with Hibernate statistics that membership changes and stock deletion run a fixed number of statements,
+ * whatever the number of stocks listed on the stock exchange or of stock exchanges listing the stock, and that a
+ * burst of identical reads runs one query.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "outbox.relay.enabled=false"})
+class StockExchangeStatementCountIntegrationTest {
+
+    @Autowired
+    private StockExchangeService stockExchangeService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private StockExchangeCache stockExchangeCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+        stockExchangeCache.clear();
+    }
+
+    @Test
+    void givenSmallAndLargeStockExchanges_whenAddAndRemoveStock_thenSameStatementCount() {
+        createStockExchange("Small", createStocks("Small", 2));
+        createStockExchange("Large", createStocks("Large", 200));
+        Long smallStockId = createStocks("New Small", 1).get(0).getId();
+        Long largeStockId = createStocks("New Large", 1).get(0).getId();
+
+        long addToSmall = countStatements(() -> stockExchangeService.addStockToStockExchange("Small", smallStockId));
+        long addToLarge = countStatements(() -> stockExchangeService.addStockToStockExchange("Large", largeStockId));
+        long removeFromSmall = countStatements(() -> stockExchangeService.removeStockFromStockExchange("Small", smallStockId));
+        long removeFromLarge = countStatements(() -> stockExchangeService.removeStockFromStockExchange("Large", largeStockId));
+
+        assertThat(addToLarge).isEqualTo(addToSmall).isLessThanOrEqualTo(7);
+        assertThat(removeFromLarge).isEqualTo(removeFromSmall).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void givenStockListedOnOneOrManyStockExchanges_whenDeleteStock_thenSameStatementCount() {
+        Stock listedOnce = createStocks("Listed Once", 1).get(0);
+        Stock listedOften = createStocks("Listed Often", 1).get(0);
+        createStockExchange("Exchange 0", List.of(listedOnce, listedOften));
+        for (int i = 1; i < 20; i++) {
+            createStockExchange("Exchange " + i, List.of(listedOften));
+        }
+
+        long deleteListedOnce = countStatements(() -> stockService.deleteStock(listedOnce.getId()));
+        long deleteListedOften = countStatements(() -> stockService.deleteStock(listedOften.getId()));
+
+        // 7 statements, plus the change sequence value drawn by the changes feed watermark
+        assertThat(deleteListedOften).isEqualTo(deleteListedOnce).isLessThanOrEqualTo(7 + 1);
+        assertThat(stockExchangeRepository.findAllByStockId(listedOften.getId())).isEmpty();
+    }
+
+    @Test
+    void givenStocksListedOnOneOrManyStockExchanges_whenDeleteStocks_thenSameStatementCount() {
+        List<Stock> listedOnce = createStocks("Listed Once", 10);
+        List<Stock> listedOften = createStocks("Listed Often", 10);
+        createStockExchange("Exchange 0", listedOnce);
+        for (int i = 1; i <= 20; i++) {
+            createStockExchange("Exchange " + i, listedOften);
+        }
+
+        long deleteListedOnce = countStatements(() -> stockService.deleteStocks(listedOnce.stream().map(Stock::getId).toList()));
+        long deleteListedOften = countStatements(() -> stockService.deleteStocks(listedOften.stream().map(Stock::getId).toList()));
+
+        // 5 statements for the delete, the change sequence value drawn by the changes feed watermark, and one outbox
+        // write per deleted stock after commit
+        assertThat(deleteListedOften).isEqualTo(deleteListedOnce).isLessThanOrEqualTo(5 + 1 + 10);
+        assertThat(stockRepository.findAllById(listedOften.stream().map(Stock::getId).toList())).isEmpty();
+        for (int i = 0; i <= 20; i++) {
+            StockExchange stockExchange = stockExchangeRepository.findWithStocksByName("Exchange " + i).orElseThrow();
+            assertThat(stockExchange.getStocks()).isEmpty();
+            assertThat(stockExchange.getVersion()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void givenStockExchangeAtLiveThreshold_whenStockAddedRemovedOrDeleted_thenLiveInMarketIsRecomputed() {
+        List<Stock> stocks = createStocks("Live", 5);
+        createStockExchange("Live Exchange", stocks.subList(0, 4));
+
+        assertThat(stockExchangeService.addStockToStockExchange("Live Exchange", stocks.get(4).getId()).isLiveInMarket()).isTrue();
+        assertThat(stockExchangeService.removeStockFromStockExchange("Live Exchange", stocks.get(4).getId()).isLiveInMarket()).isFalse();
+        stockExchangeService.addStockToStockExchange("Live Exchange", stocks.get(4).getId());
+
+        stockService.deleteStock(stocks.get(0).getId());
+
+        StockExchange stockExchange = stockExchangeRepository.findWithStocksByName("Live Exchange").orElseThrow();
+        assertThat(stockExchange.isLiveInMarket()).isFalse();
+        assertThat(stockExchange.getStocks()).hasSize(4);
+        assertThat(stockExchange.getVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void givenBurstOfConcurrentIdenticalReads_whenGetStockExchange_thenOneQueryIsRun() throws Exception {
+        createStockExchange("Popular", createStocks("Popular", 200));
+        int readers = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        List<Future<StockExchangeDTO>> reads = new ArrayList<>();
+        statistics.clear();
+        try {
+            for (int i = 0; i < readers; i++) {
+                reads.add(executor.submit(() -> {
+                    start.await();
+                    return stockExchangeService.getStockExchange("Popular");
+                }));
+            }
+            start.countDown();
+            for (Future<StockExchangeDTO> read : reads) {
+                assertThat(read.get(10, TimeUnit.SECONDS).getStocks()).hasSize(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Stock> createStocks(String prefix, int count) {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setName(prefix + " Stock " + i);
+            stock.setDescription("Description");
+            stock.setCurrentPrice(BigDecimal.valueOf(100));
+            stocks.add(stock);
+        }
+        return stockRepository.saveAll(stocks);
+    }
+
+    private void createStockExchange(String name, List<Stock> stocks) {
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName(name);
+        stockExchange.setDescription("Description");
+        stockExchange.setStocks(new HashSet<>());
+        Long stockExchangeId = stockExchangeRepository.save(stockExchange).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                stocks.forEach(stock -> stockExchangeRepository.insertStock(stockExchangeId, stock.getId())));
+    }
+}
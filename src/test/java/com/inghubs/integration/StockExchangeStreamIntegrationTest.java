@@ -0,0 +1,189 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.dto.StockExchangeDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockExchangeStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StockExchangeStreamIntegrationTest {
+
+    private static final int STOCK_COUNT = 200;
+    private static final int SMALL_EXCHANGE_STOCKS = 10_000;
+    private static final int LARGE_EXCHANGE_STOCKS = 200_000;
+    private static final long MEASURED_AFTER_BYTES = 256 * 1_024;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private StockExchangeStreamService stockExchangeStreamService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        StockExchange stockExchange = new StockExchange();
+        stockExchange.setName("Stream Exchange");
+        stockExchange.setDescription("Stream Exchange Description");
+        stockExchange.setStocks(new HashSet<>());
+        stockExchange = stockExchangeRepository.save(stockExchange);
+        for (int i = 0; i < STOCK_COUNT; i++) {
+            Stock stock = new Stock();
+            stock.setName("Stream Stock " + i);
+            stock.setDescription("Stream Stock Description " + i);
+            stock.setCurrentPrice(BigDecimal.valueOf(100 + i));
+            stock.setStockExchanges(new HashSet<>());
+            stockExchange.addStock(stockRepository.save(stock));
+        }
+        stockExchangeRepository.save(stockExchange);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockExchangeRepository.deleteAll();
+        stockRepository.deleteAll();
+    }
+
+    @Test
+    void whenStreamStockExchange_thenSameContentAsGetStockExchange() throws Exception {
+        JsonNode streamed = objectMapper.readTree(exchange("/api/v1/stock-exchange/Stream Exchange/stream", null).getBody());
+        JsonNode loaded = objectMapper.readTree(exchange("/api/v1/stock-exchange/Stream Exchange", null).getBody());
+
+        assertThat(streamed.get("name").asText()).isEqualTo("Stream Exchange");
+        assertThat(streamed.get("liveInMarket").asBoolean()).isTrue();
+        assertThat(streamed.get("stocks")).hasSize(STOCK_COUNT);
+        assertThat(new HashSet<>(objectMapper.convertValue(streamed.get("stocks"), List.class)))
+                .isEqualTo(new HashSet<>(objectMapper.convertValue(loaded.get("stocks"), List.class)));
+    }
+
+    @Test
+    void givenGzipAccepted_whenStreamStockExchange_thenResponseIsCompressed() throws Exception {
+        ResponseEntity<byte[]> response = exchange("/api/v1/stock-exchange/Stream Exchange/stream", "gzip");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(objectMapper.readTree(gunzip(response.getBody())).get("stocks")).hasSize(STOCK_COUNT);
+    }
+
+    @Test
+    void givenNonExistentName_whenStreamStockExchange_thenNotFound() {
+        ResponseEntity<byte[]> response = exchange("/api/v1/stock-exchange/Non Existent/stream", null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void givenLargerExchange_whenStreamStockExchange_thenHeapDoesNotGrowWithTheNumberOfStocks() throws IOException {
+        insertExchange("Small Bulk Exchange", "Small Bulk Stock ", SMALL_EXCHANGE_STOCKS);
+        insertExchange("Large Bulk Exchange", "Large Bulk Stock ", LARGE_EXCHANGE_STOCKS);
+        try {
+            // once before measuring, so that the memory held after the inserts is released
+            heapGrowthWhileStreaming("Large Bulk Exchange");
+            long small = heapGrowthWhileStreaming("Small Bulk Exchange");
+            long large = heapGrowthWhileStreaming("Large Bulk Exchange");
+
+            // a result set built in memory would hold another 190,000 rows, several MB, when the heap is measured
+            assertThat(large - small).isLessThan(2 * 1_024 * 1_024);
+        } finally {
+            jdbcTemplate.update("DELETE FROM stock_exchange_stock WHERE stock_exchange_id IN "
+                    + "(SELECT id FROM stock_exchange WHERE name LIKE '% Bulk Exchange')");
+            jdbcTemplate.update("DELETE FROM stock WHERE name LIKE '% Bulk Stock %'");
+            jdbcTemplate.update("DELETE FROM stock_exchange WHERE name LIKE '% Bulk Exchange'");
+        }
+    }
+
+    private void insertExchange(String name, String stockPrefix, int stocks) {
+        jdbcTemplate.update("INSERT INTO stock_exchange (name, description, live_in_market, version) VALUES (?, ?, TRUE, 0)", name, name);
+        jdbcTemplate.update("INSERT INTO stock (name, description, current_price, last_update, version) "
+                + "SELECT ? || X, 'Bulk Stock Description ' || X, X, CURRENT_TIMESTAMP, 0 FROM SYSTEM_RANGE(1, ?)", stockPrefix, stocks);
+        jdbcTemplate.update("INSERT INTO stock_exchange_stock (stock_exchange_id, stock_id) "
+                + "SELECT e.id, s.id FROM stock_exchange e JOIN stock s ON s.name LIKE ? || '%' WHERE e.name = ?", stockPrefix, name);
+    }
+
+    /**
+     * @return the growth of the used heap from before the stream started until the first stocks were written
+     */
+    private long heapGrowthWhileStreaming(String name) throws IOException {
+        StockExchangeDTO header = stockExchangeStreamService.getStockExchangeHeader(name);
+        long[] measured = new long[1];
+        OutputStream outputStream = new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+                if (measured[0] == 0 && written > MEASURED_AFTER_BYTES) {
+                    measured[0] = usedHeap();
+                }
+            }
+        };
+        long before = usedHeap();
+        stockExchangeStreamService.writeStockExchange(header, outputStream);
+        assertThat(measured[0]).isPositive();
+        return measured[0] - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private ResponseEntity<byte[]> exchange(String url, String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        if (acceptEncoding != null) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return restTemplate.withBasicAuth("user", "password")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
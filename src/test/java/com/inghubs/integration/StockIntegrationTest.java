@@ -1,11 +1,13 @@
 package com.inghubs.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
 import com.inghubs.entity.Stock;
 import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
+import com.inghubs.service.StockService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,12 +18,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -43,6 +50,12 @@ class StockIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -90,6 +103,70 @@ class StockIntegrationTest {
         assertThat(deletedStock).isNull();
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenGetStockChanges_thenChangesSinceTokenReturned() throws Exception {
+        Stock deletedStock = createStock("Stock to Delete", "Description to Delete", BigDecimal.valueOf(100.0));
+        String token = getStockChanges(null).get("nextToken").asText();
+
+        performPostRequest("/api/v1/stock", new StockCreateDTO("Test Stock", "Test Description", BigDecimal.valueOf(100.0)));
+        performDeleteRequest("/api/v1/stock/" + deletedStock.getId());
+        JsonNode changes = getStockChanges(token);
+
+        assertThat(changes.get("changed")).hasSize(1);
+        assertThat(changes.get("changed").get(0).get("name").asText()).isEqualTo("Test Stock");
+        assertThat(changes.get("deleted")).hasSize(1);
+        assertThat(changes.get("deleted").get(0).asLong()).isEqualTo(deletedStock.getId());
+        assertThat(changes.get("hasMore").asBoolean()).isFalse();
+        assertThat(getStockChanges(changes.get("nextToken").asText()).get("changed")).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenChangeCommittedAfterALaterOne_whenGetStockChanges_thenNeitherIsSkipped() throws Exception {
+        Stock slowStock = createStock("Slow Stock", "Slow Description", BigDecimal.valueOf(100.0));
+        Stock fastStock = createStock("Fast Stock", "Fast Description", BigDecimal.valueOf(100.0));
+        String token = getStockChanges(null).get("nextToken").asText();
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // draws its change sequence value first, and commits after the fast update
+        CompletableFuture<Void> slowUpdate = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            stockService.updateStockPrice(new StockPriceUpdateDTO(slowStock.getId(), BigDecimal.valueOf(101.0)));
+            stockRepository.flush();
+            flushed.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        flushed.await();
+        stockService.updateStockPrice(new StockPriceUpdateDTO(fastStock.getId(), BigDecimal.valueOf(102.0)));
+
+        JsonNode whileRunning = getStockChanges(token);
+        commit.countDown();
+        slowUpdate.join();
+        JsonNode afterCommit = getStockChanges(whileRunning.get("nextToken").asText());
+
+        assertThat(whileRunning.get("changed")).isEmpty();
+        assertThat(whileRunning.get("nextToken").asText()).isEqualTo(token);
+        assertThat(afterCommit.get("changed")).extracting(stock -> stock.get("name").asText())
+                .containsExactly("Slow Stock", "Fast Stock");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenCreateAndDeleteStock_thenSearchIndexFollows() throws Exception {
+        performPostRequest("/api/v1/stock", new StockCreateDTO("Searchable Stock", "Findable Description", BigDecimal.valueOf(100.0)));
+        assertThat(searchStocks("searchab")).hasSize(1);
+        assertThat(searchStocks("findable").get(0).get("name").asText()).isEqualTo("Searchable Stock");
+
+        Stock stock = stockRepository.findByName("Searchable Stock").orElseThrow();
+        performDeleteRequest("/api/v1/stock/" + stock.getId());
+        assertThat(searchStocks("searchab")).isEmpty();
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void whenUserRoleCreateStock_thenForbidden() throws Exception {
@@ -131,6 +208,24 @@ class StockIntegrationTest {
         return stockRepository.save(stock);
     }
 
+    private JsonNode searchStocks(String query) throws Exception {
+        String response = mockMvc.perform(get("/api/v1/stock/search").param("q", query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private JsonNode getStockChanges(String since) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/v1/stock/changes").param("limit", "5000");
+        if (since != null) {
+            request.param("since", since);
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
     private void performPostRequest(String url, Object content) throws Exception {
         mockMvc.perform(post(url)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,115 @@
+package com.inghubs.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.entity.Stock;
+import com.inghubs.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"pipeline.enabled=true", "pipeline.buffer-size=64",
+        "pipeline.journal.file=target/pipeline-test/price-updates.bin"})
+@AutoConfigureMockMvc
+class StockPriceUpdatePipelineIntegrationTest {
+
+    private static final Path JOURNAL = Path.of("target/pipeline-test/price-updates.bin");
+    private static final int JOURNAL_RECORD_BYTES = 24;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAll();
+    }
+
+    @Test
+    void whenUpdateStockPrice_thenUpdatedThroughPipelineAndJournaled() throws Exception {
+        Stock stock = stockRepository.save(Stock.builder().name("Pipeline Stock").description("Pipeline Description")
+                .currentPrice(BigDecimal.valueOf(100.0)).build());
+        long journalSize = Files.size(JOURNAL);
+
+        updateStockPrice(new StockPriceUpdateDTO(stock.getId(), BigDecimal.valueOf(150.25)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(stock.getId()))
+                .andExpect(jsonPath("$.currentPrice").value(150.25));
+
+        assertThat(stockRepository.findById(stock.getId()).orElseThrow().getCurrentPrice())
+                .isEqualByComparingTo(BigDecimal.valueOf(150.25));
+        assertThat(Files.size(JOURNAL)).isEqualTo(journalSize + JOURNAL_RECORD_BYTES);
+    }
+
+    @Test
+    void givenNonExistingStock_whenUpdateStockPrice_thenNotFound() throws Exception {
+        updateStockPrice(new StockPriceUpdateDTO(Long.MAX_VALUE, BigDecimal.valueOf(150.0)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenConcurrentUpdates_whenUpdateStockPrice_thenEveryUpdateCompletesAndLastPriceWins() throws Exception {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            stocks.add(stockRepository.save(Stock.builder().name("Concurrent Stock " + i).description("Description")
+                    .currentPrice(BigDecimal.valueOf(100.0)).build()));
+        }
+        int updatesPerStock = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(stocks.size());
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (Stock stock : stocks) {
+                statuses.add(executor.submit(() -> {
+                    int ok = 0;
+                    for (int i = 1; i <= updatesPerStock; i++) {
+                        int status = updateStockPrice(new StockPriceUpdateDTO(stock.getId(), BigDecimal.valueOf(i)))
+                                .andReturn().getResponse().getStatus();
+                        ok += status == 200 ? 1 : 0;
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(updatesPerStock);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Stock stock : stocks) {
+            assertThat(stockRepository.findById(stock.getId()).orElseThrow().getCurrentPrice())
+                    .isEqualByComparingTo(BigDecimal.valueOf(updatesPerStock));
+        }
+    }
+
+    private ResultActions updateStockPrice(StockPriceUpdateDTO update) throws Exception {
+        return mockMvc.perform(put("/api/v1/stock")
+                .with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)));
+    }
+}
@@ -0,0 +1,211 @@
+package com.inghubs.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are started on a fixed schedule at the target rate, whether or not earlier
+ * requests have completed, and a weighted mix of operations picks what each request does.
+ * <p>
+ * Latency is measured from the time a request was scheduled to start, not from the time it was sent. If the
+ * generator or the server falls behind, the time requests spent waiting for their turn is counted, instead of being
+ * hidden by a client that only sends once the previous response came back (coordinated omission).
+ */
+public final class LoadGenerator {
+
+    private final Map<String, Integer> weights = new LinkedHashMap<>();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private int totalWeight;
+
+    /**
+     * Adds an operation to the mix, picked for {@code weight} out of the sum of all weights requests.
+     */
+    public LoadGenerator add(String name, int weight, Operation operation) {
+        if (weight > 0) {
+            weights.put(name, weight);
+            operations.put(name, operation);
+            totalWeight += weight;
+        }
+        return this;
+    }
+
+    /**
+     * Runs the mix at {@code rate} requests per second for {@code duration}, then waits for outstanding requests.
+     */
+    public Report run(double rate, Duration duration) throws InterruptedException {
+        Map<String, OperationReport> reports = new LinkedHashMap<>();
+        operations.keySet().forEach(name -> reports.put(name, new OperationReport(name)));
+        AtomicLong outstanding = new AtomicLong();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            String name = next();
+            OperationReport report = reports.get(name);
+            long scheduledStart = scheduled;
+            outstanding.incrementAndGet();
+            CompletableFuture<? extends HttpResponse<?>> response;
+            try {
+                response = operations.get(name).send();
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((result, failure) -> {
+                report.record(System.nanoTime() - scheduledStart,
+                        failure == null && result.statusCode() >= 200 && result.statusCode() < 300);
+                outstanding.decrementAndGet();
+            });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return new Report(new ArrayList<>(reports.values()), System.nanoTime() - start, outstanding.get());
+    }
+
+    private String next() {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    /**
+     * Starts one request and returns its response, without blocking.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        CompletableFuture<? extends HttpResponse<?>> send();
+    }
+
+    /**
+     * Latencies and failures of one operation of the mix.
+     */
+    public static final class OperationReport {
+        private final String name;
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final AtomicLong errors = new AtomicLong();
+
+        private OperationReport(String name) {
+            this.name = name;
+        }
+
+        private void record(long latencyNanos, boolean success) {
+            latencies.recordValue(latencyNanos);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Histogram getLatencies() {
+            return latencies;
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+
+    /**
+     * Result of a run: per operation reports and their totals.
+     */
+    public static final class Report {
+        private final List<OperationReport> operations;
+        private final long elapsedNanos;
+        private final long unfinished;
+        private final Histogram latencies = new Histogram(3);
+        private final long errors;
+
+        private Report(List<OperationReport> operations, long elapsedNanos, long unfinished) {
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.unfinished = unfinished;
+            long errorCount = 0;
+            for (OperationReport operation : operations) {
+                latencies.add(operation.getLatencies());
+                errorCount += operation.getErrors();
+            }
+            this.errors = errorCount;
+        }
+
+        public List<OperationReport> getOperations() {
+            return operations;
+        }
+
+        public Histogram getLatencies() {
+            return latencies;
+        }
+
+        public long getRequests() {
+            return latencies.getTotalCount();
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return requests started but not completed within 30 seconds of the end of the run
+         */
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        /**
+         * @return completed requests per second
+         */
+        public double getThroughput() {
+            return getRequests() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        /**
+         * @return the latency at the percentile, in milliseconds
+         */
+        public double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        public String format() {
+            StringBuilder table = new StringBuilder(String.format("%-12s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+            for (OperationReport operation : operations) {
+                appendRow(table, operation.getName(), operation.getLatencies(), operation.getErrors());
+            }
+            appendRow(table, "total", latencies, errors);
+            table.append(String.format("throughput %.1f requests/s, %d unfinished%n", getThroughput(), unfinished));
+            return table.toString();
+        }
+
+        private static void appendRow(StringBuilder table, String name, Histogram histogram, long errors) {
+            table.append(String.format("%-12s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                    errors, histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.inghubs.load;
+
+import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockExchange;
+import com.inghubs.repository.StockExchangeRepository;
+import com.inghubs.repository.StockRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: seeds stocks and stock exchanges, then drives a mix of stock exchange reads, price updates
+ * and membership changes over HTTP with an open-loop {@link LoadGenerator}, and fails if latency, errors or
+ * throughput cross their thresholds.
+ * <p>
+ * Excluded from the default build. Run with {@code mvn test -Pload-test}, overriding any {@code load.*} setting
+ * with a system property, e.g. {@code -Dload.rate=100 -Dload.duration-seconds=60}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load", "outbox.relay.enabled=false", "users.bcrypt-strength=4",
+        "rate-limit.requests-per-second=100000", "rate-limit.burst=100000", "logging.level.root=WARN"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StockExchangeLoadTest {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    private static final int STOCKS = Integer.getInteger("load.stocks", 1_000);
+    private static final int STOCK_EXCHANGES = Integer.getInteger("load.exchanges", 20);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "50"));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+    private static final String MIX = System.getProperty("load.mix", "read:70,update:25,membership:5");
+    private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("load.max-p99-ms", "200"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.001"));
+    private static final double MIN_THROUGHPUT_RATIO = Double.parseDouble(System.getProperty("load.min-throughput-ratio", "0.95"));
+
+    private static final int OUT = 0;
+    private static final int BUSY = 1;
+    private static final int IN = 2;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockExchangeRepository stockExchangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final List<String> stockExchangeNames = new ArrayList<>();
+    private final List<Long> listedStockIds = new ArrayList<>();
+    private final List<Long> floatingStockIds = new ArrayList<>();
+    private AtomicIntegerArray floatingStates;
+
+    /**
+     * Lists the first half of the stocks on the stock exchanges, round robin. The other half float in and out of
+     * the stock exchanges through the membership operation.
+     */
+    @BeforeAll
+    void seed() {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < STOCKS; i++) {
+            Stock stock = new Stock();
+            stock.setName("Load Stock " + i);
+            stock.setDescription("Load Description");
+            stock.setCurrentPrice(BigDecimal.valueOf(100));
+            stocks.add(stock);
+        }
+        List<Stock> saved = stockRepository.saveAll(stocks);
+        List<Long> stockExchangeIds = new ArrayList<>();
+        for (int i = 0; i < STOCK_EXCHANGES; i++) {
+            StockExchange stockExchange = new StockExchange();
+            stockExchange.setName("Load Exchange " + i);
+            stockExchange.setDescription("Load Description");
+            stockExchange.setStocks(new HashSet<>());
+            stockExchangeIds.add(stockExchangeRepository.save(stockExchange).getId());
+            stockExchangeNames.add(stockExchange.getName());
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            (i < saved.size() / 2 ? listedStockIds : floatingStockIds).add(saved.get(i).getId());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < listedStockIds.size(); i++) {
+                stockExchangeRepository.insertStock(stockExchangeIds.get(i % STOCK_EXCHANGES), listedStockIds.get(i));
+            }
+        });
+        floatingStates = new AtomicIntegerArray(floatingStockIds.size());
+    }
+
+    @Test
+    void givenMixedWorkload_whenDrivenAtTargetRate_thenLatencyErrorsAndThroughputStayWithinThresholds() throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        mix().forEach((name, weight) -> generator.add(name, weight, switch (name) {
+            case "read" -> this::read;
+            case "update" -> this::updatePrice;
+            case "membership" -> this::changeMembership;
+            default -> throw new IllegalArgumentException("Unknown operation in load.mix: " + name);
+        }));
+
+        generator.run(RATE, WARMUP);
+        LoadGenerator.Report report = generator.run(RATE, DURATION);
+        System.out.printf("%.0f requests/s for %ds, %d stocks on %d stock exchanges%n%s", RATE, DURATION.toSeconds(),
+                STOCKS, STOCK_EXCHANGES, report.format());
+
+        assertThat(report.getUnfinished()).as("unfinished requests").isZero();
+        assertThat(report.percentileMillis(99)).as("p99 latency in ms").isLessThanOrEqualTo(MAX_P99_MILLIS);
+        assertThat((double) report.getErrors() / report.getRequests()).as("error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(report.getThroughput()).as("throughput").isGreaterThanOrEqualTo(RATE * MIN_THROUGHPUT_RATIO);
+    }
+
+    private CompletableFuture<HttpResponse<Void>> read() {
+        return send("GET", "/api/v1/stock-exchange/" + encode(randomStockExchange()), null);
+    }
+
+    private CompletableFuture<HttpResponse<Void>> updatePrice() {
+        long stockId = listedStockIds.get(random.nextInt(listedStockIds.size()));
+        String price = BigDecimal.valueOf(random.nextInt(1_000, 100_000), 2).toPlainString();
+        return send("PUT", "/api/v1/stock", "{\"id\":" + stockId + ",\"currentPrice\":" + price + "}");
+    }
+
+    /**
+     * Adds a floating stock to its stock exchange, or removes it if it is listed. A stock with a change in flight
+     * is skipped, so that adds and removes of the same stock never race.
+     */
+    private CompletableFuture<HttpResponse<Void>> changeMembership() {
+        for (int attempt = 0; attempt < 16; attempt++) {
+            int index = random.nextInt(floatingStockIds.size());
+            String path = "/api/v1/stock-exchange/" + encode(stockExchangeNames.get(index % STOCK_EXCHANGES))
+                    + "?stockId=" + floatingStockIds.get(index);
+            if (floatingStates.compareAndSet(index, OUT, BUSY)) {
+                return send("POST", path, null).whenComplete((response, failure) ->
+                        floatingStates.set(index, failure == null && response.statusCode() == 200 ? IN : OUT));
+            }
+            if (floatingStates.compareAndSet(index, IN, BUSY)) {
+                return send("DELETE", path, null).whenComplete((response, failure) ->
+                        floatingStates.set(index, failure == null && response.statusCode() == 200 ? OUT : IN));
+            }
+        }
+        throw new IllegalStateException("No floating stock without a membership change in flight");
+    }
+
+    private CompletableFuture<HttpResponse<Void>> send(String method, String path, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private String randomStockExchange() {
+        return stockExchangeNames.get(random.nextInt(stockExchangeNames.size()));
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static Map<String, Integer> mix() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,67 @@
+package com.inghubs.matching;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Throughput and latency benchmark of a single {@link OrderBook}, i.e. of one matching shard thread.
+ * <p>
+ * Replays a random stream of limit orders around a mid price, some of which cross the spread. Each order is
+ * cancelled, if still resting, once 10,000 newer orders have arrived, which keeps the book at a steady size. Reports
+ * the throughput and the latency percentiles of a submit followed by a cancel. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.inghubs.matching.OrderBookBenchmark [orders]
+ * </pre>
+ */
+public final class OrderBookBenchmark {
+
+    private static final long MID_PRICE = 10_000;
+    private static final int PRICE_RANGE = 50;
+    private static final int RESTING_WINDOW = 10_000;
+
+    private OrderBookBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        run(orders / 5, false);
+        run(orders, true);
+    }
+
+    private static void run(int orders, boolean report) {
+        Random random = new Random(42);
+        OrderSide[] sides = new OrderSide[orders];
+        long[] prices = new long[orders];
+        long[] quantities = new long[orders];
+        for (int i = 0; i < orders; i++) {
+            sides[i] = random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL;
+            int offset = random.nextInt(PRICE_RANGE) - PRICE_RANGE / 5;
+            prices[i] = sides[i] == OrderSide.BUY ? MID_PRICE - offset : MID_PRICE + offset;
+            quantities[i] = 1 + random.nextInt(100);
+        }
+        OrderBook orderBook = new OrderBook();
+        long[] trades = new long[1];
+        TradeListener tradeListener = (makerOrderId, takerOrderId, price, quantity) -> trades[0]++;
+        long[] latencies = new long[orders];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            long before = System.nanoTime();
+            orderBook.submit(i + 1, sides[i], prices[i], quantities[i], tradeListener);
+            if (i >= RESTING_WINDOW) {
+                orderBook.cancel(i + 1 - RESTING_WINDOW);
+            }
+            latencies[i] = System.nanoTime() - before;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (report) {
+            Arrays.sort(latencies);
+            System.out.printf("orders=%d trades=%d resting=%d%n", orders, trades[0], orderBook.getRestingOrderCount());
+            System.out.printf("throughput=%.0f orders/s%n", orders / (elapsed / 1e9));
+            System.out.printf("latency ns: p50=%d p99=%d p99.9=%d max=%d%n", latencies[orders / 2],
+                    latencies[(int) (orders * 0.99)], latencies[(int) (orders * 0.999)], latencies[orders - 1]);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.inghubs.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private OrderPool orderPool;
+    private OrderBook orderBook;
+    private List<Trade> trades;
+
+    @BeforeEach
+    void setUp() {
+        orderPool = new OrderPool();
+        orderBook = new OrderBook(orderPool);
+        trades = new ArrayList<>();
+    }
+
+    @Test
+    void givenNoCrossingOrders_whenSubmit_thenOrdersRestAtTheirLevels() {
+        submit(1, OrderSide.BUY, 9_900, 10);
+        submit(2, OrderSide.BUY, 10_000, 5);
+        submit(3, OrderSide.SELL, 10_100, 7);
+
+        assertThat(trades).isEmpty();
+        assertThat(levels(OrderSide.BUY)).containsExactly(new BookView.Level(10_000, 5, 1), new BookView.Level(9_900, 10, 1));
+        assertThat(levels(OrderSide.SELL)).containsExactly(new BookView.Level(10_100, 7, 1));
+    }
+
+    @Test
+    void givenRestingOrders_whenCrossingOrderSubmitted_thenBestPriceThenOldestOrderFilledFirst() {
+        submit(1, OrderSide.SELL, 10_100, 5);
+        submit(2, OrderSide.SELL, 10_000, 5);
+        submit(3, OrderSide.SELL, 10_000, 5);
+
+        long remaining = submit(4, OrderSide.BUY, 10_100, 12);
+
+        assertThat(remaining).isZero();
+        assertThat(trades).containsExactly(new Trade(2, 10_000, 5), new Trade(3, 10_000, 5), new Trade(1, 10_100, 2));
+        assertThat(levels(OrderSide.SELL)).containsExactly(new BookView.Level(10_100, 3, 1));
+        assertThat(orderBook.getLastTradePrice()).isEqualTo(10_100);
+    }
+
+    @Test
+    void givenCrossingOrderLargerThanBook_whenSubmit_thenRemainderRestsAtLimitPrice() {
+        submit(1, OrderSide.BUY, 10_000, 5);
+
+        long remaining = submit(2, OrderSide.SELL, 9_900, 8);
+
+        assertThat(remaining).isEqualTo(3);
+        assertThat(trades).containsExactly(new Trade(1, 10_000, 5));
+        assertThat(levels(OrderSide.BUY)).isEmpty();
+        assertThat(levels(OrderSide.SELL)).containsExactly(new BookView.Level(9_900, 3, 1));
+    }
+
+    @Test
+    void givenRestingOrder_whenCancel_thenOrderRemovedAndReturnedToPool() {
+        submit(1, OrderSide.BUY, 10_000, 5);
+        submit(2, OrderSide.BUY, 10_000, 7);
+
+        assertThat(orderBook.cancel(1)).isEqualTo(5);
+        assertThat(orderBook.cancel(1)).isEqualTo(-1);
+        assertThat(levels(OrderSide.BUY)).containsExactly(new BookView.Level(10_000, 7, 1));
+        assertThat(orderPool.freeCount()).isEqualTo(1);
+
+        submit(3, OrderSide.SELL, 10_000, 7);
+        assertThat(trades).containsExactly(new Trade(2, 10_000, 7));
+        assertThat(orderBook.getRestingOrderCount()).isZero();
+    }
+
+    @Test
+    void givenManyLevels_whenBookIsSweptAndRefilled_thenLevelsStaySorted() {
+        for (int i = 0; i < 50; i++) {
+            submit(i + 1, OrderSide.SELL, 10_000 + (i * 7) % 50, 1);
+        }
+
+        long remaining = submit(100, OrderSide.BUY, 10_024, 100);
+
+        assertThat(remaining).isEqualTo(75);
+        assertThat(trades).extracting(Trade::price).isSorted();
+        assertThat(levels(OrderSide.SELL)).extracting(BookView.Level::price).startsWith(10_025L).isSorted();
+        assertThat(levels(OrderSide.BUY)).containsExactly(new BookView.Level(10_024, 75, 1));
+    }
+
+    private long submit(long orderId, OrderSide side, long price, long quantity) {
+        return orderBook.submit(orderId, side, price, quantity,
+                (makerOrderId, takerOrderId, tradePrice, tradeQuantity) -> trades.add(new Trade(makerOrderId, tradePrice, tradeQuantity)));
+    }
+
+    private List<BookView.Level> levels(OrderSide side) {
+        List<BookView.Level> levels = new ArrayList<>();
+        orderBook.visitLevels(side, Integer.MAX_VALUE, (price, quantity, orderCount) -> levels.add(new BookView.Level(price, quantity, orderCount)));
+        return levels;
+    }
+}
@@ -0,0 +1,122 @@
+package com.inghubs.outbox;
+
+import com.inghubs.config.OutboxProperties;
+import com.inghubs.dto.OutboxEventDTO;
+import com.inghubs.dto.OutboxOffsetDTO;
+import com.inghubs.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    private InMemoryOutboxSink outboxSink;
+    private OutboxProperties outboxProperties;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxSink = new InMemoryOutboxSink();
+        outboxProperties = new OutboxProperties();
+        outboxProperties.getRelay().setBatchSize(2);
+        outboxRelay = new OutboxRelay(outboxService, outboxSink, outboxProperties);
+        when(outboxService.getOffset("relay")).thenReturn(new OutboxOffsetDTO("relay", 0));
+    }
+
+    @Test
+    void givenPendingEvents_whenRelay_thenEventsArePublishedInBatchesAndOffsetIsCommitted() {
+        long now = System.currentTimeMillis();
+        when(outboxService.getEventsAfter(0, 2)).thenReturn(events(now, 1, 2));
+        when(outboxService.getEventsAfter(2, 2)).thenReturn(events(now, 3));
+
+        int published = outboxRelay.relay();
+
+        assertThat(published).isEqualTo(3);
+        assertThat(outboxSink.getEvents()).extracting(OutboxEventDTO::getId).containsExactly(1L, 2L, 3L);
+        verify(outboxService).commitOffset("relay", 2);
+        verify(outboxService).commitOffset("relay", 3);
+    }
+
+    @Test
+    void givenGap_whenRelay_thenEventsPastTheGapArePublishedAndOffsetStopsInFrontOfTheGap() {
+        long now = System.currentTimeMillis();
+        when(outboxService.getEventsAfter(0, 2)).thenReturn(events(now, 1, 3));
+
+        int published = outboxRelay.relay();
+
+        assertThat(published).isEqualTo(2);
+        assertThat(outboxSink.getEvents()).extracting(OutboxEventDTO::getId).containsExactly(1L, 3L);
+        verify(outboxService).commitOffset("relay", 1);
+        verify(outboxService, never()).commitOffset("relay", 3);
+    }
+
+    @Test
+    void givenGapFilledLater_whenRelay_thenLateEventIsPublishedAndOffsetMovesPastTheGap() {
+        long now = System.currentTimeMillis();
+        when(outboxService.getEventsAfter(0, 2)).thenReturn(events(now, 1, 4));
+        outboxRelay.relay();
+        when(outboxService.getEventsBetween(2, 3)).thenReturn(events(now, 3));
+        when(outboxService.getEventsBetween(2, 2)).thenReturn(events(now, 2));
+
+        assertThat(outboxRelay.relay()).isOne();
+        verify(outboxService, never()).commitOffset("relay", 4);
+        assertThat(outboxRelay.relay()).isOne();
+
+        assertThat(outboxSink.getEvents()).extracting(OutboxEventDTO::getId).containsExactly(1L, 4L, 3L, 2L);
+        verify(outboxService).commitOffset("relay", 4);
+    }
+
+    @Test
+    void givenGapOlderThanTimeout_whenRelay_thenGapIsQueriedOnceMoreAndGivenUp() {
+        outboxProperties.getRelay().setGapTimeoutMs(0);
+        when(outboxService.getEventsAfter(0, 2)).thenReturn(events(System.currentTimeMillis(), 2));
+
+        assertThat(outboxRelay.relay()).isOne();
+        verify(outboxService, never()).commitOffset(anyString(), anyLong());
+        outboxRelay.relay();
+
+        verify(outboxService).getEventsBetween(1, 1);
+        verify(outboxService).commitOffset("relay", 2);
+    }
+
+    @Test
+    void givenFailingSink_whenRelay_thenOffsetIsNotCommitted() {
+        OutboxRelay failingRelay = new OutboxRelay(outboxService, events -> {
+            throw new IllegalStateException("sink unavailable");
+        }, outboxProperties);
+        when(outboxService.getEventsAfter(0, 2)).thenReturn(events(System.currentTimeMillis(), 1));
+
+        assertThrows(IllegalStateException.class, failingRelay::relay);
+        verify(outboxService, never()).commitOffset(anyString(), anyLong());
+    }
+
+    private List<OutboxEventDTO> events(long createdAt, long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> OutboxEventDTO.builder()
+                        .id(id)
+                        .aggregateType("Stock")
+                        .aggregateId(id)
+                        .eventType("CREATED")
+                        .payload("{}")
+                        .createdAt(new Timestamp(createdAt))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.inghubs.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput benchmark of a five stage pipeline built on a {@link RingBuffer}, compared with the same stages
+ * connected by {@link ArrayBlockingQueue}s.
+ * <p>
+ * Several producers publish events that every stage touches with a trivial handler, so the numbers measure the
+ * cost of handing events between threads rather than the work of the stages. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.inghubs.pipeline.RingBufferBenchmark [events] [producers]
+ * </pre>
+ */
+public final class RingBufferBenchmark {
+
+    private static final int STAGES = 5;
+    private static final int BUFFER_SIZE = 1_024;
+
+    private RingBufferBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        ringBuffer(events / 5, producers, false);
+        queues(events / 5, producers, false);
+        ringBuffer(events, producers, true);
+        queues(events, producers, true);
+    }
+
+    private static void ringBuffer(int events, int producers, boolean report) throws Exception {
+        RingBuffer<long[]> ringBuffer = new RingBuffer<>(BUFFER_SIZE, () -> new long[1]);
+        List<StageProcessor<long[]>> stages = new ArrayList<>();
+        AtomicLong checksum = new AtomicLong();
+        Sequence[] upstream = new Sequence[0];
+        for (int i = 0; i < STAGES; i++) {
+            boolean last = i == STAGES - 1;
+            long[] sum = new long[1];
+            StageProcessor<long[]> stage = new StageProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> {
+                event[0]++;
+                if (last) {
+                    sum[0] += event[0];
+                    if (endOfBatch) {
+                        checksum.lazySet(sum[0]);
+                    }
+                }
+            }, upstream);
+            stages.add(stage);
+            upstream = new Sequence[]{stage.getSequence()};
+        }
+        ringBuffer.setGatingSequences(upstream);
+        List<Thread> threads = new ArrayList<>();
+        for (StageProcessor<long[]> stage : stages) {
+            Thread thread = new Thread(stage);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        Sequence lastSequence = upstream[0];
+        long start = System.nanoTime();
+        runProducers(producers, events / producers, () -> {
+            long sequence = ringBuffer.next();
+            ringBuffer.get(sequence)[0] = 0;
+            ringBuffer.publish(sequence);
+        });
+        long expected = (long) (events / producers) * producers - 1;
+        while (lastSequence.get() < expected) {
+            Thread.onSpinWait();
+        }
+        long elapsed = System.nanoTime() - start;
+        stages.forEach(StageProcessor::halt);
+        if (report) {
+            print("ring buffer", events, elapsed, checksum.get());
+        }
+    }
+
+    private static void queues(int events, int producers, boolean report) throws Exception {
+        List<BlockingQueue<long[]>> queues = new ArrayList<>();
+        for (int i = 0; i < STAGES; i++) {
+            queues.add(new ArrayBlockingQueue<>(BUFFER_SIZE));
+        }
+        int total = (events / producers) * producers;
+        long[] checksum = new long[1];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < STAGES; i++) {
+            BlockingQueue<long[]> in = queues.get(i);
+            BlockingQueue<long[]> out = i == STAGES - 1 ? null : queues.get(i + 1);
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int n = 0; n < total; n++) {
+                        long[] event = in.take();
+                        event[0]++;
+                        if (out != null) {
+                            out.put(event);
+                        } else {
+                            checksum[0] += event[0];
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        long start = System.nanoTime();
+        BlockingQueue<long[]> first = queues.get(0);
+        runProducers(producers, events / producers, () -> {
+            try {
+                first.put(new long[1]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        threads.get(STAGES - 1).join();
+        long elapsed = System.nanoTime() - start;
+        if (report) {
+            print("blocking queues", events, elapsed, checksum[0]);
+        }
+    }
+
+    private static void runProducers(int producers, int eventsPerProducer, Runnable publish) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    publish.run();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void print(String name, int events, long elapsedNanos, long checksum) {
+        System.out.printf("%-16s %,d events in %,d ms: %,.0f events/s (checksum %d)%n", name, events,
+                elapsedNanos / 1_000_000, events * 1e9 / elapsedNanos, checksum);
+    }
+}
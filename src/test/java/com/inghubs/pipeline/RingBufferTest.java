@@ -0,0 +1,105 @@
+package com.inghubs.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    private final List<StageProcessor<long[]>> stages = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stages.forEach(StageProcessor::halt);
+    }
+
+    @Test
+    void givenBufferSizeNotPowerOfTwo_whenCreate_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1_000, () -> new long[1]));
+    }
+
+    @Test
+    void givenChainedStages_whenProducersPublishConcurrently_thenEveryStageSeesEverySlotInSequenceOrder() throws Exception {
+        int producers = 4;
+        int eventsPerProducer = 10_000;
+        int total = producers * eventsPerProducer;
+        RingBuffer<long[]> ringBuffer = new RingBuffer<>(64, () -> new long[2]);
+        List<Long> firstStageSequences = new ArrayList<>();
+        long[] lastStageSum = new long[1];
+        CountDownLatch done = new CountDownLatch(total);
+
+        StageProcessor<long[]> first = start(ringBuffer, (event, sequence, endOfBatch) -> {
+            firstStageSequences.add(sequence);
+            event[1] = event[0] * 2;
+        });
+        StageProcessor<long[]> last = start(ringBuffer, (event, sequence, endOfBatch) -> {
+            lastStageSum[0] += event[1];
+            done.countDown();
+        }, first.getSequence());
+        ringBuffer.setGatingSequences(last.getSequence());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= eventsPerProducer; i++) {
+                    long sequence = ringBuffer.next();
+                    ringBuffer.get(sequence)[0] = i;
+                    ringBuffer.publish(sequence);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertThat(firstStageSequences).hasSize(total);
+        for (int i = 0; i < total; i++) {
+            assertThat(firstStageSequences.get(i)).isEqualTo(i);
+        }
+        long expectedSum = 2L * producers * eventsPerProducer * (eventsPerProducer + 1) / 2;
+        assertThat(lastStageSum[0]).isEqualTo(expectedSum);
+    }
+
+    @Test
+    void givenSlowStage_whenPublishing_thenSlotsAreDeliveredInBatchesEndingWithEndOfBatch() throws Exception {
+        RingBuffer<long[]> ringBuffer = new RingBuffer<>(8, () -> new long[1]);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(8);
+        List<Boolean> endOfBatchFlags = new ArrayList<>();
+        StageProcessor<long[]> stage = start(ringBuffer, (event, sequence, endOfBatch) -> {
+            release.await();
+            endOfBatchFlags.add(endOfBatch);
+            done.countDown();
+        });
+        ringBuffer.setGatingSequences(stage.getSequence());
+
+        for (int i = 0; i < 8; i++) {
+            ringBuffer.publish(ringBuffer.next());
+        }
+        release.countDown();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertThat(endOfBatchFlags.get(endOfBatchFlags.size() - 1)).isTrue();
+        assertThat(endOfBatchFlags.stream().filter(Boolean::booleanValue).count()).isLessThan(8);
+    }
+
+    private StageProcessor<long[]> start(RingBuffer<long[]> ringBuffer, EventHandler<long[]> handler, Sequence... dependencies) {
+        StageProcessor<long[]> stage = new StageProcessor<>(ringBuffer, handler, dependencies);
+        Thread thread = new Thread(stage);
+        thread.setDaemon(true);
+        thread.start();
+        stages.add(stage);
+        return stage;
+    }
+}
@@ -0,0 +1,148 @@
+package com.inghubs.pipeline;
+
+import com.inghubs.config.PipelineProperties;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.ServiceUnavailableException;
+import com.inghubs.service.StockService;
+import com.inghubs.util.MessageUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockPriceUpdatePipelineTest {
+
+    private static final int JOURNAL_RECORD_BYTES = 24;
+
+    @TempDir
+    Path directory;
+
+    private final StockService stockService = mock(StockService.class);
+    private final MessageUtils messageUtils = mock(MessageUtils.class);
+    private final CountDownLatch applying = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PipelineProperties pipelineProperties;
+    private StockPriceUpdatePipeline pipeline;
+    private Path journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = directory.resolve("price-updates.bin");
+        pipelineProperties = new PipelineProperties();
+        pipelineProperties.setBufferSize(16);
+        pipelineProperties.getJournal().setFile(journal.toString());
+        pipelineProperties.getJournal().setFsync(false);
+        when(messageUtils.getMessage(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        // stock 1 exists, stock 2 does not
+        when(stockService.updateStockPrices(anyList())).thenAnswer(invocation -> {
+            List<StockDTO> results = new ArrayList<>();
+            for (StockPriceUpdateDTO update : invocation.<List<StockPriceUpdateDTO>>getArgument(0)) {
+                results.add(update.getId() == 1L ? StockDTO.builder().id(1L).currentPrice(update.getCurrentPrice()).build() : null);
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void givenUpdateOfMissingStock_whenUpdateStockPrice_thenOnlyAppliedUpdatesJournaled() throws Exception {
+        start();
+
+        assertThat(pipeline.updateStockPrice(update(1L)).getCurrentPrice()).isEqualByComparingTo("10.00");
+        assertThrows(ResourceNotFoundException.class, () -> pipeline.updateStockPrice(update(2L)));
+
+        assertThat(Files.size(journal)).isEqualTo(JOURNAL_RECORD_BYTES);
+    }
+
+    @Test
+    void givenJournalAtMaxBytes_whenUpdateStockPrice_thenRotatedAndOldestFilesDeleted() throws Exception {
+        pipelineProperties.getJournal().setMaxBytes(2 * JOURNAL_RECORD_BYTES);
+        pipelineProperties.getJournal().setRetainedFiles(2);
+        start();
+
+        for (int i = 0; i < 7; i++) {
+            pipeline.updateStockPrice(update(1L));
+        }
+
+        assertThat(Files.size(journal)).isEqualTo(JOURNAL_RECORD_BYTES);
+        assertThat(Files.size(directory.resolve("price-updates.bin.1"))).isEqualTo(2 * JOURNAL_RECORD_BYTES);
+        assertThat(Files.size(directory.resolve("price-updates.bin.2"))).isEqualTo(2 * JOURNAL_RECORD_BYTES);
+        assertThat(directory.resolve("price-updates.bin.3")).doesNotExist();
+    }
+
+    @Test
+    void givenStuckApply_whenUpdateStockPrice_thenServiceUnavailableAfterTimeout() throws Exception {
+        pipelineProperties.setTimeoutMs(100);
+        blockApply();
+        start();
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> pipeline.updateStockPrice(update(1L)));
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void givenPendingUpdates_whenShutdown_thenFailedAndLaterUpdatesRejected() throws Exception {
+        pipelineProperties.setTimeoutMs(60_000);
+        blockApply();
+        start();
+        List<CompletableFuture<StockDTO>> pending = new ArrayList<>();
+        pending.add(CompletableFuture.supplyAsync(() -> pipeline.updateStockPrice(update(1L))));
+        assertThat(applying.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 2; i++) {
+            pending.add(CompletableFuture.supplyAsync(() -> pipeline.updateStockPrice(update(1L))));
+        }
+
+        pipeline.shutdown();
+
+        for (CompletableFuture<StockDTO> future : pending) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertThat(failure).hasCauseInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThrows(ServiceUnavailableException.class, () -> pipeline.updateStockPrice(update(1L)));
+    }
+
+    private void start() throws Exception {
+        pipeline = new StockPriceUpdatePipeline(stockService, messageUtils, pipelineProperties);
+        pipeline.start();
+    }
+
+    private void blockApply() {
+        when(stockService.updateStockPrices(anyList())).thenAnswer(invocation -> {
+            applying.countDown();
+            release.await();
+            return List.of();
+        });
+    }
+
+    private static StockPriceUpdateDTO update(long stockId) {
+        return new StockPriceUpdateDTO(stockId, new BigDecimal("10.00"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.inghubs.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = 1_000;
+
+    @Test
+    void givenLimitInUse_whenAnotherRequestArrives_thenRejectedUntilOneIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, THRESHOLD, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(THRESHOLD);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFastRequestsAtHighUtilization_whenReleased_thenLimitGrowsUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 6, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < limiter.getLimit(); j++) {
+                limiter.tryAcquire();
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(THRESHOLD / 2);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void givenFastRequestsAtLowUtilization_whenReleased_thenLimitStays() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(THRESHOLD / 2);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void givenSlowRequests_whenReleased_thenLimitBacksOffDownToMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 3, 16, THRESHOLD, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD + 1);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(THRESHOLD + 1);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,63 @@
+package com.inghubs.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of the admission path of {@link RateLimitFilter} without the servlet around it: the bucket lookup by
+ * principal, taking a permit, and acquiring and releasing the shared concurrency limit.
+ * <p>
+ * Every thread sends as one of a few principals, so threads contend on buckets and all of them on the limiter.
+ * Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.inghubs.ratelimit.RateLimiterBenchmark [threads] [principals] [seconds]
+ * </pre>
+ */
+public final class RateLimiterBenchmark {
+
+    private RateLimiterBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int principals = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 4, 512, TimeUnit.MILLISECONDS.toNanos(500), 0.9);
+        AtomicLong operations = new AtomicLong();
+        AtomicLong admitted = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            String principal = "user-" + thread % principals;
+            Thread worker = new Thread(() -> {
+                long count = 0;
+                long passed = 0;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    TokenBucket bucket = buckets.get(principal);
+                    if (bucket == null) {
+                        bucket = buckets.computeIfAbsent(principal, key -> new TokenBucket(1_000_000, 1_000));
+                    }
+                    if (bucket.tryAcquire(now) == 0 && limiter.tryAcquire()) {
+                        limiter.release(System.nanoTime() - now);
+                        passed++;
+                    }
+                    count++;
+                }
+                operations.addAndGet(count);
+                admitted.addAndGet(passed);
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+        System.out.printf("%d threads, %d principals: %,d admission checks/s (%,d admitted/s), %.0f ns per check per thread%n",
+                threads, principals, operations.get() / seconds, admitted.get() / seconds,
+                threads * seconds * 1e9 / operations.get());
+    }
+}
@@ -0,0 +1,67 @@
+package com.inghubs.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void givenIdleBucket_whenBurstIsTaken_thenNextPermitWaitsOneInterval() {
+        TokenBucket tokenBucket = new TokenBucket(10, 3);
+
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+
+        assertThat(tokenBucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+        assertThat(tokenBucket.tryAcquire(SECOND / 20)).isEqualTo(SECOND / 20);
+        assertThat(tokenBucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(tokenBucket.tryAcquire(SECOND / 10)).isPositive();
+    }
+
+    @Test
+    void givenIdleBucket_whenIdleLongerThanBurst_thenBurstIsNotExceeded() {
+        TokenBucket tokenBucket = new TokenBucket(100, 5);
+        tokenBucket.tryAcquire(0);
+
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (tokenBucket.tryAcquire(60 * SECOND) == 0) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(5);
+    }
+
+    @Test
+    void givenConcurrentCallers_whenTakingPermits_thenExactlyBurstIsAdmitted() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(1, 1_000);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (tokenBucket.tryAcquire(0) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(admitted.get()).isEqualTo(1_000);
+    }
+}
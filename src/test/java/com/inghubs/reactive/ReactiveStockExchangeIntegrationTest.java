@@ -0,0 +1,124 @@
+package com.inghubs.reactive;
+
+import com.inghubs.dto.StockDTO;
+import com.inghubs.dto.StockExchangeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+
+// the application class is conditional on a reactive application, so it must be named to be found
+@SpringBootTest(classes = ReactiveStockExchangeApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "users.bcrypt-strength=4"})
+@ActiveProfiles("reactive")
+class ReactiveStockExchangeIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private WebTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = webTestClient.mutate()
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "password"))
+                .build();
+    }
+
+    @Test
+    void givenNewStock_whenListedPricedAndDeleted_thenStockExchangeFollows() {
+        StockDTO stock = admin.post().uri("/api/v1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Reactive\",\"description\":\"Reactive Inc.\",\"currentPrice\":10.50}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(StockDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(stock.getId()).isNotNull();
+        assertThat(stock.getLastUpdate()).isNotNull();
+
+        StockExchangeDTO stockExchange = admin.post().uri("/api/v1/stock-exchange/B?stockId={id}", stock.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StockExchangeDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(stockExchange.getStocks()).extracting(StockDTO::getId).containsExactly(stock.getId());
+
+        admin.post().uri("/api/v1/stock-exchange/B?stockId={id}", stock.getId())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        admin.put().uri("/api/v1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":" + stock.getId() + ",\"currentPrice\":12.25}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.currentPrice").isEqualTo(12.25);
+
+        StockExchangeDTO read = webTestClient.get().uri("/api/v1/stock-exchange/B")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StockExchangeDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(read.getStocks()).extracting(StockDTO::getCurrentPrice).containsExactly(new BigDecimal("12.25"));
+
+        admin.delete().uri("/api/v1/stock/{id}", stock.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        admin.get().uri("/api/v1/stock-exchange/B")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.stocks").isEmpty();
+        admin.delete().uri("/api/v1/stock/{id}", stock.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Stock not found with id: " + stock.getId());
+    }
+
+    @Test
+    void givenInvalidOrDuplicateStock_whenCreated_thenRejectedWithServletErrorBodies() {
+        admin.post().uri("/api/v1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"\",\"description\":\"Invalid\",\"currentPrice\":-1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(hasItems("name must not be blank",
+                        "currentPrice must be a positive number"));
+
+        admin.post().uri("/api/v1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Tesla\",\"description\":\"Tesla Inc.\",\"currentPrice\":100.00}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$.message").isEqualTo("There is already a stock with the name: Tesla");
+
+        admin.get().uri("/api/v1/stock-exchange/missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Stock Exchange not found with name: missing");
+    }
+
+    @Test
+    void givenMissingOrInsufficientCredentials_whenWriting_thenRejected() {
+        webTestClient.get().uri("/api/v1/stock-exchange/A")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.error").isEqualTo("Unauthorized: Access is denied due to invalid credentials.");
+
+        webTestClient.delete().uri("/api/v1/stock/1")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("$.error").value(error -> assertThat((String) error).startsWith("Forbidden"));
+    }
+}
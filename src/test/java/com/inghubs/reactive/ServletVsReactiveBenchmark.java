@@ -0,0 +1,164 @@
+package com.inghubs.reactive;
+
+import com.inghubs.StockExchangeApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the servlet application with its reactive variant under a growing number of concurrent connections.
+ * <p>
+ * Both applications run in turn in this JVM on their own in-memory database. For each number of connections, as
+ * many virtual-thread clients send requests back to back for the duration over a shared keep-alive connection pool,
+ * so the servers see that many open connections, each with a request in flight or about to be. Reported are the
+ * throughput, the latency percentiles from an HdrHistogram, the live platform threads of the JVM during the run, and
+ * the heap retained by the connections, measured after a full collection during the run against the idle heap before
+ * it and divided by the number of connections. The clients run on virtual threads and are the same for both servers,
+ * so their share of threads and heap cancels out in the comparison.
+ * <p>
+ * Two routes are measured: reading stock exchange A, which the servlet application serves from its response cache
+ * while the reactive variant reads it from the database, and updating a stock price, which both write to the
+ * database. Password checks use 4 BCrypt rounds so they do not dominate. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) com.inghubs.reactive.ServletVsReactiveBenchmark [seconds] [connections...]
+ * </pre>
+ */
+public final class ServletVsReactiveBenchmark {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    private ServletVsReactiveBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        List<Integer> connections = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            connections.add(Integer.parseInt(args[i]));
+        }
+        if (connections.isEmpty()) {
+            connections = List.of(64, 256, 1024);
+        }
+        System.out.printf("%-9s %-6s %6s %10s %8s %8s %8s %8s %8s %10s%n", "server", "route", "conns", "req/s",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "threads", "heap/conn");
+        run("servlet", new SpringApplicationBuilder(StockExchangeApplication.class), seconds, connections,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-servlet", "--outbox.relay.enabled=false",
+                "--rate-limit.enabled=false");
+        run("reactive", new SpringApplicationBuilder(ReactiveStockExchangeApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive"), seconds, connections);
+    }
+
+    private static void run(String server, SpringApplicationBuilder builder, int seconds, List<Integer> connections,
+                            String... args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--users.bcrypt-strength=4",
+                "--server.compression.enabled=false", "--logging.level.root=WARN"));
+        arguments.addAll(List.of(args));
+        try (ConfigurableApplicationContext context = builder.run(arguments.toArray(String[]::new))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            IntFunction<HttpRequest> read = i -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/stock-exchange/A"))
+                    .header("Authorization", AUTHORIZATION)
+                    .GET()
+                    .build();
+            IntFunction<HttpRequest> write = i -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/stock"))
+                    .header("Authorization", AUTHORIZATION)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"id\":" + (1 + i % 8) + ",\"currentPrice\":" + (100 + i % 1000) + ".00}"))
+                    .build();
+            measure(read, 64, Math.max(2, seconds / 2));
+            for (int connectionCount : connections) {
+                print(server, "read", connectionCount, measure(read, connectionCount, seconds));
+                print(server, "write", connectionCount, measure(write, connectionCount, seconds));
+            }
+        }
+    }
+
+    private static Result measure(IntFunction<HttpRequest> requests, int connections, int seconds)
+            throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long peakThreads;
+        long heap;
+        ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        // closing the clients waits for their last requests
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            // the pool of the client opens a connection whenever all others have a request in flight
+            for (int c = 0; c < connections; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    for (int i = client; System.nanoTime() < end; i += connections) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(requests.apply(i),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 300) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.recordValue(System.nanoTime() - start);
+                    }
+                });
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds) / 2);
+            peakThreads = threads.getThreadCount();
+            System.gc();
+            heap = memory.getHeapMemoryUsage().getUsed();
+        }
+        httpClient.shutdownNow();
+        httpExecutor.shutdownNow();
+        return new Result(latencies, errors.get(), seconds, peakThreads,
+                Math.max(0, heap - baselineHeap) / connections);
+    }
+
+    private static void print(String server, String route, int connections, Result result) {
+        Histogram latencies = result.latencies();
+        System.out.printf("%-9s %-6s %6d %,10.0f %8.2f %8.2f %8.2f %8.2f %8d %8d KB%s%n", server, route, connections,
+                latencies.getTotalCount() / (double) result.seconds(), millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()), result.threads(), result.heapPerConnection() / 1024,
+                result.errors() == 0 ? "" : "  (" + result.errors() + " errors)");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Result(Histogram latencies, long errors, int seconds, long threads, long heapPerConnection) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.inghubs.search;
+
+import com.inghubs.dto.StockDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockSearchIndexTest {
+
+    private StockSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StockSearchIndex();
+        index.put(stock(1L, "Tesla", "Tesla Inc.", 100));
+        index.put(stock(2L, "Texas Instruments", "Semiconductors", 200));
+        index.put(stock(3L, "Nvidia", "Nvidia Corporation", 300));
+        index.put(stock(4L, "Meta", "Formerly Facebook", 400));
+        index.put(stock(5L, "Tesco", "Tesco PLC", 500));
+    }
+
+    @Test
+    void givenPrefix_whenSearch_thenNamesStartingWithPrefixReturnedInNameOrder() {
+        assertThat(ids(index.search("te", 10))).containsExactly(5L, 1L, 2L);
+    }
+
+    @Test
+    void givenQuery_whenSearch_thenPrefixMatchesRankBeforeNameAndDescriptionMatches() {
+        index.put(stock(6L, "Corp Holdings", "Holding company", 600));
+
+        assertThat(ids(index.search("corp", 10))).startsWith(6L).contains(3L);
+    }
+
+    @Test
+    void givenDescriptionSubstring_whenSearch_thenMatchingStockReturned() {
+        assertThat(ids(index.search("facebook", 10))).containsExactly(4L);
+        assertThat(ids(index.search("CONDUCTOR", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void givenMisspelledName_whenSearch_thenSimilarNameReturned() {
+        assertThat(ids(index.search("nvidea", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void givenLimit_whenSearch_thenAtMostLimitResultsReturned() {
+        assertThat(index.search("t", 2)).hasSize(2);
+    }
+
+    @Test
+    void givenRemovedStock_whenSearch_thenStockNotReturned() {
+        index.remove(1L);
+
+        assertThat(ids(index.search("tesla", 10))).doesNotContain(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void givenUpdatedPrice_whenSearch_thenLatestCopyReturned() {
+        index.put(stock(1L, "Tesla", "Tesla Inc.", 150));
+
+        assertThat(index.search("tesla", 1).get(0).getCurrentPrice()).isEqualByComparingTo("150");
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void givenNewerCopy_whenOlderCopyPutLate_thenNewerCopyKept() {
+        StockDTO newer = stock(1L, "Tesla", "Tesla Inc.", 170);
+        newer.setVersion(2);
+        StockDTO older = stock(1L, "Tesla", "Tesla Inc.", 160);
+        older.setVersion(1);
+
+        index.put(newer);
+        index.put(older);
+
+        assertThat(index.search("tesla", 1).get(0).getCurrentPrice()).isEqualByComparingTo("170");
+    }
+
+    @Test
+    void givenManyDeletions_whenIndexIsCompacted_thenRemainingStocksStillFound() {
+        for (long id = 100; id < 3_100; id++) {
+            index.put(stock(id, "Bulk " + id, "Bulk stock", 1));
+        }
+        for (long id = 100; id < 3_100; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.search("bulk", 10)).isEmpty();
+        assertThat(ids(index.search("tesla", 10))).startsWith(1L);
+    }
+
+    private static StockDTO stock(Long id, String name, String description, int price) {
+        return StockDTO.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .currentPrice(BigDecimal.valueOf(price))
+                .build();
+    }
+
+    private static List<Long> ids(List<StockDTO> stocks) {
+        return stocks.stream().map(StockDTO::getId).toList();
+    }
+}
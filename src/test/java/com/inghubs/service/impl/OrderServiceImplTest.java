@@ -0,0 +1,71 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.converter.OrderConverter;
+import com.inghubs.dto.StockPriceUpdateDTO;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.matching.MatchingEngine;
+import com.inghubs.service.StockExchangeService;
+import com.inghubs.service.StockService;
+import com.inghubs.util.MessageUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderServiceImplTest {
+
+    @Mock
+    private MatchingEngine matchingEngine;
+
+    @Mock
+    private StockExchangeService stockExchangeService;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @Spy
+    private OrderConverter orderConverter = new OrderConverter();
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void givenFailingStock_whenPublishLastTradePrices_thenOtherStocksWrittenAndFailedPriceRequeued() {
+        Map<Long, Long> prices = new LinkedHashMap<>();
+        prices.put(1L, 10_150L);
+        prices.put(2L, 20_000L);
+        prices.put(3L, 30_000L);
+        prices.put(4L, 40_000L);
+        when(matchingEngine.drainLastTradePrices()).thenReturn(prices);
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(stockService).updateStockPrice(new StockPriceUpdateDTO(1L, new BigDecimal("101.50")));
+        doThrow(new ResourceNotFoundException("deleted"))
+                .when(stockService).updateStockPrice(new StockPriceUpdateDTO(3L, new BigDecimal("300.00")));
+
+        orderService.publishLastTradePrices();
+
+        verify(stockService, times(4)).updateStockPrice(any());
+        verify(stockService).updateStockPrice(new StockPriceUpdateDTO(2L, new BigDecimal("200.00")));
+        verify(stockService).updateStockPrice(new StockPriceUpdateDTO(4L, new BigDecimal("400.00")));
+        verify(matchingEngine).requeueLastTradePrice(1L, 10_150L);
+        verify(matchingEngine, never()).requeueLastTradePrice(eq(3L), anyLong());
+    }
+}
@@ -0,0 +1,132 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.alert.PriceAlertNotifier;
+import com.inghubs.alert.PriceAlertType;
+import com.inghubs.converter.PriceAlertConverter;
+import com.inghubs.dto.PriceAlertCreateDTO;
+import com.inghubs.dto.PriceAlertDTO;
+import com.inghubs.dto.StockDTO;
+import com.inghubs.entity.PriceAlert;
+import com.inghubs.entity.Stock;
+import com.inghubs.event.PriceAlertChangedEvent;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
+import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.repository.PriceAlertRepository;
+import com.inghubs.repository.StockRepository;
+import com.inghubs.util.MessageUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PriceAlertServiceImplTest {
+
+    @Mock
+    private PriceAlertRepository priceAlertRepository;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Spy
+    private PriceAlertConverter priceAlertConverter;
+
+    @Mock
+    private PriceAlertNotifier priceAlertNotifier;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private MessageUtils messageUtils;
+
+    @InjectMocks
+    private PriceAlertServiceImpl priceAlertService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(stockRepository.findById(1L)).thenReturn(Optional.of(Stock.builder().id(1L).currentPrice(new BigDecimal("33.33")).build()));
+        when(priceAlertRepository.save(any(PriceAlert.class))).thenAnswer(invocation -> {
+            PriceAlert priceAlert = invocation.getArgument(0);
+            priceAlert.setId(7L);
+            return priceAlert;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        priceAlertService.shutdown();
+    }
+
+    @Test
+    void givenThresholdAlreadyReached_whenCreateAlert_thenThrowBadRequestException() {
+        PriceAlertCreateDTO priceAlertCreateDTO = new PriceAlertCreateDTO(1L, PriceAlertType.ABOVE, new BigDecimal("33.33"), null);
+
+        assertThrows(BadRequestException.class, () -> priceAlertService.createAlert("user", priceAlertCreateDTO));
+        verify(priceAlertRepository, never()).save(any());
+    }
+
+    @Test
+    void givenMoveAlert_whenCreateAlert_thenThresholdsAreRoundedAwayFromCurrentPrice() {
+        PriceAlertCreateDTO priceAlertCreateDTO = new PriceAlertCreateDTO(1L, PriceAlertType.MOVE, null, BigDecimal.TEN);
+
+        PriceAlertDTO priceAlert = priceAlertService.createAlert("user", priceAlertCreateDTO);
+
+        assertEquals(new BigDecimal("36.67"), priceAlert.getAbovePrice());
+        assertEquals(new BigDecimal("29.99"), priceAlert.getBelowPrice());
+        assertEquals(new BigDecimal("33.33"), priceAlert.getReferencePrice());
+        assertEquals("user", priceAlert.getOwner());
+        verify(eventPublisher).publishEvent(new PriceAlertChangedEvent(PriceAlertChangedEvent.Type.CREATED, 7L, 1L,
+                new BigDecimal("36.67"), new BigDecimal("29.99")));
+    }
+
+    @Test
+    void givenIndexedAlert_whenPriceReachesThreshold_thenAlertIsRecordedAndPushedOnce() {
+        PriceAlert priceAlert = PriceAlert.builder().id(7L).stockId(1L).owner("user").type(PriceAlertType.BELOW)
+                .belowPrice(new BigDecimal("30.00")).build();
+        when(priceAlertRepository.findAllById(List.of(7L))).thenReturn(List.of(priceAlert));
+        priceAlertService.onPriceAlertChanged(new PriceAlertChangedEvent(PriceAlertChangedEvent.Type.CREATED, 7L, 1L,
+                null, new BigDecimal("30.00")));
+
+        priceAlertService.onStockChanged(priceUpdated("30.01"));
+        priceAlertService.onStockChanged(priceUpdated("29.50"));
+        priceAlertService.onStockChanged(priceUpdated("29.00"));
+
+        verify(priceAlertRepository, timeout(1_000)).markTriggered(eq(List.of(7L)), eq(new BigDecimal("29.50")), any());
+        verify(priceAlertNotifier, timeout(1_000)).publish(anyList());
+        verify(priceAlertRepository, times(1)).markTriggered(any(), any(), any());
+    }
+
+    @Test
+    void givenAlertOfAnotherOwner_whenDeleteAlert_thenThrowResourceNotFoundException() {
+        when(priceAlertRepository.findByIdAndOwner(7L, "user")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> priceAlertService.deleteAlert("user", 7L));
+        verify(priceAlertRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private StockChangedEvent priceUpdated(String price) {
+        return new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED,
+                StockDTO.builder().id(1L).currentPrice(new BigDecimal(price)).build());
+    }
+}
@@ -0,0 +1,165 @@
+package com.inghubs.service.impl;
+
+import com.inghubs.config.SnapshotProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotServiceImplTest {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private EmbeddedDatabase source;
+    private EmbeddedDatabase target;
+    private SnapshotProperties snapshotProperties;
+
+    @BeforeEach
+    void setUp() {
+        source = createDatabase("snapshot-source", true);
+        target = createDatabase("snapshot-target", false);
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(snapshotDirectory.toString());
+        snapshotProperties.setBatchSize(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        source.shutdown();
+        target.shutdown();
+    }
+
+    @Test
+    void givenNoSnapshot_whenRestoreLatestSnapshot_thenNothingIsLoaded() {
+        SnapshotServiceImpl snapshotService = new SnapshotServiceImpl(target, snapshotProperties);
+
+        assertThat(snapshotService.findLatestSnapshot()).isEmpty();
+        assertThat(snapshotService.restoreLatestSnapshot()).isFalse();
+    }
+
+    @Test
+    void givenSnapshot_whenRestoreLatestSnapshot_thenTablesAreReproduced() {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        sourceJdbc.update("INSERT INTO stock_exchange_stock (stock_exchange_id, stock_id) VALUES (1, 1), (1, 2), (2, 3)");
+        sourceJdbc.update("UPDATE stock SET version = 4, description = NULL WHERE id = 2");
+        sourceJdbc.update("INSERT INTO stock_tombstone (change_seq, stock_id, deleted_at) "
+                + "VALUES (NEXT VALUE FOR stock_change_seq, 42, CURRENT_TIMESTAMP)");
+        sourceJdbc.update("UPDATE stock_exchange SET market_open = FALSE, live_in_market = FALSE WHERE id = 2");
+        sourceJdbc.update("INSERT INTO market_session (stock_exchange_id, time_zone, open_time, close_time, trading_days) "
+                + "VALUES (2, 'Europe/Istanbul', TIME '10:00:00', TIME '18:00:00', 31)");
+        sourceJdbc.update("INSERT INTO market_holiday (stock_exchange_id, holiday) VALUES (2, DATE '2026-10-29'), (2, DATE '2026-12-31')");
+        sourceJdbc.update("INSERT INTO price_alert (stock_id, owner, type, above_price, below_price, percentage, reference_price, created_at) "
+                + "VALUES (1, 'user', 'MOVE', 110.00, 90.00, 10.00, 100.00, CURRENT_TIMESTAMP)");
+        sourceJdbc.update("INSERT INTO price_alert (stock_id, owner, type, above_price, created_at, triggered_at, triggered_price) "
+                + "VALUES (2, 'admin', 'ABOVE', 120.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 121.50)");
+        sourceJdbc.update("INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, created_at) "
+                + "VALUES ('STOCK', 1, 'CREATED', '{\"id\":1}', CURRENT_TIMESTAMP), ('STOCK', 2, 'DELETED', '{\"id\":2}', CURRENT_TIMESTAMP)");
+        sourceJdbc.update("INSERT INTO outbox_consumer_offset (consumer, last_event_id, version) VALUES ('relay', 1, 3)");
+
+        Path snapshot = new SnapshotServiceImpl(source, snapshotProperties).takeSnapshot();
+        SnapshotServiceImpl snapshotService = new SnapshotServiceImpl(target, snapshotProperties);
+
+        assertThat(snapshotService.findLatestSnapshot()).contains(snapshot);
+        assertThat(snapshotService.restoreLatestSnapshot()).isTrue();
+
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        for (String query : new String[]{
+                "SELECT id, name, description, live_in_market, market_open, version FROM stock_exchange ORDER BY id",
+                "SELECT id, name, description, current_price, last_update, version, change_seq FROM stock ORDER BY id",
+                "SELECT change_seq, stock_id FROM stock_tombstone ORDER BY change_seq",
+                "SELECT stock_exchange_id, stock_id FROM stock_exchange_stock ORDER BY stock_exchange_id, stock_id",
+                "SELECT stock_exchange_id, time_zone, open_time, close_time, trading_days FROM market_session ORDER BY stock_exchange_id",
+                "SELECT stock_exchange_id, holiday FROM market_holiday ORDER BY stock_exchange_id, holiday",
+                "SELECT id, stock_id, owner, type, above_price, below_price, percentage, reference_price, triggered_price, "
+                        + "triggered_at IS NULL FROM price_alert ORDER BY id",
+                "SELECT id, aggregate_type, aggregate_id, event_type, payload FROM outbox_event ORDER BY id",
+                "SELECT consumer, last_event_id, version FROM outbox_consumer_offset ORDER BY consumer"}) {
+            assertThat(targetJdbc.queryForList(query)).isEqualTo(sourceJdbc.queryForList(query));
+        }
+        assertThat(targetJdbc.queryForObject("SELECT current_price FROM stock WHERE id = 1", BigDecimal.class))
+                .isEqualByComparingTo("100.00");
+        assertThat(targetJdbc.queryForObject("SELECT market_open FROM stock_exchange WHERE id = 2", Boolean.class)).isFalse();
+        assertThat(targetJdbc.queryForObject("SELECT COUNT(*) FROM market_holiday", Integer.class)).isEqualTo(2);
+        targetJdbc.update("INSERT INTO price_alert (stock_id, owner, type, above_price, created_at) "
+                + "VALUES (3, 'user', 'ABOVE', 1.00, CURRENT_TIMESTAMP)");
+        assertThat(targetJdbc.queryForObject("SELECT MAX(id) FROM price_alert", Long.class)).isEqualTo(3L);
+        targetJdbc.update("INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, created_at) "
+                + "VALUES ('STOCK', 3, 'CREATED', '{}', CURRENT_TIMESTAMP)");
+        assertThat(targetJdbc.queryForObject("SELECT MAX(id) FROM outbox_event", Long.class)).isEqualTo(3L);
+    }
+
+    @Test
+    void givenRestoredSnapshot_whenUpdatingStock_thenChangeSequenceContinuesAfterRestoredValues() {
+        new SnapshotServiceImpl(source, snapshotProperties).takeSnapshot();
+        new SnapshotServiceImpl(target, snapshotProperties).restoreLatestSnapshot();
+
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        Long maxChangeSeq = targetJdbc.queryForObject("SELECT MAX(change_seq) FROM stock", Long.class);
+        targetJdbc.update("UPDATE stock SET current_price = 1.00 WHERE id = 1");
+
+        assertThat(targetJdbc.queryForObject("SELECT change_seq FROM stock WHERE id = 1", Long.class)).isGreaterThan(maxChangeSeq);
+    }
+
+    @Test
+    void givenRestoredSnapshot_whenReadingEpoch_thenSourceEpochIsCarriedOver() {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        UUID sourceEpoch = sourceJdbc.queryForObject("SELECT epoch FROM database_epoch", UUID.class);
+        assertThat(targetJdbc.queryForObject("SELECT epoch FROM database_epoch", UUID.class)).isNotEqualTo(sourceEpoch);
+
+        new SnapshotServiceImpl(source, snapshotProperties).takeSnapshot();
+        new SnapshotServiceImpl(target, snapshotProperties).restoreLatestSnapshot();
+
+        assertThat(targetJdbc.queryForList("SELECT epoch FROM database_epoch", UUID.class)).containsExactly(sourceEpoch);
+    }
+
+    @Test
+    void givenRestoredSnapshot_whenInsertingNewRow_thenIdentityContinuesAfterRestoredIds() {
+        new SnapshotServiceImpl(source, snapshotProperties).takeSnapshot();
+        new SnapshotServiceImpl(target, snapshotProperties).restoreLatestSnapshot();
+
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        targetJdbc.update("INSERT INTO stock (name, description, current_price, last_update, version) "
+                + "VALUES ('New', 'New Inc.', 1.00, CURRENT_TIMESTAMP, 0)");
+
+        assertThat(targetJdbc.queryForObject("SELECT id FROM stock WHERE name = 'New'", Long.class)).isEqualTo(9L);
+    }
+
+    @Test
+    void givenManySnapshots_whenTakeSnapshot_thenOnlyRecentSnapshotsAreRetained() throws Exception {
+        SnapshotServiceImpl snapshotService = new SnapshotServiceImpl(source, snapshotProperties);
+        Path latest = null;
+        for (int i = 0; i < 5; i++) {
+            latest = snapshotService.takeSnapshot();
+            Thread.sleep(2);
+        }
+
+        try (var files = Files.list(snapshotDirectory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+        assertThat(snapshotService.findLatestSnapshot()).contains(latest);
+    }
+
+    private EmbeddedDatabase createDatabase(String name, boolean withData) {
+        EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .addScript("classpath:schema.sql");
+        if (withData) {
+            builder.addScript("classpath:data.sql");
+        }
+        return builder.build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.inghubs.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inghubs.cache.StockExchangeCache;
 import com.inghubs.converter.StockExchangeConverter;
+import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockExchangeDTO;
 import com.inghubs.entity.Stock;
 import com.inghubs.entity.StockExchange;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.event.StockExchangeChangedEvent;
 import com.inghubs.exception.ResourceNotFoundException;
 import com.inghubs.exception.StockAlreadyExistsException;
 import com.inghubs.repository.StockExchangeRepository;
@@ -14,18 +19,30 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class StockExchangeServiceImplTest {
@@ -42,6 +59,15 @@ class StockExchangeServiceImplTest {
     @Mock
     private MessageUtils messageUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private StockExchangeCache stockExchangeCache = new StockExchangeCache();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private StockExchangeServiceImpl stockExchangeService;
 
@@ -63,25 +89,219 @@ class StockExchangeServiceImplTest {
                 .name(name)
                 .build();
 
-        when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.of(stockExchange));
         when(stockExchangeConverter.toDTO(stockExchange)).thenReturn(stockExchangeDTO);
 
         StockExchangeDTO result = stockExchangeService.getStockExchange(name);
 
         assertNotNull(result);
         assertEquals(name, result.getName());
-        verify(stockExchangeRepository, times(1)).findByName(name);
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
         verify(stockExchangeConverter, times(1)).toDTO(stockExchange);
     }
 
+    @Test
+    void givenCachedStockExchange_whenGetStockExchangeJson_thenRepositoryAndSerializerAreNotCalledAgain() throws Exception {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        StockExchangeDTO stockExchangeDTO = StockExchangeDTO.builder().id(1L).name(name).stocks(Set.of()).build();
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.of(stockExchange));
+        when(stockExchangeConverter.toDTO(stockExchange)).thenReturn(stockExchangeDTO);
+
+        byte[] first = stockExchangeService.getStockExchangeJson(name);
+        byte[] second = stockExchangeService.getStockExchangeJson(name);
+
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readTree(first).get("name").asText()).isEqualTo(name);
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
+        verify(objectMapper, times(1)).writeValueAsBytes(stockExchangeDTO);
+    }
+
+    @Test
+    void givenCachedStockExchange_whenMemberStockOrMembershipChanges_thenItIsReloaded() {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        StockDTO stockDTO = StockDTO.builder().id(7L).name("Member").build();
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.of(stockExchange));
+        when(stockExchangeConverter.toDTO(stockExchange))
+                .thenReturn(StockExchangeDTO.builder().id(1L).name(name).stocks(Set.of(stockDTO)).build());
+
+        stockExchangeService.getStockExchange(name);
+        stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED,
+                StockDTO.builder().id(8L).build()));
+        stockExchangeService.getStockExchange(name);
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
+
+        stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED, stockDTO));
+        stockExchangeService.getStockExchange(name);
+        verify(stockExchangeRepository, times(2)).findWithStocksByName(name);
+
+        stockExchangeService.onStockExchangeChanged(new StockExchangeChangedEvent(StockExchangeChangedEvent.Type.STOCK_ADDED,
+                1L, name, 8L, false, null, null));
+        stockExchangeService.getStockExchange(name);
+        verify(stockExchangeRepository, times(3)).findWithStocksByName(name);
+    }
+
+    @Test
+    void givenChangeDuringLoad_whenGetStockExchange_thenLoadedStockExchangeIsNotCached() {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.of(stockExchange));
+        when(stockExchangeConverter.toDTO(stockExchange)).thenAnswer(invocation -> {
+            stockExchangeCache.invalidate(name);
+            return StockExchangeDTO.builder().id(1L).name(name).stocks(Set.of()).build();
+        });
+
+        stockExchangeService.getStockExchange(name);
+
+        assertThat(stockExchangeCache.get(name)).isNull();
+    }
+
+    @Test
+    void givenConcurrentMisses_whenGetStockExchange_thenOneLoadIsShared() throws Exception {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stockExchangeRepository.findWithStocksByName(name)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(stockExchange);
+        });
+        when(stockExchangeConverter.toDTO(stockExchange)).thenAnswer(invocation -> StockExchangeDTO.builder().id(1L).name(name).build());
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        List<Thread> waiters = new CopyOnWriteArrayList<>();
+        try {
+            Future<StockExchangeDTO> leader = executor.submit(() -> stockExchangeService.getStockExchange(name));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<StockExchangeDTO>> followers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                followers.add(executor.submit(() -> {
+                    waiters.add(Thread.currentThread());
+                    return stockExchangeService.getStockExchange(name);
+                }));
+            }
+            while (waiters.size() < 8 || waiters.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            StockExchangeDTO loaded = leader.get(5, TimeUnit.SECONDS);
+            for (Future<StockExchangeDTO> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
+    }
+
+    @Test
+    void givenMemberStockChangeDuringLoad_whenGetStockExchange_thenLoadedStockExchangeIsNotCached() {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        StockDTO stockDTO = StockDTO.builder().id(7L).name("Member").build();
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.of(stockExchange));
+        when(stockExchangeConverter.toDTO(stockExchange)).thenAnswer(invocation -> {
+            stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED,
+                    StockDTO.builder().id(8L).build()));
+            stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED, stockDTO));
+            return StockExchangeDTO.builder().id(1L).name(name).stocks(Set.of(stockDTO)).build();
+        });
+
+        stockExchangeService.getStockExchange(name);
+
+        assertThat(stockExchangeCache.get(name)).isNull();
+    }
+
+    @Test
+    void givenConcurrentMissesDuringUnrelatedPriceUpdates_whenGetStockExchange_thenOneLoadIsSharedAndCached() throws Exception {
+        String name = "Test Exchange";
+        StockExchange stockExchange = StockExchange.builder().id(1L).name(name).build();
+        StockDTO stockDTO = StockDTO.builder().id(7L).name("Member").build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stockExchangeRepository.findWithStocksByName(name)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(stockExchange);
+        });
+        when(stockExchangeConverter.toDTO(stockExchange))
+                .thenAnswer(invocation -> StockExchangeDTO.builder().id(1L).name(name).stocks(Set.of(stockDTO)).build());
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        List<Thread> waiters = new CopyOnWriteArrayList<>();
+        try {
+            Future<StockExchangeDTO> leader = executor.submit(() -> stockExchangeService.getStockExchange(name));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<StockExchangeDTO>> followers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED,
+                        StockDTO.builder().id(100L + i).build()));
+                followers.add(executor.submit(() -> {
+                    waiters.add(Thread.currentThread());
+                    return stockExchangeService.getStockExchange(name);
+                }));
+            }
+            while (waiters.size() < 8 || waiters.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)) {
+                Thread.sleep(1);
+            }
+            stockExchangeService.onStockChanged(new StockChangedEvent(StockChangedEvent.Type.PRICE_UPDATED,
+                    StockDTO.builder().id(200L).build()));
+            release.countDown();
+
+            StockExchangeDTO loaded = leader.get(5, TimeUnit.SECONDS);
+            for (Future<StockExchangeDTO> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+            }
+            assertThat(stockExchangeCache.get(name).getStockExchange()).isSameAs(loaded);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
+    }
+
+    @Test
+    void givenConcurrentMissesOfFailingLoad_whenGetStockExchange_thenEveryCallerGetsTheFailure() throws Exception {
+        String name = "Non Existent Exchange";
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stockExchangeRepository.findWithStocksByName(name)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        try {
+            Future<StockExchangeDTO> leader = executor.submit(() -> stockExchangeService.getStockExchange(name));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<StockExchangeDTO> follower = executor.submit(() -> {
+                waiter.set(Thread.currentThread());
+                return stockExchangeService.getStockExchange(name);
+            });
+            while (waiter.get() == null || waiter.get().getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<StockExchangeDTO> caller : List.of(leader, follower)) {
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+                assertThat(exception.getCause()).isInstanceOf(ResourceNotFoundException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
+    }
+
     @Test
     void givenNonExistentStockExchangeName_whenGetStockExchange_thenThrowResourceNotFoundException() {
         String name = "Non Existent Exchange";
-        when(stockExchangeRepository.findByName(name)).thenReturn(Optional.empty());
+        when(stockExchangeRepository.findWithStocksByName(name)).thenReturn(Optional.empty());
         when(messageUtils.getMessage("stock.exchange.not.found", new Object[]{name})).thenReturn("Stock exchange not found");
 
         assertThrows(ResourceNotFoundException.class, () -> stockExchangeService.getStockExchange(name));
-        verify(stockExchangeRepository, times(1)).findByName(name);
+        verify(stockExchangeRepository, times(1)).findWithStocksByName(name);
         verify(messageUtils, times(1)).getMessage("stock.exchange.not.found", new Object[]{name});
     }
 
@@ -93,19 +313,14 @@ class StockExchangeServiceImplTest {
         StockExchange stockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
-                .stocks(new HashSet<>())
-                .build();
-
-        Stock stock = Stock.builder()
-                .id(stockId)
+                .version(3)
                 .build();
 
         StockExchange updatedStockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
-                .stocks(new HashSet<>())
+                .stocks(new HashSet<>(Set.of(Stock.builder().id(stockId).build())))
                 .build();
-        updatedStockExchange.addStock(stock);
 
         StockExchangeDTO updatedStockExchangeDTO = StockExchangeDTO.builder()
                 .id(1L)
@@ -113,8 +328,9 @@ class StockExchangeServiceImplTest {
                 .build();
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.of(stock));
-        when(stockExchangeRepository.save(any(StockExchange.class))).thenReturn(updatedStockExchange);
+        when(stockRepository.existsById(stockId)).thenReturn(true);
+        when(stockExchangeRepository.updateLiveInMarket(1L, 3, 5)).thenReturn(1);
+        when(stockExchangeRepository.findWithStocksById(1L)).thenReturn(Optional.of(updatedStockExchange));
         when(stockExchangeConverter.toDTO(any(StockExchange.class))).thenReturn(updatedStockExchangeDTO);
 
         StockExchangeDTO result = stockExchangeService.addStockToStockExchange(name, stockId);
@@ -122,9 +338,11 @@ class StockExchangeServiceImplTest {
         assertNotNull(result);
         assertEquals(name, result.getName());
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
-        verify(stockExchangeRepository, times(1)).save(any(StockExchange.class));
+        verify(stockRepository, times(1)).existsById(stockId);
+        verify(stockExchangeRepository, times(1)).insertStock(1L, stockId);
+        verify(stockExchangeRepository, times(1)).updateLiveInMarket(1L, 3, 5);
         verify(stockExchangeConverter, times(1)).toDTO(updatedStockExchange);
+        verify(stockRepository, never()).findById(any());
     }
 
     @Test
@@ -138,12 +356,13 @@ class StockExchangeServiceImplTest {
                 .build();
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.empty());
+        when(stockRepository.existsById(stockId)).thenReturn(false);
         when(messageUtils.getMessage("stock.not.found", new Object[]{stockId})).thenReturn("Stock not found");
 
         assertThrows(IllegalArgumentException.class, () -> stockExchangeService.addStockToStockExchange(name, stockId));
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
+        verify(stockRepository, times(1)).existsById(stockId);
+        verify(stockExchangeRepository, never()).insertStock(any(), any());
         verify(messageUtils, times(1)).getMessage("stock.not.found", new Object[]{stockId});
     }
 
@@ -152,24 +371,19 @@ class StockExchangeServiceImplTest {
         String name = "Test Exchange";
         Long stockId = 1L;
 
-        Stock stock = Stock.builder()
-                .id(stockId)
-                .build();
-
         StockExchange stockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
-                .stocks(new HashSet<>())
                 .build();
-        stockExchange.addStock(stock);
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.of(stock));
+        when(stockRepository.existsById(stockId)).thenReturn(true);
+        when(stockExchangeRepository.containsStock(1L, stockId)).thenReturn(true);
         when(messageUtils.getMessage("stock.already.exists.in.exchange", new Object[]{stockId})).thenReturn("Stock already exists in exchange");
 
         assertThrows(StockAlreadyExistsException.class, () -> stockExchangeService.addStockToStockExchange(name, stockId));
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
+        verify(stockExchangeRepository, never()).insertStock(any(), any());
         verify(messageUtils, times(1)).getMessage("stock.already.exists.in.exchange", new Object[]{stockId});
     }
 
@@ -178,20 +392,16 @@ class StockExchangeServiceImplTest {
         String name = "Test Exchange";
         Long stockId = 1L;
 
-        Stock stock = Stock.builder()
-                .id(stockId)
-                .build();
-
         StockExchange stockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
-                .stocks(new HashSet<>())
+                .version(3)
                 .build();
-        stockExchange.addStock(stock);
 
         StockExchange updatedStockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
+                .stocks(new HashSet<>())
                 .build();
 
         StockExchangeDTO updatedStockExchangeDTO = StockExchangeDTO.builder()
@@ -200,8 +410,10 @@ class StockExchangeServiceImplTest {
                 .build();
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.of(stock));
-        when(stockExchangeRepository.save(any(StockExchange.class))).thenReturn(updatedStockExchange);
+        when(stockRepository.existsById(stockId)).thenReturn(true);
+        when(stockExchangeRepository.deleteStock(1L, stockId)).thenReturn(1);
+        when(stockExchangeRepository.updateLiveInMarket(1L, 3, 5)).thenReturn(1);
+        when(stockExchangeRepository.findWithStocksById(1L)).thenReturn(Optional.of(updatedStockExchange));
         when(stockExchangeConverter.toDTO(any(StockExchange.class))).thenReturn(updatedStockExchangeDTO);
 
         StockExchangeDTO result = stockExchangeService.removeStockFromStockExchange(name, stockId);
@@ -209,8 +421,9 @@ class StockExchangeServiceImplTest {
         assertNotNull(result);
         assertEquals(name, result.getName());
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
-        verify(stockExchangeRepository, times(1)).save(any(StockExchange.class));
+        verify(stockRepository, times(1)).existsById(stockId);
+        verify(stockExchangeRepository, times(1)).deleteStock(1L, stockId);
+        verify(stockExchangeRepository, times(1)).updateLiveInMarket(1L, 3, 5);
         verify(stockExchangeConverter, times(1)).toDTO(updatedStockExchange);
     }
 
@@ -225,12 +438,13 @@ class StockExchangeServiceImplTest {
                 .build();
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.empty());
+        when(stockRepository.existsById(stockId)).thenReturn(false);
         when(messageUtils.getMessage("stock.not.found", new Object[]{stockId})).thenReturn("Stock not found");
 
         assertThrows(IllegalArgumentException.class, () -> stockExchangeService.removeStockFromStockExchange(name, stockId));
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
+        verify(stockRepository, times(1)).existsById(stockId);
+        verify(stockExchangeRepository, never()).deleteStock(any(), any());
         verify(messageUtils, times(1)).getMessage("stock.not.found", new Object[]{stockId});
     }
 
@@ -239,142 +453,38 @@ class StockExchangeServiceImplTest {
         String name = "Test Exchange";
         Long stockId = 1L;
 
-        Stock stock = Stock.builder()
-                .id(stockId)
-                .build();
-
         StockExchange stockExchange = StockExchange.builder()
                 .id(1L)
                 .name(name)
-                .stocks(new HashSet<>())
                 .build();
 
         when(stockExchangeRepository.findByName(name)).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(stockId)).thenReturn(Optional.of(stock));
+        when(stockRepository.existsById(stockId)).thenReturn(true);
+        when(stockExchangeRepository.deleteStock(1L, stockId)).thenReturn(0);
         when(messageUtils.getMessage("stock.not.found.in.exchange", new Object[]{})).thenReturn("Stock not found in exchange");
 
         assertThrows(ResourceNotFoundException.class, () -> stockExchangeService.removeStockFromStockExchange(name, stockId));
         verify(stockExchangeRepository, times(1)).findByName(name);
-        verify(stockRepository, times(1)).findById(stockId);
+        verify(stockExchangeRepository, never()).updateLiveInMarket(any(), anyInt(), anyInt());
         verify(messageUtils, times(1)).getMessage("stock.not.found.in.exchange", new Object[]{});
     }
 
     @Test
-    void givenStockExchangeWith4Stocks_whenAddStock_thenLiveInMarketIsTrue() {
-        StockExchange stockExchange = createStockExchangeWithStocks(4, false);
-        Stock newStock = createStock(5L, "Stock 5", "Description 5", BigDecimal.valueOf(105));
-
-        when(stockExchangeRepository.findByName("Test Exchange")).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(any(Long.class))).thenReturn(Optional.of(newStock));
-        when(stockExchangeRepository.save(any(StockExchange.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(stockExchangeConverter.toDTO(any(StockExchange.class))).thenReturn(new StockExchangeDTO());
-
-        stockExchangeService.addStockToStockExchange("Test Exchange", newStock.getId());
-
-        assertThat(stockExchange.isLiveInMarket()).isTrue();
-        verify(stockExchangeRepository, times(1)).save(stockExchange);
-    }
-
-    @Test
-    void givenStockExchangeWith5Stocks_whenRemoveStock_thenLiveInMarketIsFalse() {
-        StockExchange stockExchange = createStockExchangeWithStocks(5, true);
-        Stock stockToRemove = stockExchange.getStocks().iterator().next();
-
-        when(stockExchangeRepository.findByName("Test Exchange")).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(any(Long.class))).thenReturn(Optional.of(stockToRemove));
-        when(stockExchangeRepository.save(any(StockExchange.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(stockExchangeConverter.toDTO(any(StockExchange.class))).thenReturn(new StockExchangeDTO());
-
-        stockExchangeService.removeStockFromStockExchange("Test Exchange", stockToRemove.getId());
-
-        assertThat(stockExchange.isLiveInMarket()).isFalse();
-        verify(stockExchangeRepository, times(1)).save(stockExchange);
-    }
-
-    private StockExchange createStockExchangeWithStocks(int numStocks, boolean liveInMarket) {
-        Set<Stock> stocks = new HashSet<>();
-        for (int i = 0; i < numStocks; i++) {
-            stocks.add(Stock.builder()
-                    .id((long) i)
-                    .name("Stock " + i)
-                    .description("Description " + i)
-                    .currentPrice(BigDecimal.valueOf(100 + i))
-                    .build());
-        }
-
-        return StockExchange.builder()
-                .id(5L)
-                .name("Test Exchange")
-                .description("Test Description")
-                .liveInMarket(liveInMarket)
-                .stocks(stocks)
-                .build();
-    }
-
-    private Stock createStock(long id, String name, String description, BigDecimal price) {
-        return Stock.builder()
-                .id(id)
-                .name(name)
-                .description(description)
-                .currentPrice(price)
-                .build();
-    }
-
-    @Test
-    void whenTwoUsersAddSameStockConcurrently_thenOneSucceedsAndOneFails() throws InterruptedException {
-        Set<Stock> stocks = new HashSet<>();
-        Stock stockToAdd = Stock.builder()
-                .id(1L)
-                .name("Stock 1")
-                .description("Description 1")
-                .currentPrice(BigDecimal.valueOf(100))
-                .build();
-
+    void givenStockExchangeChangedConcurrently_whenAddStock_thenThrowOptimisticLockingFailure() {
         StockExchange stockExchange = StockExchange.builder()
                 .id(1L)
                 .name("Test Exchange")
-                .description("Test Description")
-                .liveInMarket(false)
-                .stocks(stocks)
+                .version(3)
                 .build();
 
         when(stockExchangeRepository.findByName("Test Exchange")).thenReturn(Optional.of(stockExchange));
-        when(stockRepository.findById(any(Long.class))).thenReturn(Optional.of(stockToAdd));
-        when(stockExchangeRepository.save(any(StockExchange.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(stockExchangeConverter.toDTO(any(StockExchange.class))).thenReturn(new StockExchangeDTO());
-        when(messageUtils.getMessage(anyString(), any())).thenReturn("Stock already exists in exchange");
-
-        CountDownLatch latch = new CountDownLatch(2);
-
-        Thread user1 = new Thread(() -> {
-            try {
-                latch.countDown();
-                latch.await();
-                stockExchangeService.addStockToStockExchange("Test Exchange", stockToAdd.getId());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
-
-        Thread user2 = new Thread(() -> {
-            try {
-                latch.countDown();
-                latch.await();
-                assertThrows(StockAlreadyExistsException.class, () -> {
-                    stockExchangeService.addStockToStockExchange("Test Exchange", stockToAdd.getId());
-                });
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
-
-        user1.start();
-        user2.start();
-        user1.join();
-        user2.join();
+        when(stockRepository.existsById(1L)).thenReturn(true);
+        when(stockExchangeRepository.updateLiveInMarket(1L, 3, 5)).thenReturn(0);
 
-        assertThat(stockExchange.getStocks()).contains(stockToAdd);
-        verify(stockExchangeRepository, times(1)).save(stockExchange);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> stockExchangeService.addStockToStockExchange("Test Exchange", 1L));
+        verify(stockExchangeRepository, never()).findWithStocksById(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
 }
@@ -1,12 +1,21 @@
 package com.inghubs.service.impl;
 
+import com.inghubs.cache.StockNameFilter;
+import com.inghubs.changes.StockChangeWatermark;
 import com.inghubs.converter.StockConverter;
+import com.inghubs.dto.StockChangesDTO;
 import com.inghubs.dto.StockCreateDTO;
 import com.inghubs.dto.StockDTO;
 import com.inghubs.dto.StockPriceUpdateDTO;
 import com.inghubs.entity.Stock;
+import com.inghubs.entity.StockTombstone;
+import com.inghubs.event.StockChangedEvent;
+import com.inghubs.exception.BadRequestException;
 import com.inghubs.exception.ResourceNotFoundException;
+import com.inghubs.exception.StockAlreadyExistsException;
+import com.inghubs.repository.StockExchangeRepository;
 import com.inghubs.repository.StockRepository;
+import com.inghubs.repository.StockTombstoneRepository;
 import com.inghubs.service.impl.StockServiceImpl;
 import com.inghubs.util.MessageUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,9 +23,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,12 +42,27 @@ class StockServiceImplTest {
     @Mock
     private StockRepository stockRepository;
 
+    @Mock
+    private StockTombstoneRepository stockTombstoneRepository;
+
+    @Mock
+    private StockExchangeRepository stockExchangeRepository;
+
     @Mock
     private StockConverter stockConverter;
 
     @Mock
     private MessageUtils messageUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockNameFilter stockNameFilter;
+
+    @Mock
+    private StockChangeWatermark stockChangeWatermark;
+
     @InjectMocks
     private StockServiceImpl stockService;
 
@@ -76,6 +106,25 @@ class StockServiceImplTest {
         verify(stockConverter, times(1)).fromCreateDTO(stockCreateDTO);
         verify(stockRepository, times(1)).save(any(Stock.class));
         verify(stockConverter, times(1)).toDTO(stock);
+        verify(stockNameFilter).add(stockCreateDTO.getName());
+        verify(stockRepository, never()).findByName(any());
+    }
+
+    @Test
+    void givenNameThatMightExist_whenCreateStock_thenNameIsLookedUp() {
+        StockCreateDTO stockCreateDTO = StockCreateDTO.builder()
+                .name("Tesla")
+                .description("Electric vehicles")
+                .currentPrice(BigDecimal.valueOf(250.0))
+                .build();
+        Stock stock = Stock.builder().id(1L).name("Tesla").build();
+
+        when(stockNameFilter.mightContain("Tesla")).thenReturn(true);
+        when(stockRepository.findByName("Tesla")).thenReturn(Optional.of(stock));
+
+        assertThrows(StockAlreadyExistsException.class, () -> stockService.createStock(stockCreateDTO));
+        verify(stockRepository, never()).save(any(Stock.class));
+        verify(stockNameFilter, never()).add(any());
     }
 
     @Test
@@ -117,7 +166,7 @@ class StockServiceImplTest {
                 .build();
 
         when(stockRepository.findById(1L)).thenReturn(Optional.of(stock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(updatedStockEntity);
+        when(stockRepository.saveAndFlush(any(Stock.class))).thenReturn(updatedStockEntity);
         when(stockConverter.toDTO(any(Stock.class))).thenReturn(updatedStockDTO);
 
         StockDTO updatedStock = stockService.updateStockPrice(stockPriceUpdateDTO);
@@ -125,10 +174,37 @@ class StockServiceImplTest {
         assertNotNull(updatedStock);
         assertEquals(BigDecimal.valueOf(150.0), updatedStock.getCurrentPrice());
         verify(stockRepository, times(1)).findById(1L);
-        verify(stockRepository, times(1)).save(stock);
+        verify(stockRepository, times(1)).saveAndFlush(stock);
         verify(stockConverter, times(1)).toDTO(updatedStockEntity);
     }
 
+    @Test
+    void givenSeveralUpdates_whenUpdateStockPrices_thenStocksAreLoadedOnceAndMissingStocksAreNull() {
+        Stock stock = Stock.builder()
+                .id(1L)
+                .currentPrice(BigDecimal.valueOf(100.0))
+                .build();
+        when(stockRepository.findAllById(any())).thenReturn(List.of(stock));
+        when(stockConverter.toDTO(stock)).thenAnswer(invocation -> StockDTO.builder()
+                .id(1L)
+                .currentPrice(stock.getCurrentPrice())
+                .build());
+
+        List<StockDTO> updatedStocks = stockService.updateStockPrices(List.of(
+                new StockPriceUpdateDTO(1L, BigDecimal.valueOf(110.0)),
+                new StockPriceUpdateDTO(2L, BigDecimal.valueOf(50.0)),
+                new StockPriceUpdateDTO(1L, BigDecimal.valueOf(120.0))));
+
+        assertEquals(3, updatedStocks.size());
+        assertEquals(BigDecimal.valueOf(110.0), updatedStocks.get(0).getCurrentPrice());
+        assertNull(updatedStocks.get(1));
+        assertEquals(BigDecimal.valueOf(120.0), updatedStocks.get(2).getCurrentPrice());
+        assertEquals(BigDecimal.valueOf(120.0), stock.getCurrentPrice());
+        verify(stockRepository, times(1)).findAllById(any());
+        verify(stockRepository, times(1)).saveAllAndFlush(any());
+        verify(eventPublisher, times(2)).publishEvent(any(StockChangedEvent.class));
+    }
+
     @Test
     void givenValidStockId_whenDeleteStock_thenStockIsDeleted() {
         Long stockId = 1L;
@@ -146,6 +222,76 @@ class StockServiceImplTest {
         verify(stockRepository, times(1)).delete(stock);
     }
 
+    @Test
+    void givenValidStockId_whenDeleteStock_thenStockIsRemovedFromStockExchangesBeforeDelete() {
+        Long stockId = 1L;
+        Stock stock = Stock.builder()
+                .id(stockId)
+                .build();
+
+        when(stockRepository.findById(stockId)).thenReturn(Optional.of(stock));
+
+        stockService.deleteStock(stockId);
+
+        var inOrder = inOrder(stockExchangeRepository, stockRepository);
+        inOrder.verify(stockExchangeRepository).updateLiveInMarketWithoutStocks(List.of(stockId), 5);
+        inOrder.verify(stockExchangeRepository).deleteStocksFromAll(List.of(stockId));
+        inOrder.verify(stockRepository).delete(stock);
+    }
+
+    @Test
+    void givenValidStockIds_whenDeleteStocks_thenStocksAreDeletedWithSetBasedStatements() {
+        Stock stock1 = Stock.builder().id(1L).build();
+        Stock stock2 = Stock.builder().id(2L).build();
+        Set<Long> ids = new LinkedHashSet<>(List.of(1L, 2L));
+
+        when(stockRepository.findAllById(ids)).thenReturn(List.of(stock1, stock2));
+
+        stockService.deleteStocks(List.of(1L, 2L, 1L));
+
+        var inOrder = inOrder(stockExchangeRepository, stockTombstoneRepository, stockRepository);
+        inOrder.verify(stockExchangeRepository).updateLiveInMarketWithoutStocks(ids, 5);
+        inOrder.verify(stockTombstoneRepository).insertForStocks(ids);
+        inOrder.verify(stockRepository).deleteAllByIdInBatch(ids);
+        verify(eventPublisher, times(2)).publishEvent(any(StockChangedEvent.class));
+    }
+
+    @Test
+    void givenNonExistentStockId_whenDeleteStocks_thenThrowResourceNotFoundExceptionAndDeleteNothing() {
+        when(stockRepository.findAllById(any())).thenReturn(List.of(Stock.builder().id(1L).build()));
+
+        assertThrows(ResourceNotFoundException.class, () -> stockService.deleteStocks(List.of(1L, 2L)));
+        verify(messageUtils).getMessage("stock.not.found", 2L);
+        verify(stockRepository, never()).deleteAllByIdInBatch(any());
+        verify(stockExchangeRepository, never()).updateLiveInMarketWithoutStocks(any(), anyInt());
+    }
+
+    @Test
+    void givenNoOrTooManyStockIds_whenDeleteStocks_thenThrowBadRequestException() {
+        List<Long> tooMany = LongStream.rangeClosed(1, 1_001).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> stockService.deleteStocks(List.of()));
+        assertThrows(BadRequestException.class, () -> stockService.deleteStocks(tooMany));
+        verify(stockRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void givenValidStockId_whenDeleteStock_thenStockDeletedEventIsPublished() {
+        Stock stock = Stock.builder()
+                .id(1L)
+                .build();
+        StockDTO stockDTO = StockDTO.builder()
+                .id(1L)
+                .build();
+
+        when(stockRepository.findById(1L)).thenReturn(Optional.of(stock));
+        when(stockConverter.toDTO(stock)).thenReturn(stockDTO);
+
+        stockService.deleteStock(1L);
+
+        verify(eventPublisher, times(1)).publishEvent(new StockChangedEvent(StockChangedEvent.Type.DELETED, stockDTO));
+    }
+
     @Test
     void givenNonExistentStockId_whenDeleteStock_thenThrowStockNotFoundException() {
         Long stockId = 1L;
@@ -155,4 +301,45 @@ class StockServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> stockService.deleteStock(stockId));
         verify(stockRepository, times(1)).findById(stockId);
     }
+
+    @Test
+    void givenChangesAndDeletions_whenGetStockChanges_thenReturnedInChangeOrder() {
+        Stock first = Stock.builder().id(1L).changeSeq(11L).build();
+        Stock third = Stock.builder().id(3L).changeSeq(13L).build();
+        StockTombstone second = StockTombstone.builder().changeSeq(12L).stockId(2L).build();
+
+        when(stockChangeWatermark.current()).thenReturn(20L);
+        when(stockRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(11L, 19L, Limit.of(2))).thenReturn(List.of(first, third));
+        when(stockTombstoneRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(11L, 19L, Limit.of(2))).thenReturn(List.of(second));
+        when(stockConverter.toDTO(first)).thenReturn(StockDTO.builder().id(1L).build());
+
+        StockChangesDTO changes = stockService.getStockChanges("10", 2);
+
+        assertEquals(1, changes.getChanged().size());
+        assertEquals(1L, changes.getChanged().get(0).getId());
+        assertEquals(List.of(2L), changes.getDeleted());
+        assertEquals("12", changes.getNextToken());
+        assertTrue(changes.isHasMore());
+    }
+
+    @Test
+    void givenRunningTransaction_whenGetStockChanges_thenOnlyChangesBelowTheWatermarkAreRead() {
+        when(stockChangeWatermark.current()).thenReturn(11L);
+        when(stockRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(11L, 10L, Limit.of(500))).thenReturn(List.of());
+        when(stockTombstoneRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(11L, 10L, Limit.of(500))).thenReturn(List.of());
+
+        StockChangesDTO changes = stockService.getStockChanges("10", 500);
+
+        assertTrue(changes.getChanged().isEmpty());
+        assertEquals("10", changes.getNextToken());
+        assertFalse(changes.isHasMore());
+        verify(stockRepository).findByChangeSeqBetweenOrderByChangeSeqAsc(11L, 10L, Limit.of(500));
+    }
+
+    @Test
+    void givenInvalidToken_whenGetStockChanges_thenThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> stockService.getStockChanges("abc", 500));
+        assertThrows(BadRequestException.class, () -> stockService.getStockChanges("-1", 500));
+        verifyNoInteractions(stockRepository);
+    }
 }
\ No newline at end of file
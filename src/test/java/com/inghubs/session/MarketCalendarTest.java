@@ -0,0 +1,65 @@
+package com.inghubs.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketCalendarTest {
+
+    private static final ZoneId ISTANBUL = ZoneId.of("Europe/Istanbul");
+    private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    private final MarketCalendar calendar = new MarketCalendar(ISTANBUL, LocalTime.of(10, 0), LocalTime.of(18, 0),
+            WEEKDAYS, Set.of(LocalDate.of(2024, 10, 29)));
+
+    @Test
+    void givenTradingDay_whenDuringAndOutsideHours_thenOpenOnlyDuringHours() {
+        assertThat(calendar.isOpen(Instant.parse("2024-10-28T06:59:59Z"))).isFalse();
+        assertThat(calendar.isOpen(Instant.parse("2024-10-28T07:00:00Z"))).isTrue();
+        assertThat(calendar.isOpen(Instant.parse("2024-10-28T14:59:59Z"))).isTrue();
+        assertThat(calendar.isOpen(Instant.parse("2024-10-28T15:00:00Z"))).isFalse();
+    }
+
+    @Test
+    void givenHolidayAndWeekend_whenDuringHours_thenClosed() {
+        assertThat(calendar.isOpen(Instant.parse("2024-10-29T08:00:00Z"))).isFalse();
+        assertThat(calendar.isOpen(Instant.parse("2024-11-02T08:00:00Z"))).isFalse();
+    }
+
+    @Test
+    void givenOpenMarket_whenNextTransition_thenClose() {
+        assertThat(calendar.nextTransition(Instant.parse("2024-10-28T08:00:00Z")))
+                .isEqualTo(Instant.parse("2024-10-28T15:00:00Z"));
+    }
+
+    @Test
+    void givenClosedMarketBeforeHolidayAndWeekend_whenNextTransition_thenOpenOnNextTradingDay() {
+        assertThat(calendar.nextTransition(Instant.parse("2024-10-28T15:00:00Z")))
+                .isEqualTo(Instant.parse("2024-10-30T07:00:00Z"));
+        assertThat(calendar.nextTransition(Instant.parse("2024-11-01T16:00:00Z")))
+                .isEqualTo(Instant.parse("2024-11-04T07:00:00Z"));
+    }
+
+    @Test
+    void givenNoTradingDays_whenNextTransition_thenNone() {
+        MarketCalendar neverOpen = new MarketCalendar(ISTANBUL, LocalTime.of(10, 0), LocalTime.of(18, 0),
+                EnumSet.noneOf(DayOfWeek.class), Set.of());
+
+        assertThat(neverOpen.nextTransition(Instant.parse("2024-10-28T08:00:00Z"))).isNull();
+    }
+
+    @Test
+    void givenCloseBeforeOpen_whenCreated_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new MarketCalendar(ISTANBUL, LocalTime.of(18, 0), LocalTime.of(10, 0), WEEKDAYS, Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.inghubs.session;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cost of opening the markets of many stock exchanges at the same instant.
+ * <p>
+ * Schedules one timer per stock exchange in a {@link TimerWheel}, all due on the same tick, and reports the time to
+ * schedule them and to expire them. Then writes the transition to an in-memory H2 database, with the statement of
+ * {@code StockExchangeRepository.updateMarketOpen}: once with one transaction per stock exchange, as separate timers
+ * would, and once in batches of ids with one transaction per batch, as {@link MarketSessionScheduler} does. Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) com.inghubs.session.MarketSessionBenchmark [exchanges] [batchSize]
+ * </pre>
+ */
+public final class MarketSessionBenchmark {
+
+    private static final int STOCKS_PER_EXCHANGE = 5;
+    private static final String UPDATE = "UPDATE stock_exchange SET market_open = ?, live_in_market = ? AND (SELECT COUNT(*) "
+            + "FROM stock_exchange_stock WHERE stock_exchange_id = stock_exchange.id) >= 5, version = version + 1 "
+            + "WHERE id IN (%s) AND market_open <> ?";
+
+    private MarketSessionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int exchanges = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        TimerWheel<Long> wheel = new TimerWheel<>(1_000, 4_096, 0);
+        long start = System.nanoTime();
+        for (long id = 1; id <= exchanges; id++) {
+            wheel.schedule(34_200_000, id);
+        }
+        long scheduled = System.nanoTime() - start;
+        List<Long> due = new ArrayList<>();
+        start = System.nanoTime();
+        wheel.advance(34_200_000, due::add);
+        long expired = System.nanoTime() - start;
+        System.out.printf("Timer wheel: %,d timers scheduled in %.1f ms, expired in one tick in %.1f ms%n",
+                due.size(), scheduled / 1e6, expired / 1e6);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:sessions")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE stock_exchange (id BIGINT PRIMARY KEY, live_in_market BOOLEAN NOT NULL, "
+                        + "market_open BOOLEAN NOT NULL, version INT NOT NULL)");
+                statement.execute("CREATE TABLE stock_exchange_stock (stock_exchange_id BIGINT NOT NULL, stock_id BIGINT NOT NULL, "
+                        + "PRIMARY KEY (stock_exchange_id, stock_id))");
+                statement.execute("INSERT INTO stock_exchange SELECT x, FALSE, FALSE, 0 FROM SYSTEM_RANGE(1, " + exchanges + ")");
+                statement.execute("INSERT INTO stock_exchange_stock SELECT (x - 1) / " + STOCKS_PER_EXCHANGE + " + 1, x "
+                        + "FROM SYSTEM_RANGE(1, " + (long) exchanges * STOCKS_PER_EXCHANGE + ")");
+            }
+            connection.setAutoCommit(false);
+            // warm up both paths, then measure an opening and a closing of every exchange with each
+            transition(connection, due, 1, true);
+            transition(connection, due, batchSize, false);
+            long perExchange = transition(connection, due, 1, true) + transition(connection, due, 1, false);
+            long batched = transition(connection, due, batchSize, true) + transition(connection, due, batchSize, false);
+            System.out.printf("One transaction per exchange: %,8.1f ms per transition (%,d statements)%n",
+                    perExchange / 2e6, exchanges);
+            System.out.printf("Batches of %,5d ids:          %,8.1f ms per transition (%,d statements)%n",
+                    batchSize, batched / 2e6, (exchanges + batchSize - 1) / batchSize);
+        }
+    }
+
+    /**
+     * @return the nanoseconds taken to move every exchange to the given state
+     */
+    private static long transition(Connection connection, List<Long> ids, int batchSize, boolean marketOpen) throws Exception {
+        long start = System.nanoTime();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            String sql = String.format(UPDATE, String.join(",", Collections.nCopies(batch.size(), "?")));
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setBoolean(1, marketOpen);
+                statement.setBoolean(2, marketOpen);
+                for (int i = 0; i < batch.size(); i++) {
+                    statement.setLong(i + 3, batch.get(i));
+                }
+                statement.setBoolean(batch.size() + 3, marketOpen);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        }
+        return System.nanoTime() - start;
+    }
+}
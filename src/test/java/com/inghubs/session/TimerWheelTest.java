@@ -0,0 +1,92 @@
+package com.inghubs.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    void givenTimer_whenAdvanced_thenExpiresOnFirstTickAfterDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 8, 0);
+        wheel.schedule(250, "a");
+        List<String> expired = new ArrayList<>();
+
+        assertThat(wheel.advance(250, expired::add)).isZero();
+        assertThat(wheel.advance(299, expired::add)).isZero();
+        assertThat(wheel.advance(300, expired::add)).isOne();
+        assertThat(expired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void givenTimersOnSameTick_whenAdvanced_thenExpireTogether() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(TICK, 8, 0);
+        for (int i = 0; i < 1_000; i++) {
+            wheel.schedule(500, i);
+        }
+        wheel.schedule(600, -1);
+        List<Integer> expired = new ArrayList<>();
+
+        assertThat(wheel.advance(500, expired::add)).isEqualTo(1_000);
+        assertThat(expired).doesNotContain(-1);
+        assertThat(wheel.size()).isOne();
+    }
+
+    @Test
+    void givenTimerOnLaterTurn_whenBucketVisited_thenStaysUntilItsTurn() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 4, 0);
+        wheel.schedule(100, "first turn");
+        wheel.schedule(500, "second turn");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(100, expired::add);
+        assertThat(expired).containsExactly("first turn");
+
+        wheel.advance(500, expired::add);
+        assertThat(expired).containsExactly("first turn", "second turn");
+    }
+
+    @Test
+    void givenWheelBehindByManyTurns_whenAdvanced_thenExpiresEveryDueTimer() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(TICK, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i * TICK, i);
+        }
+        List<Integer> expired = new ArrayList<>();
+
+        wheel.advance(15 * TICK, expired::add);
+
+        assertThat(expired).hasSize(15).allMatch(i -> i <= 15);
+        assertThat(wheel.size()).isEqualTo(5);
+    }
+
+    @Test
+    void givenCancelledTimer_whenAdvanced_thenNotExpired() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 8, 0);
+        TimerWheel.Timer<String> cancelled = wheel.schedule(200, "cancelled");
+        wheel.schedule(200, "kept");
+        List<String> expired = new ArrayList<>();
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        wheel.advance(200, expired::add);
+
+        assertThat(expired).containsExactly("kept");
+    }
+
+    @Test
+    void givenPastDeadline_whenScheduled_thenExpiresOnNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 8, 1_000);
+        wheel.schedule(0, "late");
+        List<String> expired = new ArrayList<>();
+
+        assertThat(wheel.advance(1_099, expired::add)).isZero();
+        assertThat(wheel.advance(1_100, expired::add)).isOne();
+    }
+}
@@ -0,0 +1,128 @@
+package com.inghubs.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching the application to its first successful request, and its resident memory at that
+ * point, for the plain jar, for each step of the startup profile and for the native executable if it was built.
+ * <p>
+ * Every run starts a new JVM on a free port and polls {@code GET /api/v1/stock-exchange/A} until it answers 200, so
+ * the time covers JVM startup, the Spring context, Hibernate, SQL initialization, the web server and the first
+ * request itself, password check included. The resident memory is read from {@code /proc}, so it is only reported on
+ * Linux. Build the startup artifacts, and optionally the native executable, first, then run:
+ * <pre>
+ * mvn package -Pstartup -DskipTests
+ * mvn package -Pnative -DskipTests
+ * mvn test-compile
+ * java -cp target/test-classes com.inghubs.startup.TimeToFirstRequestBenchmark [runs]
+ * </pre>
+ */
+public final class TimeToFirstRequestBenchmark {
+
+    private static final String JAR = "target/inghubs-0.0.1-SNAPSHOT.jar";
+    private static final String EXTRACTED_JAR = "target/startup/inghubs-0.0.1-SNAPSHOT.jar";
+    private static final String ARCHIVE = "target/startup/application.jsa";
+    private static final String NATIVE = "target/inghubs";
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    private TimeToFirstRequestBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        String profile = "--spring.profiles.active=startup";
+        measure("jar", runs, java, "-jar", JAR);
+        measure("extracted jar", runs, java, "-jar", EXTRACTED_JAR);
+        measure("+ startup profile", runs, java, "-jar", EXTRACTED_JAR, profile);
+        measure("+ AOT", runs, java, "-Dspring.aot.enabled=true", "-jar", EXTRACTED_JAR, profile);
+        measure("+ CDS", runs, java, "-XX:SharedArchiveFile=" + ARCHIVE, "-Dspring.aot.enabled=true",
+                "-jar", EXTRACTED_JAR, profile);
+        if (Files.isExecutable(Path.of(NATIVE))) {
+            measure("native", runs, NATIVE);
+        }
+    }
+
+    private static void measure(String label, int runs, String... command) throws Exception {
+        long[] millis = new long[runs];
+        long[] rssKilobytes = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] result = timeToFirstRequest(command);
+            millis[i] = result[0];
+            rssKilobytes[i] = result[1];
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rssKilobytes);
+        System.out.printf("%-18s median %,6d ms, min %,6d ms, max %,6d ms, RSS %,4d MB%n", label, millis[runs / 2],
+                millis[0], millis[runs - 1], rssKilobytes[runs / 2] / 1024);
+    }
+
+    /**
+     * @return the time to the first successful request in milliseconds, and the resident memory of the application
+     * right after it in kilobytes, 0 if unknown
+     */
+    private static long[] timeToFirstRequest(String... command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(Arrays.asList(command));
+        arguments.add("--server.port=" + port);
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/stock-exchange/A"))
+                .header("Authorization", AUTHORIZATION)
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (process.isAlive()) {
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new long[]{millis, residentKilobytes(process.pid())};
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(String.join(" ", arguments) + " exited with " + process.exitValue());
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
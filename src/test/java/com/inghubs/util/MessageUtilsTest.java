@@ -0,0 +1,53 @@
+package com.inghubs.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageUtilsTest {
+
+    @Mock
+    private MessageSource messageSource;
+
+    private MessageUtils messageUtils;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        messageUtils = new MessageUtils(messageSource);
+    }
+
+    @Test
+    void givenMessageWithoutArguments_whenResolvedTwice_thenMessageSourceIsAskedOnce() {
+        when(messageSource.getMessage(eq("error.concurrent.modification"), any(), anyString(), any(Locale.class)))
+                .thenReturn("The resource was modified concurrently");
+
+        assertEquals("The resource was modified concurrently", messageUtils.getMessage("error.concurrent.modification"));
+        assertEquals("The resource was modified concurrently", messageUtils.getMessage("error.concurrent.modification"));
+
+        verify(messageSource, times(1)).getMessage(eq("error.concurrent.modification"), any(), anyString(), any(Locale.class));
+    }
+
+    @Test
+    void givenMessageWithArguments_whenResolvedTwice_thenEachIsFormatted() {
+        when(messageSource.getMessage(eq("stock.not.found"), any(), anyString(), any(Locale.class)))
+                .thenAnswer(invocation -> "Stock not found with id: " + invocation.<Object[]>getArgument(1)[0]);
+
+        assertEquals("Stock not found with id: 1", messageUtils.getMessage("stock.not.found", 1L));
+        assertEquals("Stock not found with id: 2", messageUtils.getMessage("stock.not.found", 2L));
+
+        verify(messageSource, times(2)).getMessage(eq("stock.not.found"), any(), anyString(), any(Locale.class));
+    }
+}
@@ -1,10 +1,23 @@
+CREATE SEQUENCE IF NOT EXISTS stock_change_seq START WITH 1;
+
+CREATE SEQUENCE IF NOT EXISTS stock_id_seq START WITH 1;
+
 CREATE TABLE IF NOT EXISTS stock (
-                                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                     id BIGINT DEFAULT NEXT VALUE FOR stock_id_seq PRIMARY KEY,
                                      name VARCHAR(255) NOT NULL,
                                      description VARCHAR(255),
                                      current_price DECIMAL(19, 2) NOT NULL,
                                      last_update TIMESTAMP,
-                                     version INT NOT NULL
+                                     version INT NOT NULL,
+                                     change_seq BIGINT DEFAULT NEXT VALUE FOR stock_change_seq ON UPDATE NEXT VALUE FOR stock_change_seq NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_change_seq ON stock (change_seq);
+
+CREATE TABLE IF NOT EXISTS stock_tombstone (
+                                               change_seq BIGINT PRIMARY KEY,
+                                               stock_id BIGINT NOT NULL,
+                                               deleted_at TIMESTAMP NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS stock_exchange (
@@ -12,6 +25,7 @@ CREATE TABLE IF NOT EXISTS stock_exchange (
                                               name VARCHAR(255) NOT NULL,
                                               description VARCHAR(255),
                                               live_in_market BOOLEAN,
+                                              market_open BOOLEAN DEFAULT TRUE NOT NULL,
                                               version INT NOT NULL
 );
 
@@ -22,3 +36,56 @@ CREATE TABLE IF NOT EXISTS stock_exchange_stock (
                                                     FOREIGN KEY (stock_id) REFERENCES stock(id),
                                                     PRIMARY KEY (stock_exchange_id, stock_id)
 );
+
+CREATE TABLE IF NOT EXISTS market_session (
+                                              stock_exchange_id BIGINT PRIMARY KEY,
+                                              time_zone VARCHAR(64) NOT NULL,
+                                              open_time TIME NOT NULL,
+                                              close_time TIME NOT NULL,
+                                              trading_days INT NOT NULL,
+                                              FOREIGN KEY (stock_exchange_id) REFERENCES stock_exchange(id)
+);
+
+CREATE TABLE IF NOT EXISTS market_holiday (
+                                              stock_exchange_id BIGINT NOT NULL,
+                                              holiday DATE NOT NULL,
+                                              FOREIGN KEY (stock_exchange_id) REFERENCES market_session(stock_exchange_id),
+                                              PRIMARY KEY (stock_exchange_id, holiday)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+                                            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                            aggregate_type VARCHAR(64) NOT NULL,
+                                            aggregate_id BIGINT NOT NULL,
+                                            event_type VARCHAR(64) NOT NULL,
+                                            payload VARCHAR(4096) NOT NULL,
+                                            created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_consumer_offset (
+                                                      consumer VARCHAR(255) PRIMARY KEY,
+                                                      last_event_id BIGINT NOT NULL,
+                                                      version INT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS price_alert (
+                                           id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                           stock_id BIGINT NOT NULL,
+                                           owner VARCHAR(255) NOT NULL,
+                                           type VARCHAR(16) NOT NULL,
+                                           above_price DECIMAL(15, 2),
+                                           below_price DECIMAL(15, 2),
+                                           percentage DECIMAL(5, 2),
+                                           reference_price DECIMAL(15, 2),
+                                           created_at TIMESTAMP NOT NULL,
+                                           triggered_at TIMESTAMP,
+                                           triggered_price DECIMAL(15, 2)
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_alert_owner ON price_alert (owner);
+
+CREATE TABLE IF NOT EXISTS database_epoch (
+                                              epoch UUID DEFAULT RANDOM_UUID() NOT NULL
+);
+
+INSERT INTO database_epoch SELECT RANDOM_UUID() WHERE NOT EXISTS (SELECT * FROM database_epoch);